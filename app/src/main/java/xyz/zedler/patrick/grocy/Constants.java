@@ -95,6 +95,10 @@ public final class Constants {
     public final static String DB_LAST_TIME_RECIPES = "db_last_time_recipes";
     public final static String DB_LAST_TIME_RECIPE_FULFILLMENTS = "db_last_time_recipe_fulfillments";
     public final static String DB_LAST_TIME_RECIPE_POSITIONS = "db_last_time_recipe_positions";
+    public final static String DB_LAST_FULL_SYNC_PRODUCTS = "db_last_full_sync_products";
+    public final static String DB_LAST_FULL_SYNC_PRODUCT_BARCODES = "db_last_full_sync_product_barcodes";
+    public final static String DELTA_SYNC_UNSUPPORTED_SERVER = "delta_sync_unsupported_server";
+    public final static String DELTA_SYNC_UNSUPPORTED_TIME = "delta_sync_unsupported_time";
 
     public final static String QUICK_MODE_ACTIVE_CONSUME = "quick_mode_active_consume";
     public final static String QUICK_MODE_ACTIVE_PURCHASE = "quick_mode_active_purchase";
@@ -132,10 +136,13 @@ public final class Constants {
 
       public final static String LOADING_CIRCLE = "loading_circle";
       public final static String LOADING_TIMEOUT = "loading_timeout";
+      public final static String MAX_PARALLEL_REQUESTS = "max_parallel_requests";
       public final static String TOR = "tor";
       public final static String PROXY = "proxy";
       public final static String PROXY_HOST = "proxy_host";
       public final static String PROXY_PORT = "proxy_port";
+      public final static String OKHTTP = "okhttp";
+      public final static String THREAD_POOL_SIZE = "network_thread_pool_size";
     }
 
     public final static class BEHAVIOR {
@@ -236,11 +243,14 @@ public final class Constants {
     public final static class NETWORK {
 
       public final static int LOADING_TIMEOUT = 30;
+      public final static int MAX_PARALLEL_REQUESTS = 4;
       public final static boolean LOADING_CIRCLE = false;
       public final static boolean TOR = false;
       public final static boolean PROXY = false;
       public final static String PROXY_HOST = "127.0.0.1";
       public final static int PROXY_PORT = 8118;
+      public final static boolean OKHTTP = true;
+      public final static int THREAD_POOL_SIZE = 6;
     }
 
     public final static class BEHAVIOR {
@@ -718,6 +718,10 @@ public class MainActivity extends AppCompatActivity {
     editPrefs.remove(PREF.DB_LAST_TIME_CHORES);
     editPrefs.remove(PREF.DB_LAST_TIME_CHORE_ENTRIES);
     editPrefs.remove(PREF.DB_LAST_TIME_USERS);
+    editPrefs.remove(PREF.DB_LAST_FULL_SYNC_PRODUCTS);
+    editPrefs.remove(PREF.DB_LAST_FULL_SYNC_PRODUCT_BARCODES);
+    editPrefs.remove(PREF.DELTA_SYNC_UNSUPPORTED_SERVER);
+    editPrefs.remove(PREF.DELTA_SYNC_UNSUPPORTED_TIME);
 
     editPrefs.remove(PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY);
     editPrefs.remove(PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY_TIME);
@@ -54,6 +54,7 @@ import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.color.ColorRoles;
 import com.google.android.material.divider.MaterialDivider;
 import java.util.ArrayList;
+import java.util.HashMap;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
@@ -76,7 +77,7 @@ public class RecipeEntryAdapter extends
   private Context context;
   private final LayoutManager layoutManager;
   private final ArrayList<Recipe> recipes;
-  private final ArrayList<RecipeFulfillment> recipeFulfillments;
+  private HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap;
   private final RecipesItemAdapterListener listener;
   private final GrocyApi grocyApi;
   private final LazyHeaders grocyAuthHeaders;
@@ -91,7 +92,7 @@ public class RecipeEntryAdapter extends
       Context context,
       LayoutManager layoutManager,
       ArrayList<Recipe> recipes,
-      ArrayList<RecipeFulfillment> recipeFulfillments,
+      HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap,
       RecipesItemAdapterListener listener,
       String sortMode,
       boolean sortAscending,
@@ -100,7 +101,7 @@ public class RecipeEntryAdapter extends
     this.context = context;
     this.layoutManager = layoutManager;
     this.recipes = new ArrayList<>(recipes);
-    this.recipeFulfillments = new ArrayList<>(recipeFulfillments);
+    this.recipeFulfillmentHashMap = recipeFulfillmentHashMap;
     this.listener = listener;
     this.grocyApi = new GrocyApi((Application) context.getApplicationContext());
     this.grocyAuthHeaders = RequestHeaders.getGlideGrocyAuthHeaders(context);
@@ -182,9 +183,7 @@ public class RecipeEntryAdapter extends
     int position = viewHolder.getAdapterPosition();
 
     Recipe recipe = recipes.get(position);
-    RecipeFulfillment recipeFulfillment = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(
-        recipeFulfillments, recipe.getId()
-    );
+    RecipeFulfillment recipeFulfillment = recipeFulfillmentHashMap.get(recipe.getId());
 
     LinearLayout container;
     TextView title;
@@ -417,7 +416,7 @@ public class RecipeEntryAdapter extends
 
   public void updateData(
       ArrayList<Recipe> newList,
-      ArrayList<RecipeFulfillment> newRecipeFulfillments,
+      HashMap<Integer, RecipeFulfillment> newRecipeFulfillmentHashMap,
       String sortMode,
       boolean sortAscending,
       String extraField
@@ -426,8 +425,8 @@ public class RecipeEntryAdapter extends
     RecipeEntryAdapter.DiffCallback diffCallback = new RecipeEntryAdapter.DiffCallback(
         this.recipes,
         newList,
-        this.recipeFulfillments,
-        newRecipeFulfillments,
+        this.recipeFulfillmentHashMap,
+        newRecipeFulfillmentHashMap,
         this.sortMode,
         sortMode,
         this.sortAscending,
@@ -438,8 +437,7 @@ public class RecipeEntryAdapter extends
     DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
     this.recipes.clear();
     this.recipes.addAll(newList);
-    this.recipeFulfillments.clear();
-    this.recipeFulfillments.addAll(newRecipeFulfillments);
+    this.recipeFulfillmentHashMap = newRecipeFulfillmentHashMap;
     this.sortMode = sortMode;
     this.sortAscending = sortAscending;
     this.extraField = extraField;
@@ -456,8 +454,8 @@ public class RecipeEntryAdapter extends
 
     ArrayList<Recipe> oldItems;
     ArrayList<Recipe> newItems;
-    ArrayList<RecipeFulfillment> oldRecipeFulfillments;
-    ArrayList<RecipeFulfillment> newRecipeFulfillments;
+    HashMap<Integer, RecipeFulfillment> oldRecipeFulfillmentHashMap;
+    HashMap<Integer, RecipeFulfillment> newRecipeFulfillmentHashMap;
     String sortModeOld;
     String sortModeNew;
     boolean sortAscendingOld;
@@ -468,8 +466,8 @@ public class RecipeEntryAdapter extends
     public DiffCallback(
         ArrayList<Recipe> oldItems,
         ArrayList<Recipe> newItems,
-        ArrayList<RecipeFulfillment> oldRecipeFulfillments,
-        ArrayList<RecipeFulfillment> newRecipeFulfillments,
+        HashMap<Integer, RecipeFulfillment> oldRecipeFulfillmentHashMap,
+        HashMap<Integer, RecipeFulfillment> newRecipeFulfillmentHashMap,
         String sortModeOld,
         String sortModeNew,
         boolean sortAscendingOld,
@@ -479,8 +477,8 @@ public class RecipeEntryAdapter extends
     ) {
       this.oldItems = oldItems;
       this.newItems = newItems;
-      this.oldRecipeFulfillments = oldRecipeFulfillments;
-      this.newRecipeFulfillments = newRecipeFulfillments;
+      this.oldRecipeFulfillmentHashMap = oldRecipeFulfillmentHashMap;
+      this.newRecipeFulfillmentHashMap = newRecipeFulfillmentHashMap;
       this.sortModeOld = sortModeOld;
       this.sortModeNew = sortModeNew;
       this.sortAscendingOld = sortAscendingOld;
@@ -523,8 +521,8 @@ public class RecipeEntryAdapter extends
         return false;
       }
 
-      RecipeFulfillment recipeFulfillmentOld = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(oldRecipeFulfillments, oldItem.getId());
-      RecipeFulfillment recipeFulfillmentNew = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(newRecipeFulfillments, newItem.getId());
+      RecipeFulfillment recipeFulfillmentOld = oldRecipeFulfillmentHashMap.get(oldItem.getId());
+      RecipeFulfillment recipeFulfillmentNew = newRecipeFulfillmentHashMap.get(newItem.getId());
       if (recipeFulfillmentOld == null && recipeFulfillmentNew != null
           || recipeFulfillmentOld != null && recipeFulfillmentNew == null
           || recipeFulfillmentOld != null && !recipeFulfillmentOld.equals(recipeFulfillmentNew)) {
@@ -246,6 +246,20 @@ public class StockLogEntryAdapter extends
     }
   }
 
+  public void updateAll(List<StockLogEntry> updatedEntries) {
+    HashMap<Integer, StockLogEntry> updatedEntriesHashMap = new HashMap<>();
+    for (StockLogEntry entry : updatedEntries) {
+      updatedEntriesHashMap.put(entry.getId(), entry);
+    }
+    for (int i = 0; i < stockLogEntries.size(); i++) {
+      StockLogEntry updatedEntry = updatedEntriesHashMap.get(stockLogEntries.get(i).getId());
+      if (updatedEntry != null) {
+        stockLogEntries.set(i, updatedEntry);
+        notifyItemChanged(i);
+      }
+    }
+  }
+
   public ArrayList<StockLogEntry> getStockLogEntries() {
     return stockLogEntries;
   }
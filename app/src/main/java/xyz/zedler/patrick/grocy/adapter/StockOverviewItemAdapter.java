@@ -24,7 +24,10 @@ import android.app.Application;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.content.res.ColorStateList;
+import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -44,9 +47,12 @@ import com.bumptech.glide.load.resource.bitmap.RoundedCorners;
 import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 import com.bumptech.glide.request.RequestListener;
 import com.bumptech.glide.request.target.Target;
-import com.google.android.material.color.ColorRoles;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
@@ -79,28 +85,33 @@ public class StockOverviewItemAdapter extends
 
   private final static String TAG = StockOverviewItemAdapter.class.getSimpleName();
 
+  // grouping, sorting, row states and diffing run here, so that typing in search is not blocked
+  private final static Executor LIST_EXECUTOR = Executors.newSingleThreadExecutor();
+  private final static Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
   private final ArrayList<GroupedListItem> groupedListItems;
-  private final ArrayList<String> shoppingListItemsProductIds;
-  private final HashMap<Integer, QuantityUnit> quantityUnitHashMap;
-  private final HashMap<Integer, String> productAveragePriceHashMap;
-  private final HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap;
+  // same positions as groupedListItems, null for headers
+  private final ArrayList<StockItemRowState> rowStates;
   private final PluralUtil pluralUtil;
-  private final ArrayList<Integer> missingItemsProductIds;
   private final StockOverviewItemAdapterListener listener;
   private final GrocyApi grocyApi;
   private final LazyHeaders grocyAuthHeaders;
   private final boolean showDateTracking;
   private final boolean shoppingListFeatureEnabled;
   private final int daysExpiringSoon;
-  private String sortMode;
-  private boolean sortAscending;
-  private String groupingMode;
-  private String extraField;
   private final DateUtil dateUtil;
   private final String currency;
   private final int maxDecimalPlacesAmount;
   private final int decimalPlacesPriceDisplay;
-  private boolean containsPictures;
+  private final int colorBlue;
+  private final int colorYellow;
+  private final int colorOrange;
+  private final int colorError;
+  private final int colorOnSurfaceVariant;
+  private final Typeface fontMedium;
+  private final Typeface fontBook;
+  private volatile int maxScheduledGeneration;
+  private boolean isDataApplied;
 
   public StockOverviewItemAdapter(
       Context context,
@@ -123,12 +134,7 @@ public class StockOverviewItemAdapter extends
       String groupingMode,
       String extraField
   ) {
-    this.shoppingListItemsProductIds = new ArrayList<>(shoppingListItemsProductIds);
-    this.quantityUnitHashMap = new HashMap<>(quantityUnitHashMap);
-    this.productAveragePriceHashMap = new HashMap<>(productAveragePriceHashMap);
-    this.productLastPurchasedHashMap = new HashMap<>(productLastPurchasedHashMap);
     this.pluralUtil = new PluralUtil(context);
-    this.missingItemsProductIds = new ArrayList<>(missingItemsProductIds);
     this.listener = listener;
     this.grocyApi = new GrocyApi((Application) context.getApplicationContext());
     this.grocyAuthHeaders = RequestHeaders.getGlideGrocyAuthHeaders(context);
@@ -146,23 +152,20 @@ public class StockOverviewItemAdapter extends
         SETTINGS_DEFAULT.STOCK.DECIMAL_PLACES_PRICES_DISPLAY
     );
     this.dateUtil = new DateUtil(context);
-    this.sortMode = sortMode;
-    this.sortAscending = sortAscending;
-    this.groupingMode = groupingMode;
-    this.extraField = extraField;
-    this.groupedListItems = getGroupedListItems(context, stockItems,
-        productGroupHashMap, productHashMap, locationHashMap, currency, dateUtil, sortMode,
-        sortAscending, groupingMode, maxDecimalPlacesAmount, decimalPlacesPriceDisplay);
-
-    containsPictures = false;
-    for (StockItem stockItem : stockItems) {
-      if (stockItem.getProduct() == null) continue;
-      String pictureFileName = stockItem.getProduct().getPictureFileName();
-      if (pictureFileName != null && !pictureFileName.isEmpty()) {
-        containsPictures = true;
-        break;
-      }
-    }
+    this.colorBlue = ResUtil.getHarmonizedRoles(context, R.color.blue).getAccent();
+    this.colorYellow = ResUtil.getHarmonizedRoles(context, R.color.yellow).getAccent();
+    this.colorOrange = ResUtil.getHarmonizedRoles(context, R.color.orange).getAccent();
+    this.colorError = ResUtil.getColorAttr(context, R.attr.colorError);
+    this.colorOnSurfaceVariant = ResUtil.getColorAttr(context, R.attr.colorOnSurfaceVariant);
+    this.fontMedium = ResourcesCompat.getFont(context, R.font.jost_medium);
+    this.fontBook = ResourcesCompat.getFont(context, R.font.jost_book);
+    this.groupedListItems = new ArrayList<>();
+    this.rowStates = new ArrayList<>();
+    // the first list is computed like every update, listener is notified when it is applied
+    updateData(context, stockItems, shoppingListItemsProductIds, quantityUnitHashMap,
+        productAveragePriceHashMap, productLastPurchasedHashMap, productGroupHashMap,
+        productHashMap, locationHashMap, missingItemsProductIds, sortMode, sortAscending,
+        groupingMode, extraField);
   }
 
   static ArrayList<GroupedListItem> getGroupedListItems(
@@ -208,7 +211,9 @@ public class StockOverviewItemAdapter extends
           groupName += "  " + dateUtil.getHumanForDaysFromNow(groupName);
         }
       } else if (groupingMode.equals(FilterChipLiveDataStockGrouping.GROUPING_MIN_STOCK_AMOUNT)) {
-        groupName = stockItem.getProduct().getMinStockAmount();
+        groupName = NumUtil.trimAmount(
+            stockItem.getProduct().getMinStockAmountDouble(), maxDecimalPlacesAmount
+        );
       } else if (groupingMode.equals(FilterChipLiveDataStockGrouping.GROUPING_PARENT_PRODUCT)
           && NumUtil.isStringInt(stockItem.getProduct().getParentProductId())) {
         int productId = Integer.parseInt(stockItem.getProduct().getParentProductId());
@@ -336,9 +341,10 @@ public class StockOverviewItemAdapter extends
   @SuppressLint("ClickableViewAccessibility")
   @Override
   public void onBindViewHolder(@NonNull final ViewHolder viewHolder, int positionDoNotUse) {
-    GroupedListItem groupedListItem = groupedListItems.get(viewHolder.getAdapterPosition());
+    int position = viewHolder.getAdapterPosition();
+    GroupedListItem groupedListItem = groupedListItems.get(position);
 
-    int type = getItemViewType(viewHolder.getAdapterPosition());
+    int type = getItemViewType(position);
     if (type == GroupedListItem.TYPE_HEADER) {
       GroupViewHolder holder = (GroupViewHolder) viewHolder;
       if (((GroupHeader) groupedListItem).getDisplayDivider() == 1) {
@@ -350,199 +356,89 @@ public class StockOverviewItemAdapter extends
       return;
     }
 
-    StockItem stockItem = (StockItem) groupedListItem;
+    StockItemRowState row = rowStates.get(position);
     StockItemViewHolder holder = (StockItemViewHolder) viewHolder;
-
     Context context = holder.binding.textAmount.getContext();
-    ColorRoles colorBlue = ResUtil.getHarmonizedRoles(context, R.color.blue);
-    ColorRoles colorYellow = ResUtil.getHarmonizedRoles(context, R.color.yellow);
-    ColorRoles colorOrange = ResUtil.getHarmonizedRoles(context, R.color.orange);
 
     // NAME
 
-    holder.binding.textName.setText(stockItem.getProduct().getName());
+    holder.binding.textName.setText(row.name);
 
     // IS ON SHOPPING LIST
 
-    if (shoppingListItemsProductIds.contains(String.valueOf(stockItem.getProduct().getId()))
-        && shoppingListFeatureEnabled) {
+    if (row.isOnShoppingList) {
       holder.binding.viewOnShoppingList.setVisibility(View.VISIBLE);
-      holder.binding.viewOnShoppingList.setBackgroundTintList(
-          ColorStateList.valueOf(colorBlue.getAccent())
-      );
+      holder.binding.viewOnShoppingList.setBackgroundTintList(ColorStateList.valueOf(colorBlue));
     } else {
       holder.binding.viewOnShoppingList.setVisibility(View.GONE);
     }
 
     // AMOUNT
 
-    QuantityUnit quantityUnitStock = quantityUnitHashMap.get(
-        stockItem.getProduct().getQuIdStockInt()
-    );
-    String stockAmountInfo = AmountUtil.getStockAmountInfo(
-        context, pluralUtil, stockItem, quantityUnitStock, maxDecimalPlacesAmount
-    );
-    if (stockAmountInfo.isBlank()) {
+    if (row.amountText == null) {
       holder.binding.textAmount.setVisibility(View.GONE);
     } else {
-      holder.binding.textAmount.setText(stockAmountInfo);
+      holder.binding.textAmount.setText(row.amountText);
       holder.binding.textAmount.setVisibility(View.VISIBLE);
     }
-    if (missingItemsProductIds.contains(stockItem.getProductId())) {
-      holder.binding.textAmount.setTypeface(
-          ResourcesCompat.getFont(context, R.font.jost_medium)
-      );
-      holder.binding.textAmount.setTextColor(colorBlue.getAccent());
-    } else {
-      holder.binding.textAmount.setTypeface(
-          ResourcesCompat.getFont(context, R.font.jost_book)
-      );
-      holder.binding.textAmount.setTextColor(
-          ResUtil.getColorAttr(context, R.attr.colorOnSurfaceVariant)
-      );
-    }
+    holder.binding.textAmount.setTypeface(row.isMissing ? fontMedium : fontBook);
+    holder.binding.textAmount.setTextColor(row.isMissing ? colorBlue : colorOnSurfaceVariant);
 
     // BEST BEFORE
 
-    String date = stockItem.getBestBeforeDate();
-    String days = null;
-    boolean colorDays = false;
-    if (date != null) {
-      days = String.valueOf(DateUtil.getDaysFromNow(date));
-    }
-
-    if (!showDateTracking) {
-      holder.binding.linearDays.setVisibility(View.GONE);
-    } else if (days != null && (sortMode.equals(FilterChipLiveDataStockSort.SORT_DUE_DATE)
-        || Integer.parseInt(days) <= daysExpiringSoon
-        && !date.equals(Constants.DATE.NEVER_OVERDUE))
-    ) {
+    if (row.daysText != null) {
       holder.binding.linearDays.setVisibility(View.VISIBLE);
-      holder.binding.textDays.setText(dateUtil.getHumanForDaysFromNow(date));
-      if (Integer.parseInt(days) <= daysExpiringSoon
-          && !stockItem.getProduct().getNoOwnStockBoolean()) {  // don't color days text if product has no own stock (children will be colored)
-        colorDays = true;
-      }
+      holder.binding.textDays.setText(row.daysText);
       if (holder.binding.linearDays.getChildCount() == 1) { // not in landscape/tablet mode
         int dp4 = UiUtil.dpToPx(context, 4);
-        boolean isRtl = UiUtil.isLayoutRtl(context);
         holder.binding.linearContainer.setPadding(
             dp4 * 4, dp4 * 3 , dp4 * 4, dp4 * 3
         );
-        /*holder.binding.linearContainer.setPadding(
-            isRtl ? dp4 * 6 : dp4 * 4, dp4 * 3 , isRtl ? dp4 * 4 : dp4 * 6, dp4 * 3
-        );*/
       }
     } else {
       holder.binding.linearDays.setVisibility(View.GONE);
       holder.binding.textDays.setText(null);
     }
-
-    if (colorDays) {
-      holder.binding.textDays.setTypeface(
-          ResourcesCompat.getFont(context, R.font.jost_medium)
-      );
-      int color;
-      if (Integer.parseInt(days) >= 0) {
-        color = colorYellow.getAccent();
-      } else if (stockItem.getDueTypeInt() == StockItem.DUE_TYPE_BEST_BEFORE) {
-        color = colorOrange.getAccent(); // formally DIRT
-      } else {
-        color = ResUtil.getColorAttr(context, R.attr.colorError);
-      }
-      holder.binding.textDays.setTextColor(color);
-    } else {
-      holder.binding.textDays.setTypeface(
-          ResourcesCompat.getFont(context, R.font.jost_book)
-      );
-      holder.binding.textDays.setTextColor(
-          ResUtil.getColorAttr(context, R.attr.colorOnSurfaceVariant)
-      );
-    }
-
-    double factorPurchaseToStock = stockItem.getProduct().getQuFactorPurchaseToStockDouble();
-    String extraFieldText = null;
-    String extraFieldSubtitleText = null;
-    switch (extraField) {
-      case FilterChipLiveDataStockExtraField.EXTRA_FIELD_VALUE:
-        if (NumUtil.isStringDouble(stockItem.getValue())) {
-          extraFieldText = NumUtil.trimPrice(
-              NumUtil.toDouble(stockItem.getValue()), decimalPlacesPriceDisplay
-          );
-        }
-        if (currency != null && !currency.isEmpty()) {
-          extraFieldSubtitleText = currency;
-        }
-        break;
-      case FilterChipLiveDataStockExtraField.EXTRA_FIELD_CALORIES_UNIT:
-        if (NumUtil.isStringDouble(stockItem.getProduct().getCalories())) {
-          extraFieldText = stockItem.getProduct().getCalories();
-          extraFieldSubtitleText = "kcal";
-        }
-        break;
-      case FilterChipLiveDataStockExtraField.EXTRA_FIELD_CALORIES_TOTAL:
-        if (NumUtil.isStringDouble(stockItem.getProduct().getCalories())) {
-          extraFieldText = NumUtil.trimAmount(NumUtil.toDouble(stockItem.getProduct()
-              .getCalories()) * stockItem.getAmountDouble(), maxDecimalPlacesAmount);
-          extraFieldSubtitleText = "kcal";
-        }
+    holder.binding.textDays.setTypeface(
+        row.daysColor != StockItemRowState.DAYS_COLOR_DEFAULT ? fontMedium : fontBook
+    );
+    switch (row.daysColor) {
+      case StockItemRowState.DAYS_COLOR_DUE_SOON:
+        holder.binding.textDays.setTextColor(colorYellow);
         break;
-      case FilterChipLiveDataStockExtraField.EXTRA_FIELD_AVERAGE_PRICE:
-        String avg = productAveragePriceHashMap.get(stockItem.getProductId());
-        if (NumUtil.isStringDouble(avg)) {
-          extraFieldText = NumUtil.trimPrice(
-              NumUtil.toDouble(avg) * factorPurchaseToStock, decimalPlacesPriceDisplay
-          );
-          QuantityUnit quantityUnitPurchase = quantityUnitHashMap
-              .get(stockItem.getProduct().getQuIdPurchaseInt());
-          if (quantityUnitPurchase != null && quantityUnitStock != null
-              && quantityUnitStock.getId() != quantityUnitPurchase.getId()) {
-            extraFieldSubtitleText = holder.binding.extraFieldSubtitle.getContext().getString(
-                R.string.property_price_unit_insert, currency, quantityUnitPurchase.getName()
-            );
-          } else {
-            extraFieldSubtitleText = currency;
-          }
-        }
+      case StockItemRowState.DAYS_COLOR_OVERDUE:
+        holder.binding.textDays.setTextColor(colorOrange); // formally DIRT
         break;
-      case FilterChipLiveDataStockExtraField.EXTRA_FIELD_LAST_PRICE:
-        ProductLastPurchased p = productLastPurchasedHashMap.get(stockItem.getProductId());
-        if (p != null && NumUtil.isStringDouble(p.getPrice())) {
-          extraFieldText = NumUtil.trimPrice(NumUtil.toDouble(p.getPrice())
-              * factorPurchaseToStock, decimalPlacesPriceDisplay);
-          QuantityUnit quantityUnitPurchase = quantityUnitHashMap
-              .get(stockItem.getProduct().getQuIdPurchaseInt());
-          if (quantityUnitPurchase != null && quantityUnitStock != null
-              && quantityUnitStock.getId() != quantityUnitPurchase.getId()) {
-            extraFieldSubtitleText = holder.binding.extraFieldSubtitle.getContext().getString(
-                R.string.property_price_unit_insert, currency, quantityUnitPurchase.getName()
-            );
-          } else {
-            extraFieldSubtitleText = currency;
-          }
-        }
+      case StockItemRowState.DAYS_COLOR_EXPIRED:
+        holder.binding.textDays.setTextColor(colorError);
         break;
+      default:
+        holder.binding.textDays.setTextColor(colorOnSurfaceVariant);
     }
-    if (extraFieldText != null) {
-      holder.binding.extraField.setText(extraFieldText);
+
+    // EXTRA FIELD
+
+    if (row.extraFieldText != null) {
+      holder.binding.extraField.setText(row.extraFieldText);
       holder.binding.extraFieldContainer.setVisibility(View.VISIBLE);
     } else {
       holder.binding.extraFieldContainer.setVisibility(View.GONE);
     }
-    if (extraFieldSubtitleText != null) {
-      holder.binding.extraFieldSubtitle.setText(extraFieldSubtitleText);
+    if (row.extraFieldSubtitleText != null) {
+      holder.binding.extraFieldSubtitle.setText(row.extraFieldSubtitleText);
       holder.binding.extraFieldSubtitle.setVisibility(View.VISIBLE);
     } else {
       holder.binding.extraFieldSubtitle.setVisibility(View.GONE);
     }
 
-    String pictureFileName = stockItem.getProduct().getPictureFileName();
-    if (pictureFileName != null && !pictureFileName.isEmpty()) {
+    // PICTURE
+
+    if (row.pictureUrl != null) {
       holder.binding.picture.layout(0, 0, 0, 0);
 
       Glide.with(context)
           .load(
-              new GlideUrl(grocyApi.getProductPicture(pictureFileName), grocyAuthHeaders)
+              new GlideUrl(row.pictureUrl, grocyAuthHeaders)
           ).transform(
               new CenterCrop(), new RoundedCorners(UiUtil.dpToPx(context, 12))
           ).transition(DrawableTransitionOptions.withCrossFade())
@@ -563,19 +459,24 @@ public class StockOverviewItemAdapter extends
               return false;
             }
           }).into(holder.binding.picture);
-    } else if (containsPictures) {
-      holder.binding.picture.setVisibility(View.GONE);
-      holder.binding.picturePlaceholder.setVisibility(View.VISIBLE);
     } else {
       holder.binding.picture.setVisibility(View.GONE);
-      holder.binding.picturePlaceholder.setVisibility(View.GONE);
+      holder.binding.picturePlaceholder.setVisibility(
+          row.showPicturePlaceholder ? View.VISIBLE : View.GONE
+      );
     }
 
     // CONTAINER
 
-    holder.binding.linearContainer.setOnClickListener(
-        view -> listener.onItemRowClicked(stockItem)
-    );
+    // the item is looked up on click, rows with unchanged state are not bound again
+    holder.binding.linearContainer.setOnClickListener(view -> {
+      int clickedPosition = holder.getAdapterPosition();
+      if (clickedPosition == RecyclerView.NO_POSITION) return;
+      GroupedListItem item = groupedListItems.get(clickedPosition);
+      if (item instanceof StockItem) {
+        listener.onItemRowClicked((StockItem) item);
+      }
+    });
   }
 
   @Override
@@ -590,6 +491,8 @@ public class StockOverviewItemAdapter extends
   public interface StockOverviewItemAdapterListener {
 
     void onItemRowClicked(StockItem stockItem);
+
+    void onItemsReady(StockOverviewItemAdapter adapter);
   }
 
   public void updateData(
@@ -608,116 +511,318 @@ public class StockOverviewItemAdapter extends
       String groupingMode,
       String extraField
   ) {
-    ArrayList<GroupedListItem> newGroupedListItems = getGroupedListItems(context, newList,
-        productGroupHashMap, productHashMap, locationHashMap, this.currency, this.dateUtil,
-        sortMode, sortAscending, groupingMode, maxDecimalPlacesAmount, decimalPlacesPriceDisplay);
-    StockOverviewItemAdapter.DiffCallback diffCallback = new StockOverviewItemAdapter.DiffCallback(
-        this.groupedListItems,
-        newGroupedListItems,
-        this.shoppingListItemsProductIds,
-        shoppingListItemsProductIds,
-        this.quantityUnitHashMap,
-        quantityUnitHashMap,
-        this.productAveragePriceHashMap,
-        productAveragePriceHashMap,
-        this.productLastPurchasedHashMap,
-        productLastPurchasedHashMap,
-        this.missingItemsProductIds,
-        missingItemsProductIds,
-        this.sortMode,
-        sortMode,
-        this.sortAscending,
-        sortAscending,
-        this.groupingMode,
-        groupingMode,
-        this.extraField,
-        extraField
-    );
-    DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
-    this.groupedListItems.clear();
-    this.groupedListItems.addAll(newGroupedListItems);
-    this.shoppingListItemsProductIds.clear();
-    this.shoppingListItemsProductIds.addAll(shoppingListItemsProductIds);
-    this.quantityUnitHashMap.clear();
-    this.quantityUnitHashMap.putAll(quantityUnitHashMap);
-    this.productAveragePriceHashMap.clear();
-    this.productAveragePriceHashMap.putAll(productAveragePriceHashMap);
-    this.productLastPurchasedHashMap.clear();
-    this.productLastPurchasedHashMap.putAll(productLastPurchasedHashMap);
-    this.missingItemsProductIds.clear();
-    this.missingItemsProductIds.addAll(missingItemsProductIds);
-    this.sortMode = sortMode;
-    this.sortAscending = sortAscending;
-    this.groupingMode = groupingMode;
-    this.extraField = extraField;
-    diffResult.dispatchUpdatesTo(this);
+    // only the latest scheduled computation gets applied, older ones are dropped
+    final int runGeneration = ++maxScheduledGeneration;
+    ArrayList<StockItem> stockItems = new ArrayList<>(newList);
+    ArrayList<GroupedListItem> oldGroupedListItems = new ArrayList<>(this.groupedListItems);
+    ArrayList<StockItemRowState> oldRowStates = new ArrayList<>(this.rowStates);
+
+    LIST_EXECUTOR.execute(() -> {
+      if (runGeneration != maxScheduledGeneration) return;
+      ArrayList<GroupedListItem> newGroupedListItems = getGroupedListItems(context, stockItems,
+          productGroupHashMap, productHashMap, locationHashMap, currency, dateUtil,
+          sortMode, sortAscending, groupingMode, maxDecimalPlacesAmount,
+          decimalPlacesPriceDisplay);
+      if (runGeneration != maxScheduledGeneration) return;
+      RowStateFactory newRowStateFactory = new RowStateFactory(
+          context,
+          stockItems,
+          shoppingListItemsProductIds,
+          quantityUnitHashMap,
+          productAveragePriceHashMap,
+          productLastPurchasedHashMap,
+          missingItemsProductIds,
+          sortMode,
+          extraField
+      );
+      ArrayList<StockItemRowState> newRowStates = new ArrayList<>(newGroupedListItems.size());
+      for (GroupedListItem item : newGroupedListItems) {
+        newRowStates.add(item instanceof StockItem
+            ? newRowStateFactory.create((StockItem) item) : null);
+      }
+      if (runGeneration != maxScheduledGeneration) return;
+      DiffCallback diffCallback = new DiffCallback(
+          oldGroupedListItems,
+          newGroupedListItems,
+          oldRowStates,
+          newRowStates
+      );
+      DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
+      MAIN_HANDLER.post(() -> {
+        if (runGeneration != maxScheduledGeneration) return;
+        this.groupedListItems.clear();
+        this.groupedListItems.addAll(newGroupedListItems);
+        this.rowStates.clear();
+        this.rowStates.addAll(newRowStates);
+        diffResult.dispatchUpdatesTo(this);
+        if (!isDataApplied) {
+          isDataApplied = true;
+          listener.onItemsReady(this);
+        }
+      });
+    });
+  }
+
+  @Override
+  public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+    super.onDetachedFromRecyclerView(recyclerView);
+    maxScheduledGeneration++; // drop pending results
+  }
+
+  /**
+   * Immutable UI model of a stock item row. Everything which is displayed is computed once per
+   * data change, so binding a recycled row only applies these values.
+   */
+  static class StockItemRowState {
+
+    final static int DAYS_COLOR_DEFAULT = 0;
+    final static int DAYS_COLOR_DUE_SOON = 1;
+    final static int DAYS_COLOR_OVERDUE = 2;
+    final static int DAYS_COLOR_EXPIRED = 3;
+
+    final int productId;
+    final String name;
+    final boolean isOnShoppingList;
+    final String amountText;
+    final boolean isMissing;
+    final String daysText;
+    final int daysColor;
+    final String extraFieldText;
+    final String extraFieldSubtitleText;
+    final String pictureUrl;
+    final boolean showPicturePlaceholder;
+
+    StockItemRowState(
+        int productId,
+        String name,
+        boolean isOnShoppingList,
+        String amountText,
+        boolean isMissing,
+        String daysText,
+        int daysColor,
+        String extraFieldText,
+        String extraFieldSubtitleText,
+        String pictureUrl,
+        boolean showPicturePlaceholder
+    ) {
+      this.productId = productId;
+      this.name = name;
+      this.isOnShoppingList = isOnShoppingList;
+      this.amountText = amountText;
+      this.isMissing = isMissing;
+      this.daysText = daysText;
+      this.daysColor = daysColor;
+      this.extraFieldText = extraFieldText;
+      this.extraFieldSubtitleText = extraFieldSubtitleText;
+      this.pictureUrl = pictureUrl;
+      this.showPicturePlaceholder = showPicturePlaceholder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      StockItemRowState that = (StockItemRowState) o;
+      return productId == that.productId
+          && isOnShoppingList == that.isOnShoppingList
+          && isMissing == that.isMissing
+          && daysColor == that.daysColor
+          && showPicturePlaceholder == that.showPicturePlaceholder
+          && Objects.equals(name, that.name)
+          && Objects.equals(amountText, that.amountText)
+          && Objects.equals(daysText, that.daysText)
+          && Objects.equals(extraFieldText, that.extraFieldText)
+          && Objects.equals(extraFieldSubtitleText, that.extraFieldSubtitleText)
+          && Objects.equals(pictureUrl, that.pictureUrl);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(productId, name, isOnShoppingList, amountText, isMissing, daysText,
+          daysColor, extraFieldText, extraFieldSubtitleText, pictureUrl, showPicturePlaceholder);
+    }
+  }
+
+  // holds the data of one list version, used on the list executor and the main thread
+  private class RowStateFactory {
+
+    private final Context context;
+    private final HashSet<String> shoppingListItemsProductIds;
+    private final HashMap<Integer, QuantityUnit> quantityUnitHashMap;
+    private final HashMap<Integer, String> productAveragePriceHashMap;
+    private final HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap;
+    private final HashSet<Integer> missingItemsProductIds;
+    private final String sortMode;
+    private final String extraField;
+    private final boolean containsPictures;
+
+    RowStateFactory(
+        Context context,
+        ArrayList<StockItem> stockItems,
+        ArrayList<String> shoppingListItemsProductIds,
+        HashMap<Integer, QuantityUnit> quantityUnitHashMap,
+        HashMap<Integer, String> productAveragePriceHashMap,
+        HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMap,
+        ArrayList<Integer> missingItemsProductIds,
+        String sortMode,
+        String extraField
+    ) {
+      this.context = context;
+      this.shoppingListItemsProductIds = new HashSet<>(shoppingListItemsProductIds);
+      this.quantityUnitHashMap = new HashMap<>(quantityUnitHashMap);
+      this.productAveragePriceHashMap = new HashMap<>(productAveragePriceHashMap);
+      this.productLastPurchasedHashMap = new HashMap<>(productLastPurchasedHashMap);
+      this.missingItemsProductIds = new HashSet<>(missingItemsProductIds);
+      this.sortMode = sortMode;
+      this.extraField = extraField;
+
+      boolean containsPictures = false;
+      for (StockItem stockItem : stockItems) {
+        if (stockItem.getProduct() == null) continue;
+        String pictureFileName = stockItem.getProduct().getPictureFileName();
+        if (pictureFileName != null && !pictureFileName.isEmpty()) {
+          containsPictures = true;
+          break;
+        }
+      }
+      this.containsPictures = containsPictures;
+    }
+
+    StockItemRowState create(StockItem stockItem) {
+      Product product = stockItem.getProduct();
+
+      boolean isOnShoppingList = shoppingListFeatureEnabled
+          && shoppingListItemsProductIds.contains(String.valueOf(product.getId()));
+
+      QuantityUnit quantityUnitStock = quantityUnitHashMap.get(product.getQuIdStockInt());
+      String amountText = AmountUtil.getStockAmountInfo(
+          context, pluralUtil, stockItem, quantityUnitStock, maxDecimalPlacesAmount
+      );
+      if (amountText.isBlank()) {
+        amountText = null;
+      }
+
+      String date = stockItem.getBestBeforeDate();
+      String daysText = null;
+      int daysColor = StockItemRowState.DAYS_COLOR_DEFAULT;
+      if (showDateTracking && date != null) {
+        int days = DateUtil.getDaysFromNow(date);
+        if (sortMode.equals(FilterChipLiveDataStockSort.SORT_DUE_DATE)
+            || days <= daysExpiringSoon && !date.equals(Constants.DATE.NEVER_OVERDUE)) {
+          daysText = dateUtil.getHumanForDaysFromNow(date);
+          // don't color days text if product has no own stock (children will be colored)
+          if (days <= daysExpiringSoon && !product.getNoOwnStockBoolean()) {
+            if (days >= 0) {
+              daysColor = StockItemRowState.DAYS_COLOR_DUE_SOON;
+            } else if (stockItem.getDueTypeInt() == StockItem.DUE_TYPE_BEST_BEFORE) {
+              daysColor = StockItemRowState.DAYS_COLOR_OVERDUE;
+            } else {
+              daysColor = StockItemRowState.DAYS_COLOR_EXPIRED;
+            }
+          }
+        }
+      }
+
+      double factorPurchaseToStock = product.getQuFactorPurchaseToStockDouble();
+      String extraFieldText = null;
+      String extraFieldSubtitleText = null;
+      switch (extraField) {
+        case FilterChipLiveDataStockExtraField.EXTRA_FIELD_VALUE:
+          // items which are only missing have no stock and therefore no value
+          if (!stockItem.isItemMissing() || stockItem.isItemMissingAndPartlyInStock()) {
+            extraFieldText = NumUtil.trimPrice(
+                stockItem.getValueDouble(), decimalPlacesPriceDisplay
+            );
+          }
+          if (currency != null && !currency.isEmpty()) {
+            extraFieldSubtitleText = currency;
+          }
+          break;
+        case FilterChipLiveDataStockExtraField.EXTRA_FIELD_CALORIES_UNIT:
+          if (NumUtil.isStringDouble(product.getCalories())) {
+            extraFieldText = product.getCalories();
+            extraFieldSubtitleText = "kcal";
+          }
+          break;
+        case FilterChipLiveDataStockExtraField.EXTRA_FIELD_CALORIES_TOTAL:
+          if (NumUtil.isStringDouble(product.getCalories())) {
+            extraFieldText = NumUtil.trimAmount(NumUtil.toDouble(product.getCalories())
+                * stockItem.getAmountDouble(), maxDecimalPlacesAmount);
+            extraFieldSubtitleText = "kcal";
+          }
+          break;
+        case FilterChipLiveDataStockExtraField.EXTRA_FIELD_AVERAGE_PRICE:
+          String avg = productAveragePriceHashMap.get(stockItem.getProductId());
+          if (NumUtil.isStringDouble(avg)) {
+            extraFieldText = NumUtil.trimPrice(
+                NumUtil.toDouble(avg) * factorPurchaseToStock, decimalPlacesPriceDisplay
+            );
+            extraFieldSubtitleText = getPriceUnitText(product, quantityUnitStock);
+          }
+          break;
+        case FilterChipLiveDataStockExtraField.EXTRA_FIELD_LAST_PRICE:
+          ProductLastPurchased p = productLastPurchasedHashMap.get(stockItem.getProductId());
+          if (p != null && NumUtil.isStringDouble(p.getPrice())) {
+            extraFieldText = NumUtil.trimPrice(NumUtil.toDouble(p.getPrice())
+                * factorPurchaseToStock, decimalPlacesPriceDisplay);
+            extraFieldSubtitleText = getPriceUnitText(product, quantityUnitStock);
+          }
+          break;
+      }
+
+      String pictureFileName = product.getPictureFileName();
+      String pictureUrl = pictureFileName != null && !pictureFileName.isEmpty()
+          ? grocyApi.getProductPicture(pictureFileName) : null;
+
+      return new StockItemRowState(
+          stockItem.getProductId(),
+          product.getName(),
+          isOnShoppingList,
+          amountText,
+          missingItemsProductIds.contains(stockItem.getProductId()),
+          daysText,
+          daysColor,
+          extraFieldText,
+          extraFieldSubtitleText,
+          pictureUrl,
+          containsPictures
+      );
+    }
+
+    private String getPriceUnitText(Product product, QuantityUnit quantityUnitStock) {
+      QuantityUnit quantityUnitPurchase = quantityUnitHashMap.get(product.getQuIdPurchaseInt());
+      if (quantityUnitPurchase != null && quantityUnitStock != null
+          && quantityUnitStock.getId() != quantityUnitPurchase.getId()) {
+        return context.getString(
+            R.string.property_price_unit_insert, currency, quantityUnitPurchase.getName()
+        );
+      } else {
+        return currency;
+      }
+    }
   }
 
   static class DiffCallback extends DiffUtil.Callback {
 
     ArrayList<GroupedListItem> oldItems;
     ArrayList<GroupedListItem> newItems;
-    ArrayList<String> shoppingListItemsProductIdsOld;
-    ArrayList<String> shoppingListItemsProductIdsNew;
-    HashMap<Integer, QuantityUnit> quantityUnitHashMapOld;
-    HashMap<Integer, QuantityUnit> quantityUnitHashMapNew;
-    HashMap<Integer, String> productAveragePriceHashMapOld;
-    HashMap<Integer, String> productAveragePriceHashMapNew;
-    HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMapOld;
-    HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMapNew;
-    ArrayList<Integer> missingProductIdsOld;
-    ArrayList<Integer> missingProductIdsNew;
-    String sortModeOld;
-    String sortModeNew;
-    boolean sortAscendingOld;
-    boolean sortAscendingNew;
-    String groupingModeOld;
-    String groupingModeNew;
-    String extraFieldOld;
-    String extraFieldNew;
+    ArrayList<StockItemRowState> oldRowStates;
+    ArrayList<StockItemRowState> newRowStates;
 
     public DiffCallback(
         ArrayList<GroupedListItem> oldItems,
         ArrayList<GroupedListItem> newItems,
-        ArrayList<String> shoppingListItemsProductIdsOld,
-        ArrayList<String> shoppingListItemsProductIdsNew,
-        HashMap<Integer, QuantityUnit> quantityUnitHashMapOld,
-        HashMap<Integer, QuantityUnit> quantityUnitHashMapNew,
-        HashMap<Integer, String> productAveragePriceHashMapOld,
-        HashMap<Integer, String> productAveragePriceHashMapNew,
-        HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMapOld,
-        HashMap<Integer, ProductLastPurchased> productLastPurchasedHashMapNew,
-        ArrayList<Integer> missingProductIdsOld,
-        ArrayList<Integer> missingProductIdsNew,
-        String sortModeOld,
-        String sortModeNew,
-        boolean sortAscendingOld,
-        boolean sortAscendingNew,
-        String groupingModeOld,
-        String groupingModeNew,
-        String extraFieldOld,
-        String extraFieldNew
+        ArrayList<StockItemRowState> oldRowStates,
+        ArrayList<StockItemRowState> newRowStates
     ) {
-      this.newItems = newItems;
       this.oldItems = oldItems;
-      this.shoppingListItemsProductIdsOld = shoppingListItemsProductIdsOld;
-      this.shoppingListItemsProductIdsNew = shoppingListItemsProductIdsNew;
-      this.quantityUnitHashMapOld = quantityUnitHashMapOld;
-      this.quantityUnitHashMapNew = quantityUnitHashMapNew;
-      this.productAveragePriceHashMapOld = productAveragePriceHashMapOld;
-      this.productAveragePriceHashMapNew = productAveragePriceHashMapNew;
-      this.productLastPurchasedHashMapOld = productLastPurchasedHashMapOld;
-      this.productLastPurchasedHashMapNew = productLastPurchasedHashMapNew;
-      this.missingProductIdsOld = missingProductIdsOld;
-      this.missingProductIdsNew = missingProductIdsNew;
-      this.sortModeOld = sortModeOld;
-      this.sortModeNew = sortModeNew;
-      this.sortAscendingOld = sortAscendingOld;
-      this.sortAscendingNew = sortAscendingNew;
-      this.groupingModeOld = groupingModeOld;
-      this.groupingModeNew = groupingModeNew;
-      this.extraFieldOld = extraFieldOld;
-      this.extraFieldNew = extraFieldNew;
+      this.newItems = newItems;
+      this.oldRowStates = oldRowStates;
+      this.newRowStates = newRowStates;
     }
 
     @Override
@@ -752,65 +857,13 @@ public class StockOverviewItemAdapter extends
       if (oldItemType != newItemType) {
         return false;
       }
-      if (!sortModeOld.equals(sortModeNew)) {
-        return false;
-      }
-      if (sortAscendingOld != sortAscendingNew) {
-        return false;
-      }
-      if (!groupingModeOld.equals(groupingModeNew) || !extraFieldOld.equals(extraFieldNew)) {
-        return false;
-      }
       if (oldItemType == GroupedListItem.TYPE_ENTRY) {
         StockItem newItem = (StockItem) newItems.get(newItemPos);
         StockItem oldItem = (StockItem) oldItems.get(oldItemPos);
         if (!compareContent) {
           return newItem.getProductId() == oldItem.getProductId();
         }
-        if (!newItem.getProduct().equals(oldItem.getProduct())) {
-          return false;
-        }
-        QuantityUnit quOld = quantityUnitHashMapOld.get(oldItem.getProduct().getQuIdStockInt());
-        QuantityUnit quNew = quantityUnitHashMapNew.get(newItem.getProduct().getQuIdStockInt());
-        if (quOld == null && quNew != null
-            || quOld != null && quNew != null && quOld.getId() != quNew.getId()
-        ) {
-          return false;
-        }
-
-        boolean isOnShoppingListOld = shoppingListItemsProductIdsOld
-            .contains(String.valueOf(oldItem.getProduct().getId()));
-        boolean isOnShoppingListNew = shoppingListItemsProductIdsNew
-            .contains(String.valueOf(newItem.getProduct().getId()));
-        if (isOnShoppingListNew != isOnShoppingListOld) {
-          return false;
-        }
-
-        if (extraFieldNew.equals(FilterChipLiveDataStockExtraField.EXTRA_FIELD_AVERAGE_PRICE)) {
-          String priceOld = productAveragePriceHashMapOld.get(oldItem.getProductId());
-          String priceNew = productAveragePriceHashMapNew.get(newItem.getProductId());
-          if (priceOld == null && priceNew != null
-              || priceOld != null && priceNew != null && !priceOld.equals(priceNew)) {
-            return false;
-          }
-        } else if (extraFieldNew.equals(FilterChipLiveDataStockExtraField.EXTRA_FIELD_LAST_PRICE)) {
-          ProductLastPurchased purchasedOld = productLastPurchasedHashMapOld
-              .get(oldItem.getProductId());
-          ProductLastPurchased purchasedNew = productLastPurchasedHashMapNew
-              .get(newItem.getProductId());
-          if (purchasedOld == null && purchasedNew != null
-              || purchasedOld != null && purchasedNew != null
-              && !purchasedOld.equals(purchasedNew)) {
-            return false;
-          }
-        }
-
-        boolean missingOld = missingProductIdsOld.contains(oldItem.getProductId());
-        boolean missingNew = missingProductIdsNew.contains(newItem.getProductId());
-        if (missingOld != missingNew) {
-          return false;
-        }
-        return newItem.equals(oldItem);
+        return oldRowStates.get(oldItemPos).equals(newRowStates.get(newItemPos));
       } else {
         GroupHeader newGroup = (GroupHeader) newItems.get(newItemPos);
         GroupHeader oldGroup = (GroupHeader) oldItems.get(oldItemPos);
@@ -21,6 +21,7 @@ package xyz.zedler.patrick.grocy.api;
 
 import android.app.Application;
 import android.content.SharedPreferences;
+import android.net.Uri;
 import android.util.Base64;
 import androidx.annotation.NonNull;
 import androidx.preference.PreferenceManager;
@@ -168,6 +169,22 @@ public class GrocyApi {
     return getUrl("/objects/" + entity, comparisons);
   }
 
+  /**
+   * Returns all objects of the given entity which were changed at or after the given time
+   */
+  public String getObjectsChangedSince(String entity, String time) {
+    return getObjects(entity, new COMPARISON(
+        "row_updated_timestamp", COMPARISON_OPERATOR.GREATER_OR_EQUAL, Uri.encode(time)
+    ));
+  }
+
+  /**
+   * Returns the object of the given entity at the given position when ordered by id
+   */
+  public String getObjectAtPosition(String entity, int position) {
+    return getUrl("/objects/" + entity, "order=id%3Aasc", "limit=1", "offset=" + position);
+  }
+
   /**
    * Returns all objects of the given entity and filter
    */
@@ -39,4 +39,10 @@ public interface ChoreDao {
   @Query("DELETE FROM chore_table")
   Single<Integer> deleteChores();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<Chore> chores);
+
+  @Query("DELETE FROM chore_table")
+  void deleteAll();
+
 }
@@ -39,4 +39,10 @@ public interface ChoreEntryDao {
   @Query("DELETE FROM chore_entry_table")
   Single<Integer> deleteChoreEntries();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<ChoreEntry> choreEntries);
+
+  @Query("DELETE FROM chore_entry_table")
+  void deleteAll();
+
 }
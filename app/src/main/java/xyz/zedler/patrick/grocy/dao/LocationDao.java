@@ -39,4 +39,10 @@ public interface LocationDao {
   @Query("DELETE FROM location_table")
   Single<Integer> deleteLocations();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<Location> locations);
+
+  @Query("DELETE FROM location_table")
+  void deleteAll();
+
 }
@@ -39,4 +39,13 @@ public interface MissingItemDao {
   @Query("DELETE FROM missing_item_table")
   Single<Integer> deleteMissingItems();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<MissingItem> missingItems);
+
+  @Query("DELETE FROM missing_item_table")
+  void deleteAll();
+
+  @Query("DELETE FROM missing_item_table WHERE id = :productId")
+  void deleteMissingItem(int productId);
+
 }
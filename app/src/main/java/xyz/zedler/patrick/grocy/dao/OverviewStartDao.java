@@ -0,0 +1,76 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import io.reactivex.rxjava3.core.Single;
+import xyz.zedler.patrick.grocy.model.OverviewStartCounts;
+import xyz.zedler.patrick.grocy.model.VolatileItem;
+
+@Dao
+public interface OverviewStartDao {
+
+  // stock items count as in stock unless they are missing and not partly in stock
+  String IN_STOCK = "NOT EXISTS (SELECT 1 FROM missing_item_table m WHERE m.id = s.product_id"
+      + " AND IFNULL(CAST(m.is_partly_in_stock AS INTEGER), 0) != 1)";
+
+  String VOLATILE_COUNT = "SELECT COUNT(*) FROM volatile_item_table v"
+      + " WHERE EXISTS (SELECT 1 FROM stock_item_table s WHERE s.product_id = v.product_id)"
+      + " AND v.volatile_type = ";
+
+  // whole days between the date part of the chore execution time and today
+  String CHORE_DAYS = "(julianday(substr(next_estimated_execution_time, 1, 10))"
+      + " - julianday(date('now', 'localtime')))";
+
+  String CHORE_COUNT = "SELECT COUNT(*) FROM chore_entry_table"
+      + " WHERE IFNULL(next_estimated_execution_time, '') != '' AND ";
+
+  String TASK_UNDONE = "IFNULL(done, 0) != 1";
+
+  @Query("SELECT "
+      + "(SELECT COUNT(*) FROM stock_item_table s WHERE " + IN_STOCK + ")"
+      + " AS stock_items_in_stock, "
+      + "(SELECT TOTAL(value) FROM stock_item_table s WHERE " + IN_STOCK + ")"
+      + " AS stock_value, "
+      + "(" + VOLATILE_COUNT + VolatileItem.TYPE_DUE + ") AS stock_items_due, "
+      + "(" + VOLATILE_COUNT + VolatileItem.TYPE_OVERDUE + ") AS stock_items_overdue, "
+      + "(" + VOLATILE_COUNT + VolatileItem.TYPE_EXPIRED + ") AS stock_items_expired, "
+      + "(SELECT COUNT(*) FROM missing_item_table) AS missing_items, "
+      + "(SELECT COUNT(*) FROM missing_item_table m WHERE EXISTS (SELECT 1"
+      + " FROM shopping_list_item_table i WHERE i.product_id = CAST(m.id AS TEXT)))"
+      + " AS missing_items_on_shopping_list, "
+      + "(SELECT COUNT(*) FROM shopping_list_item_table) AS shopping_list_items, "
+      + "(SELECT COUNT(*) FROM shopping_list_table) AS shopping_lists, "
+      + "(SELECT COUNT(*) FROM product_table) AS products, "
+      + "(SELECT COUNT(*) FROM stored_purchase_table) AS stored_purchases, "
+      + "(SELECT COUNT(*) FROM recipe_table) AS recipes, "
+      + "(" + CHORE_COUNT + CHORE_DAYS + " = 0) AS chores_due_today, "
+      + "(" + CHORE_COUNT + CHORE_DAYS + " BETWEEN 0 AND 5) AS chores_due_soon, "
+      + "(" + CHORE_COUNT + CHORE_DAYS + " < 0) AS chores_overdue, "
+      + "(SELECT COUNT(*) FROM chore_entry_table"
+      + " WHERE CAST(next_execution_assigned_to_user_id AS INTEGER) = :userId)"
+      + " AS chores_assigned, "
+      + "(SELECT COUNT(*) FROM task_table WHERE " + TASK_UNDONE + ") AS tasks_undone, "
+      + "(SELECT COUNT(*) FROM task_table WHERE " + TASK_UNDONE
+      + " AND CAST(assigned_to_user_id AS INTEGER) = :userId) AS tasks_assigned")
+  Single<OverviewStartCounts> getOverviewStartCounts(int userId);
+
+}
@@ -39,4 +39,10 @@ public interface ProductAveragePriceDao {
   @Query("DELETE FROM product_average_price_table")
   Single<Integer> deleteProductsAveragePrice();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<ProductAveragePrice> productsAveragePrice);
+
+  @Query("DELETE FROM product_average_price_table")
+  void deleteAll();
+
 }
@@ -23,6 +23,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
@@ -33,10 +34,25 @@ public interface ProductBarcodeDao {
   @Query("SELECT * FROM product_barcode_table")
   Single<List<ProductBarcode>> getProductBarcodes();
 
+  @Query("SELECT id FROM product_barcode_table ORDER BY id")
+  Single<List<Integer>> getProductBarcodeIds();
+
+  @Query("SELECT * FROM product_barcode_table WHERE barcode = :barcode LIMIT 1")
+  Maybe<ProductBarcode> getProductBarcode(String barcode);
+
+  @Query("SELECT * FROM product_barcode_table WHERE barcode IN (:barcodes) LIMIT 1")
+  Maybe<ProductBarcode> getProductBarcode(List<String> barcodes);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertProductBarcodes(List<ProductBarcode> productBarcodes);
 
   @Query("DELETE FROM product_barcode_table")
   Single<Integer> deleteProductBarcodes();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<ProductBarcode> productBarcodes);
+
+  @Query("DELETE FROM product_barcode_table")
+  void deleteAll();
+
 }
@@ -33,10 +33,19 @@ public interface ProductDao {
   @Query("SELECT * FROM product_table")
   Single<List<Product>> getProducts();
 
+  @Query("SELECT id FROM product_table ORDER BY id")
+  Single<List<Integer>> getProductIds();
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertProducts(List<Product> products);
 
   @Query("DELETE FROM product_table")
   Single<Integer> deleteProducts();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<Product> products);
+
+  @Query("DELETE FROM product_table")
+  void deleteAll();
+
 }
@@ -39,4 +39,10 @@ public interface ProductGroupDao {
   @Query("DELETE FROM product_group_table")
   Single<Integer> deleteProductGroups();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<ProductGroup> productGroups);
+
+  @Query("DELETE FROM product_group_table")
+  void deleteAll();
+
 }
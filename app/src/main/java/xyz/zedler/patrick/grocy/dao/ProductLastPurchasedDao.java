@@ -39,4 +39,10 @@ public interface ProductLastPurchasedDao {
   @Query("DELETE FROM product_last_purchased_table")
   Single<Integer> deleteProductsLastPurchased();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<ProductLastPurchased> productsLastPurchased);
+
+  @Query("DELETE FROM product_last_purchased_table")
+  void deleteAll();
+
 }
@@ -33,10 +33,21 @@ public interface QuantityUnitConversionDao {
   @Query("SELECT * FROM quantity_unit_conversion_table")
   Single<List<QuantityUnitConversion>> getConversions();
 
+  // product specific conversions and the default ones without product
+  @Query("SELECT * FROM quantity_unit_conversion_table "
+      + "WHERE product_id = :productId OR product_id IS NULL")
+  Single<List<QuantityUnitConversion>> getConversions(int productId);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertConversions(List<QuantityUnitConversion> quantityUnitConversions);
 
   @Query("DELETE FROM quantity_unit_conversion_table")
   Single<Integer> deleteConversions();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<QuantityUnitConversion> quantityUnitConversions);
+
+  @Query("DELETE FROM quantity_unit_conversion_table")
+  void deleteAll();
+
 }
@@ -39,4 +39,10 @@ public interface QuantityUnitDao {
   @Query("DELETE FROM quantity_unit_table")
   Single<Integer> deleteQuantityUnits();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<QuantityUnit> quantityUnits);
+
+  @Query("DELETE FROM quantity_unit_table")
+  void deleteAll();
+
 }
@@ -41,4 +41,10 @@ public interface RecipeDao {
   @Query("DELETE FROM recipe_table")
   Single<Integer> deleteRecipes();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<Recipe> recipes);
+
+  @Query("DELETE FROM recipe_table")
+  void deleteAll();
+
 }
@@ -39,4 +39,10 @@ public interface RecipeFulfillmentDao {
   @Query("DELETE FROM recipe_fulfillment_table")
   Single<Integer> deleteRecipeFulfillments();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<RecipeFulfillment> recipeFulfillmentList);
+
+  @Query("DELETE FROM recipe_fulfillment_table")
+  void deleteAll();
+
 }
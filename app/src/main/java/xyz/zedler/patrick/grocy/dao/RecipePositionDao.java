@@ -41,4 +41,10 @@ public interface RecipePositionDao {
   @Query("DELETE FROM recipe_pos_table")
   Single<Integer> deleteRecipePositions();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<RecipePosition> recipePositions);
+
+  @Query("DELETE FROM recipe_pos_table")
+  void deleteAll();
+
 }
@@ -43,4 +43,10 @@ public interface ShoppingListDao {
   @Query("DELETE FROM shopping_list_table")
   Single<Integer> deleteShoppingLists();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<ShoppingList> shoppingLists);
+
+  @Query("DELETE FROM shopping_list_table")
+  void deleteAll();
+
 }
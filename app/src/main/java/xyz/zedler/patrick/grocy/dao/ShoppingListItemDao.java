@@ -33,6 +33,20 @@ public interface ShoppingListItemDao {
   @Query("SELECT * FROM shopping_list_item_table")
   Single<List<ShoppingListItem>> getShoppingListItems();
 
+  // items with a local "done" change which is not yet on the server
+  @Query("SELECT * FROM shopping_list_item_table "
+      + "WHERE done_synced != -1 AND CAST(done AS INTEGER) != done_synced")
+  Single<List<ShoppingListItem>> getShoppingListItemsToSync();
+
+  @Query("SELECT * FROM shopping_list_item_table "
+      + "WHERE done_synced != -1 AND CAST(done AS INTEGER) != done_synced")
+  List<ShoppingListItem> getPendingShoppingListItems();
+
+  // the change is only cleared if the item was not toggled again while it was sent
+  @Query("UPDATE shopping_list_item_table SET done_synced = "
+      + "CASE WHEN CAST(done AS INTEGER) = :done THEN -1 ELSE :done END WHERE id = :id")
+  void setDoneSynced(int id, int done);
+
   @Insert(onConflict = OnConflictStrategy.REPLACE)
   Single<List<Long>> insertShoppingListItems(List<ShoppingListItem> shoppingListItems);
 
@@ -39,4 +39,10 @@ public interface StockEntryDao {
   @Query("DELETE FROM stock_entry_table")
   Single<Integer> deleteStockEntries();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<StockEntry> stockEntries);
+
+  @Query("DELETE FROM stock_entry_table")
+  void deleteAll();
+
 }
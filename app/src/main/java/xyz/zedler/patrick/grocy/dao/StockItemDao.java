@@ -39,4 +39,13 @@ public interface StockItemDao {
   @Query("DELETE FROM stock_item_table")
   Single<Integer> deleteStockItems();
 
+  @Query("DELETE FROM stock_item_table WHERE product_id = :productId")
+  void deleteStockItem(int productId);
+
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<StockItem> stockItems);
+
+  @Query("DELETE FROM stock_item_table")
+  void deleteAll();
+
 }
@@ -38,4 +38,10 @@ public interface StockLocationDao {
 
   @Query("DELETE FROM stock_current_location_table")
   Single<Integer> deleteStockLocations();
+
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<StockLocation> stockLocation);
+
+  @Query("DELETE FROM stock_current_location_table")
+  void deleteAll();
 }
@@ -0,0 +1,50 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.RawQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import io.reactivex.rxjava3.core.Single;
+import java.util.List;
+import xyz.zedler.patrick.grocy.model.StockLogEntry;
+
+@Dao
+public interface StockLogEntryDao {
+
+  @RawQuery
+  Single<List<StockLogEntry>> getStockLogEntries(SupportSQLiteQuery query);
+
+  @Query("SELECT MAX(id) FROM stock_log_entry_table")
+  Integer getNewestId();
+
+  @Query("SELECT COUNT(*) FROM stock_log_entry_table WHERE id > :id")
+  Single<Integer> getNewerEntriesCount(int id);
+
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<StockLogEntry> stockLogEntries);
+
+  @Query("DELETE FROM stock_log_entry_table")
+  void deleteAll();
+
+}
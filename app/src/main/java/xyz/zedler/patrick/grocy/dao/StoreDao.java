@@ -39,4 +39,10 @@ public interface StoreDao {
   @Query("DELETE FROM store_table")
   Single<Integer> deleteStores();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<Store> stores);
+
+  @Query("DELETE FROM store_table")
+  void deleteAll();
+
 }
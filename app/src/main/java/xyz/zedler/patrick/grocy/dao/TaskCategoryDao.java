@@ -39,4 +39,10 @@ public interface TaskCategoryDao {
   @Query("DELETE FROM task_category_table")
   Single<Integer> deleteCategories();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<TaskCategory> taskGroups);
+
+  @Query("DELETE FROM task_category_table")
+  void deleteAll();
+
 }
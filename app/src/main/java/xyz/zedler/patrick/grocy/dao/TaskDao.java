@@ -39,4 +39,10 @@ public interface TaskDao {
   @Query("DELETE FROM task_table")
   Single<Integer> deleteTasks();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<Task> tasks);
+
+  @Query("DELETE FROM task_table")
+  void deleteAll();
+
 }
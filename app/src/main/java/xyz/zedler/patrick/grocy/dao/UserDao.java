@@ -39,4 +39,10 @@ public interface UserDao {
   @Query("DELETE FROM user_table")
   Single<Integer> deleteUsers();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<User> users);
+
+  @Query("DELETE FROM user_table")
+  void deleteAll();
+
 }
@@ -42,4 +42,13 @@ public interface VolatileItemDao {
   @Query("DELETE FROM volatile_item_table")
   Single<Integer> deleteVolatileItems();
 
+  @Insert(onConflict = OnConflictStrategy.REPLACE)
+  List<Long> insertAll(List<VolatileItem> volatileItems);
+
+  @Query("DELETE FROM volatile_item_table")
+  void deleteAll();
+
+  @Query("DELETE FROM volatile_item_table WHERE product_id = :productId")
+  void deleteVolatileItems(int productId);
+
 }
@@ -20,13 +20,20 @@
 package xyz.zedler.patrick.grocy.database;
 
 import android.content.Context;
+import android.content.SharedPreferences;
+import androidx.annotation.NonNull;
+import androidx.preference.PreferenceManager;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import io.reactivex.rxjava3.core.Completable;
 import xyz.zedler.patrick.grocy.dao.ChoreDao;
 import xyz.zedler.patrick.grocy.dao.ChoreEntryDao;
 import xyz.zedler.patrick.grocy.dao.LocationDao;
 import xyz.zedler.patrick.grocy.dao.MissingItemDao;
+import xyz.zedler.patrick.grocy.dao.OverviewStartDao;
 import xyz.zedler.patrick.grocy.dao.PendingProductBarcodeDao;
 import xyz.zedler.patrick.grocy.dao.PendingProductDao;
 import xyz.zedler.patrick.grocy.dao.ProductAveragePriceDao;
@@ -45,6 +52,7 @@ import xyz.zedler.patrick.grocy.dao.ShoppingListItemDao;
 import xyz.zedler.patrick.grocy.dao.StockEntryDao;
 import xyz.zedler.patrick.grocy.dao.StockItemDao;
 import xyz.zedler.patrick.grocy.dao.StockLocationDao;
+import xyz.zedler.patrick.grocy.dao.StockLogEntryDao;
 import xyz.zedler.patrick.grocy.dao.StoreDao;
 import xyz.zedler.patrick.grocy.dao.StoredPurchaseDao;
 import xyz.zedler.patrick.grocy.dao.TaskCategoryDao;
@@ -73,12 +81,14 @@ import xyz.zedler.patrick.grocy.model.ShoppingListItem;
 import xyz.zedler.patrick.grocy.model.StockEntry;
 import xyz.zedler.patrick.grocy.model.StockItem;
 import xyz.zedler.patrick.grocy.model.StockLocation;
+import xyz.zedler.patrick.grocy.model.StockLogEntry;
 import xyz.zedler.patrick.grocy.model.Store;
 import xyz.zedler.patrick.grocy.model.StoredPurchase;
 import xyz.zedler.patrick.grocy.model.Task;
 import xyz.zedler.patrick.grocy.model.TaskCategory;
 import xyz.zedler.patrick.grocy.model.User;
 import xyz.zedler.patrick.grocy.model.VolatileItem;
+import xyz.zedler.patrick.grocy.web.ConditionalRequestCache;
 
 @Database(
     entities = {
@@ -109,14 +119,128 @@ import xyz.zedler.patrick.grocy.model.VolatileItem;
         Server.class,
         Recipe.class,
         RecipeFulfillment.class,
-        RecipePosition.class
+        RecipePosition.class,
+        StockLogEntry.class
     },
-    version = 43
+    version = 46
 )
 public abstract class AppDatabase extends RoomDatabase {
 
   private static AppDatabase INSTANCE;
 
+  // indices for the lookups of single rows
+  static final Migration MIGRATION_43_44 = new Migration(43, 44) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      createIndex(db, "product_barcode_table", "barcode");
+      createIndex(db, "product_barcode_table", "product_id");
+      createIndex(db, "quantity_unit_conversion_table", "product_id");
+      createIndex(db, "recipe_pos_table", "recipe_id");
+      createIndex(db, "recipe_pos_table", "product_id");
+      createIndex(db, "shopping_list_item_table", "product_id");
+      createIndex(db, "shopping_list_item_table", "shopping_list_id");
+      createIndex(db, "stock_entry_table", "product_id");
+      createIndex(db, "stock_entry_table", "best_before_date");
+      createIndex(db, "stock_item_table", "best_before_date");
+      createIndex(db, "stock_current_location_table", "product_id");
+      createIndex(db, "stock_current_location_table", "location_id");
+    }
+  };
+
+  /**
+   * Numeric fields of products and stock items are stored as INTEGER and REAL instead of TEXT.
+   * SQLite can't change column types, so both tables are copied into new ones. Empty values get
+   * the defaults of the fields.
+   */
+  static final Migration MIGRATION_44_45 = new Migration(44, 45) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      db.execSQL("CREATE TABLE IF NOT EXISTS `product_table_new` (`id` INTEGER NOT NULL, "
+          + "`name` TEXT, `description` TEXT, `product_group_id` TEXT, "
+          + "`active` INTEGER NOT NULL, `location_id` TEXT, `shopping_location_id` TEXT, "
+          + "`qu_id_purchase` INTEGER NOT NULL, `qu_id_stock` INTEGER NOT NULL, "
+          + "`qu_factor_purchase_to_stock` REAL NOT NULL, `min_stock_amount` REAL NOT NULL, "
+          + "`default_best_before_days` TEXT, `default_best_before_days_after_open` TEXT, "
+          + "`default_best_before_days_after_freezing` TEXT, "
+          + "`default_best_before_days_after_thawing` TEXT, `picture_file_name` TEXT, "
+          + "`enable_tare_weight_handling` TEXT, `tare_weight` TEXT, "
+          + "`not_check_stock_fulfillment_for_recipes` TEXT, `parent_product_id` TEXT, "
+          + "`calories` TEXT, `cumulate_min_stock_amount_of_sub_products` TEXT, "
+          + "`due_type` INTEGER NOT NULL, `quick_consume_amount` TEXT, "
+          + "`hide_on_stock_overview` INTEGER NOT NULL, `default_stock_label_type` TEXT, "
+          + "`should_not_be_frozen` TEXT, `treat_opened_as_out_of_stock` TEXT, "
+          + "`no_own_stock` TEXT, `default_consume_location_id` TEXT, `move_on_open` TEXT, "
+          + "PRIMARY KEY(`id`))");
+      db.execSQL("INSERT INTO `product_table_new` SELECT `id`, `name`, `description`, "
+          + "`product_group_id`, " + toInteger("active", 0) + ", `location_id`, "
+          + "`shopping_location_id`, " + toInteger("qu_id_purchase", -1) + ", "
+          + toInteger("qu_id_stock", -1) + ", " + toReal("qu_factor_purchase_to_stock", 1) + ", "
+          + toReal("min_stock_amount", 0) + ", `default_best_before_days`, "
+          + "`default_best_before_days_after_open`, `default_best_before_days_after_freezing`, "
+          + "`default_best_before_days_after_thawing`, `picture_file_name`, "
+          + "`enable_tare_weight_handling`, `tare_weight`, "
+          + "`not_check_stock_fulfillment_for_recipes`, `parent_product_id`, `calories`, "
+          + "`cumulate_min_stock_amount_of_sub_products`, " + toInteger("due_type", 1) + ", "
+          + "`quick_consume_amount`, " + toInteger("hide_on_stock_overview", 0) + ", "
+          + "`default_stock_label_type`, `should_not_be_frozen`, "
+          + "`treat_opened_as_out_of_stock`, `no_own_stock`, `default_consume_location_id`, "
+          + "`move_on_open` FROM `product_table`");
+      db.execSQL("DROP TABLE `product_table`");
+      db.execSQL("ALTER TABLE `product_table_new` RENAME TO `product_table`");
+
+      db.execSQL("CREATE TABLE IF NOT EXISTS `stock_item_table_new` ("
+          + "`amount` REAL NOT NULL, `amount_aggregated` REAL NOT NULL, "
+          + "`value` REAL NOT NULL, `best_before_date` TEXT, `amount_opened` REAL NOT NULL, "
+          + "`amount_opened_aggregated` REAL NOT NULL, `is_aggregated_amount` INTEGER NOT NULL, "
+          + "`due_type` INTEGER NOT NULL, `product_id` INTEGER NOT NULL, "
+          + "`item_due` INTEGER NOT NULL, `item_overdue` INTEGER NOT NULL, "
+          + "`item_expired` INTEGER NOT NULL, `item_missing` INTEGER NOT NULL, "
+          + "`item_missing_partly_in_stock` INTEGER NOT NULL, PRIMARY KEY(`product_id`))");
+      db.execSQL("INSERT INTO `stock_item_table_new` SELECT " + toReal("amount", 0) + ", "
+          + toReal("amount_aggregated", 0) + ", " + toReal("value", 0) + ", "
+          + "`best_before_date`, " + toReal("amount_opened", 0) + ", "
+          + toReal("amount_opened_aggregated", 0) + ", "
+          + toInteger("is_aggregated_amount", 0) + ", " + toInteger("due_type", 1) + ", "
+          + "`product_id`, `item_due`, `item_overdue`, `item_expired`, `item_missing`, "
+          + "`item_missing_partly_in_stock` FROM `stock_item_table`");
+      db.execSQL("DROP TABLE `stock_item_table`");
+      db.execSQL("ALTER TABLE `stock_item_table_new` RENAME TO `stock_item_table`");
+      createIndex(db, "stock_item_table", "best_before_date");
+    }
+
+    private String toInteger(String column, int defaultValue) {
+      return "IFNULL(CAST(NULLIF(TRIM(`" + column + "`), '') AS INTEGER), "
+          + defaultValue + ")";
+    }
+
+    private String toReal(String column, double defaultValue) {
+      return "IFNULL(CAST(REPLACE(NULLIF(TRIM(`" + column + "`), ''), ',', '.') AS REAL), "
+          + defaultValue + ")";
+    }
+  };
+
+  // cache of the stock journal, filled page by page
+  static final Migration MIGRATION_45_46 = new Migration(45, 46) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase db) {
+      db.execSQL("CREATE TABLE IF NOT EXISTS `stock_log_entry_table` (`id` INTEGER NOT NULL, "
+          + "`product_id` INTEGER NOT NULL, `amount` TEXT, `best_before_date` TEXT, "
+          + "`purchased_date` TEXT, `used_date` TEXT, `spoiled` TEXT, `stock_id` TEXT, "
+          + "`transaction_type` TEXT, `price` TEXT, `undone` TEXT, `undone_timestamp` TEXT, "
+          + "`opened_date` TEXT, `location_id` TEXT, `recipe_id` TEXT, `correlation_id` TEXT, "
+          + "`transaction_id` TEXT, `stock_row_id` TEXT, `shopping_location_id` TEXT, "
+          + "`user_id` TEXT, `row_created_timestamp` TEXT, `note` TEXT, PRIMARY KEY(`id`))");
+      createIndex(db, "stock_log_entry_table", "product_id");
+      createIndex(db, "stock_log_entry_table", "location_id");
+      createIndex(db, "stock_log_entry_table", "user_id");
+    }
+  };
+
+  private static void createIndex(SupportSQLiteDatabase db, String table, String column) {
+    db.execSQL("CREATE INDEX IF NOT EXISTS `index_" + table + "_" + column + "` "
+        + "ON `" + table + "` (`" + column + "`)");
+  }
+
   public abstract ShoppingListDao shoppingListDao();
 
   public abstract ShoppingListItemDao shoppingListItemDao();
@@ -173,13 +297,45 @@ public abstract class AppDatabase extends RoomDatabase {
 
   public abstract ServerDao serverDao();
 
+  public abstract OverviewStartDao overviewStartDao();
+
+  public abstract StockLogEntryDao stockLogEntryDao();
+
+  /**
+   * Runs the given table replacements in one transaction on subscription. Readers never see an
+   * empty table in between and the whole sync is written with one commit.
+   */
+  public Completable syncApply(Runnable replaceTables) {
+    return Completable.fromAction(() -> runInTransaction(replaceTables));
+  }
+
   public static AppDatabase getAppDatabase(Context context) {
     if (INSTANCE == null) {
+      Context appContext = context.getApplicationContext();
       INSTANCE = Room.databaseBuilder(
-          context.getApplicationContext(),
+          appContext,
           AppDatabase.class,
           "app_database"
-      ).fallbackToDestructiveMigration().build();
+      ).addMigrations(
+          MIGRATION_43_44,
+          MIGRATION_44_45,
+          MIGRATION_45_46
+      ).fallbackToDestructiveMigration().addCallback(new Callback() {
+        @Override
+        public void onDestructiveMigration(@NonNull SupportSQLiteDatabase db) {
+          // all tables are empty now, so the next sync has to download everything again
+          SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(appContext);
+          SharedPreferences.Editor editPrefs = sharedPrefs.edit();
+          for (String key : sharedPrefs.getAll().keySet()) {
+            if (key.startsWith("db_last_time_") || key.startsWith("db_last_full_sync_")) {
+              editPrefs.remove(key);
+            }
+          }
+          editPrefs.apply();
+          ConditionalRequestCache.getInstance(appContext).clear();
+          EntityCache.getInstance(appContext).clear();
+        }
+      }).build();
     }
     return INSTANCE;
   }
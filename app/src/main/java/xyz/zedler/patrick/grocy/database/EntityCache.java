@@ -0,0 +1,270 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.database;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import xyz.zedler.patrick.grocy.model.Location;
+import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.model.ProductGroup;
+import xyz.zedler.patrick.grocy.model.QuantityUnit;
+
+/**
+ * App-wide in-memory copy of the product, quantity unit, location and product group tables.
+ * A table is read from Room only once and then served from memory with a prebuilt id map,
+ * until the sync pipeline replaces or changes it. Tables with more than MAX_CACHED_OBJECTS
+ * rows are not kept and the whole cache is dropped when the system is low on memory.
+ * The cached objects are shared by all callers, so they must not be modified. Screens which
+ * edit an object, like the master product form, work on a copy (e.g. Product.getClone()).
+ */
+public class EntityCache implements ComponentCallbacks2 {
+
+  private final static int MAX_CACHED_OBJECTS = 10000;
+  private final static Class<?>[] TYPES = {
+      Product.class, QuantityUnit.class, Location.class, ProductGroup.class
+  };
+
+  private static EntityCache instance;
+
+  private final Context context;
+  private final HashMap<Class<?>, Snapshot<?>> snapshots;
+  private final HashMap<Class<?>, Integer> generations;
+  private final AtomicInteger hitCount;
+  private final AtomicInteger missCount;
+
+  private EntityCache(Context context) {
+    this.context = context;
+    snapshots = new HashMap<>();
+    generations = new HashMap<>();
+    hitCount = new AtomicInteger();
+    missCount = new AtomicInteger();
+  }
+
+  public static synchronized EntityCache getInstance(Context context) {
+    if (instance == null) {
+      instance = new EntityCache(context.getApplicationContext());
+      instance.context.registerComponentCallbacks(instance);
+    }
+    return instance;
+  }
+
+  public Single<List<Product>> getProducts() {
+    return get(Product.class, () -> db().productDao().getProducts(), Product::getId);
+  }
+
+  public Single<List<QuantityUnit>> getQuantityUnits() {
+    return get(
+        QuantityUnit.class, () -> db().quantityUnitDao().getQuantityUnits(), QuantityUnit::getId
+    );
+  }
+
+  public Single<List<Location>> getLocations() {
+    return get(Location.class, () -> db().locationDao().getLocations(), Location::getId);
+  }
+
+  public Single<List<ProductGroup>> getProductGroups() {
+    return get(
+        ProductGroup.class, () -> db().productGroupDao().getProductGroups(), ProductGroup::getId
+    );
+  }
+
+  /**
+   * Has to be called after a transaction which replaced the table of the given type
+   * has been committed. Loads which were started before are not stored.
+   */
+  public synchronized void invalidate(Class<?> type) {
+    snapshots.remove(type);
+    nextGeneration(type);
+  }
+
+  /**
+   * Has to be called after changed objects have been written to the database. Only the
+   * changed objects are replaced in the cached table instead of reading it again.
+   */
+  public synchronized <T> void onObjectsUpserted(Class<T> type, List<T> changedObjects) {
+    @SuppressWarnings("unchecked")
+    Snapshot<T> snapshot = (Snapshot<T>) snapshots.get(type);
+    nextGeneration(type);
+    if (snapshot == null) {
+      return;
+    }
+    ArrayList<T> objects = new ArrayList<>(snapshot.objects);
+    HashMap<Integer, T> hashMap = new HashMap<>(snapshot.hashMap);
+    for (T object : changedObjects) {
+      int id = snapshot.idGetter.getId(object);
+      T oldObject = hashMap.put(id, object);
+      if (oldObject != null) {
+        objects.set(objects.indexOf(oldObject), object);
+      } else {
+        objects.add(object);
+      }
+    }
+    if (objects.size() > MAX_CACHED_OBJECTS) {
+      snapshots.remove(type);
+      return;
+    }
+    snapshots.put(type, new Snapshot<>(objects, hashMap, snapshot.idGetter));
+  }
+
+  public synchronized void clear() {
+    for (Class<?> type : TYPES) {
+      invalidate(type);
+    }
+  }
+
+  public int getHitCount() {
+    return hitCount.get();
+  }
+
+  public int getMissCount() {
+    return missCount.get();
+  }
+
+  private <T> Single<List<T>> get(
+      Class<T> type,
+      SourceProvider<T> sourceProvider,
+      IdGetter<T> idGetter
+  ) {
+    return Single.defer(() -> {
+      Snapshot<T> snapshot;
+      int generation;
+      synchronized (this) {
+        snapshot = getSnapshot(type);
+        generation = getGeneration(type);
+      }
+      if (snapshot != null) {
+        hitCount.incrementAndGet();
+        return Single.just(new EntityList<>(snapshot));
+      }
+      missCount.incrementAndGet();
+      return sourceProvider.getSource().map(objects -> {
+        if (objects.size() > MAX_CACHED_OBJECTS) {
+          return objects;
+        }
+        Snapshot<T> loaded = new Snapshot<>(objects, idGetter);
+        synchronized (this) {
+          if (getGeneration(type) == generation) {
+            snapshots.put(type, loaded);
+          }
+        }
+        return new EntityList<>(loaded);
+      });
+    });
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private <T> Snapshot<T> getSnapshot(Class<T> type) {
+    return (Snapshot<T>) snapshots.get(type);
+  }
+
+  private int getGeneration(Class<?> type) {
+    Integer generation = generations.get(type);
+    return generation != null ? generation : 0;
+  }
+
+  private void nextGeneration(Class<?> type) {
+    generations.put(type, getGeneration(type) + 1);
+  }
+
+  private AppDatabase db() {
+    return AppDatabase.getAppDatabase(context);
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    if (level >= TRIM_MEMORY_RUNNING_LOW) {
+      clear();
+    }
+  }
+
+  @Override
+  public void onLowMemory() {
+    clear();
+  }
+
+  @Override
+  public void onConfigurationChanged(@NonNull Configuration newConfig) {
+  }
+
+  /**
+   * Modifiable copy of a cached table, which also carries the id map of the table.
+   * The map is shared between all copies and must not be modified. As soon as the list
+   * itself is modified, getHashMap() returns null and the map has to be built again.
+   * The objects in the list are the cached instances and must not be modified.
+   */
+  public static class EntityList<T> extends ArrayList<T> {
+
+    private final HashMap<Integer, T> hashMap;
+    private final int initialModCount;
+
+    private EntityList(Snapshot<T> snapshot) {
+      super(snapshot.objects);
+      hashMap = snapshot.hashMap;
+      initialModCount = modCount;
+    }
+
+    @Nullable
+    public HashMap<Integer, T> getHashMap() {
+      return modCount == initialModCount ? hashMap : null;
+    }
+  }
+
+  private static class Snapshot<T> {
+
+    private final List<T> objects;
+    private final HashMap<Integer, T> hashMap;
+    private final IdGetter<T> idGetter;
+
+    private Snapshot(List<T> objects, IdGetter<T> idGetter) {
+      this.objects = Collections.unmodifiableList(new ArrayList<>(objects));
+      this.idGetter = idGetter;
+      hashMap = new HashMap<>();
+      for (T object : objects) {
+        hashMap.put(idGetter.getId(object), object);
+      }
+    }
+
+    private Snapshot(List<T> objects, HashMap<Integer, T> hashMap, IdGetter<T> idGetter) {
+      this.objects = Collections.unmodifiableList(objects);
+      this.hashMap = hashMap;
+      this.idGetter = idGetter;
+    }
+  }
+
+  private interface SourceProvider<T> {
+
+    Single<List<T>> getSource();
+  }
+
+  private interface IdGetter<T> {
+
+    int getId(T object);
+  }
+}
@@ -192,7 +192,7 @@ public class ChoreEntryRescheduleFragment extends BaseFragment {
         .build();
 
     picker.addOnPositiveButtonClickListener(v -> {
-      String date = DateUtil.DATE_FORMAT.format(picker.getSelection());
+      String date = DateUtil.getDateFormat().format(picker.getSelection());
       viewModel.getNextTrackingDateLive().setValue(date);
     });
     picker.show(getParentFragmentManager(), "date_picker_dialog");
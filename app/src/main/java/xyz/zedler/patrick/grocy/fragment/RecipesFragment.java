@@ -46,6 +46,7 @@ import xyz.zedler.patrick.grocy.behavior.SystemBarBehavior;
 import xyz.zedler.patrick.grocy.databinding.FragmentRecipesBinding;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.RecipeBottomSheet;
 import xyz.zedler.patrick.grocy.helper.InfoFullscreenHelper;
+import xyz.zedler.patrick.grocy.helper.RecipeDataIndex;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.InfoFullscreen;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -175,7 +176,7 @@ public class RecipesFragment extends BaseFragment implements
       if (binding.recycler.getAdapter() instanceof RecipeEntryAdapter) {
         ((RecipeEntryAdapter) binding.recycler.getAdapter()).updateData(
             items,
-            viewModel.getRecipeFulfillments(),
+            viewModel.getRecipeFulfillmentHashMap(),
             viewModel.getSortMode(),
             viewModel.isSortAscending(),
             viewModel.getExtraField()
@@ -186,7 +187,7 @@ public class RecipesFragment extends BaseFragment implements
                 requireContext(),
                 binding.recycler.getLayoutManager(),
                 items,
-                viewModel.getRecipeFulfillments(),
+                viewModel.getRecipeFulfillmentHashMap(),
                 this,
                 viewModel.getSortMode(),
                 viewModel.isSortAscending(),
@@ -244,7 +245,7 @@ public class RecipesFragment extends BaseFragment implements
               requireContext(),
               binding.recycler.getLayoutManager(),
               viewModel.getFilteredRecipesLive().getValue(),
-              viewModel.getRecipeFulfillments(),
+              viewModel.getRecipeFulfillmentHashMap(),
               this,
               viewModel.getSortMode(),
               viewModel.isSortAscending(),
@@ -341,9 +342,10 @@ public class RecipesFragment extends BaseFragment implements
       return;
     }
 
-    RecipeFulfillment recipeFulfillment = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(viewModel.getRecipeFulfillments(), recipe.getId());
-    ArrayList<RecipePosition> recipePositions = (ArrayList<RecipePosition>) RecipePosition.getRecipePositionsFromRecipeId(viewModel.getRecipePositions(), recipe.getId());
-    ArrayList<Product> products = Product.getProductsForRecipePositions(viewModel.getProducts(), recipePositions);
+    RecipeDataIndex recipeDataIndex = viewModel.getRecipeDataIndex();
+    RecipeFulfillment recipeFulfillment = recipeDataIndex.getRecipeFulfillment(recipe.getId());
+    ArrayList<RecipePosition> recipePositions = recipeDataIndex.getRecipePositions(recipe.getId());
+    ArrayList<Product> products = recipeDataIndex.getProductsForRecipePositions(recipePositions);
     ArrayList<QuantityUnit> quantityUnits = QuantityUnit.getQuantityUnitsForRecipePositions(viewModel.getQuantityUnits(), recipePositions);
     ArrayList<QuantityUnitConversion> quantityUnitConversions = QuantityUnitConversion.getQuantityUnitConversionsForRecipePositions(viewModel.getQuantityUnitConversions(), recipePositions);
 
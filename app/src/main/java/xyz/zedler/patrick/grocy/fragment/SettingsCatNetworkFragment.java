@@ -48,6 +48,8 @@ import xyz.zedler.patrick.grocy.web.RequestQueueSingleton;
 public class SettingsCatNetworkFragment extends BaseFragment {
 
   private final static String TAG = SettingsCatNetworkFragment.class.getSimpleName();
+  private final static int MAX_THREAD_POOL_SIZE = 16;
+  private final static int MAX_PARALLEL_REQUESTS = 16;
 
   private FragmentSettingsCatNetworkBinding binding;
   private MainActivity activity;
@@ -130,6 +132,8 @@ public class SettingsCatNetworkFragment extends BaseFragment {
     setForPreviousDestination(Constants.ARGUMENT.ANIMATED, false);
 
     updateTimeoutValue();
+    updateThreadPoolSizeValue();
+    updateMaxParallelRequestsValue();
   }
 
   public MutableLiveData<String> getProxyHostLive() {
@@ -148,6 +152,14 @@ public class SettingsCatNetworkFragment extends BaseFragment {
     ));
   }
 
+  private void updateThreadPoolSizeValue() {
+    binding.threadPoolSize.setText(String.valueOf(viewModel.getThreadPoolSize()));
+  }
+
+  private void updateMaxParallelRequestsValue() {
+    binding.maxParallelRequests.setText(String.valueOf(viewModel.getMaxParallelRequests()));
+  }
+
   @Override
   public void saveInput(String text, Bundle argsBundle) {
     String type = argsBundle.getString(ARGUMENT.TYPE);
@@ -159,6 +171,20 @@ public class SettingsCatNetworkFragment extends BaseFragment {
         viewModel.setLoadingTimeout(timeout);
         updateTimeoutValue();
         break;
+      case NETWORK.THREAD_POOL_SIZE:
+        int threadPoolSize = NumUtil.isStringInt(text) && Integer.parseInt(text) > 0
+            ? Math.min(Integer.parseInt(text), MAX_THREAD_POOL_SIZE)
+            : SETTINGS_DEFAULT.NETWORK.THREAD_POOL_SIZE;
+        viewModel.setThreadPoolSize(threadPoolSize);
+        updateThreadPoolSizeValue();
+        break;
+      case NETWORK.MAX_PARALLEL_REQUESTS:
+        int maxParallelRequests = NumUtil.isStringInt(text) && Integer.parseInt(text) > 0
+            ? Math.min(Integer.parseInt(text), MAX_PARALLEL_REQUESTS)
+            : SETTINGS_DEFAULT.NETWORK.MAX_PARALLEL_REQUESTS;
+        viewModel.setMaxParallelRequests(maxParallelRequests);
+        updateMaxParallelRequestsValue();
+        break;
       case NETWORK.PROXY_HOST:
         viewModel.setProxyHost(text.isEmpty() ? SETTINGS_DEFAULT.NETWORK.PROXY_HOST : text);
         proxyHostLive.setValue(text.isEmpty() ? SETTINGS_DEFAULT.NETWORK.PROXY_HOST : text);
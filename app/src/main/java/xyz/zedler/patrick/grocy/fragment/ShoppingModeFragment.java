@@ -21,9 +21,7 @@ package xyz.zedler.patrick.grocy.fragment;
 
 import android.content.SharedPreferences;
 import android.os.Bundle;
-import android.os.Handler;
 import android.text.Spanned;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -34,8 +32,6 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.preference.PreferenceManager;
 import androidx.recyclerview.widget.LinearLayoutManager;
-import java.util.Timer;
-import java.util.TimerTask;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.activity.MainActivity;
@@ -53,7 +49,6 @@ import xyz.zedler.patrick.grocy.model.ShoppingList;
 import xyz.zedler.patrick.grocy.model.ShoppingListItem;
 import xyz.zedler.patrick.grocy.model.SnackbarMessage;
 import xyz.zedler.patrick.grocy.util.ClickUtil;
-import xyz.zedler.patrick.grocy.util.PrefsUtil;
 import xyz.zedler.patrick.grocy.viewmodel.ShoppingModeViewModel;
 
 public class ShoppingModeFragment extends BaseFragment implements
@@ -67,11 +62,6 @@ public class ShoppingModeFragment extends BaseFragment implements
   private ClickUtil clickUtil;
   private FragmentShoppingModeBinding binding;
   private InfoFullscreenHelper infoFullscreenHelper;
-  private Timer timer;
-  private TimerTask timerTask;
-  private Handler handler;
-
-  private boolean debug = false;
 
   @Override
   public View onCreateView(
@@ -123,8 +113,6 @@ public class ShoppingModeFragment extends BaseFragment implements
     infoFullscreenHelper = new InfoFullscreenHelper(binding.frame);
     clickUtil = new ClickUtil();
     sharedPrefs = PreferenceManager.getDefaultSharedPreferences(activity);
-    debug = PrefsUtil.isDebuggingEnabled(sharedPrefs);
-    handler = new Handler();
 
     if (savedInstanceState == null) {
       binding.recycler.scrollTo(0, 0);
@@ -234,9 +222,7 @@ public class ShoppingModeFragment extends BaseFragment implements
   @Override
   public void onPause() {
     super.onPause();
-    if (timer != null) {
-      timer.cancel();
-    }
+    viewModel.stopChangePoller();
   }
 
   @Override
@@ -249,9 +235,7 @@ public class ShoppingModeFragment extends BaseFragment implements
     if (seconds == 0) {
       return;
     }
-    timer = new Timer();
-    initTimerTask();
-    timer.schedule(timerTask, 2000, seconds * 1000L);
+    viewModel.startChangePoller(seconds);
   }
 
   @Override
@@ -342,21 +326,6 @@ public class ShoppingModeFragment extends BaseFragment implements
     return !sharedPrefs.getBoolean(Constants.PREF.FEATURE_MULTIPLE_SHOPPING_LISTS, true);
   }
 
-  private void initTimerTask() {
-    if (timerTask != null) {
-      timerTask.cancel();
-    }
-    timerTask = new TimerTask() {
-      @Override
-      public void run() {
-        if (debug) {
-          Log.i(TAG, "auto sync shopping list (but may skip download)");
-        }
-        handler.post(() -> viewModel.downloadData());
-      }
-    };
-  }
-
   private void keepScreenOnIfNecessary(boolean keepOn) {
     if (activity == null) {
       activity = (MainActivity) requireActivity();
@@ -158,7 +158,7 @@ public class StockJournalFragment extends BaseFragment implements StockLogEntryA
 
       @Override
       public boolean isLoading() {
-        return viewModel.getIsLoadingLive().getValue() != null
+        return viewModel.isPageLoading() || viewModel.getIsLoadingLive().getValue() != null
             && viewModel.getIsLoadingLive().getValue();
       }
     });
@@ -191,6 +191,13 @@ public class StockJournalFragment extends BaseFragment implements StockLogEntryA
       viewModel.setCurrentPage(0);
     });
 
+    viewModel.getUpdatedStockLogEntriesLive().observe(getViewLifecycleOwner(), items -> {
+      if (items == null || !(binding.recycler.getAdapter() instanceof StockLogEntryAdapter)) {
+        return;
+      }
+      ((StockLogEntryAdapter) binding.recycler.getAdapter()).updateAll(items);
+    });
+
     viewModel.getEventHandler().observeEvent(getViewLifecycleOwner(), event -> {
       if (event.getType() == Event.SNACKBAR_MESSAGE) {
         activity.showSnackbar(
@@ -41,6 +41,7 @@ import xyz.zedler.patrick.grocy.behavior.AppBarBehavior;
 import xyz.zedler.patrick.grocy.behavior.SwipeBehavior;
 import xyz.zedler.patrick.grocy.behavior.SystemBarBehavior;
 import xyz.zedler.patrick.grocy.databinding.FragmentStockOverviewBinding;
+import xyz.zedler.patrick.grocy.helper.FrameTimeTracker;
 import xyz.zedler.patrick.grocy.helper.InfoFullscreenHelper;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.GroupedListItem;
@@ -52,6 +53,7 @@ import xyz.zedler.patrick.grocy.scanner.EmbeddedFragmentScanner;
 import xyz.zedler.patrick.grocy.scanner.EmbeddedFragmentScanner.BarcodeListener;
 import xyz.zedler.patrick.grocy.scanner.EmbeddedFragmentScannerBundle;
 import xyz.zedler.patrick.grocy.util.ClickUtil;
+import xyz.zedler.patrick.grocy.util.PrefsUtil;
 import xyz.zedler.patrick.grocy.util.ViewUtil;
 import xyz.zedler.patrick.grocy.viewmodel.StockOverviewViewModel;
 
@@ -69,6 +71,8 @@ public class StockOverviewFragment extends BaseFragment implements
   private FragmentStockOverviewBinding binding;
   private InfoFullscreenHelper infoFullscreenHelper;
   private EmbeddedFragmentScanner embeddedFragmentScanner;
+  // computes its first list while the placeholder is shown
+  private StockOverviewItemAdapter pendingItemAdapter;
 
   @Override
   public View onCreateView(
@@ -91,7 +95,9 @@ public class StockOverviewFragment extends BaseFragment implements
       infoFullscreenHelper.destroyInstance();
       infoFullscreenHelper = null;
     }
+    pendingItemAdapter = null;
     if (binding != null) {
+      FrameTimeTracker.getInstance().stop(binding.recycler);
       binding.recycler.animate().cancel();
       binding.recycler.setAdapter(null);
       binding = null;
@@ -138,6 +144,9 @@ public class StockOverviewFragment extends BaseFragment implements
         new LinearLayoutManager(activity, LinearLayoutManager.VERTICAL, false)
     );
     binding.recycler.setAdapter(new StockPlaceholderAdapter());
+    if (PrefsUtil.isDebuggingEnabled(activity)) {
+      binding.recycler.addOnScrollListener(FrameTimeTracker.getInstance());
+    }
 
     if (savedInstanceState == null) {
       binding.recycler.scrollToPosition(0);
@@ -151,8 +160,12 @@ public class StockOverviewFragment extends BaseFragment implements
 
     viewModel.getFilteredStockItemsLive().observe(getViewLifecycleOwner(), items -> {
       if (items == null) return;
-      if (binding.recycler.getAdapter() instanceof StockOverviewItemAdapter) {
-        ((StockOverviewItemAdapter) binding.recycler.getAdapter()).updateData(
+      StockOverviewItemAdapter adapter = binding.recycler.getAdapter()
+          instanceof StockOverviewItemAdapter
+          ? (StockOverviewItemAdapter) binding.recycler.getAdapter()
+          : pendingItemAdapter;
+      if (adapter != null) {
+        adapter.updateData(
             requireContext(),
             items,
             viewModel.getShoppingListItemsProductIds(),
@@ -169,30 +182,27 @@ public class StockOverviewFragment extends BaseFragment implements
             viewModel.getExtraField()
         );
       } else {
-        binding.recycler.setAdapter(
-            new StockOverviewItemAdapter(
-                requireContext(),
-                items,
-                viewModel.getShoppingListItemsProductIds(),
-                viewModel.getQuantityUnitHashMap(),
-                viewModel.getProductAveragePriceHashMap(),
-                viewModel.getProductLastPurchasedHashMap(),
-                viewModel.getProductGroupHashMap(),
-                viewModel.getProductHashMap(),
-                viewModel.getLocationHashMap(),
-                viewModel.getProductIdsMissingItems(),
-                this,
-                viewModel.isFeatureEnabled(PREF.FEATURE_STOCK_BBD_TRACKING),
-                viewModel.isFeatureEnabled(PREF.FEATURE_SHOPPING_LIST),
-                viewModel.getDaysExpriringSoon(),
-                viewModel.getCurrency(),
-                viewModel.getSortMode(),
-                viewModel.isSortAscending(),
-                viewModel.getGroupingMode(),
-                viewModel.getExtraField()
-            )
+        pendingItemAdapter = new StockOverviewItemAdapter(
+            requireContext(),
+            items,
+            viewModel.getShoppingListItemsProductIds(),
+            viewModel.getQuantityUnitHashMap(),
+            viewModel.getProductAveragePriceHashMap(),
+            viewModel.getProductLastPurchasedHashMap(),
+            viewModel.getProductGroupHashMap(),
+            viewModel.getProductHashMap(),
+            viewModel.getLocationHashMap(),
+            viewModel.getProductIdsMissingItems(),
+            this,
+            viewModel.isFeatureEnabled(PREF.FEATURE_STOCK_BBD_TRACKING),
+            viewModel.isFeatureEnabled(PREF.FEATURE_SHOPPING_LIST),
+            viewModel.getDaysExpriringSoon(),
+            viewModel.getCurrency(),
+            viewModel.getSortMode(),
+            viewModel.isSortAscending(),
+            viewModel.getGroupingMode(),
+            viewModel.getExtraField()
         );
-        binding.recycler.scheduleLayoutAnimation();
       }
     });
 
@@ -379,6 +389,16 @@ public class StockOverviewFragment extends BaseFragment implements
     showProductOverview(stockItem);
   }
 
+  @Override
+  public void onItemsReady(StockOverviewItemAdapter adapter) {
+    if (binding == null || adapter != pendingItemAdapter) {
+      return;
+    }
+    pendingItemAdapter = null;
+    binding.recycler.setAdapter(adapter);
+    binding.recycler.scheduleLayoutAnimation();
+  }
+
   private void showProductOverview(StockItem stockItem) {
     if (stockItem == null) {
       return;
@@ -75,6 +75,7 @@ import xyz.zedler.patrick.grocy.adapter.RecipePositionAdapter;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.databinding.FragmentBottomsheetRecipeBinding;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.RecipeDataIndex;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversion;
@@ -114,8 +115,6 @@ public class RecipeBottomSheet extends BaseBottomSheetDialogFragment implements
 
   private Recipe recipe;
   private RecipeFulfillment recipeFulfillment;
-  private List<Recipe> recipes;
-  private List<RecipeFulfillment> recipeFulfillments;
   private List<RecipePosition> recipePositions;
   private List<Product> products;
   private List<QuantityUnit> quantityUnits;
@@ -335,20 +334,19 @@ public class RecipeBottomSheet extends BaseBottomSheetDialogFragment implements
 
   private void loadDataFromDatabase() {
     recipesRepository.loadFromDatabase(data -> {
-      recipes = data.getRecipes();
-      recipeFulfillments = data.getRecipeFulfillments();
-      recipePositions = RecipePosition.getRecipePositionsFromRecipeId(
-          data.getRecipePositions(), recipe.getId()
+      RecipeDataIndex recipeDataIndex = new RecipeDataIndex(
+          data.getRecipes(), data.getRecipeFulfillments(), data.getRecipePositions(), null
       );
+      recipePositions = recipeDataIndex.getRecipePositions(recipe.getId());
       products = data.getProducts();
       quantityUnits = data.getQuantityUnits();
       quantityUnitConversions = data.getQuantityUnitConversions();
       stockItemHashMap = ArrayUtil.getStockItemHashMap(data.getStockItems());
       shoppingListItems = data.getShoppingListItems();
 
-      recipe = Recipe.getRecipeFromId(recipes, recipe.getId());
+      recipe = recipeDataIndex.getRecipe(recipe.getId());
       recipeFulfillment = recipe != null
-          ? RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe.getId())
+          ? recipeDataIndex.getRecipeFulfillment(recipe.getId())
           : null;
       if (recipe == null || recipeFulfillment == null) {
         activity.showToast(R.string.error_undefined, false);
@@ -0,0 +1,232 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.content.Context;
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.model.PendingProductBarcode;
+import xyz.zedler.patrick.grocy.model.ProductBarcode;
+import xyz.zedler.patrick.grocy.util.GrocycodeUtil;
+
+/**
+ * App-wide hash index of product barcodes for the scanner hot path.
+ * Keys are normalized so that UPC-A, EAN-13 and GTIN-14 forms of the same code match.
+ * Until a ViewModel has handed over its barcode list, lookups fall back to the indexed
+ * barcode column in Room and the results are kept in a small LRU cache.
+ */
+public class BarcodeIndex {
+
+  private static final int CACHE_SIZE = 64;
+
+  private static BarcodeIndex instance;
+  private final AppDatabase appDatabase;
+  private final HashMap<String, ProductBarcode> barcodes;
+  private final HashMap<String, PendingProductBarcode> pendingBarcodes;
+  private final LruCache<String, ProductBarcode> resolvedFromDatabase;
+  private List<ProductBarcode> indexedBarcodes;
+  private List<PendingProductBarcode> indexedPendingBarcodes;
+
+  public interface OnResolvedListener {
+
+    void onResolved(@Nullable ProductBarcode productBarcode);
+  }
+
+  private BarcodeIndex(Context context) {
+    appDatabase = AppDatabase.getAppDatabase(context.getApplicationContext());
+    barcodes = new HashMap<>();
+    pendingBarcodes = new HashMap<>();
+    resolvedFromDatabase = new LruCache<>(CACHE_SIZE);
+  }
+
+  public static synchronized BarcodeIndex getInstance(Context context) {
+    if (instance == null) {
+      instance = new BarcodeIndex(context);
+    }
+    return instance;
+  }
+
+  /**
+   * Rebuilds the index if the given list is not the one which is already indexed.
+   */
+  public synchronized void setBarcodes(@Nullable List<ProductBarcode> productBarcodes) {
+    if (productBarcodes == null || productBarcodes == indexedBarcodes) return;
+    barcodes.clear();
+    for (ProductBarcode productBarcode : productBarcodes) {
+      String key = getKey(productBarcode.getBarcode());
+      if (key != null) barcodes.put(key, productBarcode);
+    }
+    indexedBarcodes = productBarcodes;
+    resolvedFromDatabase.evictAll();
+  }
+
+  public synchronized void setPendingBarcodes(
+      @Nullable List<PendingProductBarcode> pendingProductBarcodes
+  ) {
+    if (pendingProductBarcodes == null || pendingProductBarcodes == indexedPendingBarcodes) {
+      return;
+    }
+    pendingBarcodes.clear();
+    for (PendingProductBarcode pendingProductBarcode : pendingProductBarcodes) {
+      String key = getKey(pendingProductBarcode.getBarcode());
+      if (key != null) pendingBarcodes.put(key, pendingProductBarcode);
+    }
+    indexedPendingBarcodes = pendingProductBarcodes;
+  }
+
+  /**
+   * Adds a newly created barcode so it will be found on next scan without reload.
+   */
+  public synchronized void put(@NonNull ProductBarcode productBarcode) {
+    String key = getKey(productBarcode.getBarcode());
+    if (key == null) return;
+    if (productBarcode instanceof PendingProductBarcode) {
+      pendingBarcodes.put(key, (PendingProductBarcode) productBarcode);
+    } else {
+      barcodes.put(key, productBarcode);
+    }
+  }
+
+  /**
+   * Called after barcodes were stored, the index has to be handed over again and
+   * lookups fall back to Room until then.
+   */
+  public synchronized void invalidateBarcodes() {
+    barcodes.clear();
+    resolvedFromDatabase.evictAll();
+    indexedBarcodes = null;
+  }
+
+  public synchronized void invalidate() {
+    barcodes.clear();
+    pendingBarcodes.clear();
+    resolvedFromDatabase.evictAll();
+    indexedBarcodes = null;
+    indexedPendingBarcodes = null;
+  }
+
+  @Nullable
+  public synchronized ProductBarcode get(@Nullable String barcode, boolean includePending) {
+    String key = getKey(barcode);
+    if (key == null) return null;
+    ProductBarcode productBarcode = barcodes.get(key);
+    if (productBarcode == null && includePending) {
+      productBarcode = pendingBarcodes.get(key);
+    }
+    if (productBarcode == null && indexedBarcodes == null) {
+      productBarcode = resolvedFromDatabase.get(key);
+    }
+    return productBarcode;
+  }
+
+  /**
+   * Calls the listener synchronously if the index is already built, otherwise after
+   * an indexed Room lookup of all variants of the barcode on the main thread.
+   */
+  public void resolve(
+      @Nullable String barcode,
+      boolean includePending,
+      @NonNull OnResolvedListener listener
+  ) {
+    String key = getKey(barcode);
+    ProductBarcode productBarcode = get(barcode, includePending);
+    boolean isBuilt;
+    synchronized (this) {
+      isBuilt = indexedBarcodes != null;
+    }
+    if (productBarcode != null || isBuilt || key == null) {
+      listener.onResolved(productBarcode);
+      return;
+    }
+    appDatabase.productBarcodeDao().getProductBarcode(getVariants(barcode.trim(), key))
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(
+            resolved -> {
+              synchronized (this) {
+                resolvedFromDatabase.put(key, resolved);
+              }
+              listener.onResolved(resolved);
+            },
+            error -> listener.onResolved(null),
+            () -> listener.onResolved(null)
+        );
+  }
+
+  /**
+   * Codes with only digits, a length of 12 to 14 and a valid check digit are GTINs and get
+   * padded to 14 digits, so UPC-A codes match their EAN-13 representation with leading zero
+   * and vice versa. Other numeric codes, e.g. store internal codes, are kept as they are,
+   * because zeros in front of them may be significant.
+   * Grocycodes are resolved via GrocycodeUtil and therefore never indexed.
+   */
+  @Nullable
+  private static String getKey(@Nullable String barcode) {
+    if (barcode == null) return null;
+    String trimmed = barcode.trim();
+    if (trimmed.isEmpty() || GrocycodeUtil.getGrocycode(trimmed) != null) return null;
+    int length = trimmed.length();
+    if (length < 12 || length > 14 || !isDigitsOnly(trimmed)) return trimmed;
+    if (!hasValidCheckDigit(trimmed)) return trimmed;
+    StringBuilder key = new StringBuilder(14);
+    for (int i = length; i < 14; i++) {
+      key.append('0');
+    }
+    return key.append(trimmed).toString();
+  }
+
+  private static List<String> getVariants(String barcode, String key) {
+    List<String> variants = new ArrayList<>();
+    variants.add(barcode);
+    if (key.length() != 14 || !isDigitsOnly(key) || !hasValidCheckDigit(key)) return variants;
+    for (int i = 0; i <= 2; i++) {
+      if (i > 0 && key.charAt(i - 1) != '0') break;
+      String variant = key.substring(i);
+      if (!variants.contains(variant)) variants.add(variant);
+    }
+    return variants;
+  }
+
+  // leading zeros don't change the GS1 checksum, so this works for all GTIN lengths
+  private static boolean hasValidCheckDigit(String digits) {
+    int sum = 0;
+    int length = digits.length();
+    for (int i = length - 2; i >= 0; i--) {
+      int digit = digits.charAt(i) - '0';
+      sum += (length - i) % 2 == 0 ? digit * 3 : digit;
+    }
+    return (10 - sum % 10) % 10 == digits.charAt(length - 1) - '0';
+  }
+
+  private static boolean isDigitsOnly(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') return false;
+    }
+    return true;
+  }
+}
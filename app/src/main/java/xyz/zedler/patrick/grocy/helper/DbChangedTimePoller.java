@@ -0,0 +1,135 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Polls the database changed time of the server and reports every change, so a screen only
+ * downloads data when something has actually changed. Grocy has no push channel, so this is
+ * plain polling of the small changed time response, with the adaptive interval of the
+ * SyncScheduler: one second for 30 seconds after a change was seen, then doubled after every
+ * unchanged check up to the given maximum. Changes made by someone else while the list is
+ * actively used therefore show up within about a second, while an idle list costs one request
+ * per maximum interval.
+ *
+ * During the one second phase every device sends one request per second. Grocy answers it
+ * from the modification time of its database file, but on mobile networks the radio stays
+ * awake for the whole phase, which costs battery. The interval is therefore stretched in the
+ * background, on low battery or power saving and on metered networks. Only one check is in
+ * flight at a time and nothing runs while the poller is stopped.
+ */
+public class DbChangedTimePoller {
+
+  private final static String TAG = DbChangedTimePoller.class.getSimpleName();
+
+  private final DownloadHelper dlHelper;
+  private final OnChangedListener onChangedListener;
+  private final Handler handler;
+  private final boolean debug;
+  private final Runnable checkRunnable = this::check;
+  private String lastChangedTime;
+  private long maxInterval;
+  private long interval;
+  private boolean isRunning;
+  private boolean isChecking;
+
+  public interface OnChangedListener {
+
+    void onChanged(String dbChangedTime);
+  }
+
+  public DbChangedTimePoller(
+      DownloadHelper dlHelper,
+      @NonNull OnChangedListener onChangedListener,
+      boolean debug
+  ) {
+    this.dlHelper = dlHelper;
+    this.onChangedListener = onChangedListener;
+    this.debug = debug;
+    handler = new Handler(Looper.getMainLooper());
+  }
+
+  public void start(int maxIntervalSeconds) {
+    stop();
+    isRunning = true;
+    maxInterval = Math.max(SyncScheduler.MIN_INTERVAL, maxIntervalSeconds * 1000L);
+    interval = SyncScheduler.MIN_INTERVAL;
+    handler.postDelayed(checkRunnable, SyncScheduler.MIN_INTERVAL);
+  }
+
+  public void stop() {
+    isRunning = false;
+    handler.removeCallbacks(checkRunnable);
+  }
+
+  // the next check follows quickly, e.g. after an own change which others may answer to
+  public void onLocalChange() {
+    interval = SyncScheduler.MIN_INTERVAL;
+    if (isRunning && !isChecking) {
+      handler.removeCallbacks(checkRunnable);
+      handler.postDelayed(checkRunnable, SyncScheduler.MIN_INTERVAL);
+    }
+  }
+
+  // a changed time which was already handled elsewhere is not reported again
+  public void setLastChangedTime(@Nullable String dbChangedTime) {
+    lastChangedTime = dbChangedTime;
+  }
+
+  private void check() {
+    if (!isRunning || isChecking) {
+      return;
+    }
+    isChecking = true;
+    dlHelper.getTimeDbChanged(dbChangedTime -> {
+      isChecking = false;
+      if (!isRunning) {
+        return;
+      }
+      if (!dbChangedTime.equals(lastChangedTime)) {
+        if (debug) {
+          Log.i(TAG, "check: changed time " + lastChangedTime + " -> " + dbChangedTime);
+        }
+        lastChangedTime = dbChangedTime;
+        interval = SyncScheduler.MIN_INTERVAL;
+        onChangedListener.onChanged(dbChangedTime);
+      } else {
+        long nextInterval = dlHelper.getNextDbChangedTimeInterval(interval, maxInterval);
+        if (debug && nextInterval != interval) {
+          Log.i(TAG, "check: next check in " + nextInterval + " ms");
+        }
+        interval = nextInterval;
+      }
+      handler.postDelayed(checkRunnable, interval);
+    }, () -> {
+      isChecking = false;
+      if (!isRunning) {
+        return;
+      }
+      interval = maxInterval;
+      handler.postDelayed(checkRunnable, interval);
+    });
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.content.SharedPreferences;
+import androidx.annotation.Nullable;
+import com.android.volley.VolleyError;
+import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayList;
+import java.util.List;
+import xyz.zedler.patrick.grocy.Constants.PREF;
+
+public class DeltaSyncHelper {
+
+  // Deleted rows are not part of a delta response, so a full refresh is
+  // done at least once in this interval to prune them from the database
+  private final static long FULL_SYNC_INTERVAL = 24 * 60 * 60 * 1000L;
+  // the server could have been updated meanwhile, so delta sync is tried again after this
+  private final static long UNSUPPORTED_RETRY_INTERVAL = 7 * 24 * 60 * 60 * 1000L;
+
+  private final SharedPreferences sharedPrefs;
+
+  public DeltaSyncHelper(SharedPreferences sharedPrefs) {
+    this.sharedPrefs = sharedPrefs;
+  }
+
+  public boolean isDeltaSyncPossible(String prefLastFullSync, @Nullable String lastTime) {
+    if (lastTime == null) {  // no complete offline copy or refresh was forced
+      return false;
+    }
+    if (isDeltaSyncUnsupported()) {
+      return false;
+    }
+    long lastFullSync = sharedPrefs.getLong(prefLastFullSync, 0);
+    return System.currentTimeMillis() - lastFullSync < FULL_SYNC_INTERVAL;
+  }
+
+  private boolean isDeltaSyncUnsupported() {
+    String server = sharedPrefs.getString(PREF.DELTA_SYNC_UNSUPPORTED_SERVER, null);
+    if (server == null || !server.equals(sharedPrefs.getString(PREF.SERVER_URL, null))) {
+      return false;
+    }
+    long time = sharedPrefs.getLong(PREF.DELTA_SYNC_UNSUPPORTED_TIME, 0);
+    return System.currentTimeMillis() - time < UNSUPPORTED_RETRY_INTERVAL;
+  }
+
+  // only remembered for the current server and until the retry interval is over
+  public void setDeltaSyncUnsupported() {
+    sharedPrefs.edit()
+        .putString(PREF.DELTA_SYNC_UNSUPPORTED_SERVER, sharedPrefs.getString(PREF.SERVER_URL, null))
+        .putLong(PREF.DELTA_SYNC_UNSUPPORTED_TIME, System.currentTimeMillis())
+        .apply();
+  }
+
+  /**
+   * Deleted rows are missing in a delta response. After all changed rows have been upserted,
+   * the server ids have to be a subset of the stored ids, so the stored ids contain deleted
+   * rows if the server has no row at the position of the last stored id or if its id there
+   * is smaller.
+   *
+   * @param storedIds ids of the stored table, ascending
+   * @param idAtPosition id of the server row at position storedIds.size() - 1 ordered by id,
+   *                     null if there is no row at this position
+   */
+  public static boolean hasDeletedRows(List<Integer> storedIds, @Nullable Integer idAtPosition) {
+    if (storedIds.isEmpty()) {
+      return false;
+    }
+    return idAtPosition == null || idAtPosition < storedIds.get(storedIds.size() - 1);
+  }
+
+  public static boolean isDeltaSyncUnsupportedError(@Nullable VolleyError error) {
+    // server rejects the unknown filter field with a bad request
+    return error != null && error.networkResponse != null
+        && error.networkResponse.statusCode == 400;
+  }
+
+  public interface Target<T> {
+
+    Single<List<Long>> upsert(List<T> objects);
+
+    // called on the main thread after the upsert has been committed
+    default void onUpserted(List<T> objects) {
+    }
+
+    Single<List<T>> getAll();
+
+    // ascending
+    Single<List<Integer>> getIds();
+  }
+
+  public interface OnObjectsResponseListener<T> {
+
+    void onResponse(ArrayList<T> objects);
+  }
+}
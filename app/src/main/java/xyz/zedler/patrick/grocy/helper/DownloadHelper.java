@@ -23,6 +23,7 @@ import android.app.Activity;
 import android.app.Application;
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.SystemClock;
 import android.util.Log;
 import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
@@ -32,13 +33,9 @@ import com.android.volley.RequestQueue;
 import com.android.volley.Response;
 import com.android.volley.VolleyError;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.lang.reflect.Type;
@@ -57,6 +54,7 @@ import xyz.zedler.patrick.grocy.api.GrocyApi.ENTITY;
 import xyz.zedler.patrick.grocy.api.OpenBeautyFactsApi;
 import xyz.zedler.patrick.grocy.api.OpenFoodFactsApi;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Chore;
 import xyz.zedler.patrick.grocy.model.ChoreDetails;
 import xyz.zedler.patrick.grocy.model.ChoreEntry;
@@ -85,18 +83,24 @@ import xyz.zedler.patrick.grocy.model.Task;
 import xyz.zedler.patrick.grocy.model.TaskCategory;
 import xyz.zedler.patrick.grocy.model.User;
 import xyz.zedler.patrick.grocy.model.VolatileItem;
-import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
+import xyz.zedler.patrick.grocy.web.ConditionalRequestCache;
 import xyz.zedler.patrick.grocy.web.CustomJsonArrayRequest;
 import xyz.zedler.patrick.grocy.web.CustomJsonObjectRequest;
+import xyz.zedler.patrick.grocy.web.CustomStreamingArrayRequest;
 import xyz.zedler.patrick.grocy.web.CustomStringRequest;
 import xyz.zedler.patrick.grocy.web.NetworkQueue;
+import xyz.zedler.patrick.grocy.web.NumberTypeAdapters;
+import xyz.zedler.patrick.grocy.web.RequestHeaders;
 import xyz.zedler.patrick.grocy.web.RequestQueueSingleton;
+import xyz.zedler.patrick.grocy.web.SingleFlightRequests;
 
 public class DownloadHelper {
 
   private static final String TAG = DownloadHelper.class.getSimpleName();
 
+  private static volatile long lastWriteTime;
+
   private final Application application;
   private final GrocyApi grocyApi;
   private final RequestQueue requestQueue;
@@ -105,12 +109,17 @@ public class DownloadHelper {
   private final OnLoadingListener onLoadingListener;
   private final SharedPreferences sharedPrefs;
   private final AppDatabase appDatabase;
+  private final DeltaSyncHelper deltaSyncHelper;
 
   private final ArrayList<NetworkQueue> queueArrayList;
   private final String tag;
-  private final String apiKey;
+  private final RequestHeaders requestHeaders;
+  private final ConditionalRequestCache conditionalRequestCache;
+  private final EntityCache entityCache;
+  private final SingleFlightRequests singleFlightRequests;
   private final boolean debug;
   private final int timeoutSeconds;
+  private final int maxParallelRequests;
   private int loadingRequests;
 
   public DownloadHelper(
@@ -123,11 +132,14 @@ public class DownloadHelper {
     sharedPrefs = PreferenceManager.getDefaultSharedPreferences(application);
     debug = PrefsUtil.isDebuggingEnabled(sharedPrefs);
     appDatabase = AppDatabase.getAppDatabase(application.getApplicationContext());
-    gson = new GsonBuilder().registerTypeAdapter(Double.class, new BadDoubleDeserializer())
-        .registerTypeAdapter(double.class, new CustomDoubleDeserializer()).create();
+    deltaSyncHelper = new DeltaSyncHelper(sharedPrefs);
+    gson = NumberTypeAdapters.createGson();
     requestQueue = RequestQueueSingleton.getInstance(application).getRequestQueue();
     grocyApi = new GrocyApi(application);
-    apiKey = sharedPrefs.getString(Constants.PREF.API_KEY, "");
+    requestHeaders = RequestHeaders.getInstance(application);
+    conditionalRequestCache = ConditionalRequestCache.getInstance(application);
+    entityCache = EntityCache.getInstance(application);
+    singleFlightRequests = SingleFlightRequests.getInstance();
     uuidHelper = UUID.randomUUID().toString();
     queueArrayList = new ArrayList<>();
     loadingRequests = 0;
@@ -136,6 +148,10 @@ public class DownloadHelper {
         Constants.SETTINGS.NETWORK.LOADING_TIMEOUT,
         Constants.SETTINGS_DEFAULT.NETWORK.LOADING_TIMEOUT
     );
+    maxParallelRequests = sharedPrefs.getInt(
+        Constants.SETTINGS.NETWORK.MAX_PARALLEL_REQUESTS,
+        Constants.SETTINGS_DEFAULT.NETWORK.MAX_PARALLEL_REQUESTS
+    );
   }
 
   public DownloadHelper(
@@ -149,12 +165,16 @@ public class DownloadHelper {
     this.tag = tag;
     sharedPrefs = PreferenceManager.getDefaultSharedPreferences(application);
     debug = PrefsUtil.isDebuggingEnabled(sharedPrefs);
-    gson = new GsonBuilder().registerTypeAdapter(Double.class, new BadDoubleDeserializer()).create();
+    gson = NumberTypeAdapters.createGson();
     appDatabase = AppDatabase.getAppDatabase(application.getApplicationContext());
+    deltaSyncHelper = new DeltaSyncHelper(sharedPrefs);
     RequestQueueSingleton.getInstance(application).newRequestQueue();
     requestQueue = RequestQueueSingleton.getInstance(application).getRequestQueue();
     grocyApi = new GrocyApi(application, serverUrl);
-    this.apiKey = apiKey;
+    requestHeaders = new RequestHeaders(application, serverUrl, apiKey);
+    conditionalRequestCache = ConditionalRequestCache.getInstance(application);
+    entityCache = EntityCache.getInstance(application);
+    singleFlightRequests = SingleFlightRequests.getInstance();
     uuidHelper = UUID.randomUUID().toString();
     queueArrayList = new ArrayList<>();
     loadingRequests = 0;
@@ -163,6 +183,10 @@ public class DownloadHelper {
         Constants.SETTINGS.NETWORK.LOADING_TIMEOUT,
         Constants.SETTINGS_DEFAULT.NETWORK.LOADING_TIMEOUT
     );
+    maxParallelRequests = sharedPrefs.getInt(
+        Constants.SETTINGS.NETWORK.MAX_PARALLEL_REQUESTS,
+        Constants.SETTINGS_DEFAULT.NETWORK.MAX_PARALLEL_REQUESTS
+    );
   }
 
   public DownloadHelper(Activity activity, String tag) {
@@ -179,6 +203,8 @@ public class DownloadHelper {
       queue.reset(true);
     }
     requestQueue.cancelAll(uuidHelper);
+    SyncScheduler.getInstance(application).cancelChecks(this);
+    singleFlightRequests.leave(this);
   }
 
   private void onRequestLoading() {
@@ -188,6 +214,17 @@ public class DownloadHelper {
     }
   }
 
+  // also called if the request failed, the server might have applied the change anyway
+  private void onWriteFinished() {
+    lastWriteTime = SystemClock.elapsedRealtimeNanos();
+    onRequestFinished();
+  }
+
+  // elapsedRealtimeNanos of the last finished write request of all screens
+  public static long getLastWriteTime() {
+    return lastWriteTime;
+  }
+
   private void onRequestFinished() {
     loadingRequests -= 1;
     if (onLoadingListener != null && loadingRequests == 0) {
@@ -199,26 +236,40 @@ public class DownloadHelper {
     return uuidHelper;
   }
 
+  // identical GET requests which are running at the same time share one response,
+  // requests which were started before the last write are not shared anymore
   public void get(
       String url,
       String tag,
       OnStringResponseListener onResponse,
       OnErrorListener onError
   ) {
-    String sessionKey = sharedPrefs
-        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
+    String key = "GET " + url;
+    onRequestLoading();
+    boolean isRunning = singleFlightRequests.<String>join(key, this, tag, lastWriteTime, response -> {
+      onRequestFinished();
+      onResponse.onResponse(response);
+    }, error -> {
+      onRequestFinished();
+      onError.onError(error);
+    }, this::onRequestFinished);
+    if (isRunning) {
+      if (debug) {
+        Log.i(tag, "get: joined running request for " + url);
+      }
+      return;
+    }
     CustomStringRequest request = new CustomStringRequest(
         Request.Method.GET,
         url,
-        apiKey,
-        sessionKey,
-        onResponse::onResponse,
-        onError::onError,
-        this::onRequestFinished,
+        requestHeaders.getHeaders(),
+        singleFlightRequests.getListener(key),
+        singleFlightRequests.getErrorListener(key),
+        null,
         timeoutSeconds,
-        tag
+        SingleFlightRequests.TAG
     );
-    onRequestLoading();
+    singleFlightRequests.setRequest(key, request);
     requestQueue.add(request);
   }
 
@@ -230,13 +281,10 @@ public class DownloadHelper {
       OnErrorListener onError,
       boolean noLoadingProgress
   ) {
-    String sessionKey = sharedPrefs
-        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomStringRequest request = new CustomStringRequest(
         Request.Method.GET,
         url,
-        apiKey,
-        sessionKey,
+        requestHeaders.getHeaders(),
         onResponse::onResponse,
         onError::onError,
         this::onRequestFinished,
@@ -267,13 +315,10 @@ public class DownloadHelper {
       OnErrorListener onError,
       String userAgent
   ) {
-    String sessionKey = sharedPrefs
-        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomStringRequest request = new CustomStringRequest(
         Request.Method.GET,
         url,
-        apiKey,
-        sessionKey,
+        requestHeaders.getHeaders(),
         onResponse::onResponse,
         onError::onError,
         this::onRequestFinished,
@@ -285,23 +330,93 @@ public class DownloadHelper {
     requestQueue.add(request);
   }
 
+  // for large object lists which are stored in the database while the response is read,
+  // a list which is already being stored by another request is not read a second time
+  public <T> void getStreaming(
+      String url,
+      String tag,
+      Class<T> type,
+      CustomStreamingArrayRequest.Target<T> target,
+      OnIntegerResponseListener onResponse,
+      OnErrorListener onError
+  ) {
+    String key = "STREAM " + type.getName() + " " + url;
+    onRequestLoading();
+    boolean isRunning = singleFlightRequests.<Integer>join(key, this, tag, lastWriteTime, count -> {
+      onRequestFinished();
+      onResponse.onResponse(count);
+    }, error -> {
+      onRequestFinished();
+      onError.onError(error);
+    }, this::onRequestFinished);
+    if (isRunning) {
+      if (debug) {
+        Log.i(tag, "getStreaming: joined running request for " + url);
+      }
+      return;
+    }
+    CustomStreamingArrayRequest<T> request = new CustomStreamingArrayRequest<>(
+        url,
+        requestHeaders.getHeaders(),
+        appDatabase,
+        gson,
+        type,
+        target,
+        singleFlightRequests.getListener(key),
+        singleFlightRequests.getErrorListener(key),
+        null,
+        timeoutSeconds,
+        SingleFlightRequests.TAG
+    );
+    singleFlightRequests.setRequest(key, request);
+    requestQueue.add(request);
+  }
+
+  // for object lists, the validators of the stored response are sent with sendValidators and
+  // onNotModified is called instead of onResponse if the server answers with 304
+  public void getConditional(
+      String url,
+      String tag,
+      boolean sendValidators,
+      OnStringResponseListener onResponse,
+      Runnable onNotModified,
+      OnErrorListener onError
+  ) {
+    CustomStringRequest request = new CustomStringRequest(
+        Request.Method.GET,
+        url,
+        requestHeaders.getHeaders(),
+        response -> {
+          if (response == null) {
+            onNotModified.run();
+          } else {
+            onResponse.onResponse(response);
+          }
+        },
+        onError::onError,
+        this::onRequestFinished,
+        timeoutSeconds,
+        tag
+    );
+    request.setConditionalRequestCache(conditionalRequestCache, sendValidators);
+    onRequestLoading();
+    requestQueue.add(request);
+  }
+
   public void post(
       String url,
       JSONObject json,
       OnJSONResponseListener onResponse,
       OnErrorListener onError
   ) {
-    String sessionKey = sharedPrefs
-        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomJsonObjectRequest request = new CustomJsonObjectRequest(
         Request.Method.POST,
         url,
-        apiKey,
-        sessionKey,
+        requestHeaders.getHeaders(),
         json,
         onResponse::onResponse,
         onError::onError,
-        this::onRequestFinished,
+        this::onWriteFinished,
         timeoutSeconds,
         uuidHelper
     );
@@ -315,17 +430,14 @@ public class DownloadHelper {
       OnJSONArrayResponseListener onResponse,
       OnErrorListener onError
   ) {
-    String sessionKey = sharedPrefs
-        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomJsonArrayRequest request = new CustomJsonArrayRequest(
         Request.Method.POST,
         url,
-        apiKey,
-        sessionKey,
+        requestHeaders.getHeaders(),
         json,
         onResponse::onResponse,
         onError::onError,
-        this::onRequestFinished,
+        this::onWriteFinished,
         timeoutSeconds,
         uuidHelper
     );
@@ -334,16 +446,13 @@ public class DownloadHelper {
   }
 
   public void post(String url, OnStringResponseListener onResponse, OnErrorListener onError) {
-    String sessionKey = sharedPrefs
-        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomStringRequest request = new CustomStringRequest(
         Request.Method.POST,
         url,
-        apiKey,
-        sessionKey,
+        requestHeaders.getHeaders(),
         onResponse::onResponse,
         onError::onError,
-        this::onRequestFinished,
+        this::onWriteFinished,
         timeoutSeconds,
         uuidHelper
     );
@@ -357,17 +466,14 @@ public class DownloadHelper {
       OnJSONResponseListener onResponse,
       OnErrorListener onError
   ) {
-    String sessionKey = sharedPrefs
-        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomJsonObjectRequest request = new CustomJsonObjectRequest(
         Request.Method.PUT,
         url,
-        apiKey,
-        sessionKey,
+        requestHeaders.getHeaders(),
         json,
         onResponse::onResponse,
         onError::onError,
-        this::onRequestFinished,
+        this::onWriteFinished,
         timeoutSeconds,
         uuidHelper
     );
@@ -381,16 +487,13 @@ public class DownloadHelper {
       OnStringResponseListener onResponse,
       OnErrorListener onError
   ) {
-    String sessionKey = sharedPrefs
-        .getString(Constants.PREF.HOME_ASSISTANT_INGRESS_SESSION_KEY, null);
     CustomStringRequest request = new CustomStringRequest(
         Request.Method.DELETE,
         url,
-        apiKey,
-        sessionKey,
+        requestHeaders.getHeaders(),
         onResponse::onResponse,
         onError::onError,
-        this::onRequestFinished,
+        this::onWriteFinished,
         timeoutSeconds,
         tag
     );
@@ -435,7 +538,7 @@ public class DownloadHelper {
               }
             },
             error -> {
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -444,7 +547,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem updateProductGroups(
@@ -462,9 +565,11 @@ public class DownloadHelper {
             @Nullable OnErrorListener errorListener,
             @Nullable String uuid
         ) {
-          get(
-              grocyApi.getObjects(GrocyApi.ENTITY.PRODUCT_GROUPS),
+          String url = grocyApi.getObjects(GrocyApi.ENTITY.PRODUCT_GROUPS);
+          getConditional(
+              url,
               uuid,
+              lastTime != null,
               response -> {
                 Type type = new TypeToken<List<ProductGroup>>() {
                 }.getType();
@@ -472,13 +577,16 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download ProductGroups: " + productGroups);
                 }
-                Single.concat(
-                    appDatabase.productGroupDao().deleteProductGroups(),
-                    appDatabase.productGroupDao().insertProductGroups(productGroups)
-                )
+                syncApply("ProductGroups", () -> {
+                  appDatabase.productGroupDao().deleteAll();
+                  appDatabase.productGroupDao().insertAll(productGroups);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
+                    .doOnComplete(() -> conditionalRequestCache.commit(url))
+                    .doOnError(throwable -> conditionalRequestCache.discard(url))
                     .doFinally(() -> {
+                      entityCache.invalidate(ProductGroup.class);
                       sharedPrefs.edit()
                           .putString(Constants.PREF.DB_LAST_TIME_PRODUCT_GROUPS, dbChangedTime).apply();
                       if (onResponseListener != null) {
@@ -490,6 +598,15 @@ public class DownloadHelper {
                     })
                     .subscribe();
               },
+              () -> onObjectsNotModified(
+                  "ProductGroups",
+                  Constants.PREF.DB_LAST_TIME_PRODUCT_GROUPS,
+                  dbChangedTime,
+                  appDatabase.productGroupDao().getProductGroups(),
+                  onResponseListener != null ? onResponseListener::onResponse : null,
+                  responseListener,
+                  errorListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -497,7 +614,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped ProductGroups download");
@@ -535,7 +652,7 @@ public class DownloadHelper {
               }
             },
             error -> {
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -544,7 +661,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem updateQuantityUnits(
@@ -562,9 +679,11 @@ public class DownloadHelper {
             @Nullable OnErrorListener errorListener,
             @Nullable String uuid
         ) {
-          get(
-              grocyApi.getObjects(GrocyApi.ENTITY.QUANTITY_UNITS),
+          String url = grocyApi.getObjects(GrocyApi.ENTITY.QUANTITY_UNITS);
+          getConditional(
+              url,
               uuid,
+              lastTime != null,
               response -> {
                 Type type = new TypeToken<List<QuantityUnit>>() {
                 }.getType();
@@ -572,13 +691,16 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download QuantityUnits: " + quantityUnits);
                 }
-                Single.concat(
-                    appDatabase.quantityUnitDao().deleteQuantityUnits(),
-                    appDatabase.quantityUnitDao().insertQuantityUnits(quantityUnits)
-                )
+                syncApply("QuantityUnits", () -> {
+                  appDatabase.quantityUnitDao().deleteAll();
+                  appDatabase.quantityUnitDao().insertAll(quantityUnits);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
+                    .doOnComplete(() -> conditionalRequestCache.commit(url))
+                    .doOnError(throwable -> conditionalRequestCache.discard(url))
                     .doFinally(() -> {
+                      entityCache.invalidate(QuantityUnit.class);
                       sharedPrefs.edit()
                           .putString(Constants.PREF.DB_LAST_TIME_QUANTITY_UNITS, dbChangedTime).apply();
                       if (onResponseListener != null) {
@@ -590,6 +712,15 @@ public class DownloadHelper {
                     })
                     .subscribe();
               },
+              () -> onObjectsNotModified(
+                  "QuantityUnits",
+                  Constants.PREF.DB_LAST_TIME_QUANTITY_UNITS,
+                  dbChangedTime,
+                  appDatabase.quantityUnitDao().getQuantityUnits(),
+                  onResponseListener != null ? onResponseListener::onResponse : null,
+                  responseListener,
+                  errorListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -597,7 +728,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped QuantityUnits download");
@@ -621,9 +752,11 @@ public class DownloadHelper {
             @Nullable OnErrorListener errorListener,
             @Nullable String uuid
         ) {
-          get(
-              grocyApi.getObjects(GrocyApi.ENTITY.QUANTITY_UNIT_CONVERSIONS),
+          String url = grocyApi.getObjects(GrocyApi.ENTITY.QUANTITY_UNIT_CONVERSIONS);
+          getConditional(
+              url,
               uuid,
+              lastTime != null,
               response -> {
                 Type type = new TypeToken<List<QuantityUnitConversion>>() {
                 }.getType();
@@ -633,12 +766,14 @@ public class DownloadHelper {
                   Log.i(tag, "download QuantityUnitConversions: "
                       + conversions);
                 }
-                Single.concat(
-                    appDatabase.quantityUnitConversionDao().deleteConversions(),
-                    appDatabase.quantityUnitConversionDao().insertConversions(conversions)
-                )
+                syncApply("QuantityUnitConversions", () -> {
+                  appDatabase.quantityUnitConversionDao().deleteAll();
+                  appDatabase.quantityUnitConversionDao().insertAll(conversions);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
+                    .doOnComplete(() -> conditionalRequestCache.commit(url))
+                    .doOnError(throwable -> conditionalRequestCache.discard(url))
                     .doFinally(() -> {
                       sharedPrefs.edit()
                           .putString(Constants.PREF.DB_LAST_TIME_QUANTITY_UNIT_CONVERSIONS, dbChangedTime).apply();
@@ -651,6 +786,15 @@ public class DownloadHelper {
                     })
                     .subscribe();
               },
+              () -> onObjectsNotModified(
+                  "QuantityUnitConversions",
+                  Constants.PREF.DB_LAST_TIME_QUANTITY_UNIT_CONVERSIONS,
+                  dbChangedTime,
+                  appDatabase.quantityUnitConversionDao().getConversions(),
+                  onResponseListener != null ? onResponseListener::onResponse : null,
+                  responseListener,
+                  errorListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -658,7 +802,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped QuantityUnitConversions download");
@@ -696,7 +840,7 @@ public class DownloadHelper {
               }
             },
             error -> {
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -705,7 +849,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem updateLocations(
@@ -723,9 +867,11 @@ public class DownloadHelper {
             @Nullable OnErrorListener errorListener,
             @Nullable String uuid
         ) {
-          get(
-              grocyApi.getObjects(GrocyApi.ENTITY.LOCATIONS),
+          String url = grocyApi.getObjects(GrocyApi.ENTITY.LOCATIONS);
+          getConditional(
+              url,
               uuid,
+              lastTime != null,
               response -> {
                 Type type = new TypeToken<List<Location>>() {
                 }.getType();
@@ -733,13 +879,16 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download Locations: " + locations);
                 }
-                Single.concat(
-                    appDatabase.locationDao().deleteLocations(),
-                    appDatabase.locationDao().insertLocations(locations)
-                )
+                syncApply("Locations", () -> {
+                  appDatabase.locationDao().deleteAll();
+                  appDatabase.locationDao().insertAll(locations);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
+                    .doOnComplete(() -> conditionalRequestCache.commit(url))
+                    .doOnError(throwable -> conditionalRequestCache.discard(url))
                     .doFinally(() -> {
+                      entityCache.invalidate(Location.class);
                       sharedPrefs.edit()
                           .putString(Constants.PREF.DB_LAST_TIME_LOCATIONS, dbChangedTime).apply();
                       if (onResponseListener != null) {
@@ -751,6 +900,15 @@ public class DownloadHelper {
                     })
                     .subscribe();
               },
+              () -> onObjectsNotModified(
+                  "Locations",
+                  Constants.PREF.DB_LAST_TIME_LOCATIONS,
+                  dbChangedTime,
+                  appDatabase.locationDao().getLocations(),
+                  onResponseListener != null ? onResponseListener::onResponse : null,
+                  responseListener,
+                  errorListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -758,7 +916,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped Locations download");
@@ -792,10 +950,10 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download StockCurrentLocations: " + locations);
                 }
-                Single.concat(
-                    appDatabase.stockLocationDao().deleteStockLocations(),
-                    appDatabase.stockLocationDao().insertStockLocations(locations)
-                )
+                syncApply("StockCurrentLocations", () -> {
+                  appDatabase.stockLocationDao().deleteAll();
+                  appDatabase.stockLocationDao().insertAll(locations);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -818,7 +976,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped StockCurrentLocations download");
@@ -835,40 +993,43 @@ public class DownloadHelper {
         Constants.PREF.DB_LAST_TIME_PRODUCTS, null
     );
     if (lastTime == null || !lastTime.equals(dbChangedTime)) {
-      return new QueueItem() {
+      QueueItem fullSyncItem = new QueueItem() {
         @Override
         public void perform(
             @Nullable OnStringResponseListener responseListener,
             @Nullable OnErrorListener errorListener,
             @Nullable String uuid
         ) {
-          get(
+          getStreaming(
               grocyApi.getObjects(GrocyApi.ENTITY.PRODUCTS),
               uuid,
-              response -> {
-                Type type = new TypeToken<List<Product>>() {
-                }.getType();
-                ArrayList<Product> products = gson.fromJson(response, type);
+              Product.class,
+              new CustomStreamingArrayRequest.Target<Product>() {
+                @Override
+                public void clear() {
+                  appDatabase.productDao().deleteAll();
+                }
+
+                @Override
+                public void insert(List<Product> objects) {
+                  appDatabase.productDao().insertAll(objects);
+                }
+              },
+              count -> {
                 if (debug) {
-                  Log.i(tag, "download Products: " + products);
+                  Log.i(tag, "download Products: " + count + " stored");
                 }
-                Single.concat(
-                    appDatabase.productDao().deleteProducts(),
-                    appDatabase.productDao().insertProducts(products)
-                )
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
-                      sharedPrefs.edit()
-                          .putString(Constants.PREF.DB_LAST_TIME_PRODUCTS, dbChangedTime).apply();
-                      if (onResponseListener != null) {
-                        onResponseListener.onResponse(products);
-                      }
-                      if (responseListener != null) {
-                        responseListener.onResponse(response);
-                      }
-                    })
-                    .subscribe();
+                entityCache.invalidate(Product.class);
+                sharedPrefs.edit()
+                    .putString(Constants.PREF.DB_LAST_TIME_PRODUCTS, dbChangedTime)
+                    .putLong(PREF.DB_LAST_FULL_SYNC_PRODUCTS, System.currentTimeMillis())
+                    .apply();
+                onObjectsStored(
+                    entityCache.getProducts(),
+                    onResponseListener != null ? onResponseListener::onResponse : null,
+                    responseListener,
+                    errorListener
+                );
               },
               error -> {
                 if (errorListener != null) {
@@ -877,7 +1038,41 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
+      if (!deltaSyncHelper.isDeltaSyncPossible(PREF.DB_LAST_FULL_SYNC_PRODUCTS, lastTime)) {
+        return fullSyncItem;
+      }
+      return updateObjectsDelta(
+          ENTITY.PRODUCTS,
+          lastTime,
+          dbChangedTime,
+          PREF.DB_LAST_TIME_PRODUCTS,
+          new TypeToken<List<Product>>() {
+          }.getType(),
+          new DeltaSyncHelper.Target<Product>() {
+            @Override
+            public Single<List<Long>> upsert(List<Product> products) {
+              return appDatabase.productDao().insertProducts(products);
+            }
+
+            @Override
+            public void onUpserted(List<Product> products) {
+              entityCache.onObjectsUpserted(Product.class, products);
+            }
+
+            @Override
+            public Single<List<Product>> getAll() {
+              return entityCache.getProducts();
+            }
+
+            @Override
+            public Single<List<Integer>> getIds() {
+              return appDatabase.productDao().getProductIds();
+            }
+          },
+          fullSyncItem,
+          onResponseListener != null ? onResponseListener::onResponse : null
+      );
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped Products download");
@@ -912,11 +1107,10 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download ProductsLastPurchased: " + productsLastPurchased);
                 }
-                Single.concat(
-                    appDatabase.productLastPurchasedDao().deleteProductsLastPurchased(),
-                    appDatabase.productLastPurchasedDao()
-                        .insertProductsLastPurchased(productsLastPurchased)
-                )
+                syncApply("ProductsLastPurchased", () -> {
+                  appDatabase.productLastPurchasedDao().deleteAll();
+                  appDatabase.productLastPurchasedDao().insertAll(productsLastPurchased);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -944,7 +1138,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped ProductsLastPurchased download");
@@ -979,11 +1173,10 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download ProductsAveragePrice: " + productsAveragePrice);
                 }
-                Single.concat(
-                    appDatabase.productAveragePriceDao().deleteProductsAveragePrice(),
-                    appDatabase.productAveragePriceDao()
-                        .insertProductsAveragePrice(productsAveragePrice)
-                )
+                syncApply("ProductsAveragePrice", () -> {
+                  appDatabase.productAveragePriceDao().deleteAll();
+                  appDatabase.productAveragePriceDao().insertAll(productsAveragePrice);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -1012,7 +1205,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped ProductsAveragePrice download");
@@ -1029,42 +1222,43 @@ public class DownloadHelper {
         Constants.PREF.DB_LAST_TIME_PRODUCT_BARCODES, null
     );
     if (lastTime == null || !lastTime.equals(dbChangedTime)) {
-      return new QueueItem() {
+      QueueItem fullSyncItem = new QueueItem() {
         @Override
         public void perform(
             @Nullable OnStringResponseListener responseListener,
             @Nullable OnErrorListener errorListener,
             @Nullable String uuid
         ) {
-          get(
+          getStreaming(
               grocyApi.getObjects(GrocyApi.ENTITY.PRODUCT_BARCODES),
               uuid,
-              response -> {
-                Type type = new TypeToken<List<ProductBarcode>>() {
-                }.getType();
-                ArrayList<ProductBarcode> barcodes
-                    = gson.fromJson(response, type);
+              ProductBarcode.class,
+              new CustomStreamingArrayRequest.Target<ProductBarcode>() {
+                @Override
+                public void clear() {
+                  appDatabase.productBarcodeDao().deleteAll();
+                }
+
+                @Override
+                public void insert(List<ProductBarcode> objects) {
+                  appDatabase.productBarcodeDao().insertAll(objects);
+                }
+              },
+              count -> {
                 if (debug) {
-                  Log.i(tag, "download Barcodes: " + barcodes);
+                  Log.i(tag, "download Barcodes: " + count + " stored");
                 }
-                Single.concat(
-                    appDatabase.productBarcodeDao().deleteProductBarcodes(),
-                    appDatabase.productBarcodeDao().insertProductBarcodes(barcodes)
-                )
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
-                      sharedPrefs.edit()
-                          .putString(Constants.PREF.DB_LAST_TIME_PRODUCT_BARCODES, dbChangedTime)
-                          .apply();
-                      if (onResponseListener != null) {
-                        onResponseListener.onResponse(barcodes);
-                      }
-                      if (responseListener != null) {
-                        responseListener.onResponse(response);
-                      }
-                    })
-                    .subscribe();
+                BarcodeIndex.getInstance(application).invalidateBarcodes();
+                sharedPrefs.edit()
+                    .putString(Constants.PREF.DB_LAST_TIME_PRODUCT_BARCODES, dbChangedTime)
+                    .putLong(PREF.DB_LAST_FULL_SYNC_PRODUCT_BARCODES, System.currentTimeMillis())
+                    .apply();
+                onObjectsStored(
+                    appDatabase.productBarcodeDao().getProductBarcodes(),
+                    onResponseListener != null ? onResponseListener::onResponse : null,
+                    responseListener,
+                    errorListener
+                );
               },
               error -> {
                 if (errorListener != null) {
@@ -1073,7 +1267,43 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
+      if (!deltaSyncHelper.isDeltaSyncPossible(
+          PREF.DB_LAST_FULL_SYNC_PRODUCT_BARCODES, lastTime
+      )) {
+        return fullSyncItem;
+      }
+      return updateObjectsDelta(
+          ENTITY.PRODUCT_BARCODES,
+          lastTime,
+          dbChangedTime,
+          PREF.DB_LAST_TIME_PRODUCT_BARCODES,
+          new TypeToken<List<ProductBarcode>>() {
+          }.getType(),
+          new DeltaSyncHelper.Target<ProductBarcode>() {
+            @Override
+            public Single<List<Long>> upsert(List<ProductBarcode> barcodes) {
+              return appDatabase.productBarcodeDao().insertProductBarcodes(barcodes);
+            }
+
+            @Override
+            public void onUpserted(List<ProductBarcode> barcodes) {
+              BarcodeIndex.getInstance(application).invalidateBarcodes();
+            }
+
+            @Override
+            public Single<List<ProductBarcode>> getAll() {
+              return appDatabase.productBarcodeDao().getProductBarcodes();
+            }
+
+            @Override
+            public Single<List<Integer>> getIds() {
+              return appDatabase.productBarcodeDao().getProductBarcodeIds();
+            }
+          },
+          fullSyncItem,
+          onResponseListener != null ? onResponseListener::onResponse : null
+      );
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped ProductsBarcodes download");
@@ -1082,6 +1312,179 @@ public class DownloadHelper {
     }
   }
 
+  /**
+   * Downloads only the objects which were changed since the last sync, upserts them and returns
+   * the complete table to the listener. Falls back to the given full sync item if the server
+   * doesn't support the required filter or if rows were deleted on the server, the full sync
+   * prunes them.
+   */
+  private <T> QueueItem updateObjectsDelta(
+      String entity,
+      String lastTime,
+      String dbChangedTime,
+      String prefLastTime,
+      Type type,
+      DeltaSyncHelper.Target<T> target,
+      QueueItem fullSyncItem,
+      DeltaSyncHelper.OnObjectsResponseListener<T> onResponseListener
+  ) {
+    return new QueueItem() {
+      @Override
+      public void perform(
+          @Nullable OnStringResponseListener responseListener,
+          @Nullable OnErrorListener errorListener,
+          @Nullable String uuid
+      ) {
+        get(
+            grocyApi.getObjectsChangedSince(entity, lastTime),
+            uuid,
+            response -> {
+              ArrayList<T> changedObjects = gson.fromJson(response, type);
+              if (debug) {
+                Log.i(tag, "download changed " + entity + ": " + changedObjects);
+              }
+              target.upsert(changedObjects)
+                  .subscribeOn(Schedulers.io())
+                  .observeOn(AndroidSchedulers.mainThread())
+                  .subscribe(ids -> {
+                    target.onUpserted(changedObjects);
+                    pruneDeletedObjects(entity, uuid, target, fullSyncItem, () -> {
+                      sharedPrefs.edit().putString(prefLastTime, dbChangedTime).apply();
+                      onObjectsStored(
+                          target.getAll(), onResponseListener, responseListener, errorListener
+                      );
+                    }, responseListener, errorListener);
+                  }, throwable -> {
+                    if (debug) {
+                      Log.e(tag, "delta sync " + entity + ": " + throwable);
+                    }
+                    fullSyncItem.perform(responseListener, errorListener, uuid);
+                  });
+            },
+            error -> {
+              if (DeltaSyncHelper.isDeltaSyncUnsupportedError(error)) {
+                if (debug) {
+                  Log.i(tag, "delta sync not supported by server, doing full sync");
+                }
+                deltaSyncHelper.setDeltaSyncUnsupported();
+                fullSyncItem.perform(responseListener, errorListener, uuid);
+                return;
+              }
+              if (errorListener != null) {
+                errorListener.onError(error);
+              }
+            }
+        );
+      }
+    }.setRetryable(true);
+  }
+
+  // compares the stored ids with the server and does a full sync if rows were deleted
+  private <T> void pruneDeletedObjects(
+      String entity,
+      @Nullable String uuid,
+      DeltaSyncHelper.Target<T> target,
+      QueueItem fullSyncItem,
+      Runnable onNothingDeleted,
+      @Nullable OnStringResponseListener responseListener,
+      @Nullable OnErrorListener errorListener
+  ) {
+    target.getIds()
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(storedIds -> {
+          if (storedIds.isEmpty()) {
+            onNothingDeleted.run();
+            return;
+          }
+          get(
+              grocyApi.getObjectAtPosition(entity, storedIds.size() - 1),
+              uuid,
+              response -> {
+                Integer idAtPosition = null;
+                try {
+                  JSONArray objects = new JSONArray(response);
+                  if (objects.length() > 0) {
+                    idAtPosition = objects.getJSONObject(0).getInt("id");
+                  }
+                } catch (JSONException e) {
+                  if (debug) {
+                    Log.e(tag, "prune " + entity + ": " + e);
+                  }
+                  onNothingDeleted.run();  // the next full sync prunes them
+                  return;
+                }
+                if (!DeltaSyncHelper.hasDeletedRows(storedIds, idAtPosition)) {
+                  onNothingDeleted.run();
+                  return;
+                }
+                if (debug) {
+                  Log.i(tag, "delta sync " + entity + ": rows were deleted, doing full sync");
+                }
+                fullSyncItem.perform(responseListener, errorListener, uuid);
+              },
+              error -> onNothingDeleted.run()
+          );
+        }, throwable -> onNothingDeleted.run());
+  }
+
+  // replaces the tables in one transaction, duration is logged for debugging
+  private Completable syncApply(String entityName, Runnable replaceTables) {
+    if (!debug) {
+      return appDatabase.syncApply(replaceTables);
+    }
+    long[] startTime = new long[1];
+    return appDatabase.syncApply(replaceTables)
+        .doOnSubscribe(disposable -> startTime[0] = SystemClock.elapsedRealtime())
+        .doOnComplete(() -> Log.i(tag, "sync apply " + entityName + ": "
+            + (SystemClock.elapsedRealtime() - startTime[0]) + " ms"));
+  }
+
+  // loads the stored table only if someone wants to have the complete list
+  private <T> void onObjectsStored(
+      Single<List<T>> storedObjects,
+      @Nullable DeltaSyncHelper.OnObjectsResponseListener<T> onResponseListener,
+      @Nullable OnStringResponseListener responseListener,
+      @Nullable OnErrorListener errorListener
+  ) {
+    if (onResponseListener == null) {
+      if (responseListener != null) {
+        responseListener.onResponse(null);
+      }
+      return;
+    }
+    storedObjects
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(objects -> {
+          onResponseListener.onResponse(new ArrayList<>(objects));
+          if (responseListener != null) {
+            responseListener.onResponse(null);
+          }
+        }, throwable -> {
+          if (errorListener != null) {
+            errorListener.onError(new VolleyError(throwable));
+          }
+        });
+  }
+
+  // 304 response, the stored table is still up to date and nothing has to be parsed or written
+  private <T> void onObjectsNotModified(
+      String entityName,
+      String prefLastTime,
+      String dbChangedTime,
+      Single<List<T>> storedObjects,
+      @Nullable DeltaSyncHelper.OnObjectsResponseListener<T> onResponseListener,
+      @Nullable OnStringResponseListener responseListener,
+      @Nullable OnErrorListener errorListener
+  ) {
+    if (debug) {
+      Log.i(tag, "download " + entityName + ": not modified");
+    }
+    sharedPrefs.edit().putString(prefLastTime, dbChangedTime).apply();
+    onObjectsStored(storedObjects, onResponseListener, responseListener, errorListener);
+  }
+
   public QueueItem addProductBarcode(
       JSONObject jsonObject,
       OnResponseListener onResponseListener,
@@ -1156,7 +1559,7 @@ public class DownloadHelper {
               }
             },
             error -> {
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -1165,7 +1568,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem updateUsers(
@@ -1183,9 +1586,11 @@ public class DownloadHelper {
             @Nullable OnErrorListener errorListener,
             @Nullable String uuid
         ) {
-          get(
-              grocyApi.getUsers(),
+          String url = grocyApi.getUsers();
+          getConditional(
+              url,
               uuid,
+              lastTime != null,
               response -> {
                 Type type = new TypeToken<List<User>>() {
                 }.getType();
@@ -1193,12 +1598,14 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download Users: " + users);
                 }
-                Single.concat(
-                    appDatabase.userDao().deleteUsers(),
-                    appDatabase.userDao().insertUsers(users)
-                )
+                syncApply("Users", () -> {
+                  appDatabase.userDao().deleteAll();
+                  appDatabase.userDao().insertAll(users);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
+                    .doOnComplete(() -> conditionalRequestCache.commit(url))
+                    .doOnError(throwable -> conditionalRequestCache.discard(url))
                     .doFinally(() -> {
                       sharedPrefs.edit()
                           .putString(PREF.DB_LAST_TIME_USERS, dbChangedTime).apply();
@@ -1211,6 +1618,15 @@ public class DownloadHelper {
                     })
                     .subscribe();
               },
+              () -> onObjectsNotModified(
+                  "Users",
+                  Constants.PREF.DB_LAST_TIME_USERS,
+                  dbChangedTime,
+                  appDatabase.userDao().getUsers(),
+                  onResponseListener != null ? onResponseListener::onResponse : null,
+                  responseListener,
+                  errorListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -1218,7 +1634,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped Users download");
@@ -1252,10 +1668,10 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download StockItems: " + stockItems);
                 }
-                Single.concat(
-                    appDatabase.stockItemDao().deleteStockItems(),
-                    appDatabase.stockItemDao().insertStockItems(stockItems)
-                )
+                syncApply("StockItems", () -> {
+                  appDatabase.stockItemDao().deleteAll();
+                  appDatabase.stockItemDao().insertAll(stockItems);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -1277,7 +1693,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped StockItems download");
@@ -1367,12 +1783,12 @@ public class DownloadHelper {
                 ArrayList<StockItem> finalOverdueItems = overdueItems;
                 ArrayList<StockItem> finalExpiredItems = expiredItems;
                 ArrayList<MissingItem> finalMissingItems = missingItems;
-                Single.concat(
-                    appDatabase.volatileItemDao().deleteVolatileItems(),
-                    appDatabase.volatileItemDao().insertVolatileItems(volatileItemsTogether),
-                    appDatabase.missingItemDao().deleteMissingItems(),
-                    appDatabase.missingItemDao().insertMissingItems(missingItems)
-                )
+                syncApply("Volatile", () -> {
+                  appDatabase.volatileItemDao().deleteAll();
+                  appDatabase.volatileItemDao().insertAll(volatileItemsTogether);
+                  appDatabase.missingItemDao().deleteAll();
+                  appDatabase.missingItemDao().insertAll(finalMissingItems);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -1397,7 +1813,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped Volatile download");
@@ -1458,10 +1874,10 @@ public class DownloadHelper {
                   }
                 }
                 ArrayList<MissingItem> finalMissingItems = missingItems;
-                Single.concat(
-                    appDatabase.missingItemDao().deleteMissingItems(),
-                    appDatabase.missingItemDao().insertMissingItems(missingItems)
-                )
+                syncApply("MissingItems", () -> {
+                  appDatabase.missingItemDao().deleteAll();
+                  appDatabase.missingItemDao().insertAll(finalMissingItems);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -1483,7 +1899,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped MissingItems download");
@@ -1517,10 +1933,10 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "dowload StockEntries: " + stockEntries);
                 }
-                Single.concat(
-                    appDatabase.stockEntryDao().deleteStockEntries(),
-                    appDatabase.stockEntryDao().insertStockEntries(stockEntries)
-                )
+                syncApply("StockEntries", () -> {
+                  appDatabase.stockEntryDao().deleteAll();
+                  appDatabase.stockEntryDao().insertAll(stockEntries);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -1542,7 +1958,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped StockEntries download");
@@ -1581,7 +1997,7 @@ public class DownloadHelper {
               }
             },
             error -> {
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -1590,7 +2006,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem getProductDetails(
@@ -1630,7 +2046,7 @@ public class DownloadHelper {
               }
             },
             error -> {
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -1639,7 +2055,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem getStockLocations(
@@ -1679,7 +2095,7 @@ public class DownloadHelper {
               }
             },
             error -> {
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -1688,7 +2104,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem getStockEntries(
@@ -1698,6 +2114,8 @@ public class DownloadHelper {
     return getStockEntries(productId, onResponseListener, null);
   }
 
+  // journal pages are small and have to be compared with the cached range before they are
+  // stored, so they are parsed as a whole instead of being streamed like getStreaming() does
   public QueueItem getStockLogEntries(
       int limit,
       int offset,
@@ -1730,7 +2148,7 @@ public class DownloadHelper {
               }
             },
             error -> {
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -1739,7 +2157,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem getStockLogEntries(
@@ -1775,10 +2193,11 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download ShoppingListItems: " + shoppingListItems);
                 }
-                Single.concat(
-                    appDatabase.shoppingListItemDao().deleteShoppingListItems(),
-                    appDatabase.shoppingListItemDao().insertShoppingListItems(shoppingListItems)
-                )
+                syncApply("ShoppingListItems", () -> {
+                  keepPendingDoneChanges(shoppingListItems);
+                  appDatabase.shoppingListItemDao().deleteAll();
+                  appDatabase.shoppingListItemDao().insertAll(shoppingListItems);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -1801,7 +2220,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped ShoppingListItems download");
@@ -1810,88 +2229,24 @@ public class DownloadHelper {
     }
   }
 
-  public QueueItem updateShoppingListItems(
-      String dbChangedTime,
-      OnShoppingListItemsWithSyncResponseListener onResponseListener
-  ) {
-    String lastTime = sharedPrefs.getString(  // get last offline db-changed-time value
-        Constants.PREF.DB_LAST_TIME_SHOPPING_LIST_ITEMS, null
-    );
-    if (lastTime == null || !lastTime.equals(dbChangedTime)) {
-      return new QueueItem() {
-        @Override
-        public void perform(
-            @Nullable OnStringResponseListener responseListener,
-            @Nullable OnErrorListener errorListener,
-            @Nullable String uuid
-        ) {
-          get(
-              grocyApi.getObjects(GrocyApi.ENTITY.SHOPPING_LIST),
-              uuid,
-              response -> {
-                Type type = new TypeToken<List<ShoppingListItem>>() {
-                }.getType();
-                ArrayList<ShoppingListItem> shoppingListItems = gson.fromJson(response, type);
-                if (debug) {
-                  Log.i(tag, "download ShoppingListItems: " + shoppingListItems);
-                }
-                ArrayList<ShoppingListItem> itemsToSync = new ArrayList<>();
-                HashMap<Integer, ShoppingListItem> serverItemsHashMap = new HashMap<>();
-                for (ShoppingListItem s : shoppingListItems) {
-                  serverItemsHashMap.put(s.getId(), s);
-                }
-
-                appDatabase.shoppingListItemDao().getShoppingListItems()
-                    .doOnSuccess(offlineItems -> {
-                      // compare server items with offline items and add modified to separate list
-                      for (ShoppingListItem offlineItem : offlineItems) {
-                        ShoppingListItem serverItem = serverItemsHashMap.get(offlineItem.getId());
-                        if (serverItem != null  // sync only items which are still on server
-                            && offlineItem.getDoneSynced() != -1
-                            && offlineItem.getDoneInt() != offlineItem.getDoneSynced()
-                            && offlineItem.getDoneInt() != serverItem.getDoneInt()
-                            || serverItem != null
-                            && serverItem.getDoneSynced() != -1  // server database hasn't changed
-                            && offlineItem.getDoneSynced() != -1
-                            && offlineItem.getDoneInt() != offlineItem.getDoneSynced()
-                        ) {
-                          itemsToSync.add(offlineItem);
-                        }
-                      }
-                    })
-                    .doFinally(() -> {
-                      appDatabase.shoppingListItemDao().deleteAll();
-                      appDatabase.shoppingListItemDao().insertAll(shoppingListItems);
-                    })
-                    .subscribeOn(Schedulers.io())
-                    .observeOn(AndroidSchedulers.mainThread())
-                    .doFinally(() -> {
-                      sharedPrefs.edit()
-                          .putString(Constants.PREF.DB_LAST_TIME_SHOPPING_LIST_ITEMS, dbChangedTime)
-                          .apply();
-                      if (onResponseListener != null) {
-                        onResponseListener.onResponse(shoppingListItems, itemsToSync,
-                            serverItemsHashMap);
-                      }
-                      if (responseListener != null) {
-                        responseListener.onResponse(response);
-                      }
-                    })
-                    .subscribe();
-              },
-              error -> {
-                if (errorListener != null) {
-                  errorListener.onError(error);
-                }
-              }
-          );
-        }
-      };
-    } else {
-      if (debug) {
-        Log.i(tag, "downloadData: skipped ShoppingListItems download");
+  // local "done" changes which are not uploaded yet must survive the table replacement
+  private void keepPendingDoneChanges(List<ShoppingListItem> serverItems) {
+    List<ShoppingListItem> pendingItems = appDatabase.shoppingListItemDao()
+        .getPendingShoppingListItems();
+    if (pendingItems.isEmpty()) {
+      return;
+    }
+    HashMap<Integer, ShoppingListItem> pendingItemHashMap = new HashMap<>();
+    for (ShoppingListItem pendingItem : pendingItems) {
+      pendingItemHashMap.put(pendingItem.getId(), pendingItem);
+    }
+    for (ShoppingListItem serverItem : serverItems) {
+      ShoppingListItem pendingItem = pendingItemHashMap.get(serverItem.getId());
+      if (pendingItem == null || pendingItem.getDoneInt() == serverItem.getDoneInt()) {
+        continue;
       }
-      return null;
+      serverItem.setDoneSynced(serverItem.getDoneInt());
+      serverItem.setDone(pendingItem.getDoneInt());
     }
   }
 
@@ -1922,7 +2277,7 @@ public class DownloadHelper {
               }
             },
             error -> {
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -1931,7 +2286,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem updateShoppingLists(
@@ -1959,10 +2314,10 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download ShoppingLists: " + shoppingLists);
                 }
-                Single.concat(
-                    appDatabase.shoppingListDao().deleteShoppingLists(),
-                    appDatabase.shoppingListDao().insertShoppingLists(shoppingLists)
-                )
+                syncApply("ShoppingLists", () -> {
+                  appDatabase.shoppingListDao().deleteAll();
+                  appDatabase.shoppingListDao().insertAll(shoppingLists);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -1984,7 +2339,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped ShoppingLists download");
@@ -2008,9 +2363,11 @@ public class DownloadHelper {
             @Nullable OnErrorListener errorListener,
             @Nullable String uuid
         ) {
-          get(
-              grocyApi.getObjects(GrocyApi.ENTITY.STORES),
+          String url = grocyApi.getObjects(GrocyApi.ENTITY.STORES);
+          getConditional(
+              url,
               uuid,
+              lastTime != null,
               response -> {
                 Type type = new TypeToken<List<Store>>() {
                 }.getType();
@@ -2018,12 +2375,14 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download Stores: " + stores);
                 }
-                Single.concat(
-                    appDatabase.storeDao().deleteStores(),
-                    appDatabase.storeDao().insertStores(stores)
-                )
+                syncApply("Stores", () -> {
+                  appDatabase.storeDao().deleteAll();
+                  appDatabase.storeDao().insertAll(stores);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
+                    .doOnComplete(() -> conditionalRequestCache.commit(url))
+                    .doOnError(throwable -> conditionalRequestCache.discard(url))
                     .doFinally(() -> {
                       sharedPrefs.edit()
                           .putString(Constants.PREF.DB_LAST_TIME_STORES, dbChangedTime).apply();
@@ -2036,6 +2395,15 @@ public class DownloadHelper {
                     })
                     .subscribe();
               },
+              () -> onObjectsNotModified(
+                  "Stores",
+                  Constants.PREF.DB_LAST_TIME_STORES,
+                  dbChangedTime,
+                  appDatabase.storeDao().getStores(),
+                  onResponseListener != null ? onResponseListener::onResponse : null,
+                  responseListener,
+                  errorListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -2043,7 +2411,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped Stores download");
@@ -2161,10 +2529,10 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download Tasks: " + tasks);
                 }
-                Single.concat(
-                    appDatabase.taskDao().deleteTasks(),
-                    appDatabase.taskDao().insertTasks(tasks)
-                )
+                syncApply("Tasks", () -> {
+                  appDatabase.taskDao().deleteAll();
+                  appDatabase.taskDao().insertAll(tasks);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -2186,7 +2554,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped Tasks download");
@@ -2210,9 +2578,11 @@ public class DownloadHelper {
             @Nullable OnErrorListener errorListener,
             @Nullable String uuid
         ) {
-          get(
-              grocyApi.getObjects(ENTITY.TASK_CATEGORIES),
+          String url = grocyApi.getObjects(ENTITY.TASK_CATEGORIES);
+          getConditional(
+              url,
               uuid,
+              lastTime != null,
               response -> {
                 Type type = new TypeToken<List<TaskCategory>>() {
                 }.getType();
@@ -2220,12 +2590,14 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download Task categories: " + taskCategories);
                 }
-                Single.concat(
-                    appDatabase.taskCategoryDao().deleteCategories(),
-                    appDatabase.taskCategoryDao().insertCategories(taskCategories)
-                )
+                syncApply("TaskCategories", () -> {
+                  appDatabase.taskCategoryDao().deleteAll();
+                  appDatabase.taskCategoryDao().insertAll(taskCategories);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
+                    .doOnComplete(() -> conditionalRequestCache.commit(url))
+                    .doOnError(throwable -> conditionalRequestCache.discard(url))
                     .doFinally(() -> {
                       sharedPrefs.edit()
                           .putString(Constants.PREF.DB_LAST_TIME_TASK_CATEGORIES, dbChangedTime)
@@ -2239,6 +2611,15 @@ public class DownloadHelper {
                     })
                     .subscribe();
               },
+              () -> onObjectsNotModified(
+                  "TaskCategories",
+                  Constants.PREF.DB_LAST_TIME_TASK_CATEGORIES,
+                  dbChangedTime,
+                  appDatabase.taskCategoryDao().getTaskCategories(),
+                  onResponseListener != null ? onResponseListener::onResponse : null,
+                  responseListener,
+                  errorListener
+              ),
               error -> {
                 if (errorListener != null) {
                   errorListener.onError(error);
@@ -2246,7 +2627,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped TaskCategories download");
@@ -2280,10 +2661,10 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download Chores: " + chores);
                 }
-                Single.concat(
-                    appDatabase.choreDao().deleteChores(),
-                    appDatabase.choreDao().insertChores(chores)
-                )
+                syncApply("Chores", () -> {
+                  appDatabase.choreDao().deleteAll();
+                  appDatabase.choreDao().insertAll(chores);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -2305,7 +2686,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped Chores download");
@@ -2358,10 +2739,10 @@ public class DownloadHelper {
                 if (debug) {
                   Log.i(tag, "download ChoreEntries: " + choreEntries);
                 }
-                Single.concat(
-                    appDatabase.choreEntryDao().deleteChoreEntries(),
-                    appDatabase.choreEntryDao().insertChoreEntries(choreEntries)
-                )
+                syncApply("ChoreEntries", () -> {
+                  appDatabase.choreEntryDao().deleteAll();
+                  appDatabase.choreEntryDao().insertAll(choreEntries);
+                })
                     .subscribeOn(Schedulers.io())
                     .observeOn(AndroidSchedulers.mainThread())
                     .doFinally(() -> {
@@ -2383,7 +2764,7 @@ public class DownloadHelper {
               }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped Chores download");
@@ -2422,7 +2803,7 @@ public class DownloadHelper {
               }
             },
             error -> {
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -2431,7 +2812,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem getChoreDetails(int choreId, OnChoreDetailsResponseListener onResponseListener) {
@@ -2463,10 +2844,10 @@ public class DownloadHelper {
                     if (debug) {
                       Log.i(tag, "download Recipes: " + recipes);
                     }
-                    Single.concat(
-                            appDatabase.recipeDao().deleteRecipes(),
-                            appDatabase.recipeDao().insertRecipes(recipes)
-                    )
+                    syncApply("Recipes", () -> {
+                      appDatabase.recipeDao().deleteAll();
+                      appDatabase.recipeDao().insertAll(recipes);
+                    })
                             .subscribeOn(Schedulers.io())
                             .observeOn(AndroidSchedulers.mainThread())
                             .doFinally(() -> {
@@ -2489,7 +2870,7 @@ public class DownloadHelper {
                   }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped Recipes download");
@@ -2560,10 +2941,10 @@ public class DownloadHelper {
                     if (debug) {
                       Log.i(tag, "download RecipeFulfillments: " + recipeFulfillments);
                     }
-                    Single.concat(
-                            appDatabase.recipeFulfillmentDao().deleteRecipeFulfillments(),
-                            appDatabase.recipeFulfillmentDao().insertRecipeFulfillments(recipeFulfillments)
-                    )
+                    syncApply("RecipeFulfillments", () -> {
+                      appDatabase.recipeFulfillmentDao().deleteAll();
+                      appDatabase.recipeFulfillmentDao().insertAll(recipeFulfillments);
+                    })
                             .subscribeOn(Schedulers.io())
                             .observeOn(AndroidSchedulers.mainThread())
                             .doFinally(() -> {
@@ -2586,7 +2967,7 @@ public class DownloadHelper {
                   }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped Recipe fulfillments download");
@@ -2627,10 +3008,10 @@ public class DownloadHelper {
                         recipePos.setAmount(0);
                       }
                     }
-                    Single.concat(
-                            appDatabase.recipePositionDao().deleteRecipePositions(),
-                            appDatabase.recipePositionDao().insertRecipePositions(recipePositions)
-                    )
+                    syncApply("RecipePositions", () -> {
+                      appDatabase.recipePositionDao().deleteAll();
+                      appDatabase.recipePositionDao().insertAll(recipePositions);
+                    })
                             .subscribeOn(Schedulers.io())
                             .observeOn(AndroidSchedulers.mainThread())
                             .doFinally(() -> {
@@ -2653,7 +3034,7 @@ public class DownloadHelper {
                   }
           );
         }
-      };
+      }.setRetryable(true);
     } else {
       if (debug) {
         Log.i(tag, "downloadData: skipped Recipe positions download");
@@ -2694,7 +3075,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem getSystemInfo(
@@ -2723,7 +3104,7 @@ public class DownloadHelper {
               }
             },
             error -> {
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -2732,21 +3113,40 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
+  // concurrent checks of all screens are coalesced by the SyncScheduler
   public void getTimeDbChanged(
       OnStringResponseListener onResponseListener,
       OnSimpleErrorListener onErrorListener
+  ) {
+    SyncScheduler.getInstance(application).getDbChangedTime(
+        this, grocyApi.getDbChangedTime(), onResponseListener, onErrorListener
+    );
+  }
+
+  // next interval of a DbChangedTimePoller, based on the recent changes of this server
+  public long getNextDbChangedTimeInterval(long lastInterval, long maxInterval) {
+    return SyncScheduler.getInstance(application).getNextInterval(
+        grocyApi.getDbChangedTime(), lastInterval, maxInterval
+    );
+  }
+
+  void requestTimeDbChanged(
+      String url,
+      String requestTag,
+      SyncScheduler.OnDbChangedTimeResponseListener onResponseListener,
+      OnSimpleErrorListener onErrorListener
   ) {
     get(
-        grocyApi.getDbChangedTime(),
-        uuidHelper,
+        url,
+        requestTag,
         response -> {
           try {
             JSONObject body = new JSONObject(response);
             String dateStr = body.getString("changed_time");
-            onResponseListener.onResponse(dateStr);
+            onResponseListener.onResponse(dateStr, response.length());
           } catch (JSONException e) {
             if (debug) {
               Log.e(tag, "getTimeDbChanged: " + e);
@@ -2882,7 +3282,7 @@ public class DownloadHelper {
               if (debug) {
                 Log.e(tag, "download StringData: " + error);
               }
-              if (onErrorListener != null) {
+              if (onErrorListener != null && !willRetry(error)) {
                 onErrorListener.onError(error);
               }
               if (errorListener != null) {
@@ -2891,7 +3291,7 @@ public class DownloadHelper {
             }
         );
       }
-    };
+    }.setRetryable(true);
   }
 
   public QueueItem getStringData(String url, OnStringResponseListener onResponseListener) {
@@ -2902,13 +3302,20 @@ public class DownloadHelper {
       OnQueueEmptyListener onQueueEmptyListener,
       OnErrorListener onErrorListener
   ) {
-    NetworkQueue queue = new NetworkQueue(onQueueEmptyListener, onErrorListener, requestQueue);
+    NetworkQueue queue = new NetworkQueue(
+        onQueueEmptyListener, onErrorListener, requestQueue, maxParallelRequests
+    );
     queueArrayList.add(queue);
     return queue;
   }
 
   public abstract static class QueueItem {
 
+    private final ArrayList<QueueItem> dependencies = new ArrayList<>();
+    private int priority = NetworkQueue.PRIORITY_NORMAL;
+    private boolean retryable = false;
+    private int attemptsLeft = 0;
+
     public abstract void perform(
         OnStringResponseListener responseListener,
         OnErrorListener errorListener,
@@ -2920,6 +3327,45 @@ public class DownloadHelper {
       perform(null, null, uuid);
     }
 
+    public QueueItem setPriority(int priority) {
+      this.priority = priority;
+      return this;
+    }
+
+    public int getPriority() {
+      return priority;
+    }
+
+    // this item will only be started after the given item has finished
+    public QueueItem dependsOn(@Nullable QueueItem queueItem) {
+      if (queueItem != null) {
+        dependencies.add(queueItem);
+      }
+      return this;
+    }
+
+    public List<QueueItem> getDependencies() {
+      return dependencies;
+    }
+
+    // only for idempotent GET items, a failed attempt is then repeated by the queue
+    public QueueItem setRetryable(boolean retryable) {
+      this.retryable = retryable;
+      return this;
+    }
+
+    public boolean isRetryable() {
+      return retryable;
+    }
+
+    public void setAttemptsLeft(int attemptsLeft) {
+      this.attemptsLeft = attemptsLeft;
+    }
+
+    // item listeners must only be called for errors which are not retried anymore
+    public boolean willRetry(VolleyError error) {
+      return retryable && attemptsLeft > 0 && NetworkQueue.isRetryableError(error);
+    }
   }
 
   public void updateData(OnQueueEmptyListener onFinished,
@@ -2937,56 +3383,86 @@ public class DownloadHelper {
       return;
     }
     NetworkQueue queue = newQueue(onFinished, errorListener);
+    QueueItem productsItem = null;
+    ArrayList<QueueItem> productDependentItems = new ArrayList<>();
     for (Class<?> type : types) {
+      QueueItem queueItem = null;
+      int priority = NetworkQueue.PRIORITY_NORMAL;
       if (type == ProductGroup.class) {
-        queue.append(updateProductGroups(dbChangedTime, null));
+        queueItem = updateProductGroups(dbChangedTime, null);
       } else if (type == QuantityUnit.class) {
-        queue.append(updateQuantityUnits(dbChangedTime, null));
+        queueItem = updateQuantityUnits(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_HIGH;
       } else if (type == QuantityUnitConversion.class) {
-        queue.append(updateQuantityUnitConversions(dbChangedTime, null));
+        queueItem = updateQuantityUnitConversions(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_LOW;
       } else if (type == Location.class) {
-        queue.append(updateLocations(dbChangedTime, null));
+        queueItem = updateLocations(dbChangedTime, null);
       } else if (type == StockLocation.class) {
-        queue.append(updateStockCurrentLocations(dbChangedTime, null));
+        queueItem = updateStockCurrentLocations(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_LOW;
       } else if (type == Product.class) {
-        queue.append(updateProducts(dbChangedTime, null));
+        queueItem = updateProducts(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_HIGH;
+        productsItem = queueItem;
       } else if (type == ProductLastPurchased.class) {
-        queue.append(updateProductsLastPurchased(dbChangedTime, null, true));
+        queueItem = updateProductsLastPurchased(dbChangedTime, null, true);
+        priority = NetworkQueue.PRIORITY_LOW;
       } else if (type == ProductAveragePrice.class) {
-        queue.append(updateProductsAveragePrice(dbChangedTime, null, true));
+        queueItem = updateProductsAveragePrice(dbChangedTime, null, true);
+        priority = NetworkQueue.PRIORITY_LOW;
       } else if (type == ProductBarcode.class) {
-        queue.append(updateProductBarcodes(dbChangedTime, null));
+        queueItem = updateProductBarcodes(dbChangedTime, null);
+        productDependentItems.add(queueItem);
       } else if (type == User.class) {
-        queue.append(updateUsers(dbChangedTime, null));
+        queueItem = updateUsers(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_LOW;
       } else if (type == StockItem.class) {
-        queue.append(updateStockItems(dbChangedTime, null));
+        queueItem = updateStockItems(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_HIGH;
       } else if (type == StockEntry.class) {
-        queue.append(updateStockEntries(dbChangedTime, null));
+        queueItem = updateStockEntries(dbChangedTime, null);
       } else if (type == VolatileItem.class) {
-        queue.append(updateVolatile(dbChangedTime, null));
+        queueItem = updateVolatile(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_HIGH;
       } else if (type == MissingItem.class) {
-        queue.append(updateMissingItems(dbChangedTime, null));
+        queueItem = updateMissingItems(dbChangedTime, null);
       } else if (type == ShoppingListItem.class) {
-        queue.append(updateShoppingListItems(dbChangedTime,
-            (OnShoppingListItemsResponseListener) null));
+        queueItem = updateShoppingListItems(dbChangedTime,
+            (OnShoppingListItemsResponseListener) null);
+        priority = NetworkQueue.PRIORITY_HIGH;
       } else if (type == ShoppingList.class) {
-        queue.append(updateShoppingLists(dbChangedTime, null));
+        queueItem = updateShoppingLists(dbChangedTime, null);
       } else if (type == Store.class) {
-        queue.append(updateStores(dbChangedTime, null));
+        queueItem = updateStores(dbChangedTime, null);
       } else if (type == Task.class) {
-        queue.append(updateTasks(dbChangedTime, null));
+        queueItem = updateTasks(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_HIGH;
       } else if (type == TaskCategory.class) {
-        queue.append(updateTaskCategories(dbChangedTime, null));
+        queueItem = updateTaskCategories(dbChangedTime, null);
       } else if (type == Chore.class) {
-        queue.append(updateChores(dbChangedTime, null));
+        queueItem = updateChores(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_HIGH;
       } else if (type == ChoreEntry.class) {
-        queue.append(updateChoreEntries(dbChangedTime, null));
+        queueItem = updateChoreEntries(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_LOW;
       } else if (type == Recipe.class) {
-        queue.append(updateRecipes(dbChangedTime, null));
+        queueItem = updateRecipes(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_HIGH;
       } else if (type == RecipeFulfillment.class) {
-        queue.append(updateRecipeFulfillments(dbChangedTime, null));
+        queueItem = updateRecipeFulfillments(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_LOW;
       } else if (type == RecipePosition.class) {
-        queue.append(updateRecipePositions(dbChangedTime, null));
+        queueItem = updateRecipePositions(dbChangedTime, null);
+        priority = NetworkQueue.PRIORITY_LOW;
+      }
+      if (queueItem != null) {
+        queue.append(queueItem.setPriority(priority));
+      }
+    }
+    for (QueueItem queueItem : productDependentItems) {
+      if (queueItem != null) {
+        queueItem.dependsOn(productsItem);
       }
     }
     if (queue.isEmpty()) {
@@ -3086,15 +3562,6 @@ public class DownloadHelper {
     void onResponse(ArrayList<ShoppingListItem> shoppingListItems);
   }
 
-  public interface OnShoppingListItemsWithSyncResponseListener {
-
-    void onResponse(
-        ArrayList<ShoppingListItem> shoppingListItems,
-        ArrayList<ShoppingListItem> itemsToSync,
-        HashMap<Integer, ShoppingListItem> serverItemHashMap
-    );
-  }
-
   public interface OnShoppingListsResponseListener {
 
     void onResponse(ArrayList<ShoppingList> shoppingLists);
@@ -3204,31 +3671,4 @@ public class DownloadHelper {
 
     void onFinished(@StringRes int msg);
   }
-
-  public static class BadDoubleDeserializer implements JsonDeserializer<Double> {
-    @Override
-    public Double deserialize(JsonElement element, Type type, JsonDeserializationContext context) throws JsonParseException {
-      try {
-        return NumUtil.toDouble(element.getAsString());
-      } catch (NumberFormatException e) {
-        throw new JsonParseException(e);
-      }
-    }
-
-  }
-
-  public class CustomDoubleDeserializer implements JsonDeserializer<Double> {
-    @Override
-    public Double deserialize(JsonElement element, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-      try {
-        // Ersetze Komma durch Punkt
-        String value = element.getAsString();
-        value = value.replace(',', '.');
-        return Double.parseDouble(value);
-      } catch (NumberFormatException e) {
-        throw new JsonParseException(e);
-      }
-    }
-  }
-
 }
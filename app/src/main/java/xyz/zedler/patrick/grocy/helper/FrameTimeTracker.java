@@ -0,0 +1,111 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.view.Choreographer;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Measures the time between frames while a list is scrolled. Used to compare the bind
+ * performance of lists with the numbers shown in the debugging settings.
+ */
+public class FrameTimeTracker extends RecyclerView.OnScrollListener
+    implements Choreographer.FrameCallback {
+
+  // one frame at 60 Hz, with a small margin
+  private final static long SLOW_FRAME_NANOS = 17_000_000;
+
+  private static FrameTimeTracker instance;
+
+  private boolean isTracking;
+  private long lastFrameTimeNanos;
+  private int frameCount;
+  private int slowFrameCount;
+  private long totalFrameNanos;
+  private long maxFrameNanos;
+
+  // only accessed on the main thread
+  public static FrameTimeTracker getInstance() {
+    if (instance == null) {
+      instance = new FrameTimeTracker();
+    }
+    return instance;
+  }
+
+  private FrameTimeTracker() {
+  }
+
+  @Override
+  public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+    if (newState != RecyclerView.SCROLL_STATE_IDLE && !isTracking) {
+      isTracking = true;
+      lastFrameTimeNanos = 0;
+      Choreographer.getInstance().postFrameCallback(this);
+    } else if (newState == RecyclerView.SCROLL_STATE_IDLE && isTracking) {
+      isTracking = false;
+      Choreographer.getInstance().removeFrameCallback(this);
+    }
+  }
+
+  /**
+   * Detaches the tracker from the list and stops a running measurement, the frame callback
+   * would otherwise keep being posted after the list is gone.
+   */
+  public void stop(@NonNull RecyclerView recyclerView) {
+    recyclerView.removeOnScrollListener(this);
+    if (isTracking) {
+      isTracking = false;
+      Choreographer.getInstance().removeFrameCallback(this);
+    }
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    if (!isTracking) return;
+    if (lastFrameTimeNanos != 0) {
+      long frameNanos = frameTimeNanos - lastFrameTimeNanos;
+      frameCount++;
+      totalFrameNanos += frameNanos;
+      maxFrameNanos = Math.max(maxFrameNanos, frameNanos);
+      if (frameNanos > SLOW_FRAME_NANOS) {
+        slowFrameCount++;
+      }
+    }
+    lastFrameTimeNanos = frameTimeNanos;
+    Choreographer.getInstance().postFrameCallback(this);
+  }
+
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  public int getSlowFrameCount() {
+    return slowFrameCount;
+  }
+
+  public double getAverageFrameMillis() {
+    return frameCount > 0 ? totalFrameNanos / (double) frameCount / 1_000_000 : 0;
+  }
+
+  public double getMaxFrameMillis() {
+    return maxFrameNanos / 1_000_000d;
+  }
+}
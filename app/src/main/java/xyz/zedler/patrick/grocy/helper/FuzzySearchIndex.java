@@ -0,0 +1,229 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import me.xdrop.fuzzywuzzy.FuzzySearch;
+
+/**
+ * Trigram index over the lowercase names of a list of objects (usually products).
+ * The index is rebuilt on a background thread whenever a different list is searched,
+ * queries are debounced and a new query cancels the previous one.
+ * Results are ranked: exact match, prefix, word prefix, substring, then fuzzy matches.
+ */
+public class FuzzySearchIndex<T> {
+
+  private static final int FUZZY_CUTOFF = 70;
+  private static final int MAX_FUZZY_CANDIDATES = 100;
+  private static final Scheduler INDEX_SCHEDULER = Schedulers.from(
+      Executors.newSingleThreadExecutor()
+  );
+
+  private final NameGetter<T> nameGetter;
+  private final ArrayList<Entry<T>> entries;
+  private final HashMap<String, ArrayList<Integer>> postings;
+  private HashMap<String, String[]> gramsCache;
+  private List<? extends T> indexedItems;
+  private Disposable disposable;
+
+  public interface NameGetter<T> {
+
+    @Nullable
+    String getName(T item);
+  }
+
+  public interface OnResultsListener<T> {
+
+    void onResults(List<T> results);
+  }
+
+  public FuzzySearchIndex(@NonNull NameGetter<T> nameGetter) {
+    this.nameGetter = nameGetter;
+    entries = new ArrayList<>();
+    postings = new HashMap<>();
+    gramsCache = new HashMap<>();
+  }
+
+  /**
+   * Searches the items after the debounce delay on the index thread and delivers the ranked
+   * results on the main thread. A pending or running search is cancelled.
+   *
+   * @param limit max. number of results, 0 for no limit
+   */
+  public void search(
+      @NonNull List<? extends T> items,
+      @NonNull String query,
+      int limit,
+      long debounceMillis,
+      @NonNull OnResultsListener<T> listener
+  ) {
+    cancel();
+    disposable = Single.timer(debounceMillis, TimeUnit.MILLISECONDS, INDEX_SCHEDULER)
+        .map(tick -> {
+          setItems(items);
+          return query(query, limit);
+        })
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(listener::onResults, throwable -> listener.onResults(new ArrayList<>()));
+  }
+
+  public void cancel() {
+    if (disposable != null) {
+      disposable.dispose();
+      disposable = null;
+    }
+  }
+
+  private void setItems(List<? extends T> items) {
+    if (items == indexedItems) return;
+    entries.clear();
+    postings.clear();
+    // trigrams of unchanged names are reused, so only new or renamed items are tokenized
+    HashMap<String, String[]> newGramsCache = new HashMap<>(items.size());
+    for (T item : items) {
+      String name = nameGetter.getName(item);
+      name = name != null ? name.toLowerCase() : "";
+      String[] grams = newGramsCache.get(name);
+      if (grams == null) grams = gramsCache.get(name);
+      if (grams == null) grams = getTrigrams(name);
+      newGramsCache.put(name, grams);
+      int index = entries.size();
+      entries.add(new Entry<>(item, name));
+      for (String gram : grams) {
+        ArrayList<Integer> posting = postings.get(gram);
+        if (posting == null) {
+          posting = new ArrayList<>();
+          postings.put(gram, posting);
+        }
+        posting.add(index);
+      }
+    }
+    gramsCache = newGramsCache;
+    indexedItems = items;
+  }
+
+  private List<T> query(String query, int limit) {
+    String search = query.trim().toLowerCase();
+    ArrayList<T> results = new ArrayList<>();
+    if (search.isEmpty()) return results;
+
+    ArrayList<Entry<T>> exact = new ArrayList<>();
+    ArrayList<Entry<T>> prefix = new ArrayList<>();
+    ArrayList<Entry<T>> wordPrefix = new ArrayList<>();
+    ArrayList<Entry<T>> substring = new ArrayList<>();
+    boolean[] matched = new boolean[entries.size()];
+    for (int i = 0; i < entries.size(); i++) {
+      Entry<T> entry = entries.get(i);
+      int position = entry.name.indexOf(search);
+      if (position < 0) continue;
+      matched[i] = true;
+      if (position == 0 && entry.name.length() == search.length()) {
+        exact.add(entry);
+      } else if (position == 0) {
+        prefix.add(entry);
+      } else if (entry.name.charAt(position - 1) == ' ') {
+        wordPrefix.add(entry);
+      } else {
+        substring.add(entry);
+      }
+    }
+    addSortedByName(results, exact);
+    addSortedByName(results, prefix);
+    addSortedByName(results, wordPrefix);
+    addSortedByName(results, substring);
+    if (limit > 0 && results.size() >= limit) return results.subList(0, limit);
+
+    // only names sharing the most trigrams with the search are scored with FuzzySearch
+    int[] sharedGrams = new int[entries.size()];
+    ArrayList<Integer> candidates = new ArrayList<>();
+    for (String gram : getTrigrams(search)) {
+      ArrayList<Integer> posting = postings.get(gram);
+      if (posting == null) continue;
+      for (int index : posting) {
+        if (matched[index]) continue;
+        if (sharedGrams[index] == 0) candidates.add(index);
+        sharedGrams[index]++;
+      }
+    }
+    Collections.sort(candidates, (i1, i2) -> Integer.compare(sharedGrams[i2], sharedGrams[i1]));
+    ArrayList<ScoredEntry<T>> fuzzy = new ArrayList<>();
+    for (int i = 0; i < candidates.size() && i < MAX_FUZZY_CANDIDATES; i++) {
+      Entry<T> entry = entries.get(candidates.get(i));
+      int score = FuzzySearch.weightedRatio(search, entry.name);
+      if (score >= FUZZY_CUTOFF) fuzzy.add(new ScoredEntry<>(entry, score));
+    }
+    Collections.sort(fuzzy, (e1, e2) -> Integer.compare(e2.score, e1.score));
+    for (ScoredEntry<T> scoredEntry : fuzzy) {
+      results.add(scoredEntry.entry.item);
+    }
+    return limit > 0 && results.size() > limit ? results.subList(0, limit) : results;
+  }
+
+  private static <T> void addSortedByName(List<T> results, ArrayList<Entry<T>> entries) {
+    Collections.sort(entries, (e1, e2) -> e1.name.compareTo(e2.name));
+    for (Entry<T> entry : entries) {
+      results.add(entry.item);
+    }
+  }
+
+  private static String[] getTrigrams(String name) {
+    String padded = "  " + name + " ";
+    ArrayList<String> grams = new ArrayList<>(padded.length());
+    for (int i = 0; i + 3 <= padded.length(); i++) {
+      String gram = padded.substring(i, i + 3);
+      if (!grams.contains(gram)) grams.add(gram);
+    }
+    return grams.toArray(new String[0]);
+  }
+
+  private static class Entry<T> {
+
+    private final T item;
+    private final String name;
+
+    private Entry(T item, String name) {
+      this.item = item;
+      this.name = name;
+    }
+  }
+
+  private static class ScoredEntry<T> {
+
+    private final Entry<T> entry;
+    private final int score;
+
+    private ScoredEntry(Entry<T> entry, int score) {
+      this.entry = entry;
+      this.score = score;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.model.Recipe;
+import xyz.zedler.patrick.grocy.model.RecipeFulfillment;
+import xyz.zedler.patrick.grocy.model.RecipePosition;
+
+/**
+ * Lookup tables for recipe data, built once per database load instead of scanning the lists
+ * for every recipe. The index is never modified after construction, so it can be shared with
+ * adapters and replaced as a whole when new data is loaded.
+ */
+public class RecipeDataIndex {
+
+  private final HashMap<Integer, Recipe> recipeHashMap;
+  private final HashMap<Integer, RecipeFulfillment> recipeFulfillmentHashMap;
+  private final HashMap<Integer, List<RecipePosition>> recipePositionsHashMap;
+  private final HashMap<Integer, Product> productHashMap;
+
+  public RecipeDataIndex(
+      @Nullable List<Recipe> recipes,
+      @Nullable List<RecipeFulfillment> recipeFulfillments,
+      @Nullable List<RecipePosition> recipePositions,
+      @Nullable List<Product> products
+  ) {
+    recipeHashMap = new HashMap<>();
+    if (recipes != null) {
+      for (Recipe recipe : recipes) {
+        recipeHashMap.put(recipe.getId(), recipe);
+      }
+    }
+    recipeFulfillmentHashMap = new HashMap<>();
+    if (recipeFulfillments != null) {
+      for (RecipeFulfillment recipeFulfillment : recipeFulfillments) {
+        // keep the first one like the linear search did
+        if (!recipeFulfillmentHashMap.containsKey(recipeFulfillment.getRecipeId())) {
+          recipeFulfillmentHashMap.put(recipeFulfillment.getRecipeId(), recipeFulfillment);
+        }
+      }
+    }
+    recipePositionsHashMap = new HashMap<>();
+    if (recipePositions != null) {
+      for (RecipePosition recipePosition : recipePositions) {
+        List<RecipePosition> group = recipePositionsHashMap.get(recipePosition.getRecipeId());
+        if (group == null) {
+          group = new ArrayList<>();
+          recipePositionsHashMap.put(recipePosition.getRecipeId(), group);
+        }
+        group.add(recipePosition);
+      }
+    }
+    productHashMap = new HashMap<>();
+    if (products != null) {
+      for (Product product : products) {
+        productHashMap.put(product.getId(), product);
+      }
+    }
+  }
+
+  @Nullable
+  public Recipe getRecipe(int recipeId) {
+    return recipeHashMap.get(recipeId);
+  }
+
+  @Nullable
+  public RecipeFulfillment getRecipeFulfillment(int recipeId) {
+    return recipeFulfillmentHashMap.get(recipeId);
+  }
+
+  public HashMap<Integer, RecipeFulfillment> getRecipeFulfillmentHashMap() {
+    return recipeFulfillmentHashMap;
+  }
+
+  /**
+   * @return a new list which can be modified or passed on by the caller
+   */
+  public ArrayList<RecipePosition> getRecipePositions(int recipeId) {
+    List<RecipePosition> recipePositions = recipePositionsHashMap.get(recipeId);
+    return recipePositions != null ? new ArrayList<>(recipePositions) : new ArrayList<>();
+  }
+
+  @Nullable
+  public Product getProduct(int productId) {
+    return productHashMap.get(productId);
+  }
+
+  public ArrayList<Product> getProductsForRecipePositions(List<RecipePosition> recipePositions) {
+    ArrayList<Product> result = new ArrayList<>();
+    for (RecipePosition recipePosition : recipePositions) {
+      Product product = productHashMap.get(recipePosition.getProductId());
+      if (product != null) {
+        result.add(product);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.app.Application;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONException;
+import org.json.JSONObject;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.model.ShoppingListItem;
+import xyz.zedler.patrick.grocy.web.NetworkQueue;
+
+/**
+ * Sends "done" changes of shopping list items which were made offline or failed to upload.
+ * The pending changes live in the shopping list item table itself (done differs from
+ * done_synced), so several toggles of one item collapse into a single request and nothing
+ * is lost if the app is killed before they are sent. Every item which was accepted by the
+ * server is marked as synced, failed items stay pending for the next run.
+ */
+public class ShoppingListOutbox {
+
+  private final static String TAG = ShoppingListOutbox.class.getSimpleName();
+
+  private final AppDatabase appDatabase;
+  private final DownloadHelper dlHelper;
+  private final boolean debug;
+  private NetworkQueue currentQueue;
+  private boolean isSyncing;
+
+  public interface OnSyncFinishedListener {
+
+    void onFinished(int syncedCount, int failedCount);
+  }
+
+  public ShoppingListOutbox(Application application, DownloadHelper dlHelper, boolean debug) {
+    this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.dlHelper = dlHelper;
+    this.debug = debug;
+  }
+
+  public void sync(@NonNull OnSyncFinishedListener listener) {
+    if (isSyncing) return;
+    isSyncing = true;
+    appDatabase.shoppingListItemDao().getShoppingListItemsToSync()
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(
+            items -> sendItems(items, listener),
+            throwable -> {
+              isSyncing = false;
+              listener.onFinished(0, 0);
+            }
+        );
+  }
+
+  private void sendItems(List<ShoppingListItem> items, OnSyncFinishedListener listener) {
+    if (items.isEmpty()) {
+      isSyncing = false;
+      listener.onFinished(0, 0);
+      return;
+    }
+    List<ShoppingListItem> syncedItems = new ArrayList<>();
+    Runnable onSettled = () -> markSynced(syncedItems)
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doFinally(() -> {
+          isSyncing = false;
+          listener.onFinished(syncedItems.size(), items.size() - syncedItems.size());
+        })
+        .onErrorComplete()
+        .subscribe();
+    currentQueue = dlHelper.newQueue(onSettled::run, error -> onSettled.run());
+    for (ShoppingListItem item : items) {
+      JSONObject body = new JSONObject();
+      try {
+        body.put("done", item.getDoneInt());
+      } catch (JSONException e) {
+        if (debug) Log.e(TAG, "sendItems: " + e);
+        continue;
+      }
+      currentQueue.append(dlHelper.editShoppingListItem(
+          item.getId(),
+          body,
+          response -> syncedItems.add(item),
+          error -> {
+            if (debug) Log.e(TAG, "sendItems: item " + item.getId() + ": " + error);
+          }
+      ));
+    }
+    currentQueue.start();
+  }
+
+  public void cancel() {
+    if (currentQueue != null) {
+      currentQueue.reset(true);
+    }
+    isSyncing = false;
+  }
+
+  private Completable markSynced(List<ShoppingListItem> syncedItems) {
+    return Completable.fromAction(() -> appDatabase.runInTransaction(() -> {
+      for (ShoppingListItem item : syncedItems) {
+        appDatabase.shoppingListItemDao().setDoneSynced(item.getId(), item.getDoneInt());
+      }
+    }));
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.helper;
+
+import android.app.ActivityManager;
+import android.app.ActivityManager.RunningAppProcessInfo;
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.os.BatteryManager;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.util.Log;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.UUID;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnSimpleErrorListener;
+import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnStringResponseListener;
+import xyz.zedler.patrick.grocy.util.PrefsUtil;
+import xyz.zedler.patrick.grocy.web.RequestQueueSingleton;
+
+/**
+ * App-wide coordinator for the database changed time checks of all screens. Concurrent checks
+ * of the same server share one request and a result which has just arrived is handed out
+ * again instead of asking the server a second time, as long as no write was sent after the
+ * check has been started. Pollers get their next interval from
+ * here, which depends on how often the server data changed recently, whether the app is in
+ * the foreground, the battery state and whether the network is metered.
+ * All methods have to be called on the main thread.
+ */
+public class SyncScheduler {
+
+  private final static String TAG = SyncScheduler.class.getSimpleName();
+
+  public final static long MIN_INTERVAL = 1000;
+  private final static long RESULT_MAX_AGE = 500;
+  private final static long RECENT_CHANGE_WINDOW = 30 * 1000;
+  private final static int LOW_BATTERY_PERCENT = 20;
+
+  private static SyncScheduler instance;
+
+  private final Context context;
+  private final boolean debug;
+  private final HashMap<String, RunningCheck> runningChecks;
+  private final HashMap<String, String> lastResults;
+  private final HashMap<String, Long> lastResultTimes;
+  private final HashMap<String, Long> lastResultStartTimes;
+  private final HashMap<String, String> lastChangedTimes;
+  private final HashMap<String, Long> lastChangeObservedTimes;
+  private int lastResponseBytes;
+  private int checksIssued;
+  private int checksCoalesced;
+  private long bytesSaved;
+
+  interface OnDbChangedTimeResponseListener {
+
+    void onResponse(String dbChangedTime, int responseBytes);
+  }
+
+  private static class PendingCheck {
+
+    private final DownloadHelper dlHelper;
+    private final OnStringResponseListener onResponseListener;
+    private final OnSimpleErrorListener onErrorListener;
+
+    private PendingCheck(
+        DownloadHelper dlHelper,
+        OnStringResponseListener onResponseListener,
+        OnSimpleErrorListener onErrorListener
+    ) {
+      this.dlHelper = dlHelper;
+      this.onResponseListener = onResponseListener;
+      this.onErrorListener = onErrorListener;
+    }
+  }
+
+  private static class RunningCheck {
+
+    private final long startTime = SystemClock.elapsedRealtimeNanos();
+    private final String requestTag = TAG + "_" + UUID.randomUUID().toString();
+    private final ArrayList<PendingCheck> checks = new ArrayList<>();
+  }
+
+  private SyncScheduler(Context context) {
+    this.context = context;
+    debug = PrefsUtil.isDebuggingEnabled(context);
+    runningChecks = new HashMap<>();
+    lastResults = new HashMap<>();
+    lastResultTimes = new HashMap<>();
+    lastResultStartTimes = new HashMap<>();
+    lastChangedTimes = new HashMap<>();
+    lastChangeObservedTimes = new HashMap<>();
+  }
+
+  public static synchronized SyncScheduler getInstance(Context context) {
+    if (instance == null) {
+      instance = new SyncScheduler(context.getApplicationContext());
+    }
+    return instance;
+  }
+
+  void getDbChangedTime(
+      DownloadHelper dlHelper,
+      String url,
+      OnStringResponseListener onResponseListener,
+      OnSimpleErrorListener onErrorListener
+  ) {
+    // results and checks started before the last write could miss its changes
+    long lastWriteTime = DownloadHelper.getLastWriteTime();
+    Long lastResultTime = lastResultTimes.get(url);
+    Long lastResultStartTime = lastResultStartTimes.get(url);
+    if (lastResultTime != null && lastResultStartTime != null
+        && lastResultStartTime > lastWriteTime
+        && SystemClock.elapsedRealtime() - lastResultTime < RESULT_MAX_AGE) {
+      checksCoalesced++;
+      bytesSaved += lastResponseBytes;
+      onResponseListener.onResponse(lastResults.get(url));
+      return;
+    }
+    PendingCheck check = new PendingCheck(dlHelper, onResponseListener, onErrorListener);
+    RunningCheck runningCheck = runningChecks.get(url);
+    if (runningCheck != null && runningCheck.startTime > lastWriteTime) {
+      checksCoalesced++;
+      bytesSaved += lastResponseBytes;
+      runningCheck.checks.add(check);
+      return;
+    }
+    runningCheck = new RunningCheck();
+    runningCheck.checks.add(check);
+    runningChecks.put(url, runningCheck);
+    checksIssued++;
+    request(dlHelper, url, runningCheck);
+  }
+
+  /**
+   * Removes the pending checks of a destroyed helper, their listeners are not called anymore.
+   * The request of a check is only cancelled if nobody else is waiting for it.
+   */
+  void cancelChecks(DownloadHelper dlHelper) {
+    Iterator<RunningCheck> iterator = runningChecks.values().iterator();
+    while (iterator.hasNext()) {
+      RunningCheck runningCheck = iterator.next();
+      runningCheck.checks.removeIf(check -> check.dlHelper == dlHelper);
+      if (runningCheck.checks.isEmpty()) {
+        iterator.remove();
+        RequestQueueSingleton.getInstance(context).getRequestQueue()
+            .cancelAll(runningCheck.requestTag);
+      }
+    }
+  }
+
+  private void request(DownloadHelper dlHelper, String url, RunningCheck runningCheck) {
+    // own tag per check, destroying the sending helper must not cancel the other callers
+    dlHelper.requestTimeDbChanged(url, runningCheck.requestTag, (dbChangedTime, responseBytes) -> {
+      lastResponseBytes = responseBytes;
+      Long lastResultStartTime = lastResultStartTimes.get(url);
+      if (lastResultStartTime == null || lastResultStartTime < runningCheck.startTime) {
+        lastResults.put(url, dbChangedTime);
+        lastResultTimes.put(url, SystemClock.elapsedRealtime());
+        lastResultStartTimes.put(url, runningCheck.startTime);
+      }
+      String lastChangedTime = lastChangedTimes.put(url, dbChangedTime);
+      if (lastChangedTime != null && !lastChangedTime.equals(dbChangedTime)) {
+        lastChangeObservedTimes.put(url, SystemClock.elapsedRealtime());
+      }
+      if (runningChecks.get(url) == runningCheck) {
+        runningChecks.remove(url);
+      }
+      if (debug && runningCheck.checks.size() > 1) {
+        Log.i(TAG, "getDbChangedTime: answered " + runningCheck.checks.size() + " checks at once");
+      }
+      for (PendingCheck check : new ArrayList<>(runningCheck.checks)) {
+        check.onResponseListener.onResponse(dbChangedTime);
+      }
+      runningCheck.checks.clear();
+    }, () -> {
+      if (runningChecks.get(url) == runningCheck) {
+        runningChecks.remove(url);
+      }
+      for (PendingCheck check : new ArrayList<>(runningCheck.checks)) {
+        check.onErrorListener.onError();
+      }
+      runningCheck.checks.clear();
+    });
+  }
+
+  /**
+   * Next interval of a poller: short while the data of the server behind url is changing,
+   * doubled after every unchanged check and stretched if the app is in the background,
+   * the battery is low or saving power or the network is metered, but never above maxInterval.
+   */
+  long getNextInterval(String url, long lastInterval, long maxInterval) {
+    long interval;
+    Long lastChangeObservedTime = lastChangeObservedTimes.get(url);
+    if (lastChangeObservedTime != null
+        && SystemClock.elapsedRealtime() - lastChangeObservedTime < RECENT_CHANGE_WINDOW) {
+      interval = MIN_INTERVAL;
+    } else {
+      interval = Math.min(Math.max(lastInterval, MIN_INTERVAL) * 2, maxInterval);
+    }
+    int factor = 1;
+    if (!isInForeground()) {
+      factor *= 4;
+    }
+    if (isSavingBattery()) {
+      factor *= 4;
+    }
+    if (isNetworkMetered()) {
+      factor *= 2;
+    }
+    return Math.min(interval * factor, Math.max(maxInterval, MIN_INTERVAL));
+  }
+
+  private boolean isInForeground() {
+    RunningAppProcessInfo processInfo = new RunningAppProcessInfo();
+    ActivityManager.getMyMemoryState(processInfo);
+    return processInfo.importance <= RunningAppProcessInfo.IMPORTANCE_VISIBLE;
+  }
+
+  private boolean isSavingBattery() {
+    PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+    if (powerManager != null && powerManager.isPowerSaveMode()) {
+      return true;
+    }
+    BatteryManager batteryManager
+        = (BatteryManager) context.getSystemService(Context.BATTERY_SERVICE);
+    if (batteryManager == null) {
+      return false;
+    }
+    int capacity = batteryManager.getIntProperty(BatteryManager.BATTERY_PROPERTY_CAPACITY);
+    return capacity > 0 && capacity <= LOW_BATTERY_PERCENT;
+  }
+
+  private boolean isNetworkMetered() {
+    ConnectivityManager cm
+        = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+    return cm != null && cm.isActiveNetworkMetered();
+  }
+
+  public int getChecksIssued() {
+    return checksIssued;
+  }
+
+  public int getChecksCoalesced() {
+    return checksCoalesced;
+  }
+
+  public long getBytesSaved() {
+    return bytesSaved;
+  }
+}
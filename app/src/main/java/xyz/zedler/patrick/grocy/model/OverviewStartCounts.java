@@ -0,0 +1,227 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.model;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * Result of the aggregate query for the overview start screen, every field is one counter
+ * which was computed by the database.
+ */
+public class OverviewStartCounts {
+
+  @ColumnInfo(name = "stock_items_in_stock")
+  private int stockItemsInStock;
+
+  @ColumnInfo(name = "stock_value")
+  private double stockValue;
+
+  @ColumnInfo(name = "stock_items_due")
+  private int stockItemsDue;
+
+  @ColumnInfo(name = "stock_items_overdue")
+  private int stockItemsOverdue;
+
+  @ColumnInfo(name = "stock_items_expired")
+  private int stockItemsExpired;
+
+  @ColumnInfo(name = "missing_items")
+  private int missingItems;
+
+  @ColumnInfo(name = "missing_items_on_shopping_list")
+  private int missingItemsOnShoppingList;
+
+  @ColumnInfo(name = "shopping_list_items")
+  private int shoppingListItems;
+
+  @ColumnInfo(name = "shopping_lists")
+  private int shoppingLists;
+
+  @ColumnInfo(name = "products")
+  private int products;
+
+  @ColumnInfo(name = "stored_purchases")
+  private int storedPurchases;
+
+  @ColumnInfo(name = "recipes")
+  private int recipes;
+
+  @ColumnInfo(name = "chores_due_today")
+  private int choresDueToday;
+
+  @ColumnInfo(name = "chores_due_soon")
+  private int choresDueSoon;
+
+  @ColumnInfo(name = "chores_overdue")
+  private int choresOverdue;
+
+  @ColumnInfo(name = "chores_assigned")
+  private int choresAssigned;
+
+  @ColumnInfo(name = "tasks_undone")
+  private int tasksUndone;
+
+  @ColumnInfo(name = "tasks_assigned")
+  private int tasksAssigned;
+
+  public int getStockItemsInStock() {
+    return stockItemsInStock;
+  }
+
+  public void setStockItemsInStock(int stockItemsInStock) {
+    this.stockItemsInStock = stockItemsInStock;
+  }
+
+  public double getStockValue() {
+    return stockValue;
+  }
+
+  public void setStockValue(double stockValue) {
+    this.stockValue = stockValue;
+  }
+
+  public int getStockItemsDue() {
+    return stockItemsDue;
+  }
+
+  public void setStockItemsDue(int stockItemsDue) {
+    this.stockItemsDue = stockItemsDue;
+  }
+
+  public int getStockItemsOverdue() {
+    return stockItemsOverdue;
+  }
+
+  public void setStockItemsOverdue(int stockItemsOverdue) {
+    this.stockItemsOverdue = stockItemsOverdue;
+  }
+
+  public int getStockItemsExpired() {
+    return stockItemsExpired;
+  }
+
+  public void setStockItemsExpired(int stockItemsExpired) {
+    this.stockItemsExpired = stockItemsExpired;
+  }
+
+  public int getMissingItems() {
+    return missingItems;
+  }
+
+  public void setMissingItems(int missingItems) {
+    this.missingItems = missingItems;
+  }
+
+  public int getMissingItemsOnShoppingList() {
+    return missingItemsOnShoppingList;
+  }
+
+  public void setMissingItemsOnShoppingList(int missingItemsOnShoppingList) {
+    this.missingItemsOnShoppingList = missingItemsOnShoppingList;
+  }
+
+  public int getShoppingListItems() {
+    return shoppingListItems;
+  }
+
+  public void setShoppingListItems(int shoppingListItems) {
+    this.shoppingListItems = shoppingListItems;
+  }
+
+  public int getShoppingLists() {
+    return shoppingLists;
+  }
+
+  public void setShoppingLists(int shoppingLists) {
+    this.shoppingLists = shoppingLists;
+  }
+
+  public int getProducts() {
+    return products;
+  }
+
+  public void setProducts(int products) {
+    this.products = products;
+  }
+
+  public int getStoredPurchases() {
+    return storedPurchases;
+  }
+
+  public void setStoredPurchases(int storedPurchases) {
+    this.storedPurchases = storedPurchases;
+  }
+
+  public int getRecipes() {
+    return recipes;
+  }
+
+  public void setRecipes(int recipes) {
+    this.recipes = recipes;
+  }
+
+  public int getChoresDueToday() {
+    return choresDueToday;
+  }
+
+  public void setChoresDueToday(int choresDueToday) {
+    this.choresDueToday = choresDueToday;
+  }
+
+  public int getChoresDueSoon() {
+    return choresDueSoon;
+  }
+
+  public void setChoresDueSoon(int choresDueSoon) {
+    this.choresDueSoon = choresDueSoon;
+  }
+
+  public int getChoresOverdue() {
+    return choresOverdue;
+  }
+
+  public void setChoresOverdue(int choresOverdue) {
+    this.choresOverdue = choresOverdue;
+  }
+
+  public int getChoresAssigned() {
+    return choresAssigned;
+  }
+
+  public void setChoresAssigned(int choresAssigned) {
+    this.choresAssigned = choresAssigned;
+  }
+
+  public int getTasksUndone() {
+    return tasksUndone;
+  }
+
+  public void setTasksUndone(int tasksUndone) {
+    this.tasksUndone = tasksUndone;
+  }
+
+  public int getTasksAssigned() {
+    return tasksAssigned;
+  }
+
+  public void setTasksAssigned(int tasksAssigned) {
+    this.tasksAssigned = tasksAssigned;
+  }
+}
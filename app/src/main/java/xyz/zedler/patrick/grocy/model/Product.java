@@ -62,7 +62,7 @@ public class Product extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "active")
   @SerializedName("active")
-  private String active;
+  private int active;
 
   @ColumnInfo(name = "location_id")
   @SerializedName("location_id")
@@ -74,19 +74,19 @@ public class Product extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "qu_id_purchase")
   @SerializedName("qu_id_purchase")
-  private String quIdPurchase; // quantity unit
+  private int quIdPurchase = -1; // quantity unit
 
   @ColumnInfo(name = "qu_id_stock")
   @SerializedName("qu_id_stock")
-  private String quIdStock; // quantity unit
+  private int quIdStock = -1; // quantity unit
 
   @ColumnInfo(name = "qu_factor_purchase_to_stock")
   @SerializedName("qu_factor_purchase_to_stock")
-  private String quFactorPurchaseToStock; // quantity unit
+  private double quFactorPurchaseToStock = 1; // quantity unit
 
   @ColumnInfo(name = "min_stock_amount")
   @SerializedName("min_stock_amount")
-  private String minStockAmount;
+  private double minStockAmount;
 
   @ColumnInfo(name = "default_best_before_days")
   @SerializedName("default_best_before_days")
@@ -134,7 +134,7 @@ public class Product extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "due_type")
   @SerializedName("due_type")
-  private String dueDateType;
+  private int dueDateType = 1;
 
   @ColumnInfo(name = "quick_consume_amount")
   @SerializedName("quick_consume_amount")
@@ -142,7 +142,7 @@ public class Product extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "hide_on_stock_overview")
   @SerializedName("hide_on_stock_overview")
-  private String hideOnStockOverview;
+  private int hideOnStockOverview;
 
   @ColumnInfo(name = "default_stock_label_type")
   @SerializedName("default_stock_label_type")
@@ -200,7 +200,7 @@ public class Product extends GroupedListItem implements Parcelable {
         SETTINGS_DEFAULT.STOCK.TREAT_OPENED_OUT_OF_STOCK
     );
     name = null;  // initialize default values (used in masterProductFragment)
-    active = "1";
+    active = 1;
     parentProductId = null;
     description = null;
     if (sharedPrefs.getBoolean(PREF.FEATURE_STOCK_LOCATION_TRACKING, true)) {
@@ -209,16 +209,15 @@ public class Product extends GroupedListItem implements Parcelable {
       locationId = "1";
     }
     storeId = null;
-    minStockAmount = String.valueOf(0);
+    minStockAmount = 0;
     accumulateSubProductsMinStockAmount = "0";
-    dueDateType = "1";
+    dueDateType = 1;
     defaultDueDays = String.valueOf(presetDefaultDueDays);
     defaultDueDaysAfterOpen = "0";
     productGroupId = presetProductGroupId == -1 ? null : String.valueOf(presetProductGroupId);
-    String presetQuIdStr = presetQuId == -1 ? null : String.valueOf(presetQuId);
-    quIdStock = presetQuIdStr;
-    quIdPurchase = presetQuIdStr;
-    quFactorPurchaseToStock = "1";
+    quIdStock = presetQuId;
+    quIdPurchase = presetQuId;
+    quFactorPurchaseToStock = 1;
     enableTareWeightHandling = "0";
     tareWeight = "0";
     notCheckStockFulfillmentForRecipes = "0";
@@ -226,7 +225,7 @@ public class Product extends GroupedListItem implements Parcelable {
     defaultDueDaysAfterFreezing = "0";
     defaultDueDaysAfterThawing = "0";
     quickConsumeAmount = "1";
-    hideOnStockOverview = "0";
+    hideOnStockOverview = 0;
     defaultStockLabelType = "0";
     shouldNotBeFrozen = "0";
     treatOpenedAsOutOfStock = presetTreatOpened ? "1" : "0";
@@ -241,13 +240,13 @@ public class Product extends GroupedListItem implements Parcelable {
     name = parcel.readString();
     description = parcel.readString();
     productGroupId = parcel.readString();
-    active = parcel.readString();
+    active = parcel.readInt();
     locationId = parcel.readString();
     storeId = parcel.readString();
-    quIdPurchase = parcel.readString();
-    quIdStock = parcel.readString();
-    quFactorPurchaseToStock = parcel.readString();
-    minStockAmount = parcel.readString();
+    quIdPurchase = parcel.readInt();
+    quIdStock = parcel.readInt();
+    quFactorPurchaseToStock = parcel.readDouble();
+    minStockAmount = parcel.readDouble();
     defaultDueDays = parcel.readString();
     defaultDueDaysAfterOpen = parcel.readString();
     defaultDueDaysAfterFreezing = parcel.readString();
@@ -259,9 +258,9 @@ public class Product extends GroupedListItem implements Parcelable {
     parentProductId = parcel.readString();
     calories = parcel.readString();
     accumulateSubProductsMinStockAmount = parcel.readString();
-    dueDateType = parcel.readString();
+    dueDateType = parcel.readInt();
     quickConsumeAmount = parcel.readString();
-    hideOnStockOverview = parcel.readString();
+    hideOnStockOverview = parcel.readInt();
     defaultStockLabelType = parcel.readString();
     shouldNotBeFrozen = parcel.readString();
     treatOpenedAsOutOfStock = parcel.readString();
@@ -276,13 +275,13 @@ public class Product extends GroupedListItem implements Parcelable {
     dest.writeString(name);
     dest.writeString(description);
     dest.writeString(productGroupId);
-    dest.writeString(active);
+    dest.writeInt(active);
     dest.writeString(locationId);
     dest.writeString(storeId);
-    dest.writeString(quIdPurchase);
-    dest.writeString(quIdStock);
-    dest.writeString(quFactorPurchaseToStock);
-    dest.writeString(minStockAmount);
+    dest.writeInt(quIdPurchase);
+    dest.writeInt(quIdStock);
+    dest.writeDouble(quFactorPurchaseToStock);
+    dest.writeDouble(minStockAmount);
     dest.writeString(defaultDueDays);
     dest.writeString(defaultDueDaysAfterOpen);
     dest.writeString(defaultDueDaysAfterFreezing);
@@ -294,9 +293,9 @@ public class Product extends GroupedListItem implements Parcelable {
     dest.writeString(parentProductId);
     dest.writeString(calories);
     dest.writeString(accumulateSubProductsMinStockAmount);
-    dest.writeString(dueDateType);
+    dest.writeInt(dueDateType);
     dest.writeString(quickConsumeAmount);
-    dest.writeString(hideOnStockOverview);
+    dest.writeInt(hideOnStockOverview);
     dest.writeString(defaultStockLabelType);
     dest.writeString(shouldNotBeFrozen);
     dest.writeString(treatOpenedAsOutOfStock);
@@ -350,20 +349,20 @@ public class Product extends GroupedListItem implements Parcelable {
     this.productGroupId = productGroupId;
   }
 
-  public String getActive() {
+  public int getActive() {
     return active;
   }
 
   public boolean isActive() {
-    return NumUtil.isStringInt(active) && Integer.parseInt(active) == 1;
+    return active == 1;
   }
 
-  public void setActive(String active) {
+  public void setActive(int active) {
     this.active = active;
   }
 
   public void setActive(boolean active) {
-    this.active = active ? "1" : "0";
+    this.active = active ? 1 : 0;
   }
 
   public int getLocationIdInt() {
@@ -386,64 +385,64 @@ public class Product extends GroupedListItem implements Parcelable {
     this.storeId = storeId;
   }
 
-  public String getQuIdPurchase() {
+  public int getQuIdPurchase() {
     return quIdPurchase;
   }
 
   public int getQuIdPurchaseInt() {
-    return NumUtil.isStringInt(quIdPurchase) ? Integer.parseInt(quIdPurchase) : -1;
-  }
-
-  public void setQuIdPurchase(String quIdPurchase) {
-    this.quIdPurchase = quIdPurchase;
+    return quIdPurchase;
   }
 
   public void setQuIdPurchase(int quIdPurchase) {
-    this.quIdPurchase = String.valueOf(quIdPurchase);
+    this.quIdPurchase = quIdPurchase;
   }
 
   public int getQuIdStockInt() {
-    return NumUtil.isStringInt(quIdStock) ? Integer.parseInt(quIdStock) : -1;
-  }
-
-  public String getQuIdStock() {
     return quIdStock;
   }
 
-  public void setQuIdStock(String quIdStock) {
-    this.quIdStock = quIdStock;
+  public int getQuIdStock() {
+    return quIdStock;
   }
 
   public void setQuIdStock(int quIdStock) {
-    this.quIdStock = String.valueOf(quIdStock);
+    this.quIdStock = quIdStock;
   }
 
   public double getQuFactorPurchaseToStockDouble() {
-    return NumUtil.isStringDouble(quFactorPurchaseToStock)
-        ? NumUtil.toDouble(quFactorPurchaseToStock)
-        : 1;
+    return quFactorPurchaseToStock;
   }
 
-  public String getQuFactorPurchaseToStock() {
+  public double getQuFactorPurchaseToStock() {
     return quFactorPurchaseToStock;
   }
 
-  public void setQuFactorPurchaseToStock(String quFactorPurchaseToStock) {
+  public void setQuFactorPurchaseToStock(double quFactorPurchaseToStock) {
     this.quFactorPurchaseToStock = quFactorPurchaseToStock;
   }
 
-  public String getMinStockAmount() {
+  public void setQuFactorPurchaseToStock(String quFactorPurchaseToStock) {
+    this.quFactorPurchaseToStock = NumUtil.isStringDouble(quFactorPurchaseToStock)
+        ? NumUtil.toDouble(quFactorPurchaseToStock) : 1;
+  }
+
+  public double getMinStockAmount() {
     return minStockAmount;
   }
 
   public double getMinStockAmountDouble() {
-    return NumUtil.isStringDouble(minStockAmount) ? NumUtil.toDouble(minStockAmount) : 0;
+    return minStockAmount;
   }
 
-  public void setMinStockAmount(String minStockAmount) {
+  public void setMinStockAmount(double minStockAmount) {
     this.minStockAmount = minStockAmount;
   }
 
+  public void setMinStockAmount(String minStockAmount) {
+    this.minStockAmount = NumUtil.isStringDouble(minStockAmount)
+        ? NumUtil.toDouble(minStockAmount) : 0;
+  }
+
   public String getDefaultDueDays() {
     return defaultDueDays;
   }
@@ -579,20 +578,20 @@ public class Product extends GroupedListItem implements Parcelable {
     this.accumulateSubProductsMinStockAmount = accumulateSubProductsMinStockAmount ? "1" : "0";
   }
 
-  public String getDueDateType() {
+  public int getDueDateType() {
     return dueDateType;
   }
 
   public int getDueDateTypeInt() {
-    return NumUtil.isStringInt(dueDateType) ? Integer.parseInt(dueDateType) : 1;
+    return dueDateType;
   }
 
-  public void setDueDateType(String dueDateType) {
+  public void setDueDateType(int dueDateType) {
     this.dueDateType = dueDateType;
   }
 
   public void setDueDateTypeInt(int dueDateType) {
-    this.dueDateType = String.valueOf(dueDateType);
+    this.dueDateType = dueDateType;
   }
 
   public String getQuickConsumeAmount() {
@@ -607,20 +606,20 @@ public class Product extends GroupedListItem implements Parcelable {
     this.quickConsumeAmount = quickConsumeAmount;
   }
 
-  public String getHideOnStockOverview() {
+  public int getHideOnStockOverview() {
     return hideOnStockOverview;
   }
 
   public boolean getHideOnStockOverviewBoolean() {
-    return NumUtil.isStringInt(hideOnStockOverview) && Integer.parseInt(hideOnStockOverview) == 1;
+    return hideOnStockOverview == 1;
   }
 
-  public void setHideOnStockOverview(String hideOnStockOverview) {
+  public void setHideOnStockOverview(int hideOnStockOverview) {
     this.hideOnStockOverview = hideOnStockOverview;
   }
 
   public void setHideOnStockOverviewBoolean(boolean hideOnStockOverview) {
-    this.hideOnStockOverview = hideOnStockOverview ? "1" : "0";
+    this.hideOnStockOverview = hideOnStockOverview ? 1 : 0;
   }
 
   public int getDefaultStockLabelTypeInt() {
@@ -745,9 +744,9 @@ public class Product extends GroupedListItem implements Parcelable {
           product.parentProductId != null ? product.parentProductId : JSONObject.NULL;
       String calories = product.calories;
       String cumulateAmounts = product.accumulateSubProductsMinStockAmount;
-      String dueType = product.dueDateType;
+      int dueType = product.dueDateType;
       String quickConsume = product.quickConsumeAmount;
-      String hideOnStock = product.hideOnStockOverview;
+      int hideOnStock = product.hideOnStockOverview;
       String defaultStockLabelType = product.defaultStockLabelType;
       String shouldNotBeFrozen = product.shouldNotBeFrozen;
       String treatOpened = product.treatOpenedAsOutOfStock;
@@ -762,8 +761,12 @@ public class Product extends GroupedListItem implements Parcelable {
       json.put("active", product.active);
       json.put("location_id", product.locationId);
       json.put("shopping_location_id", storeId);
-      json.put("qu_id_purchase", product.quIdPurchase);
-      json.put("qu_id_stock", product.quIdStock);
+      if (product.quIdPurchase != -1) {
+        json.put("qu_id_purchase", product.quIdPurchase);
+      }
+      if (product.quIdStock != -1) {
+        json.put("qu_id_stock", product.quIdStock);
+      }
       json.put("qu_factor_purchase_to_stock", product.quFactorPurchaseToStock);
       json.put("min_stock_amount", product.minStockAmount);
       json.put("default_best_before_days", defaultDueDays);
@@ -868,16 +871,6 @@ public class Product extends GroupedListItem implements Parcelable {
     return activeProductsOnly;
   }
 
-  public static ArrayList<Product> getProductsForRecipePositions(List<Product> products, List<RecipePosition> recipePositions) {
-    ArrayList<Product> result = new ArrayList<>();
-    for (RecipePosition recipePosition : recipePositions) {
-      Product product = getProductFromId(products, recipePosition.getProductId());
-      if (product != null)
-        result.add(product);
-    }
-    return result;
-  }
-
   @Override
   public int describeContents() {
     return 0;
@@ -895,12 +888,11 @@ public class Product extends GroupedListItem implements Parcelable {
     return id == product.id && displayDivider == product.displayDivider && Objects
         .equals(name, product.name) && Objects.equals(description, product.description)
         && Objects.equals(productGroupId, product.productGroupId) && Objects
-        .equals(active, product.active) && Objects.equals(locationId, product.locationId)
-        && Objects.equals(storeId, product.storeId) && Objects
-        .equals(quIdPurchase, product.quIdPurchase) && Objects
-        .equals(quIdStock, product.quIdStock) && Objects
-        .equals(quFactorPurchaseToStock, product.quFactorPurchaseToStock) && Objects
-        .equals(minStockAmount, product.minStockAmount) && Objects
+        .equals(locationId, product.locationId) && active == product.active
+        && Objects.equals(storeId, product.storeId) && quIdPurchase == product.quIdPurchase
+        && quIdStock == product.quIdStock
+        && Double.compare(quFactorPurchaseToStock, product.quFactorPurchaseToStock) == 0
+        && Double.compare(minStockAmount, product.minStockAmount) == 0 && Objects
         .equals(defaultDueDays, product.defaultDueDays) && Objects
         .equals(defaultDueDaysAfterOpen, product.defaultDueDaysAfterOpen) && Objects
         .equals(defaultDueDaysAfterFreezing, product.defaultDueDaysAfterFreezing) && Objects
@@ -913,9 +905,9 @@ public class Product extends GroupedListItem implements Parcelable {
         .equals(calories, product.calories) && Objects
         .equals(accumulateSubProductsMinStockAmount, product.accumulateSubProductsMinStockAmount)
         && Objects.equals(treatOpenedAsOutOfStock, product.treatOpenedAsOutOfStock)
-        && Objects.equals(dueDateType, product.dueDateType) && Objects
-        .equals(quickConsumeAmount, product.quickConsumeAmount) && Objects
-        .equals(hideOnStockOverview, product.hideOnStockOverview) && Objects
+        && dueDateType == product.dueDateType && Objects
+        .equals(quickConsumeAmount, product.quickConsumeAmount)
+        && hideOnStockOverview == product.hideOnStockOverview && Objects
         .equals(noOwnStock, product.noOwnStock) && Objects
         .equals(defaultConsumeLocationId, product.defaultConsumeLocationId) && Objects
         .equals(moveOnOpen, product.moveOnOpen) && Objects
@@ -940,4 +932,14 @@ public class Product extends GroupedListItem implements Parcelable {
   public String toString() {
     return name;
   }
+
+  @NonNull
+  public Product getClone() {
+    Parcel parcel = Parcel.obtain();
+    writeToParcel(parcel, 0);
+    parcel.setDataPosition(0);
+    Product product = new Product(parcel);
+    parcel.recycle();
+    return product;
+  }
 }
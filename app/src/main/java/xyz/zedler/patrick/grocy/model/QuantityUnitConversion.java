@@ -25,6 +25,7 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
@@ -35,7 +36,10 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 
-@Entity(tableName = "quantity_unit_conversion_table")
+@Entity(
+    tableName = "quantity_unit_conversion_table",
+    indices = {@Index("product_id")}
+)
 public class QuantityUnitConversion implements Parcelable {
 
   @PrimaryKey
@@ -28,7 +28,6 @@ import androidx.room.Entity;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
-import java.util.List;
 import java.util.Objects;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -231,15 +230,6 @@ public class Recipe implements Parcelable {
     return json;
   }
 
-  public static Recipe getRecipeFromId(List<Recipe> recipes, int id) {
-    for (Recipe recipe : recipes) {
-      if (recipe.getId() == id) {
-        return recipe;
-      }
-    }
-    return null;
-  }
-
   @Override
   public int describeContents() {
     return 0;
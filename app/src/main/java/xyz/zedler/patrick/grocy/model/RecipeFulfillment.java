@@ -34,7 +34,6 @@ import com.google.gson.annotations.SerializedName;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.util.List;
 import java.util.Objects;
 
 @Entity(tableName = "recipe_fulfillment_table")
@@ -237,15 +236,6 @@ public class RecipeFulfillment implements Parcelable {
     return json;
   }
 
-  public static RecipeFulfillment getRecipeFulfillmentFromRecipeId(List<RecipeFulfillment> recipeFulfillments, int recipeId) {
-    for (RecipeFulfillment recipeFulfillment : recipeFulfillments) {
-      if (recipeFulfillment.getRecipeId() == recipeId) {
-        return recipeFulfillment;
-      }
-    }
-    return null;
-  }
-
   @Override
   public int describeContents() {
     return 0;
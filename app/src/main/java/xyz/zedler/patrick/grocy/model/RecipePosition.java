@@ -26,6 +26,7 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 
@@ -34,11 +35,12 @@ import com.google.gson.annotations.SerializedName;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
-@Entity(tableName = "recipe_pos_table")
+@Entity(
+    tableName = "recipe_pos_table",
+    indices = {@Index("recipe_id"), @Index("product_id")}
+)
 public class RecipePosition implements Parcelable {
 
   @PrimaryKey
@@ -283,16 +285,6 @@ public class RecipePosition implements Parcelable {
     return json;
   }
 
-  public static List<RecipePosition> getRecipePositionsFromRecipeId(List<RecipePosition> recipePositions, int recipeId) {
-    List<RecipePosition> result = new ArrayList<>();
-    for (RecipePosition recipePosition : recipePositions) {
-      if (recipePosition.getRecipeId() == recipeId) {
-        result.add(recipePosition);
-      }
-    }
-    return result;
-  }
-
   @Override
   public int describeContents() {
     return 0;
@@ -25,6 +25,7 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import java.util.Objects;
@@ -32,7 +33,10 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 
-@Entity(tableName = "shopping_list_item_table")
+@Entity(
+    tableName = "shopping_list_item_table",
+    indices = {@Index("product_id"), @Index("shopping_list_id")}
+)
 public class ShoppingListItem extends GroupedListItem implements Parcelable {
 
   @PrimaryKey
@@ -24,6 +24,7 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
@@ -31,7 +32,10 @@ import java.util.ArrayList;
 import java.util.Objects;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 
-@Entity(tableName = "stock_entry_table")
+@Entity(
+    tableName = "stock_entry_table",
+    indices = {@Index("product_id"), @Index("best_before_date")}
+)
 public class StockEntry extends GroupedListItem implements Parcelable {
 
   @PrimaryKey
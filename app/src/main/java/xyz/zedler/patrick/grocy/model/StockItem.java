@@ -24,13 +24,17 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import java.util.Objects;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 
-@Entity(tableName = "stock_item_table")
+@Entity(
+    tableName = "stock_item_table",
+    indices = {@Index("best_before_date")}
+)
 public class StockItem extends GroupedListItem implements Parcelable {
 
   public static int DUE_TYPE_BEST_BEFORE = 1;
@@ -38,15 +42,15 @@ public class StockItem extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "amount")
   @SerializedName("amount")
-  private String amount;
+  private double amount;
 
   @ColumnInfo(name = "amount_aggregated")
   @SerializedName("amount_aggregated")
-  private String amountAggregated;
+  private double amountAggregated;
 
   @ColumnInfo(name = "value")
   @SerializedName("value")
-  private String value;
+  private double value;
 
   @ColumnInfo(name = "best_before_date")
   @SerializedName("best_before_date")
@@ -54,19 +58,19 @@ public class StockItem extends GroupedListItem implements Parcelable {
 
   @ColumnInfo(name = "amount_opened")
   @SerializedName("amount_opened")
-  private String amountOpened;
+  private double amountOpened;
 
   @ColumnInfo(name = "amount_opened_aggregated")
   @SerializedName("amount_opened_aggregated")
-  private String amountOpenedAggregated;
+  private double amountOpenedAggregated;
 
   @ColumnInfo(name = "is_aggregated_amount")
   @SerializedName("is_aggregated_amount")
-  private String isAggregatedAmount;
+  private int isAggregatedAmount;
 
   @ColumnInfo(name = "due_type")
   @SerializedName("due_type")
-  private String dueType;
+  private int dueType = DUE_TYPE_BEST_BEFORE;
 
   @PrimaryKey
   @ColumnInfo(name = "product_id")
@@ -104,42 +108,43 @@ public class StockItem extends GroupedListItem implements Parcelable {
 
   @Ignore
   public StockItem(ProductDetails productDetails) {
-    this.amount = String.valueOf(productDetails.getStockAmount());
-    this.amountAggregated = String.valueOf(productDetails.getStockAmountAggregated());
-    this.value = productDetails.getStockValue();
+    this.amount = productDetails.getStockAmount();
+    this.amountAggregated = productDetails.getStockAmountAggregated();
+    this.value = NumUtil.isStringDouble(productDetails.getStockValue())
+        ? NumUtil.toDouble(productDetails.getStockValue()) : 0;
     this.bestBeforeDate = productDetails.getNextDueDate();
-    this.amountOpened = String.valueOf(productDetails.getStockAmountOpened());
-    this.amountOpenedAggregated = String.valueOf(productDetails.getStockAmountOpenedAggregated());
-    this.isAggregatedAmount = productDetails.getIsAggregatedAmount();
-    this.dueType = productDetails.getProduct().getDueDateType();
+    this.amountOpened = productDetails.getStockAmountOpened();
+    this.amountOpenedAggregated = productDetails.getStockAmountOpenedAggregated();
+    this.isAggregatedAmount = productDetails.getIsAggregatedAmountBoolean() ? 1 : 0;
+    this.dueType = productDetails.getProduct().getDueDateTypeInt();
     this.productId = productDetails.getProduct().getId();
     this.product = productDetails.getProduct();
   }
 
   @Ignore
   private StockItem(Parcel parcel) {
-    amount = parcel.readString();
-    amountAggregated = parcel.readString();
-    value = parcel.readString();
+    amount = parcel.readDouble();
+    amountAggregated = parcel.readDouble();
+    value = parcel.readDouble();
     bestBeforeDate = parcel.readString();
-    amountOpened = parcel.readString();
-    amountOpenedAggregated = parcel.readString();
-    isAggregatedAmount = parcel.readString();
-    dueType = parcel.readString();
+    amountOpened = parcel.readDouble();
+    amountOpenedAggregated = parcel.readDouble();
+    isAggregatedAmount = parcel.readInt();
+    dueType = parcel.readInt();
     productId = parcel.readInt();
     product = parcel.readParcelable(Product.class.getClassLoader());
   }
 
   @Override
   public void writeToParcel(Parcel dest, int flags) {
-    dest.writeString(amount);
-    dest.writeString(amountAggregated);
-    dest.writeString(value);
+    dest.writeDouble(amount);
+    dest.writeDouble(amountAggregated);
+    dest.writeDouble(value);
     dest.writeString(bestBeforeDate);
-    dest.writeString(amountOpened);
-    dest.writeString(amountOpenedAggregated);
-    dest.writeString(isAggregatedAmount);
-    dest.writeString(dueType);
+    dest.writeDouble(amountOpened);
+    dest.writeDouble(amountOpenedAggregated);
+    dest.writeInt(isAggregatedAmount);
+    dest.writeInt(dueType);
     dest.writeInt(productId);
     dest.writeParcelable(product, 0);
   }
@@ -158,19 +163,11 @@ public class StockItem extends GroupedListItem implements Parcelable {
   };
 
   public double getAmountAggregatedDouble() {
-    if (amountAggregated == null || amountAggregated.isEmpty()) {
-      return 0;
-    } else {
-      return NumUtil.toDouble(amountAggregated);
-    }
-  }
-
-  public String getValue() {
-    return value;
+    return amountAggregated;
   }
 
   public double getValueDouble() {
-    return NumUtil.isStringDouble(value) ? NumUtil.toDouble(value) : 0;
+    return value;
   }
 
   public String getBestBeforeDate() {
@@ -178,19 +175,11 @@ public class StockItem extends GroupedListItem implements Parcelable {
   }
 
   public double getAmountOpenedAggregatedDouble() {
-    if (amountOpenedAggregated == null || amountOpenedAggregated.isEmpty()) {
-      return 0;
-    } else {
-      return NumUtil.toDouble(amountOpenedAggregated);
-    }
-  }
-
-  public String getIsAggregatedAmount() {
-    return isAggregatedAmount;
+    return amountOpenedAggregated;
   }
 
   public int getIsAggregatedAmountInt() {
-    return NumUtil.isStringInt(isAggregatedAmount) ? Integer.parseInt(isAggregatedAmount) : 0;
+    return isAggregatedAmount;
   }
 
   public int getProductId() {
@@ -202,30 +191,22 @@ public class StockItem extends GroupedListItem implements Parcelable {
   }
 
   public double getAmountDouble() {
-    if (amount == null || amount.isEmpty()) {
-      return 0;
-    } else {
-      return NumUtil.toDouble(amount);
-    }
+    return amount;
   }
 
   public double getAmountOpenedDouble() {
-    if (amountOpened == null || amountOpened.isEmpty()) {
-      return 0;
-    } else {
-      return NumUtil.toDouble(amountOpened);
-    }
+    return amountOpened;
   }
 
-  public void setAmount(String amount) {
+  public void setAmount(double amount) {
     this.amount = amount;
   }
 
-  public void setAmountAggregated(String amountAggregated) {
+  public void setAmountAggregated(double amountAggregated) {
     this.amountAggregated = amountAggregated;
   }
 
-  public void setValue(String value) {
+  public void setValue(double value) {
     this.value = value;
   }
 
@@ -233,43 +214,51 @@ public class StockItem extends GroupedListItem implements Parcelable {
     this.bestBeforeDate = bestBeforeDate;
   }
 
-  public void setAmountOpened(String amountOpened) {
+  public void setAmountOpened(double amountOpened) {
     this.amountOpened = amountOpened;
   }
 
-  public void setAmountOpenedAggregated(String amountOpenedAggregated) {
+  public void setAmountOpenedAggregated(double amountOpenedAggregated) {
     this.amountOpenedAggregated = amountOpenedAggregated;
   }
 
-  public void setIsAggregatedAmount(String isAggregatedAmount) {
+  public void setIsAggregatedAmount(int isAggregatedAmount) {
     this.isAggregatedAmount = isAggregatedAmount;
   }
 
-  public String getAmount() {
+  public double getAmount() {
     return amount;
   }
 
-  public String getAmountAggregated() {
+  public double getAmountAggregated() {
     return amountAggregated;
   }
 
-  public String getAmountOpened() {
+  public double getValue() {
+    return value;
+  }
+
+  public double getAmountOpened() {
     return amountOpened;
   }
 
-  public String getAmountOpenedAggregated() {
+  public double getAmountOpenedAggregated() {
     return amountOpenedAggregated;
   }
 
-  public String getDueType() {
+  public int getIsAggregatedAmount() {
+    return isAggregatedAmount;
+  }
+
+  public int getDueType() {
     return dueType;
   }
 
   public int getDueTypeInt() {
-    return NumUtil.isStringInt(dueType) ? Integer.parseInt(dueType) : 1;
+    return dueType;
   }
 
-  public void setDueType(String dueType) {
+  public void setDueType(int dueType) {
     this.dueType = dueType;
   }
 
@@ -340,15 +329,15 @@ public class StockItem extends GroupedListItem implements Parcelable {
         itemExpired == stockItem.itemExpired &&
         itemMissing == stockItem.itemMissing &&
         itemMissingAndPartlyInStock == stockItem.itemMissingAndPartlyInStock &&
-        Objects.equals(amount, stockItem.amount) &&
-        Objects.equals(amountAggregated, stockItem.amountAggregated) &&
-        Objects.equals(value, stockItem.value) &&
+        Double.compare(amount, stockItem.amount) == 0 &&
+        Double.compare(amountAggregated, stockItem.amountAggregated) == 0 &&
+        Double.compare(value, stockItem.value) == 0 &&
         Objects.equals(bestBeforeDate, stockItem.bestBeforeDate) &&
-        Objects.equals(amountOpened, stockItem.amountOpened) &&
-        Objects.equals(amountOpenedAggregated, stockItem.amountOpenedAggregated) &&
-        Objects.equals(isAggregatedAmount, stockItem.isAggregatedAmount) &&
-        Objects.equals(dueType, stockItem.dueType) &&
-        Objects.equals(productId, stockItem.productId) &&
+        Double.compare(amountOpened, stockItem.amountOpened) == 0 &&
+        Double.compare(amountOpenedAggregated, stockItem.amountOpenedAggregated) == 0 &&
+        isAggregatedAmount == stockItem.isAggregatedAmount &&
+        dueType == stockItem.dueType &&
+        productId == stockItem.productId &&
         Objects.equals(product, stockItem.product);
   }
 
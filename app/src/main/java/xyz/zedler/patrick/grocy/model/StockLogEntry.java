@@ -22,81 +22,112 @@ package xyz.zedler.patrick.grocy.model;
 import android.os.Parcel;
 import android.os.Parcelable;
 import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
 import com.google.gson.annotations.SerializedName;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 
-@Entity(tableName = "stock_item_table")
+@Entity(
+    tableName = "stock_log_entry_table",
+    indices = {@Index("product_id"), @Index("location_id"), @Index("user_id")}
+)
 public class StockLogEntry implements Parcelable {
 
+  @PrimaryKey
+  @ColumnInfo(name = "id")
   @SerializedName("id")
   private int id;
 
+  @ColumnInfo(name = "product_id")
   @SerializedName("product_id")
   private int productId;
 
+  @ColumnInfo(name = "amount")
   @SerializedName("amount")
   private String amount;
 
+  @ColumnInfo(name = "best_before_date")
   @SerializedName("best_before_date")
   private String bestBeforeDate;
 
+  @ColumnInfo(name = "purchased_date")
   @SerializedName("purchased_date")
   private String purchasedDate;
 
+  @ColumnInfo(name = "used_date")
   @SerializedName("used_date")
   private String usedDate;
 
+  @ColumnInfo(name = "spoiled")
   @SerializedName("spoiled")
   private String spoiled;
 
+  @ColumnInfo(name = "stock_id")
   @SerializedName("stock_id")
   private String stockId;
 
+  @ColumnInfo(name = "transaction_type")
   @SerializedName("transaction_type")
   private String transactionType;
 
+  @ColumnInfo(name = "price")
   @SerializedName("price")
   private String price;
 
+  @ColumnInfo(name = "undone")
   @SerializedName("undone")
   private String undone;
 
+  @ColumnInfo(name = "undone_timestamp")
   @SerializedName("undone_timestamp")
   private String undoneTimestamp;
 
+  @ColumnInfo(name = "opened_date")
   @SerializedName("opened_date")
   private String openedDate;
 
+  @ColumnInfo(name = "location_id")
   @SerializedName("location_id")
   private String locationId;
 
+  @ColumnInfo(name = "recipe_id")
   @SerializedName("recipe_id")
   private String recipeId;
 
+  @ColumnInfo(name = "correlation_id")
   @SerializedName("correlation_id")
   private String correlationId;
 
+  @ColumnInfo(name = "transaction_id")
   @SerializedName("transaction_id")
   private String transactionId;
 
+  @ColumnInfo(name = "stock_row_id")
   @SerializedName("stock_row_id")
   private String stockRowId;
 
+  @ColumnInfo(name = "shopping_location_id")
   @SerializedName("shopping_location_id")
   private String shoppingLocationId;
 
+  @ColumnInfo(name = "user_id")
   @SerializedName("user_id")
   private String userId;
 
+  @ColumnInfo(name = "row_created_timestamp")
   @SerializedName("row_created_timestamp")
   private String rowCreatedTimestamp;
 
+  @ColumnInfo(name = "note")
   @SerializedName("note")
   private String note;
 
   public StockLogEntry() {}
 
+  @Ignore
   private StockLogEntry(Parcel parcel) {
     id = parcel.readInt();
     productId = parcel.readInt();
@@ -253,6 +284,94 @@ public class StockLogEntry implements Parcelable {
     return note;
   }
 
+  public void setId(int id) {
+    this.id = id;
+  }
+
+  public void setProductId(int productId) {
+    this.productId = productId;
+  }
+
+  public void setAmount(String amount) {
+    this.amount = amount;
+  }
+
+  public void setBestBeforeDate(String bestBeforeDate) {
+    this.bestBeforeDate = bestBeforeDate;
+  }
+
+  public void setPurchasedDate(String purchasedDate) {
+    this.purchasedDate = purchasedDate;
+  }
+
+  public void setUsedDate(String usedDate) {
+    this.usedDate = usedDate;
+  }
+
+  public void setSpoiled(String spoiled) {
+    this.spoiled = spoiled;
+  }
+
+  public void setStockId(String stockId) {
+    this.stockId = stockId;
+  }
+
+  public void setTransactionType(String transactionType) {
+    this.transactionType = transactionType;
+  }
+
+  public void setPrice(String price) {
+    this.price = price;
+  }
+
+  public void setUndone(String undone) {
+    this.undone = undone;
+  }
+
+  public void setUndoneTimestamp(String undoneTimestamp) {
+    this.undoneTimestamp = undoneTimestamp;
+  }
+
+  public void setOpenedDate(String openedDate) {
+    this.openedDate = openedDate;
+  }
+
+  public void setLocationId(String locationId) {
+    this.locationId = locationId;
+  }
+
+  public void setRecipeId(String recipeId) {
+    this.recipeId = recipeId;
+  }
+
+  public void setCorrelationId(String correlationId) {
+    this.correlationId = correlationId;
+  }
+
+  public void setTransactionId(String transactionId) {
+    this.transactionId = transactionId;
+  }
+
+  public void setStockRowId(String stockRowId) {
+    this.stockRowId = stockRowId;
+  }
+
+  public void setShoppingLocationId(String shoppingLocationId) {
+    this.shoppingLocationId = shoppingLocationId;
+  }
+
+  public void setUserId(String userId) {
+    this.userId = userId;
+  }
+
+  public void setRowCreatedTimestamp(String rowCreatedTimestamp) {
+    this.rowCreatedTimestamp = rowCreatedTimestamp;
+  }
+
+  public void setNote(String note) {
+    this.note = note;
+  }
+
   @Override
   public int describeContents() {
     return 0;
@@ -35,7 +35,6 @@ import androidx.preference.PreferenceManager;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
 import com.android.volley.toolbox.RequestFuture;
-import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -56,6 +55,7 @@ import xyz.zedler.patrick.grocy.model.FilterChipLiveDataStockStatus;
 import xyz.zedler.patrick.grocy.model.StockItem;
 import xyz.zedler.patrick.grocy.util.NavUtil;
 import xyz.zedler.patrick.grocy.util.NumUtil;
+import xyz.zedler.patrick.grocy.web.NumberTypeAdapters;
 
 public class DueSoonCheckWorker extends Worker {
 
@@ -82,7 +82,7 @@ public class DueSoonCheckWorker extends Worker {
       Type typeStockItem = new TypeToken<List<StockItem>>() {
       }.getType();
       JSONObject jsonObject = new JSONObject(response);
-      ArrayList<StockItem> dueItems = (new Gson()).fromJson(
+      ArrayList<StockItem> dueItems = NumberTypeAdapters.createGson().fromJson(
           jsonObject.getJSONArray("due_products").toString(), typeStockItem
       );
 
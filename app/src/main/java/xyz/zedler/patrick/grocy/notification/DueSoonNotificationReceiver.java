@@ -28,7 +28,6 @@ import android.content.SharedPreferences;
 import android.net.Uri;
 import android.os.Build;
 import androidx.preference.PreferenceManager;
-import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -47,6 +46,7 @@ import xyz.zedler.patrick.grocy.model.StockItem;
 import xyz.zedler.patrick.grocy.util.NavUtil;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.ReminderUtil;
+import xyz.zedler.patrick.grocy.web.NumberTypeAdapters;
 
 public class DueSoonNotificationReceiver extends BroadcastReceiver {
 
@@ -75,7 +75,7 @@ public class DueSoonNotificationReceiver extends BroadcastReceiver {
         Type typeStockItem = new TypeToken<List<StockItem>>() {
         }.getType();
         JSONObject jsonObject = new JSONObject(response);
-        ArrayList<StockItem> dueItems = (new Gson()).fromJson(
+        ArrayList<StockItem> dueItems = NumberTypeAdapters.createGson().fromJson(
             jsonObject.getJSONArray("due_products").toString(), typeStockItem
         );
 
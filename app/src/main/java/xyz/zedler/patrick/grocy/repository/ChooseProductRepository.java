@@ -25,15 +25,18 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.PendingProduct;
 import xyz.zedler.patrick.grocy.model.Product;
 
 public class ChooseProductRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public ChooseProductRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -64,7 +67,7 @@ public class ChooseProductRepository {
 
   public void loadFromDatabase(DataListener listener) {
     Single.zip(
-        appDatabase.productDao().getProducts(),
+        entityCache.getProducts(),
         appDatabase.pendingProductDao().getPendingProducts(),
         ChooseProductData::new
     )
@@ -25,17 +25,19 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Product;
-import xyz.zedler.patrick.grocy.model.ProductBarcode;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversion;
 
 public class ConsumeRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public ConsumeRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -46,37 +48,28 @@ public class ConsumeRepository {
   public static class ConsumeData {
 
     private final List<Product> products;
-    private final List<ProductBarcode> barcodes;
     private final List<QuantityUnit> quantityUnits;
-    private final List<QuantityUnitConversion> quantityUnitConversions;
 
     public ConsumeData(
         List<Product> products,
-        List<ProductBarcode> barcodes,
-        List<QuantityUnit> quantityUnits,
-        List<QuantityUnitConversion> quantityUnitConversions
+        List<QuantityUnit> quantityUnits
     ) {
       this.products = products;
-      this.barcodes = barcodes;
       this.quantityUnits = quantityUnits;
-      this.quantityUnitConversions = quantityUnitConversions;
     }
 
     public List<Product> getProducts() {
       return products;
     }
 
-    public List<ProductBarcode> getBarcodes() {
-      return barcodes;
-    }
-
     public List<QuantityUnit> getQuantityUnits() {
       return quantityUnits;
     }
+  }
 
-    public List<QuantityUnitConversion> getQuantityUnitConversions() {
-      return quantityUnitConversions;
-    }
+  public interface ConversionsListener {
+
+    void actionFinished(List<QuantityUnitConversion> conversions);
   }
 
   public interface DataUpdatedListener {
@@ -84,13 +77,12 @@ public class ConsumeRepository {
     void actionFinished();
   }
 
+  // barcodes are resolved one by one through the BarcodeIndex
   public void loadFromDatabase(DataListener listener) {
     Single
         .zip(
-            appDatabase.productDao().getProducts(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.quantityUnitConversionDao().getConversions(),
+            entityCache.getProducts(),
+            entityCache.getQuantityUnits(),
             ConsumeData::new
         )
         .subscribeOn(Schedulers.io())
@@ -98,4 +90,13 @@ public class ConsumeRepository {
         .doOnSuccess(listener::actionFinished)
         .subscribe();
   }
+
+  // conversions of the given product and the default ones without product
+  public void loadQuantityUnitConversions(int productId, ConversionsListener listener) {
+    appDatabase.quantityUnitConversionDao().getConversions(productId)
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(listener::actionFinished)
+        .subscribe();
+  }
 }
@@ -25,6 +25,7 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
@@ -35,9 +36,11 @@ import xyz.zedler.patrick.grocy.model.Store;
 public class InventoryRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public InventoryRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -103,12 +106,12 @@ public class InventoryRepository {
   public void loadFromDatabase(DataListener listener) {
     Single
         .zip(
-            appDatabase.productDao().getProducts(),
+            entityCache.getProducts(),
             appDatabase.productBarcodeDao().getProductBarcodes(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
+            entityCache.getQuantityUnits(),
             appDatabase.quantityUnitConversionDao().getConversions(),
             appDatabase.storeDao().getStores(),
-            appDatabase.locationDao().getLocations(),
+            entityCache.getLocations(),
             InventoryData::new
         )
         .subscribeOn(Schedulers.io())
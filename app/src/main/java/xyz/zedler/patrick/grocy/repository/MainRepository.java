@@ -23,19 +23,29 @@ import android.app.Application;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
+import xyz.zedler.patrick.grocy.helper.BarcodeIndex;
 
 public class MainRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
+  private final BarcodeIndex barcodeIndex;
 
   public MainRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
+    this.barcodeIndex = BarcodeIndex.getInstance(application);
   }
 
   public void clearAllTables() {
     Single
         .just(0)
-        .doFinally(appDatabase::clearAllTables)
+        .doFinally(() -> {
+          appDatabase.clearAllTables();
+          entityCache.clear();
+          barcodeIndex.invalidate();
+        })
         .subscribeOn(Schedulers.io())
         .subscribe();
   }
@@ -25,6 +25,7 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductGroup;
@@ -35,9 +36,11 @@ import xyz.zedler.patrick.grocy.model.TaskCategory;
 public class MasterObjectListRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public MasterObjectListRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -97,11 +100,11 @@ public class MasterObjectListRepository {
   public void loadFromDatabase(DataListener listener) {
     Single
         .zip(
-            appDatabase.productDao().getProducts(),
-            appDatabase.productGroupDao().getProductGroups(),
+            entityCache.getProducts(),
+            entityCache.getProductGroups(),
             appDatabase.storeDao().getStores(),
-            appDatabase.locationDao().getLocations(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
+            entityCache.getLocations(),
+            entityCache.getQuantityUnits(),
             appDatabase.taskCategoryDao().getTaskCategories(),
             MasterObjectData::new
         )
@@ -25,6 +25,7 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.PendingProductBarcode;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -37,9 +38,11 @@ import xyz.zedler.patrick.grocy.model.Store;
 public class MasterProductRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public MasterProductRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -113,13 +116,13 @@ public class MasterProductRepository {
   public void loadFromDatabase(DataListener listener) {
     Single
         .zip(
-            appDatabase.productDao().getProducts(),
-            appDatabase.productGroupDao().getProductGroups(),
+            entityCache.getProducts(),
+            entityCache.getProductGroups(),
             appDatabase.productBarcodeDao().getProductBarcodes(),
             appDatabase.pendingProductBarcodeDao().getProductBarcodes(),
             appDatabase.storeDao().getStores(),
-            appDatabase.locationDao().getLocations(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
+            entityCache.getLocations(),
+            entityCache.getQuantityUnits(),
             appDatabase.quantityUnitConversionDao().getConversions(),
             MasterProductData::new
         )
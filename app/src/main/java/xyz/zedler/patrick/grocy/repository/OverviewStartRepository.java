@@ -22,19 +22,8 @@ package xyz.zedler.patrick.grocy.repository;
 import android.app.Application;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.schedulers.Schedulers;
-import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
-import xyz.zedler.patrick.grocy.model.ChoreEntry;
-import xyz.zedler.patrick.grocy.model.MissingItem;
-import xyz.zedler.patrick.grocy.model.Product;
-import xyz.zedler.patrick.grocy.model.Recipe;
-import xyz.zedler.patrick.grocy.model.ShoppingList;
-import xyz.zedler.patrick.grocy.model.ShoppingListItem;
-import xyz.zedler.patrick.grocy.model.StockItem;
-import xyz.zedler.patrick.grocy.model.StoredPurchase;
-import xyz.zedler.patrick.grocy.model.Task;
-import xyz.zedler.patrick.grocy.model.VolatileItem;
-import xyz.zedler.patrick.grocy.util.RxJavaUtil;
+import xyz.zedler.patrick.grocy.model.OverviewStartCounts;
 
 public class OverviewStartRepository {
 
@@ -45,102 +34,11 @@ public class OverviewStartRepository {
   }
 
   public interface DataListener {
-    void actionFinished(OverviewStartData data);
+    void actionFinished(OverviewStartCounts counts);
   }
 
-  public static class OverviewStartData {
-
-    private final List<StockItem> stockItems;
-    private final List<ShoppingListItem> shoppingListItems;
-    private final List<ShoppingList> shoppingLists;
-    private final List<Product> products;
-    private final List<StoredPurchase> storedPurchases;
-    private final List<Recipe> recipes;
-    private final List<ChoreEntry> choreEntries;
-    private final List<Task> tasks;
-    private final List<VolatileItem> volatileItems;
-    private final List<MissingItem> missingItems;
-
-    public OverviewStartData(
-        List<StockItem> stockItems,
-        List<ShoppingListItem> shoppingListItems,
-        List<ShoppingList> shoppingLists,
-        List<Product> products,
-        List<StoredPurchase> storedPurchases,
-        List<Recipe> recipes,
-        List<ChoreEntry> choreEntries,
-        List<Task> tasks,
-        List<VolatileItem> volatileItems,
-        List<MissingItem> missingItems
-    ) {
-      this.stockItems = stockItems;
-      this.shoppingListItems = shoppingListItems;
-      this.shoppingLists = shoppingLists;
-      this.products = products;
-      this.storedPurchases = storedPurchases;
-      this.recipes = recipes;
-      this.choreEntries = choreEntries;
-      this.tasks = tasks;
-      this.volatileItems = volatileItems;
-      this.missingItems = missingItems;
-    }
-
-    public List<StockItem> getStockItems() {
-      return stockItems;
-    }
-
-    public List<ShoppingListItem> getShoppingListItems() {
-      return shoppingListItems;
-    }
-
-    public List<ShoppingList> getShoppingLists() {
-      return shoppingLists;
-    }
-
-    public List<Product> getProducts() {
-      return products;
-    }
-
-    public List<StoredPurchase> getStoredPurchases() {
-      return storedPurchases;
-    }
-
-    public List<Recipe> getRecipes() {
-      return recipes;
-    }
-
-    public List<ChoreEntry> getChoreEntries() {
-      return choreEntries;
-    }
-
-    public List<Task> getTasks() {
-      return tasks;
-    }
-
-    public List<VolatileItem> getVolatileItems() {
-      return volatileItems;
-    }
-
-    public List<MissingItem> getMissingItems() {
-      return missingItems;
-    }
-  }
-
-  public void loadFromDatabase(DataListener listener) {
-    RxJavaUtil
-        .zip(
-            appDatabase.stockItemDao().getStockItems(),
-            appDatabase.shoppingListItemDao().getShoppingListItems(),
-            appDatabase.shoppingListDao().getShoppingLists(),
-            appDatabase.productDao().getProducts(),
-            appDatabase.storedPurchaseDao().getStoredPurchases(),
-            appDatabase.recipeDao().getRecipes(),
-            appDatabase.choreEntryDao().getChoreEntries(),
-            appDatabase.taskDao().getTasks(),
-            appDatabase.volatileItemDao().getVolatileItems(),
-            appDatabase.missingItemDao().getMissingItems(),
-            OverviewStartData::new
-        )
+  public void loadFromDatabase(int currentUserId, DataListener listener) {
+    appDatabase.overviewStartDao().getOverviewStartCounts(currentUserId)
         .subscribeOn(Schedulers.io())
         .observeOn(AndroidSchedulers.mainThread())
         .doOnSuccess(listener::actionFinished)
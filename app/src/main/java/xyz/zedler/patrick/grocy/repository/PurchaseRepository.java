@@ -21,27 +21,29 @@ package xyz.zedler.patrick.grocy.repository;
 
 import android.app.Application;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.PendingProduct;
 import xyz.zedler.patrick.grocy.model.PendingProductBarcode;
 import xyz.zedler.patrick.grocy.model.Product;
-import xyz.zedler.patrick.grocy.model.ProductBarcode;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversion;
 import xyz.zedler.patrick.grocy.model.ShoppingListItem;
 import xyz.zedler.patrick.grocy.model.Store;
 import xyz.zedler.patrick.grocy.model.StoredPurchase;
-import xyz.zedler.patrick.grocy.util.RxJavaUtil;
 
 public class PurchaseRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public PurchaseRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -52,7 +54,6 @@ public class PurchaseRepository {
 
     private final List<Product> products;
     private final List<PendingProduct> pendingProducts;
-    private final List<ProductBarcode> barcodes;
     private final List<PendingProductBarcode> pendingProductBarcodes;
     private final List<QuantityUnit> quantityUnits;
     private final List<QuantityUnitConversion> quantityUnitConversions;
@@ -64,7 +65,6 @@ public class PurchaseRepository {
     public PurchaseData(
         List<Product> products,
         List<PendingProduct> pendingProducts,
-        List<ProductBarcode> barcodes,
         List<PendingProductBarcode> pendingProductBarcodes,
         List<QuantityUnit> quantityUnits,
         List<QuantityUnitConversion> quantityUnitConversions,
@@ -75,7 +75,6 @@ public class PurchaseRepository {
     ) {
       this.products = products;
       this.pendingProducts = pendingProducts;
-      this.barcodes = barcodes;
       this.pendingProductBarcodes = pendingProductBarcodes;
       this.quantityUnits = quantityUnits;
       this.quantityUnitConversions = quantityUnitConversions;
@@ -93,10 +92,6 @@ public class PurchaseRepository {
       return pendingProducts;
     }
 
-    public List<ProductBarcode> getBarcodes() {
-      return barcodes;
-    }
-
     public List<PendingProductBarcode> getPendingProductBarcodes() {
       return pendingProductBarcodes;
     }
@@ -126,17 +121,17 @@ public class PurchaseRepository {
     }
   }
 
+  // barcodes are resolved one by one through the BarcodeIndex
   public void loadFromDatabase(DataListener listener) {
-    RxJavaUtil
+    Single
         .zip(
-            appDatabase.productDao().getProducts(),
+            entityCache.getProducts(),
             appDatabase.pendingProductDao().getPendingProducts(),
-            appDatabase.productBarcodeDao().getProductBarcodes(),
             appDatabase.pendingProductBarcodeDao().getProductBarcodes(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
+            entityCache.getQuantityUnits(),
             appDatabase.quantityUnitConversionDao().getConversions(),
             appDatabase.storeDao().getStores(),
-            appDatabase.locationDao().getLocations(),
+            entityCache.getLocations(),
             appDatabase.shoppingListItemDao().getShoppingListItems(),
             appDatabase.storedPurchaseDao().getStoredPurchases(),
             PurchaseData::new
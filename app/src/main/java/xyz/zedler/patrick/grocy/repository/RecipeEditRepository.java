@@ -25,6 +25,7 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
@@ -34,9 +35,11 @@ import xyz.zedler.patrick.grocy.model.RecipePosition;
 public class RecipeEditRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public RecipeEditRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -89,10 +92,10 @@ public class RecipeEditRepository {
   public void loadFromDatabase(DataListener listener) {
     Single
         .zip(
-            appDatabase.productDao().getProducts(),
+            entityCache.getProducts(),
             appDatabase.productBarcodeDao().getProductBarcodes(),
             appDatabase.recipePositionDao().getRecipePositions(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
+            entityCache.getQuantityUnits(),
             appDatabase.quantityUnitConversionDao().getConversions(),
             RecipeEditData::new
         )
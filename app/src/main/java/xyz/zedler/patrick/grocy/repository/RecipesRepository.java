@@ -25,6 +25,7 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.QuantityUnitConversion;
@@ -37,9 +38,11 @@ import xyz.zedler.patrick.grocy.model.StockItem;
 public class RecipesRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public RecipesRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface RecipesDataListener {
@@ -116,8 +119,8 @@ public class RecipesRepository {
             appDatabase.recipeDao().getRecipes(),
             appDatabase.recipeFulfillmentDao().getRecipeFulfillments(),
             appDatabase.recipePositionDao().getRecipePositions(),
-            appDatabase.productDao().getProducts(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
+            entityCache.getProducts(),
+            entityCache.getQuantityUnits(),
             appDatabase.quantityUnitConversionDao().getConversions(),
             appDatabase.stockItemDao().getStockItems(),
             appDatabase.shoppingListItemDao().getShoppingListItems(),
@@ -25,6 +25,7 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
@@ -34,9 +35,11 @@ import xyz.zedler.patrick.grocy.model.ShoppingList;
 public class ShoppingListItemEditRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public ShoppingListItemEditRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -90,9 +93,9 @@ public class ShoppingListItemEditRepository {
     Single
         .zip(
             appDatabase.shoppingListDao().getShoppingLists(),
-            appDatabase.productDao().getProducts(),
+            entityCache.getProducts(),
             appDatabase.productBarcodeDao().getProductBarcodes(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
+            entityCache.getQuantityUnits(),
             appDatabase.quantityUnitConversionDao().getConversions(),
             ShoppingListItemEditData::new
         )
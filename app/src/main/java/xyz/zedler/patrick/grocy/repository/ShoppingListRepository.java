@@ -26,6 +26,7 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.MissingItem;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductGroup;
@@ -39,9 +40,11 @@ import xyz.zedler.patrick.grocy.model.Store;
 public class ShoppingListRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public ShoppingListRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -125,10 +128,10 @@ public class ShoppingListRepository {
         .zip(
             appDatabase.shoppingListItemDao().getShoppingListItems(),
             appDatabase.shoppingListDao().getShoppingLists(),
-            appDatabase.productGroupDao().getProductGroups(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
+            entityCache.getProductGroups(),
+            entityCache.getQuantityUnits(),
             appDatabase.quantityUnitConversionDao().getConversions(),
-            appDatabase.productDao().getProducts(),
+            entityCache.getProducts(),
             appDatabase.productLastPurchasedDao().getProductsLastPurchased(),
             appDatabase.storeDao().getStores(),
             appDatabase.missingItemDao().getMissingItems(),
@@ -168,10 +171,10 @@ public class ShoppingListRepository {
   }
 
   public void updateShoppingLists(List<ShoppingList> shoppingLists) {
-    Single.concat(
-        appDatabase.shoppingListDao().deleteShoppingLists(),
-        appDatabase.shoppingListDao().insertShoppingLists(shoppingLists)
-    )
+    appDatabase.syncApply(() -> {
+      appDatabase.shoppingListDao().deleteAll();
+      appDatabase.shoppingListDao().insertAll(shoppingLists);
+    })
         .subscribeOn(Schedulers.io())
         .observeOn(AndroidSchedulers.mainThread())
         .subscribe();
@@ -25,6 +25,7 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
@@ -36,9 +37,11 @@ import xyz.zedler.patrick.grocy.model.User;
 public class StockEntriesRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public StockEntriesRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface StockOverviewDataListener {
@@ -105,11 +108,11 @@ public class StockEntriesRepository {
   public void loadFromDatabase(StockOverviewDataListener listener) {
     Single
         .zip(
-            appDatabase.quantityUnitDao().getQuantityUnits(),
+            entityCache.getQuantityUnits(),
             appDatabase.stockEntryDao().getStockEntries(),
-            appDatabase.productDao().getProducts(),
+            entityCache.getProducts(),
             appDatabase.productBarcodeDao().getProductBarcodes(),
-            appDatabase.locationDao().getLocations(),
+            entityCache.getLocations(),
             appDatabase.storeDao().getStores(),
             appDatabase.userDao().getUsers(),
             StockOverviewData::new
@@ -0,0 +1,216 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.repository;
+
+import android.app.Application;
+import android.text.TextUtils;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.List;
+import xyz.zedler.patrick.grocy.dao.StockLogEntryDao;
+import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
+import xyz.zedler.patrick.grocy.model.Location;
+import xyz.zedler.patrick.grocy.model.Product;
+import xyz.zedler.patrick.grocy.model.QuantityUnit;
+import xyz.zedler.patrick.grocy.model.StockLogEntry;
+import xyz.zedler.patrick.grocy.model.User;
+
+public class StockJournalRepository {
+
+  private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
+
+  public StockJournalRepository(Application application) {
+    this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
+  }
+
+  public interface StockJournalDataListener {
+    void actionFinished(StockJournalData data);
+  }
+
+  public interface StockLogEntriesListener {
+    void actionFinished(List<StockLogEntry> stockLogEntries);
+  }
+
+  public interface StockLogEntryOffsetListener {
+    void actionFinished(int offset);
+  }
+
+  public static class StockJournalData {
+
+    private final List<QuantityUnit> quantityUnits;
+    private final List<Product> products;
+    private final List<Location> locations;
+    private final List<User> users;
+
+    public StockJournalData(
+        List<QuantityUnit> quantityUnits,
+        List<Product> products,
+        List<Location> locations,
+        List<User> users
+    ) {
+      this.quantityUnits = quantityUnits;
+      this.products = products;
+      this.locations = locations;
+      this.users = users;
+    }
+
+    public List<QuantityUnit> getQuantityUnits() {
+      return quantityUnits;
+    }
+
+    public List<Product> getProducts() {
+      return products;
+    }
+
+    public List<Location> getLocations() {
+      return locations;
+    }
+
+    public List<User> getUsers() {
+      return users;
+    }
+  }
+
+  /**
+   * Limits the stock log to entries of the given products, locations or users.
+   * The columns are indexed, so every id list is resolved by an index lookup.
+   */
+  public static class StockLogFilter {
+
+    private final List<Integer> productIds = new ArrayList<>();
+    private final List<Integer> locationIds = new ArrayList<>();
+    private final List<Integer> userIds = new ArrayList<>();
+
+    public void addProductId(int productId) {
+      productIds.add(productId);
+    }
+
+    public void addLocationId(int locationId) {
+      locationIds.add(locationId);
+    }
+
+    public void addUserId(int userId) {
+      userIds.add(userId);
+    }
+
+    public boolean isEmpty() {
+      return productIds.isEmpty() && locationIds.isEmpty() && userIds.isEmpty();
+    }
+
+    private String getWhereClause() {
+      ArrayList<String> conditions = new ArrayList<>();
+      if (!productIds.isEmpty()) {
+        conditions.add("product_id IN (" + TextUtils.join(",", productIds) + ")");
+      }
+      if (!locationIds.isEmpty()) {
+        conditions.add("location_id IN (" + TextUtils.join(",", locationIds) + ")");
+      }
+      if (!userIds.isEmpty()) {
+        conditions.add("user_id IN (" + TextUtils.join(",", userIds) + ")");
+      }
+      return " WHERE " + TextUtils.join(" OR ", conditions);
+    }
+  }
+
+  public void loadFromDatabase(StockJournalDataListener listener) {
+    Single
+        .zip(
+            entityCache.getQuantityUnits(),
+            entityCache.getProducts(),
+            entityCache.getLocations(),
+            appDatabase.userDao().getUsers(),
+            StockJournalData::new
+        )
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(listener::actionFinished)
+        .subscribe();
+  }
+
+  public void loadStockLogEntries(
+      @Nullable StockLogFilter filter,
+      int limit,
+      int offset,
+      StockLogEntriesListener listener
+  ) {
+    if (filter != null && filter.isEmpty()) {
+      listener.actionFinished(new ArrayList<>());
+      return;
+    }
+    String query = "SELECT * FROM stock_log_entry_table"
+        + (filter != null ? filter.getWhereClause() : "")
+        + " ORDER BY id DESC LIMIT ? OFFSET ?";
+    appDatabase.stockLogEntryDao()
+        .getStockLogEntries(new SimpleSQLiteQuery(query, new Object[]{limit, offset}))
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(listener::actionFinished)
+        .subscribe();
+  }
+
+  // position of a cached entry in the stock log, newest entry first
+  public void loadStockLogEntryOffset(StockLogEntry entry, StockLogEntryOffsetListener listener) {
+    appDatabase.stockLogEntryDao()
+        .getNewerEntriesCount(entry.getId())
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doOnSuccess(listener::actionFinished)
+        .subscribe();
+  }
+
+  /**
+   * Stores a downloaded page of the stock log. The cached entries always have to be one
+   * gapless range from the newest entry on, because they are paged by offset. So if the
+   * newest page does not overlap the cached entries anymore, they are dropped.
+   */
+  public void storeStockLogEntries(
+      List<StockLogEntry> stockLogEntries,
+      boolean isNewestPage,
+      Runnable onFinished
+  ) {
+    Completable
+        .fromAction(() -> appDatabase.runInTransaction(() -> {
+          StockLogEntryDao dao = appDatabase.stockLogEntryDao();
+          if (isNewestPage) {
+            Integer newestCachedId = dao.getNewestId();
+            int oldestId = Integer.MAX_VALUE;
+            for (StockLogEntry entry : stockLogEntries) {
+              oldestId = Math.min(oldestId, entry.getId());
+            }
+            if (newestCachedId != null && newestCachedId < oldestId) {
+              dao.deleteAll();
+            }
+          }
+          dao.insertAll(stockLogEntries);
+        }))
+        .subscribeOn(Schedulers.io())
+        .observeOn(AndroidSchedulers.mainThread())
+        .doFinally(onFinished::run)
+        .subscribe();
+  }
+}
@@ -20,10 +20,15 @@
 package xyz.zedler.patrick.grocy.repository;
 
 import android.app.Application;
+import androidx.annotation.Nullable;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Collections;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.MissingItem;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -41,9 +46,11 @@ import xyz.zedler.patrick.grocy.util.RxJavaUtil;
 public class StockOverviewRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public StockOverviewRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface StockOverviewDataListener {
@@ -145,15 +152,15 @@ public class StockOverviewRepository {
   public void loadFromDatabase(StockOverviewDataListener listener) {
     RxJavaUtil
         .zip(
-            appDatabase.quantityUnitDao().getQuantityUnits(),
-            appDatabase.productGroupDao().getProductGroups(),
+            entityCache.getQuantityUnits(),
+            entityCache.getProductGroups(),
             appDatabase.stockItemDao().getStockItems(),
-            appDatabase.productDao().getProducts(),
+            entityCache.getProducts(),
             appDatabase.productAveragePriceDao().getProductsAveragePrice(),
             appDatabase.productLastPurchasedDao().getProductsLastPurchased(),
             appDatabase.productBarcodeDao().getProductBarcodes(),
             appDatabase.shoppingListItemDao().getShoppingListItems(),
-            appDatabase.locationDao().getLocations(),
+            entityCache.getLocations(),
             appDatabase.stockLocationDao().getStockLocations(),
             appDatabase.volatileItemDao().getVolatileItems(),
             appDatabase.missingItemDao().getMissingItems(),
@@ -164,4 +171,31 @@ public class StockOverviewRepository {
         .doOnSuccess(listener::actionFinished)
         .subscribe();
   }
+
+  // stock item is null if the product is not in stock anymore
+  // replaces the stored stock, volatile and missing rows of a single patched product
+  public void storeProductState(
+      int productId,
+      @Nullable StockItem stockItem,
+      @Nullable VolatileItem volatileItem,
+      @Nullable MissingItem missingItem
+  ) {
+    Completable
+        .fromAction(() -> appDatabase.runInTransaction(() -> {
+          appDatabase.stockItemDao().deleteStockItem(productId);
+          if (stockItem != null) {
+            appDatabase.stockItemDao().insertAll(Collections.singletonList(stockItem));
+          }
+          appDatabase.volatileItemDao().deleteVolatileItems(productId);
+          if (volatileItem != null) {
+            appDatabase.volatileItemDao().insertAll(Collections.singletonList(volatileItem));
+          }
+          appDatabase.missingItemDao().deleteMissingItem(productId);
+          if (missingItem != null) {
+            appDatabase.missingItemDao().insertAll(Collections.singletonList(missingItem));
+          }
+        }))
+        .subscribeOn(Schedulers.io())
+        .subscribe();
+  }
 }
@@ -25,6 +25,7 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.PendingProduct;
 import xyz.zedler.patrick.grocy.model.PendingProductBarcode;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -34,9 +35,11 @@ import xyz.zedler.patrick.grocy.repository.PurchaseRepository.SuccessIdListener;
 public class StoredPurchasesRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public StoredPurchasesRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -81,7 +84,7 @@ public class StoredPurchasesRepository {
 
   public void loadFromDatabase(DataListener listener) {
     Single.zip(
-        appDatabase.productDao().getProducts(),
+        entityCache.getProducts(),
         appDatabase.pendingProductDao().getPendingProducts(),
         appDatabase.pendingProductBarcodeDao().getProductBarcodes(),
         appDatabase.storedPurchaseDao().getStoredPurchases(),
@@ -25,6 +25,7 @@ import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import xyz.zedler.patrick.grocy.database.AppDatabase;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
@@ -34,9 +35,11 @@ import xyz.zedler.patrick.grocy.model.QuantityUnitConversion;
 public class TransferRepository {
 
   private final AppDatabase appDatabase;
+  private final EntityCache entityCache;
 
   public TransferRepository(Application application) {
     this.appDatabase = AppDatabase.getAppDatabase(application);
+    this.entityCache = EntityCache.getInstance(application);
   }
 
   public interface DataListener {
@@ -90,11 +93,11 @@ public class TransferRepository {
   public void loadFromDatabase(DataListener listener) {
     Single
         .zip(
-            appDatabase.productDao().getProducts(),
+            entityCache.getProducts(),
             appDatabase.productBarcodeDao().getProductBarcodes(),
-            appDatabase.quantityUnitDao().getQuantityUnits(),
+            entityCache.getQuantityUnits(),
             appDatabase.quantityUnitConversionDao().getConversions(),
-            appDatabase.locationDao().getLocations(),
+            entityCache.getLocations(),
             TransferData::new
         )
         .subscribeOn(Schedulers.io())
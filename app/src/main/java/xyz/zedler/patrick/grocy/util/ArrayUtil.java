@@ -19,9 +19,11 @@
 
 package xyz.zedler.patrick.grocy.util;
 
+import androidx.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import xyz.zedler.patrick.grocy.database.EntityCache.EntityList;
 import xyz.zedler.patrick.grocy.model.Chore;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.MissingItem;
@@ -41,7 +43,20 @@ import xyz.zedler.patrick.grocy.model.User;
 
 public class ArrayUtil {
 
+  // lists from the EntityCache already carry a map, it is shared and must not be modified
+  @Nullable
+  private static <T> HashMap<Integer, T> getCachedHashMap(List<T> objects) {
+    if (objects instanceof EntityList) {
+      return ((EntityList<T>) objects).getHashMap();
+    }
+    return null;
+  }
+
   public static HashMap<Integer, Product> getProductsHashMap(List<Product> products) {
+    HashMap<Integer, Product> cachedHashMap = getCachedHashMap(products);
+    if (cachedHashMap != null) {
+      return cachedHashMap;
+    }
     HashMap<Integer, Product> hashMap = new HashMap<>();
     for (Product p : products) {
       hashMap.put(p.getId(), p);
@@ -91,6 +106,10 @@ public class ArrayUtil {
   }
 
   public static HashMap<Integer, Location> getLocationsHashMap(List<Location> locations) {
+    HashMap<Integer, Location> cachedHashMap = getCachedHashMap(locations);
+    if (cachedHashMap != null) {
+      return cachedHashMap;
+    }
     HashMap<Integer, Location> hashMap = new HashMap<>();
     for (Location l : locations) {
       hashMap.put(l.getId(), l);
@@ -101,6 +120,10 @@ public class ArrayUtil {
   public static HashMap<Integer, ProductGroup> getProductGroupsHashMap(
       List<ProductGroup> productGroups
   ) {
+    HashMap<Integer, ProductGroup> cachedHashMap = getCachedHashMap(productGroups);
+    if (cachedHashMap != null) {
+      return cachedHashMap;
+    }
     HashMap<Integer, ProductGroup> hashMap = new HashMap<>();
     for (ProductGroup p : productGroups) {
       hashMap.put(p.getId(), p);
@@ -129,6 +152,10 @@ public class ArrayUtil {
   public static HashMap<Integer, QuantityUnit> getQuantityUnitsHashMap(
       List<QuantityUnit> quantityUnits
   ) {
+    HashMap<Integer, QuantityUnit> cachedHashMap = getCachedHashMap(quantityUnits);
+    if (cachedHashMap != null) {
+      return cachedHashMap;
+    }
     HashMap<Integer, QuantityUnit> hashMap = new HashMap<>();
     for (QuantityUnit q : quantityUnits) {
       hashMap.put(q.getId(), q);
@@ -23,6 +23,8 @@ import android.content.Context;
 import android.util.Log;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -40,30 +42,49 @@ public class DateUtil {
   public static final int FORMAT_SHORT = 0;
   public static final int FORMAT_SHORT_WITH_TIME = 3;
 
-  public static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat(
-      "yyyy-MM-dd", Locale.ENGLISH
-  );
-  private static final SimpleDateFormat DATE_FORMAT_WITH_TIME = new SimpleDateFormat(
-      "yyyy-MM-dd HH:mm:ss", Locale.ENGLISH
-  );
-  private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat(
-      "HH:mm:ss", Locale.ENGLISH
+  public static final int NO_DATE = Integer.MIN_VALUE;
+
+  public static final int DUE_STATE_NONE = 0;
+  public static final int DUE_STATE_OVERDUE = 1;
+  public static final int DUE_STATE_TODAY = 2;
+  public static final int DUE_STATE_SOON = 3;
+  public static final int DUE_STATE_LATER = 4;
+
+  // SimpleDateFormat is not thread-safe and dates are also parsed on background threads
+  private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = newFormat("yyyy-MM-dd");
+  private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT_WITH_TIME = newFormat(
+      "yyyy-MM-dd HH:mm:ss"
   );
+  private static final ThreadLocal<SimpleDateFormat> TIME_FORMAT = newFormat("HH:mm:ss");
+  private static volatile Today today;
   private final Context context;
 
   public DateUtil(Context context) {
     this.context = context;
   }
 
+  private static ThreadLocal<SimpleDateFormat> newFormat(String pattern) {
+    return new ThreadLocal<SimpleDateFormat>() {
+      @Override
+      protected SimpleDateFormat initialValue() {
+        return new SimpleDateFormat(pattern, Locale.ENGLISH);
+      }
+    };
+  }
+
+  public static SimpleDateFormat getDateFormat() {
+    return DATE_FORMAT.get();
+  }
+
   public static Date getDate(String dateString) {
     if (dateString == null || dateString.isEmpty()) {
       return null;
     }
     Date date = null;
     try {
-      date = dateString.split(" ").length == 2
-          ? DATE_FORMAT_WITH_TIME.parse(dateString)
-          : DATE_FORMAT.parse(dateString);
+      date = hasTime(dateString)
+          ? DATE_FORMAT_WITH_TIME.get().parse(dateString)
+          : DATE_FORMAT.get().parse(dateString);
     } catch (ParseException e) {
       Log.e(TAG, "getDate: ");
     }
@@ -71,20 +92,117 @@ public class DateUtil {
   }
 
   public static String getDateStringToday() {
-    return DATE_FORMAT.format(getCurrentDate());
+    return DATE_FORMAT.get().format(getCurrentDate());
   }
 
   public static int getDaysFromNow(String dateString) {
-    Date date = getDate(dateString);
-    if (date == null) return 0;
-    long diff = date.getTime() - getCurrentDate().getTime();
-    return (int) TimeUnit.DAYS.convert(diff, TimeUnit.MILLISECONDS);
+    int epochDay = getEpochDay(dateString);
+    if (epochDay == NO_DATE) return 0;
+    return epochDay - getTodayEpochDay();
+  }
+
+  /**
+   * Parses the date part of a server date (yyyy-MM-dd with optional time) into days since
+   * 1970-01-01 without creating any objects. Returns NO_DATE for missing or invalid dates.
+   */
+  public static int getEpochDay(String dateString) {
+    if (dateString == null || dateString.length() < 10
+        || dateString.charAt(4) != '-' || dateString.charAt(7) != '-') {
+      return NO_DATE;
+    }
+    int year = parseDigits(dateString, 0, 4);
+    int month = parseDigits(dateString, 5, 7);
+    int day = parseDigits(dateString, 8, 10);
+    if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+      return NO_DATE;
+    }
+    // days from civil date, same result as LocalDate.toEpochDay()
+    int y = month <= 2 ? year - 1 : year;
+    int era = y / 400;
+    int yearOfEra = y - era * 400;
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097 + dayOfEra - 719468;
+  }
+
+  /**
+   * Sort key for server dates with optional time (yyyy-MM-dd HH:mm:ss), dates without time
+   * are at the start of the day. Returns Long.MIN_VALUE for missing or invalid dates.
+   */
+  public static long getDateTimeKey(String dateString) {
+    int epochDay = getEpochDay(dateString);
+    if (epochDay == NO_DATE) {
+      return Long.MIN_VALUE;
+    }
+    int secondOfDay = 0;
+    if (dateString.length() >= 19 && dateString.charAt(13) == ':'
+        && dateString.charAt(16) == ':') {
+      int hours = parseDigits(dateString, 11, 13);
+      int minutes = parseDigits(dateString, 14, 16);
+      int seconds = parseDigits(dateString, 17, 19);
+      if (hours >= 0 && minutes >= 0 && seconds >= 0) {
+        secondOfDay = hours * 3600 + minutes * 60 + seconds;
+      }
+    }
+    return epochDay * 86400L + secondOfDay;
+  }
+
+  // today is computed once and cached until midnight or at most one hour (time zone changes)
+  public static int getTodayEpochDay() {
+    Today current = today;
+    long now = System.currentTimeMillis();
+    if (current == null || now >= current.validUntil) {
+      LocalDate date = LocalDate.now();
+      long midnight = date.plusDays(1).atStartOfDay(ZoneId.systemDefault())
+          .toInstant().toEpochMilli();
+      current = new Today((int) date.toEpochDay(), Math.min(midnight, now + 3600000));
+      today = current;
+    }
+    return current.epochDay;
+  }
+
+  public static int getDueState(String dateString, int dueSoonDays) {
+    int epochDay = getEpochDay(dateString);
+    if (epochDay == NO_DATE) {
+      return DUE_STATE_NONE;
+    }
+    int daysFromNow = epochDay - getTodayEpochDay();
+    if (daysFromNow < 0) {
+      return DUE_STATE_OVERDUE;
+    } else if (daysFromNow == 0) {
+      return DUE_STATE_TODAY;
+    } else if (daysFromNow <= dueSoonDays) {
+      return DUE_STATE_SOON;
+    } else {
+      return DUE_STATE_LATER;
+    }
+  }
+
+  // due today counts as due soon as well
+  public static boolean isDueSoon(int dueState) {
+    return dueState == DUE_STATE_TODAY || dueState == DUE_STATE_SOON;
+  }
+
+  private static boolean hasTime(String dateString) {
+    return dateString.indexOf(' ') != -1;
+  }
+
+  private static int parseDigits(String string, int start, int end) {
+    int value = 0;
+    for (int i = start; i < end; i++) {
+      char c = string.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
   }
 
   public static String getTodayWithDaysAdded(int daysToAdd) {
     Calendar calendar = Calendar.getInstance();
     calendar.add(Calendar.DAY_OF_MONTH, daysToAdd);
-    return DATE_FORMAT.format(calendar.getTime());
+    return DATE_FORMAT.get().format(calendar.getTime());
   }
 
   public static String getDateWithDaysAdded(String dateString, int daysToAdd) {
@@ -93,7 +211,7 @@ public class DateUtil {
     Calendar calendar = Calendar.getInstance();
     calendar.setTime(date);
     calendar.add(Calendar.DAY_OF_MONTH, daysToAdd);
-    return DATE_FORMAT.format(calendar.getTime());
+    return DATE_FORMAT.get().format(calendar.getTime());
   }
 
   private static Date getCurrentDate() {
@@ -114,13 +232,13 @@ public class DateUtil {
   public String getCurrentDateWithTimeStr() {
     Calendar cal = Calendar.getInstance();
     cal.set(Calendar.MILLISECOND, 0);
-    return DATE_FORMAT_WITH_TIME.format(cal.getTime());
+    return DATE_FORMAT_WITH_TIME.get().format(cal.getTime());
   }
 
   public String getCurrentDateWithoutTimeStr() {
     Calendar cal = Calendar.getInstance();
     cal.set(Calendar.MILLISECOND, 0);
-    return DATE_FORMAT.format(cal.getTime());
+    return DATE_FORMAT.get().format(cal.getTime());
   }
 
   public boolean isTimeLessThanOneMinuteAway(String dateWithTimeStr) {
@@ -130,7 +248,7 @@ public class DateUtil {
     Date currentDateWithTime = getCurrentDateWithTime();
     Date askedDateWithTime = null;
     try {
-      askedDateWithTime = DATE_FORMAT_WITH_TIME.parse(dateWithTimeStr);
+      askedDateWithTime = DATE_FORMAT_WITH_TIME.get().parse(dateWithTimeStr);
     } catch (ParseException e) {
       Log.e(TAG, "isTimeMoreThanOneMinuteAway: " + e);
     }
@@ -151,9 +269,9 @@ public class DateUtil {
     }
     Date date = null;
     try {
-      date = dateString.split(" ").length == 2
-          ? DATE_FORMAT_WITH_TIME.parse(dateString)
-          : DATE_FORMAT.parse(dateString);
+      date = hasTime(dateString)
+          ? DATE_FORMAT_WITH_TIME.get().parse(dateString)
+          : DATE_FORMAT.get().parse(dateString);
     } catch (ParseException e) {
       Log.e(TAG, "getLocalizedDate: " + e);
     }
@@ -184,7 +302,7 @@ public class DateUtil {
     }
     Date date = null;
     try {
-      date = TIME_FORMAT.parse(timeString);
+      date = TIME_FORMAT.get().parse(timeString);
     } catch (ParseException e) {
       Log.e(TAG, "getLocalizedTime: " + e);
     }
@@ -197,7 +315,7 @@ public class DateUtil {
   public String getHumanForDaysFromNow(String dateString) {
     if (dateString == null || dateString.isEmpty()) {
       return context.getString(R.string.date_unknown);
-    } else if (dateString.split(" ").length == 2
+    } else if (hasTime(dateString)
         ? dateString.equals(DATE.NEVER_OVERDUE_WITH_TIME)
         : dateString.equals(Constants.DATE.NEVER_OVERDUE)
     ) {
@@ -264,7 +382,7 @@ public class DateUtil {
         // Check if days are about the same as to the never expiring date
         Calendar calendarNever = Calendar.getInstance();
         try {
-          Date dateNever = DATE_FORMAT.parse(Constants.DATE.NEVER_OVERDUE);
+          Date dateNever = DATE_FORMAT.get().parse(Constants.DATE.NEVER_OVERDUE);
           if (dateNever != null) {
             calendarNever.setTime(dateNever);
           }
@@ -287,4 +405,15 @@ public class DateUtil {
       return context.getString(R.string.date_unknown);
     }
   }
+
+  private static class Today {
+
+    private final int epochDay;
+    private final long validUntil;
+
+    private Today(int epochDay, long validUntil) {
+      this.epochDay = epochDay;
+      this.validUntil = validUntil;
+    }
+  }
 }
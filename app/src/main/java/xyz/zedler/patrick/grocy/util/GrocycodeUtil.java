@@ -24,8 +24,10 @@ import java.util.regex.Pattern;
 
 public class GrocycodeUtil {
 
+  private static final Pattern PATTERN = Pattern.compile("grcy:([a-z]+):([0-9]+)(:.+)*");
+
   private static Matcher getMatcher(String barcode) {
-    return Pattern.compile("grcy:([a-z]+):([0-9]+)(:.+)*").matcher(barcode);
+    return PATTERN.matcher(barcode);
   }
 
   public static Grocycode getGrocycode(String barcode) {
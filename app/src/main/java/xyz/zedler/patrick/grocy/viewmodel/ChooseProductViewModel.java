@@ -32,10 +32,9 @@ import com.android.volley.VolleyError;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import me.xdrop.fuzzywuzzy.FuzzySearch;
-import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.FuzzySearchIndex;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.PendingProduct;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -52,6 +51,7 @@ public class ChooseProductViewModel extends BaseViewModel {
   private final SharedPreferences sharedPrefs;
   private final DownloadHelper dlHelper;
   private final ChooseProductRepository repository;
+  private final FuzzySearchIndex<Product> productSearchIndex;
 
   private final MutableLiveData<Boolean> displayHelpLive;
   private final MutableLiveData<Boolean> isLoadingLive;
@@ -71,6 +71,7 @@ public class ChooseProductViewModel extends BaseViewModel {
   private final HashMap<String, Product> productHashMap;
   private List<PendingProduct> pendingProducts;
   private final HashMap<String, PendingProduct> pendingProductHashMap;
+  private ArrayList<Product> allProducts;
   private final boolean forbidCreateProductInitial;
   private final boolean pendingProductsActive;
   private String nameFromOnlineSource;
@@ -93,6 +94,7 @@ public class ChooseProductViewModel extends BaseViewModel {
     isLoadingLive = new MutableLiveData<>(false);
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue);
     repository = new ChooseProductRepository(application);
+    productSearchIndex = new FuzzySearchIndex<>(Product::getName);
 
     offlineLive = new MutableLiveData<>(false);
     displayedItemsLive = new MutableLiveData<>();
@@ -122,6 +124,7 @@ public class ChooseProductViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       this.products = data.getProducts();
+      allProducts = null;
       productHashMap.clear();
       for (Product product : products) {
         productHashMap.put(product.getName().toLowerCase(), product);
@@ -158,6 +161,7 @@ public class ChooseProductViewModel extends BaseViewModel {
     NetworkQueue queue = dlHelper.newQueue(this::onQueueEmpty, this::onDownloadError);
     queue.append(dlHelper.updateProducts(dbChangedTime, products -> {
       this.products = products;
+      allProducts = null;
       productHashMap.clear();
       for (Product product : products) {
         productHashMap.put(product.getName().toLowerCase(), product);
@@ -237,6 +241,7 @@ public class ChooseProductViewModel extends BaseViewModel {
     String productName = productNameLive.getValue();
 
     if (productName == null || productName.isEmpty()) {
+      productSearchIndex.cancel();
       SortUtil.sortProductsByName(products, true);
       displayedItemsLive.setValue(products);
       createProductTextLive.setValue(getString(R.string.msg_create_new_product));
@@ -254,21 +259,13 @@ public class ChooseProductViewModel extends BaseViewModel {
       productNameErrorLive.setValue(null);
     }
 
-    ArrayList<Product> allProducts = new ArrayList<>();
-    allProducts.addAll(products);
-    allProducts.addAll(pendingProducts);
-    ArrayList<Product> suggestions = new ArrayList<>(allProducts.size());
-    List<BoundExtractedResult<Product>> results = FuzzySearch.extractSorted(
-            productName.toLowerCase(),
-            allProducts,
-            Product::getName,
-            20
-    );
-    for (BoundExtractedResult<Product> result : results) {
-      suggestions.add(result.getReferent());
+    if (allProducts == null) {
+      allProducts = new ArrayList<>();
+      allProducts.addAll(products);
+      if (pendingProducts != null) allProducts.addAll(pendingProducts);
     }
-
-    displayedItemsLive.setValue(suggestions);
+    // input is already debounced by the fragment
+    productSearchIndex.search(allProducts, productName, 20, 0, displayedItemsLive::setValue);
     createProductTextLive.setValue(
         getApplication().getString(R.string.msg_create_new_product_filled, productName)
     );
@@ -382,6 +379,7 @@ public class ChooseProductViewModel extends BaseViewModel {
 
   @Override
   protected void onCleared() {
+    productSearchIndex.cancel();
     dlHelper.destroy();
     super.onCleared();
   }
@@ -128,14 +128,14 @@ public class ChoresViewModel extends BaseViewModel {
             || choreEntry.getNextEstimatedExecutionTime().isEmpty()) {
           continue;
         }
-        int daysFromNow = DateUtil.getDaysFromNow(choreEntry.getNextEstimatedExecutionTime());
-        if (daysFromNow < 0) {
+        int dueState = DateUtil.getDueState(choreEntry.getNextEstimatedExecutionTime(), 5);
+        if (dueState == DateUtil.DUE_STATE_OVERDUE) {
           choresOverdueCount++;
         }
-        if (daysFromNow == 0) {
+        if (dueState == DateUtil.DUE_STATE_TODAY) {
           choresDueTodayCount++;
         }
-        if (daysFromNow >= 0 && daysFromNow <= 5) {
+        if (DateUtil.isDueSoon(dueState)) {
           choresDueSoonCount++;
         }
       }
@@ -187,14 +187,14 @@ public class ChoresViewModel extends BaseViewModel {
                 || choreEntry.getNextEstimatedExecutionTime().isEmpty()) {
               continue;
             }
-            int daysFromNow = DateUtil.getDaysFromNow(choreEntry.getNextEstimatedExecutionTime());
-            if (daysFromNow < 0) {
+            int dueState = DateUtil.getDueState(choreEntry.getNextEstimatedExecutionTime(), 5);
+            if (dueState == DateUtil.DUE_STATE_OVERDUE) {
               choresOverdueCount++;
             }
-            if (daysFromNow == 0) {
+            if (dueState == DateUtil.DUE_STATE_TODAY) {
               choresDueTodayCount++;
             }
-            if (daysFromNow >= 0 && daysFromNow <= 5) {
+            if (DateUtil.isDueSoon(dueState)) {
               choresDueSoonCount++;
             }
           }
@@ -257,13 +257,13 @@ public class ChoresViewModel extends BaseViewModel {
         continue;
       }
 
-      int daysFromNow = DateUtil.getDaysFromNow(choreEntry.getNextEstimatedExecutionTime());
+      int dueState = DateUtil.getDueState(choreEntry.getNextEstimatedExecutionTime(), 5);
       if (filterChipLiveDataStatus.getStatus() == FilterChipLiveDataChoresStatus.STATUS_OVERDUE
-          && daysFromNow >= 0
+          && dueState != DateUtil.DUE_STATE_OVERDUE
           || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataChoresStatus.STATUS_DUE_TODAY
-          && daysFromNow != 0
+          && dueState != DateUtil.DUE_STATE_TODAY
           || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataChoresStatus.STATUS_DUE_SOON
-          && !(daysFromNow >= 0 && daysFromNow <= 5)) {
+          && !DateUtil.isDueSoon(dueState)) {
         if (choreEntry.getNextEstimatedExecutionTime() != null
             && !choreEntry.getNextEstimatedExecutionTime().isEmpty()) {
           continue;
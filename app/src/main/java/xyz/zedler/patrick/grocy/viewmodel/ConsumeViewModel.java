@@ -51,6 +51,7 @@ import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuantityUnitsBottomSh
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuickModeConfirmBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.StockEntriesBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.StockLocationsBottomSheet;
+import xyz.zedler.patrick.grocy.helper.BarcodeIndex;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.form.FormDataConsume;
@@ -81,11 +82,12 @@ public class ConsumeViewModel extends BaseViewModel {
   private final DownloadHelper dlHelper;
   private final GrocyApi grocyApi;
   private final ConsumeRepository repository;
+  private final BarcodeIndex barcodeIndex;
   private final FormDataConsume formData;
 
   private List<Product> products;
+  private HashMap<Integer, Product> productHashMap;
   private List<QuantityUnitConversion> unitConversions;
-  private List<ProductBarcode> barcodes;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
 
   private final MutableLiveData<Boolean> isLoadingLive;
@@ -110,6 +112,7 @@ public class ConsumeViewModel extends BaseViewModel {
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue);
     grocyApi = new GrocyApi(getApplication());
     repository = new ConsumeRepository(application);
+    barcodeIndex = BarcodeIndex.getInstance(application);
     formData = new FormDataConsume(application, sharedPrefs, args);
 
     infoFullscreenLive = new MutableLiveData<>();
@@ -129,7 +132,7 @@ public class ConsumeViewModel extends BaseViewModel {
     }
     quickModeEnabled = new MutableLiveData<>(quickModeStart);
 
-    barcodes = new ArrayList<>();
+    productHashMap = new HashMap<>();
   }
 
   public FormDataConsume getFormData() {
@@ -139,9 +142,8 @@ public class ConsumeViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       this.products = data.getProducts();
-      this.barcodes = data.getBarcodes();
+      productHashMap = ArrayUtil.getProductsHashMap(products);
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
-      this.unitConversions = data.getQuantityUnitConversions();
       formData.getProductsLive().setValue(Product.getActiveProductsOnly(products));
       if (downloadAfterLoading) {
         downloadData();
@@ -159,11 +161,12 @@ public class ConsumeViewModel extends BaseViewModel {
     queue.append(
         dlHelper.updateProducts(dbChangedTime, products -> {
           this.products = products;
+          productHashMap = ArrayUtil.getProductsHashMap(products);
           formData.getProductsLive().setValue(Product.getActiveProductsOnly(products));
         }), dlHelper.updateQuantityUnitConversions(
-            dbChangedTime, conversions -> this.unitConversions = conversions
+            dbChangedTime, null
         ), dlHelper.updateProductBarcodes(
-            dbChangedTime, barcodes -> this.barcodes = barcodes
+            dbChangedTime, null
         ), dlHelper.updateQuantityUnits(
             dbChangedTime,
             quantityUnits -> quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(quantityUnits)
@@ -208,6 +211,13 @@ public class ConsumeViewModel extends BaseViewModel {
   }
 
   public void setProduct(int productId, ProductBarcode barcode, String stockEntryId) {
+    repository.loadQuantityUnitConversions(productId, conversions -> {
+      unitConversions = conversions;
+      loadProductDetails(productId, barcode, stockEntryId);
+    });
+  }
+
+  private void loadProductDetails(int productId, ProductBarcode barcode, String stockEntryId) {
     DownloadHelper.OnQueueEmptyListener onQueueEmptyListener = () -> {
       ProductDetails productDetails = formData.getProductDetailsLive().getValue();
       assert productDetails != null;
@@ -355,18 +365,20 @@ public class ConsumeViewModel extends BaseViewModel {
 
   public void onBarcodeRecognized(String barcode) {
     if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
-        formData.getBarcodeLive().setValue(barcode);
-      } else {
-        showMessage(R.string.msg_clear_form_first);
-      }
+      barcodeIndex.resolve(barcode, false, productBarcode -> {
+        if (productBarcode == null) {
+          formData.getBarcodeLive().setValue(barcode);
+        } else {
+          showMessage(R.string.msg_clear_form_first);
+        }
+      });
       return;
     }
     Product product = null;
     String stockEntryId = null;
     Grocycode grocycode = GrocycodeUtil.getGrocycode(barcode);
     if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
+      product = productHashMap.get(grocycode.getObjectId());
       if (product == null) {
         showMessageAndContinueScanning(R.string.msg_not_found);
         return;
@@ -376,19 +388,21 @@ public class ConsumeViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
-      product = productBarcode != null
-          ? Product.getProductFromId(products, productBarcode.getProductIdInt()) : null;
-    }
     if (product != null) {
-      setProduct(product.getId(), productBarcode, stockEntryId);
-    } else {
-      Bundle bundle = new Bundle();
-      bundle.putString(ARGUMENT.BARCODE, barcode);
-      sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      setProduct(product.getId(), null, stockEntryId);
+      return;
     }
+    barcodeIndex.resolve(barcode, false, productBarcode -> {
+      Product productFromBarcode = productBarcode != null
+          ? productHashMap.get(productBarcode.getProductIdInt()) : null;
+      if (productFromBarcode != null) {
+        setProduct(productFromBarcode.getId(), productBarcode, null);
+      } else {
+        Bundle bundle = new Bundle();
+        bundle.putString(ARGUMENT.BARCODE, barcode);
+        sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      }
+    });
   }
 
   public void checkProductInput() {
@@ -401,7 +415,7 @@ public class ConsumeViewModel extends BaseViewModel {
 
     Grocycode grocycode = GrocycodeUtil.getGrocycode(input.trim());
     if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
+      product = productHashMap.get(grocycode.getObjectId());
       if (product == null) {
         showMessageAndContinueScanning(R.string.msg_not_found);
         return;
@@ -411,17 +425,16 @@ public class ConsumeViewModel extends BaseViewModel {
       return;
     }
     if (product == null) {
-      ProductBarcode productBarcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          productBarcode = code;
-          product = Product.getProductFromId(products, code.getProductIdInt());
+      barcodeIndex.resolve(input, false, productBarcode -> {
+        Product productFromBarcode = productBarcode != null
+            ? productHashMap.get(productBarcode.getProductIdInt()) : null;
+        if (productFromBarcode != null) {
+          setProduct(productFromBarcode.getId(), productBarcode, null);
+        } else {
+          showInputProductBottomSheet(input);
         }
-      }
-      if (product != null) {
-        setProduct(product.getId(), productBarcode, null);
-        return;
-      }
+      });
+      return;
     }
 
     ProductDetails currentProductDetails = formData.getProductDetailsLive().getValue();
@@ -528,7 +541,7 @@ public class ConsumeViewModel extends BaseViewModel {
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
     dlHelper.addProductBarcode(body, () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
+      barcodeIndex.put(productBarcode); // will be found on next scan without reload
       if (onSuccess != null) {
         onSuccess.run();
       }
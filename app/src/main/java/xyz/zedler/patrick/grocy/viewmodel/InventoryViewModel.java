@@ -48,6 +48,7 @@ import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.LocationsBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuantityUnitsBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuickModeConfirmBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.StoresBottomSheet;
+import xyz.zedler.patrick.grocy.helper.BarcodeIndex;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.form.FormDataInventory;
@@ -82,11 +83,12 @@ public class InventoryViewModel extends BaseViewModel {
   private final DownloadHelper dlHelper;
   private final GrocyApi grocyApi;
   private final InventoryRepository repository;
+  private final BarcodeIndex barcodeIndex;
   private final FormDataInventory formData;
 
   private List<Product> products;
+  private HashMap<Integer, Product> productHashMap;
   private List<QuantityUnitConversion> unitConversions;
-  private List<ProductBarcode> barcodes;
   private List<Store> stores;
   private List<Location> locations;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
@@ -118,6 +120,7 @@ public class InventoryViewModel extends BaseViewModel {
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue);
     grocyApi = new GrocyApi(getApplication());
     repository = new InventoryRepository(application);
+    barcodeIndex = BarcodeIndex.getInstance(application);
     formData = new FormDataInventory(application, sharedPrefs, args);
 
     infoFullscreenLive = new MutableLiveData<>();
@@ -134,7 +137,7 @@ public class InventoryViewModel extends BaseViewModel {
     }
     quickModeEnabled = new MutableLiveData<>(quickModeStart);
 
-    barcodes = new ArrayList<>();
+    productHashMap = new HashMap<>();
   }
 
   public FormDataInventory getFormData() {
@@ -144,7 +147,8 @@ public class InventoryViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       this.products = data.getProducts();
-      this.barcodes = data.getBarcodes();
+      productHashMap = ArrayUtil.getProductsHashMap(products);
+      barcodeIndex.setBarcodes(data.getBarcodes());
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
       this.unitConversions = data.getQuantityUnitConversions();
       this.stores = data.getStores();
@@ -166,11 +170,12 @@ public class InventoryViewModel extends BaseViewModel {
     queue.append(
         dlHelper.updateProducts(dbChangedTime, products -> {
           this.products = products;
+          productHashMap = ArrayUtil.getProductsHashMap(products);
           formData.getProductsLive().setValue(Product.getActiveAndStockEnabledProductsOnly(products));
         }), dlHelper.updateQuantityUnitConversions(
             dbChangedTime, conversions -> this.unitConversions = conversions
         ), dlHelper.updateProductBarcodes(
-            dbChangedTime, barcodes -> this.barcodes = barcodes
+            dbChangedTime, barcodeIndex::setBarcodes
         ), dlHelper.updateQuantityUnits(
             dbChangedTime,
             quantityUnits -> quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(quantityUnits)
@@ -316,7 +321,7 @@ public class InventoryViewModel extends BaseViewModel {
 
   public void onBarcodeRecognized(String barcode) {
     if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
+      if (barcodeIndex.get(barcode, false) == null) {
         formData.getBarcodeLive().setValue(barcode);
       } else {
         showMessage(R.string.msg_clear_form_first);
@@ -326,7 +331,7 @@ public class InventoryViewModel extends BaseViewModel {
     Product product = null;
     Grocycode grocycode = GrocycodeUtil.getGrocycode(barcode);
     if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
+      product = productHashMap.get(grocycode.getObjectId());
       if (product == null) {
         showMessageAndContinueScanning(R.string.msg_not_found);
         return;
@@ -335,19 +340,21 @@ public class InventoryViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
-      product = productBarcode != null
-          ? Product.getProductFromId(products, productBarcode.getProductIdInt()) : null;
-    }
     if (product != null) {
-      setProduct(product.getId(), productBarcode);
-    } else {
-      Bundle bundle = new Bundle();
-      bundle.putString(ARGUMENT.BARCODE, barcode);
-      sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      setProduct(product.getId(), null);
+      return;
     }
+    barcodeIndex.resolve(barcode, false, productBarcode -> {
+      Product productFromBarcode = productBarcode != null
+          ? productHashMap.get(productBarcode.getProductIdInt()) : null;
+      if (productFromBarcode != null) {
+        setProduct(productFromBarcode.getId(), productBarcode);
+      } else {
+        Bundle bundle = new Bundle();
+        bundle.putString(ARGUMENT.BARCODE, barcode);
+        sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      }
+    });
   }
 
   public void checkProductInput() {
@@ -360,7 +367,7 @@ public class InventoryViewModel extends BaseViewModel {
 
     Grocycode grocycode = GrocycodeUtil.getGrocycode(input.trim());
     if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
+      product = productHashMap.get(grocycode.getObjectId());
       if (product == null) {
         showMessageAndContinueScanning(R.string.msg_not_found);
         return;
@@ -370,12 +377,9 @@ public class InventoryViewModel extends BaseViewModel {
       return;
     }
     if (product == null) {
-      ProductBarcode barcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          barcode = code;
-          product = Product.getProductFromId(products, code.getProductIdInt());
-        }
+      ProductBarcode barcode = barcodeIndex.get(input, false);
+      if (barcode != null) {
+        product = productHashMap.get(barcode.getProductIdInt());
       }
       if (product != null) {
         setProduct(product.getId(), barcode);
@@ -482,7 +486,7 @@ public class InventoryViewModel extends BaseViewModel {
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
     dlHelper.addProductBarcode(body, () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
+      barcodeIndex.put(productBarcode); // will be found on next scan without reload
         if (onSuccess != null) {
             onSuccess.run();
         }
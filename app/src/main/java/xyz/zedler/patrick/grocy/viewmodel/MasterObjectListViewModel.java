@@ -35,14 +35,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import me.xdrop.fuzzywuzzy.FuzzySearch;
-import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.api.GrocyApi.ENTITY;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.MasterDeleteBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.MasterProductBottomSheet;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.FuzzySearchIndex;
 import xyz.zedler.patrick.grocy.model.HorizontalFilterBarMulti;
 import xyz.zedler.patrick.grocy.model.InfoFullscreen;
 import xyz.zedler.patrick.grocy.model.Location;
@@ -60,11 +59,13 @@ import xyz.zedler.patrick.grocy.web.NetworkQueue;
 public class MasterObjectListViewModel extends BaseViewModel {
 
   private static final String TAG = MasterObjectListViewModel.class.getSimpleName();
+  private static final long SEARCH_DEBOUNCE_MILLIS = 150;
 
   private final SharedPreferences sharedPrefs;
   private final DownloadHelper dlHelper;
   private final GrocyApi grocyApi;
   private final MasterObjectListRepository repository;
+  private final FuzzySearchIndex<Object> searchIndex;
 
   private final MutableLiveData<Boolean> isLoadingLive;
   private final MutableLiveData<InfoFullscreen> infoFullscreenLive;
@@ -94,6 +95,7 @@ public class MasterObjectListViewModel extends BaseViewModel {
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue);
     grocyApi = new GrocyApi(getApplication());
     repository = new MasterObjectListRepository(application);
+    searchIndex = new FuzzySearchIndex<>(object -> ObjectUtil.getObjectName(object, entity));
 
     infoFullscreenLive = new MutableLiveData<>();
     offlineLive = new MutableLiveData<>(false);
@@ -257,48 +259,17 @@ public class MasterObjectListViewModel extends BaseViewModel {
   }
 
   public void displayItems() {
-    // search items
-    ArrayList<Object> searchedItems;
     if (search != null && !search.isEmpty()) {
-
-      ArrayList<Object> searchResultsFuzzy = new ArrayList<>(objects.size());
-      List results = FuzzySearch.extractSorted(
-          search,
-          objects,
-          item -> {
-            String name = ObjectUtil.getObjectName(item, entity);
-            return name != null ? name.toLowerCase() : "";
-          },
-          70
-      );
-      for (Object result : results) {
-        searchResultsFuzzy.add(((BoundExtractedResult<?>) result).getReferent());
-      }
-
-      searchedItems = new ArrayList<>();
-      ArrayList<Integer> objectIdsInList = new ArrayList<>();
-      for (Object object : objects) {
-        String name = ObjectUtil.getObjectName(object, entity);
-        name = name != null ? name.toLowerCase() : "";
-        if (name.contains(search)) {
-          searchedItems.add(object);
-          objectIdsInList.add(ObjectUtil.getObjectId(object, entity));
-        }
-      }
-
-      sortObjectsByName(searchedItems);
-
-      for (Object object : searchResultsFuzzy) {
-        if (objectIdsInList.contains(ObjectUtil.getObjectId(object, entity))) {
-          continue;
-        }
-        searchedItems.add(object);
-      }
+      searchIndex.search(objects, search, 0, SEARCH_DEBOUNCE_MILLIS, this::displayItems);
     } else {
-      searchedItems = new ArrayList<>(objects);
-      sortObjectsByName(searchedItems);
+      searchIndex.cancel();
+      ArrayList<Object> sortedItems = new ArrayList<>(objects);
+      sortObjectsByName(sortedItems);
+      displayItems(sortedItems);
     }
+  }
 
+  private void displayItems(List<Object> searchedItems) {
     // filter items
     ArrayList<Object> filteredItems;
     if (entity.equals(GrocyApi.ENTITY.PRODUCTS) && horizontalFilterBarMulti.areFiltersActive()) {
@@ -315,7 +286,7 @@ public class MasterObjectListViewModel extends BaseViewModel {
         }
       }
     } else {
-      filteredItems = searchedItems;
+      filteredItems = new ArrayList<>(searchedItems);
     }
 
     displayedItemsLive.setValue(filteredItems);
@@ -499,6 +470,7 @@ public class MasterObjectListViewModel extends BaseViewModel {
 
   @Override
   protected void onCleared() {
+    searchIndex.cancel();
     dlHelper.destroy();
     super.onCleared();
   }
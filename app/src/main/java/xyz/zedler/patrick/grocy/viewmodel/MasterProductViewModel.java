@@ -99,7 +99,8 @@ public class MasterProductViewModel extends BaseViewModel {
 
     if (isActionEdit()) {
       if (args.getProduct() != null) {
-        setCurrentProduct(args.getProduct());
+        // products from the EntityCache are shared with other screens and must not be edited
+        setCurrentProduct(args.getProduct().getClone());
       } else {
         assert args.getProductId() != null;
         int productId = Integer.parseInt(args.getProductId());
@@ -112,7 +113,7 @@ public class MasterProductViewModel extends BaseViewModel {
         });
       }
     } else if (args.getProduct() != null) {  // on clone
-      Product product = args.getProduct();
+      Product product = args.getProduct().getClone();
       product.setName(null);
       sendEvent(Event.FOCUS_INVALID_VIEWS);
       setCurrentProduct(product);
@@ -50,6 +50,7 @@ import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.ProductsBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuantityUnitsBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuickModeConfirmBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.StoresBottomSheet;
+import xyz.zedler.patrick.grocy.helper.BarcodeIndex;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnJSONArrayResponseListener;
 import xyz.zedler.patrick.grocy.model.Event;
@@ -90,6 +91,7 @@ public class PurchaseViewModel extends BaseViewModel {
   private final DownloadHelper dlHelper;
   private final GrocyApi grocyApi;
   private final PurchaseRepository repository;
+  private final BarcodeIndex barcodeIndex;
   private final FormDataPurchase formData;
 
   private List<Product> products;
@@ -100,7 +102,6 @@ public class PurchaseViewModel extends BaseViewModel {
   private List<QuantityUnitConversion> unitConversions;
   private HashMap<Integer, ArrayList<QuantityUnitConversion>> unitConversionHashMap;
   private HashMap<Integer, Double> shoppingListItemAmountsHashMap;
-  private List<ProductBarcode> barcodes;
   private List<PendingProductBarcode> pendingProductBarcodes;
   private List<Store> stores;
   private List<Location> locations;
@@ -137,6 +138,7 @@ public class PurchaseViewModel extends BaseViewModel {
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue);
     grocyApi = new GrocyApi(getApplication());
     repository = new PurchaseRepository(application);
+    barcodeIndex = BarcodeIndex.getInstance(application);
     formData = new FormDataPurchase(application, sharedPrefs, args);
 
     if (args.getShoppingListItems() != null) {
@@ -187,7 +189,7 @@ public class PurchaseViewModel extends BaseViewModel {
       );
       productHashMap = ArrayUtil.getProductsHashMap(products);
       this.pendingProductBarcodes = data.getPendingProductBarcodes();
-      this.barcodes = appendPendingProductBarcodes(data.getBarcodes(), pendingProductBarcodes);
+      barcodeIndex.setPendingBarcodes(pendingProductBarcodes);
       this.quantityUnits = data.getQuantityUnits();
       quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(quantityUnits);
       this.unitConversions = data.getQuantityUnitConversions();
@@ -223,10 +225,8 @@ public class PurchaseViewModel extends BaseViewModel {
         }), dlHelper.updateQuantityUnitConversions(dbChangedTime, conversions -> {
           this.unitConversions = conversions;
           unitConversionHashMap = ArrayUtil.getUnitConversionsHashMap(unitConversions);
-        }), dlHelper.updateProductBarcodes(dbChangedTime,
-            barcodes -> this.barcodes = appendPendingProductBarcodes(
-                barcodes, pendingProductBarcodes
-            )
+        }), dlHelper.updateProductBarcodes(
+            dbChangedTime, null
         ), dlHelper.updateQuantityUnits(dbChangedTime, quantityUnits -> {
           this.quantityUnits = quantityUnits;
           quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(quantityUnits);
@@ -544,11 +544,13 @@ public class PurchaseViewModel extends BaseViewModel {
 
   public void onBarcodeRecognized(String barcode) {
     if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
-        formData.getBarcodeLive().setValue(barcode);
-      } else {
-        showMessage(R.string.msg_clear_form_first);
-      }
+      barcodeIndex.resolve(barcode, true, productBarcode -> {
+        if (productBarcode == null) {
+          formData.getBarcodeLive().setValue(barcode);
+        } else {
+          showMessage(R.string.msg_clear_form_first);
+        }
+      });
       return;
     }
     Product product = null;
@@ -563,23 +565,25 @@ public class PurchaseViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
+    if (product != null) {
+      setProduct(product.getId(), null, null);
+      return;
+    }
+    barcodeIndex.resolve(barcode, true, productBarcode -> {
       if (productBarcode instanceof PendingProductBarcode) {
         setPendingProduct(productBarcode.getProductIdInt(), (PendingProductBarcode) productBarcode);
         return;
-      } else if (productBarcode != null) {
-        product = productHashMap.get(productBarcode.getProductIdInt());
       }
-    }
-    if (product != null) {
-      setProduct(product.getId(), productBarcode, null);
-    } else {
-      Bundle bundle = new Bundle();
-      bundle.putString(ARGUMENT.BARCODE, barcode);
-      sendEvent(Event.CHOOSE_PRODUCT, bundle);
-    }
+      Product productFromBarcode = productBarcode != null
+          ? productHashMap.get(productBarcode.getProductIdInt()) : null;
+      if (productFromBarcode != null) {
+        setProduct(productFromBarcode.getId(), productBarcode, null);
+      } else {
+        Bundle bundle = new Bundle();
+        bundle.putString(ARGUMENT.BARCODE, barcode);
+        sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      }
+    });
   }
 
   public void checkProductInput() {
@@ -602,21 +606,22 @@ public class PurchaseViewModel extends BaseViewModel {
       return;
     }
     if (product == null) {
-      ProductBarcode productBarcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          productBarcode = code;
-          if (code instanceof PendingProductBarcode) {
-            product = PendingProduct.getFromId(pendingProducts, code.getProductIdInt());
-          } else {
-            product = productHashMap.get(code.getProductIdInt());
-          }
+      barcodeIndex.resolve(input, true, productBarcode -> {
+        Product productFromBarcode = null;
+        if (productBarcode instanceof PendingProductBarcode) {
+          productFromBarcode = PendingProduct.getFromId(
+              pendingProducts, productBarcode.getProductIdInt()
+          );
+        } else if (productBarcode != null) {
+          productFromBarcode = productHashMap.get(productBarcode.getProductIdInt());
         }
-      }
-      if (product != null) {
-        setProduct(product.getId(), productBarcode, null);
-        return;
-      }
+        if (productFromBarcode != null) {
+          setProduct(productFromBarcode.getId(), productBarcode, null);
+        } else {
+          showInputProductBottomSheet(input);
+        }
+      });
+      return;
     }
 
     ProductDetails currentProductDetails = formData.getProductDetailsLive().getValue();
@@ -790,7 +795,7 @@ public class PurchaseViewModel extends BaseViewModel {
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
     dlHelper.addProductBarcode(body, () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
+      barcodeIndex.put(productBarcode); // will be found on next scan without reload
       if (onSuccess != null) {
         onSuccess.run();
       }
@@ -824,7 +829,7 @@ public class PurchaseViewModel extends BaseViewModel {
   private void storePendingProductBarcode(Runnable onSuccess) {
     PendingProductBarcode productBarcode = formData.fillPendingProductBarcode();
     formData.getBarcodeLive().setValue(null);
-    barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
+    barcodeIndex.put(productBarcode); // will be found on next scan without reload
     pendingProductBarcodes.add(productBarcode);
     repository.insertPendingProductBarcode(productBarcode, onSuccess);
   }
@@ -1055,22 +1060,6 @@ public class PurchaseViewModel extends BaseViewModel {
     return newList;
   }
 
-  private ArrayList<ProductBarcode> appendPendingProductBarcodes(
-      List<ProductBarcode> productBarcodes,
-      List<PendingProductBarcode> pendingProductBarcodes
-  ) {
-    ArrayList<String> barcodeStrings = new ArrayList<>();
-    for (ProductBarcode productBarcode : productBarcodes) {
-      barcodeStrings.add(productBarcode.getBarcode());
-    }
-    ArrayList<ProductBarcode> newList = new ArrayList<>(productBarcodes);
-    for (PendingProductBarcode pendingProductBarcode : pendingProductBarcodes) {
-      if (barcodeStrings.contains(pendingProductBarcode.getBarcode())) continue;
-      newList.add(pendingProductBarcode);
-    }
-    return newList;
-  }
-
   public boolean hasStoredPurchase() {
     return storedPurchaseId != null;
   }
@@ -37,6 +37,7 @@ import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.fragment.RecipeEditIngredientListFragmentArgs;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.RecipeDataIndex;
 import xyz.zedler.patrick.grocy.form.FormDataRecipeEditIngredientList;
 import xyz.zedler.patrick.grocy.model.InfoFullscreen;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -108,8 +109,11 @@ public class RecipeEditIngredientListViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
 
-      this.recipePositions = (ArrayList<RecipePosition>) RecipePosition.getRecipePositionsFromRecipeId(data.getRecipePositions(), recipe.getId());
-      this.products = Product.getProductsForRecipePositions(data.getProducts(), recipePositions);
+      RecipeDataIndex recipeDataIndex = new RecipeDataIndex(
+          null, null, data.getRecipePositions(), data.getProducts()
+      );
+      this.recipePositions = recipeDataIndex.getRecipePositions(recipe.getId());
+      this.products = recipeDataIndex.getProductsForRecipePositions(recipePositions);
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
       this.unitConversions = data.getQuantityUnitConversions();
 
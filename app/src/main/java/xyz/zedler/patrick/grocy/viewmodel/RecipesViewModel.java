@@ -28,6 +28,7 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.preference.PreferenceManager;
 import com.android.volley.VolleyError;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -36,6 +37,7 @@ import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.api.GrocyApi.ENTITY;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.RecipeDataIndex;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveData;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataRecipesExtraField;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataRecipesSort;
@@ -74,9 +76,7 @@ public class RecipesViewModel extends BaseViewModel {
   private final FilterChipLiveDataRecipesExtraField filterChipLiveDataExtraField;
 
   private List<Recipe> recipes;
-  private List<RecipeFulfillment> recipeFulfillments;
-  private List<RecipePosition> recipePositions;
-  private List<Product> products;
+  private RecipeDataIndex recipeDataIndex;
   private List<QuantityUnit> quantityUnits;
   private List<QuantityUnitConversion> quantityUnitConversions;
 
@@ -115,9 +115,9 @@ public class RecipesViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       recipes = data.getRecipes();
-      recipeFulfillments = data.getRecipeFulfillments();
-      recipePositions = data.getRecipePositions();
-      products = data.getProducts();
+      recipeDataIndex = new RecipeDataIndex(
+          recipes, data.getRecipeFulfillments(), data.getRecipePositions(), data.getProducts()
+      );
       quantityUnits = data.getQuantityUnits();
       quantityUnitConversions = data.getQuantityUnitConversions();
 
@@ -186,7 +186,7 @@ public class RecipesViewModel extends BaseViewModel {
     int notEnoughInStockCount = 0;
 
     for (Recipe recipe : this.recipes) {
-      RecipeFulfillment recipeFulfillment = RecipeFulfillment.getRecipeFulfillmentFromRecipeId(recipeFulfillments, recipe.getId());
+      RecipeFulfillment recipeFulfillment = recipeDataIndex.getRecipeFulfillment(recipe.getId());
 
       if (recipeFulfillment != null) {
         if (recipeFulfillment.isNeedFulfilled()) {
@@ -233,10 +233,14 @@ public class RecipesViewModel extends BaseViewModel {
         SortUtil.sortRecipesByName(filteredRecipes, sortAscending);
         break;
       case SORT_CALORIES:
-        SortUtil.sortRecipesByCalories(filteredRecipes, recipeFulfillments, sortAscending);
+        SortUtil.sortRecipesByCalories(
+            filteredRecipes, recipeDataIndex.getRecipeFulfillmentHashMap(), sortAscending
+        );
         break;
       case SORT_DUE_SCORE:
-        SortUtil.sortRecipesByDueScore(filteredRecipes, recipeFulfillments, sortAscending);
+        SortUtil.sortRecipesByDueScore(
+            filteredRecipes, recipeDataIndex.getRecipeFulfillmentHashMap(), sortAscending
+        );
         break;
     }
 
@@ -290,16 +294,13 @@ public class RecipesViewModel extends BaseViewModel {
     );
   }
 
-  public ArrayList<RecipeFulfillment> getRecipeFulfillments() {
-    return new ArrayList<>(recipeFulfillments);
+  public HashMap<Integer, RecipeFulfillment> getRecipeFulfillmentHashMap() {
+    return recipeDataIndex != null
+        ? recipeDataIndex.getRecipeFulfillmentHashMap() : new HashMap<>();
   }
 
-  public ArrayList<RecipePosition> getRecipePositions() {
-    return new ArrayList<>(recipePositions);
-  }
-
-  public ArrayList<Product> getProducts() {
-    return new ArrayList<>(products);
+  public RecipeDataIndex getRecipeDataIndex() {
+    return recipeDataIndex;
   }
 
   public ArrayList<QuantityUnit> getQuantityUnits() {
@@ -22,6 +22,7 @@ package xyz.zedler.patrick.grocy.viewmodel;
 import android.app.Application;
 import android.content.SharedPreferences;
 import android.os.Bundle;
+import android.text.format.Formatter;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.MutableLiveData;
@@ -43,6 +44,7 @@ import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
+import xyz.zedler.patrick.grocy.database.EntityCache;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.BarcodeFormatsBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.CompatibilityBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.InputBottomSheet;
@@ -52,6 +54,8 @@ import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuantityUnitsBottomSh
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.ShoppingListsBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.ShortcutsBottomSheet;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.FrameTimeTracker;
+import xyz.zedler.patrick.grocy.helper.SyncScheduler;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.model.Location;
 import xyz.zedler.patrick.grocy.model.ProductGroup;
@@ -62,6 +66,8 @@ import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.ReminderUtil;
 import xyz.zedler.patrick.grocy.util.SortUtil;
 import xyz.zedler.patrick.grocy.util.VersionUtil;
+import xyz.zedler.patrick.grocy.web.ConditionalRequestCache;
+import xyz.zedler.patrick.grocy.web.SingleFlightRequests;
 
 public class SettingsViewModel extends BaseViewModel {
 
@@ -244,6 +250,52 @@ public class SettingsViewModel extends BaseViewModel {
         .putBoolean(Constants.SETTINGS.DEBUGGING.ENABLE_DEBUGGING, enabled).apply();
   }
 
+  public String getResponseCacheStats() {
+    ConditionalRequestCache cache = ConditionalRequestCache.getInstance(getApplication());
+    return getApplication().getString(
+        R.string.setting_response_cache_description,
+        cache.getHitCount(),
+        cache.getMissCount()
+    );
+  }
+
+  public String getSyncSchedulerStats() {
+    SyncScheduler syncScheduler = SyncScheduler.getInstance(getApplication());
+    return getApplication().getString(
+        R.string.setting_sync_checks_description,
+        syncScheduler.getChecksIssued(),
+        syncScheduler.getChecksCoalesced(),
+        Formatter.formatShortFileSize(getApplication(), syncScheduler.getBytesSaved())
+    );
+  }
+
+  public String getSingleFlightStats() {
+    int savedRequests = SingleFlightRequests.getInstance().getSavedRequests();
+    return getApplication().getResources().getQuantityString(
+        R.plurals.setting_shared_requests_description, savedRequests, savedRequests
+    );
+  }
+
+  public String getEntityCacheStats() {
+    EntityCache entityCache = EntityCache.getInstance(getApplication());
+    return getApplication().getString(
+        R.string.setting_entity_cache_description,
+        entityCache.getHitCount(),
+        entityCache.getMissCount()
+    );
+  }
+
+  public String getFrameTimeStats() {
+    FrameTimeTracker tracker = FrameTimeTracker.getInstance();
+    return getApplication().getString(
+        R.string.setting_frame_times_description,
+        tracker.getFrameCount(),
+        tracker.getSlowFrameCount(),
+        NumUtil.trimAmount(tracker.getAverageFrameMillis(), 1),
+        NumUtil.trimAmount(tracker.getMaxFrameMillis(), 1)
+    );
+  }
+
   public boolean getBeginnerModeEnabled() {
     return sharedPrefs.getBoolean(
         Constants.SETTINGS.BEHAVIOR.BEGINNER_MODE,
@@ -898,6 +950,49 @@ public class SettingsViewModel extends BaseViewModel {
     sharedPrefs.edit().putBoolean(Constants.SETTINGS.NETWORK.LOADING_CIRCLE, enabled).apply();
   }
 
+  // the request queue is rebuilt when the network settings are closed
+  public boolean getOkHttpEnabled() {
+    return sharedPrefs.getBoolean(NETWORK.OKHTTP, SETTINGS_DEFAULT.NETWORK.OKHTTP);
+  }
+
+  public void setOkHttpEnabled(boolean enabled) {
+    sharedPrefs.edit().putBoolean(NETWORK.OKHTTP, enabled).apply();
+  }
+
+  public void showThreadPoolSizeBottomSheet() {
+    Bundle bundle = new Bundle();
+    bundle.putInt(Constants.ARGUMENT.NUMBER, getThreadPoolSize());
+    bundle.putString(Constants.ARGUMENT.HINT, getString(R.string.setting_thread_pool_size));
+    bundle.putString(ARGUMENT.TYPE, NETWORK.THREAD_POOL_SIZE);
+    showBottomSheet(new InputBottomSheet(), bundle);
+  }
+
+  public int getThreadPoolSize() {
+    return sharedPrefs.getInt(NETWORK.THREAD_POOL_SIZE, SETTINGS_DEFAULT.NETWORK.THREAD_POOL_SIZE);
+  }
+
+  public void setThreadPoolSize(int size) {
+    sharedPrefs.edit().putInt(NETWORK.THREAD_POOL_SIZE, size).apply();
+  }
+
+  public void showMaxParallelRequestsBottomSheet() {
+    Bundle bundle = new Bundle();
+    bundle.putInt(Constants.ARGUMENT.NUMBER, getMaxParallelRequests());
+    bundle.putString(Constants.ARGUMENT.HINT, getString(R.string.setting_max_parallel_requests));
+    bundle.putString(ARGUMENT.TYPE, NETWORK.MAX_PARALLEL_REQUESTS);
+    showBottomSheet(new InputBottomSheet(), bundle);
+  }
+
+  public int getMaxParallelRequests() {
+    return sharedPrefs.getInt(
+        NETWORK.MAX_PARALLEL_REQUESTS, SETTINGS_DEFAULT.NETWORK.MAX_PARALLEL_REQUESTS
+    );
+  }
+
+  public void setMaxParallelRequests(int maxParallelRequests) {
+    sharedPrefs.edit().putInt(NETWORK.MAX_PARALLEL_REQUESTS, maxParallelRequests).apply();
+  }
+
   public MutableLiveData<Boolean> getNeedsRestartLive() {
     return needsRestartLive;
   }
@@ -39,6 +39,7 @@ import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.ShoppingListOutbox;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveData;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataShoppingListExtraField;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataShoppingListGrouping;
@@ -66,6 +67,7 @@ public class ShoppingListViewModel extends BaseViewModel {
 
   private final SharedPreferences sharedPrefs;
   private final DownloadHelper dlHelper;
+  private final ShoppingListOutbox outbox;
   private final GrocyApi grocyApi;
   private final ShoppingListRepository repository;
 
@@ -90,8 +92,6 @@ public class ShoppingListViewModel extends BaseViewModel {
   private HashMap<Integer, Store> storeHashMap;
   private ArrayList<Integer> missingProductIds;
 
-  private ArrayList<ShoppingListItem> itemsToSyncTemp;
-  private HashMap<Integer, ShoppingListItem> serverItemHashMapTemp;
 
   private NetworkQueue currentQueueLoading;
   private String searchInput;
@@ -111,6 +111,7 @@ public class ShoppingListViewModel extends BaseViewModel {
 
     isLoadingLive = new MutableLiveData<>(false);
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue);
+    outbox = new ShoppingListOutbox(getApplication(), dlHelper, debug);
     grocyApi = new GrocyApi(getApplication());
     repository = new ShoppingListRepository(application);
 
@@ -279,11 +280,7 @@ public class ShoppingListViewModel extends BaseViewModel {
     queue.append(
         dlHelper.updateShoppingListItems(
             dbChangedTime,
-            (shoppingListItems, itemsToSync, serverItemsHashMap) -> {
-              this.shoppingListItems = shoppingListItems;
-              this.itemsToSyncTemp = itemsToSync;
-              this.serverItemHashMapTemp = serverItemsHashMap;
-            }
+            shoppingListItems -> this.shoppingListItems = shoppingListItems
         ), dlHelper.updateShoppingLists(
             dbChangedTime, shoppingLists -> this.shoppingLists = shoppingLists
         ), dlHelper.updateProductGroups(
@@ -343,56 +340,22 @@ public class ShoppingListViewModel extends BaseViewModel {
   private void onQueueEmpty() {
     if (isOffline()) setOfflineLive(false);
 
-    if (itemsToSyncTemp == null || itemsToSyncTemp.isEmpty() || serverItemHashMapTemp == null) {
-      tidyUpItems(itemsChanged -> {
-        if (itemsChanged) {
-          downloadData();
-        } else {
-          fillShoppingListItemAmountsHashMap();
-          updateFilteredShoppingListItems();
-        }
-      });
-      return;
-    }
-    DownloadHelper.OnQueueEmptyListener emptyListener = () -> {
-      ArrayList<ShoppingListItem> itemsToUpdate = new ArrayList<>();
-      for (ShoppingListItem itemToSync : itemsToSyncTemp) {
-        int itemId = itemToSync.getId();
-        ShoppingListItem itemToUpdate = serverItemHashMapTemp.get(itemId);
-        if (itemToUpdate == null) {
-          continue;
-        }
-        itemToUpdate.setDone(itemToSync.getDoneInt());
-        itemsToUpdate.add(itemToUpdate);
-      }
-      repository.insertShoppingListItems(
-          () -> {
-            itemsToSyncTemp = null;
-            serverItemHashMapTemp = null;
-            showMessage(getString(R.string.msg_synced));
-            loadFromDatabase(true);
-          },
-          itemsToUpdate.toArray(new ShoppingListItem[0])
-      );
-    };
-    DownloadHelper.OnErrorListener errorListener = error -> {
-      showMessage(getString(R.string.msg_failed_to_sync));
-      downloadData();
-    };
-    NetworkQueue queue = dlHelper.newQueue(emptyListener, errorListener);
-    for (ShoppingListItem itemToSync : itemsToSyncTemp) {
-      JSONObject body = new JSONObject();
-      try {
-        body.put("done", itemToSync.getDoneInt());
-      } catch (JSONException e) {
-        if (debug) {
-          Log.e(TAG, "syncItems: " + e);
-        }
+    outbox.sync((syncedCount, failedCount) -> {
+      if (syncedCount == 0 && failedCount == 0) {
+        tidyUpItems(itemsChanged -> {
+          if (itemsChanged) {
+            downloadData();
+          } else {
+            fillShoppingListItemAmountsHashMap();
+            updateFilteredShoppingListItems();
+          }
+        });
+        return;
       }
-      queue.append(dlHelper.editShoppingListItem(itemToSync.getId(), body));
-    }
-    currentQueueLoading = queue;
-    queue.start();
+      // failed items stay pending in the database and are sent with the next sync
+      showMessage(getString(failedCount == 0 ? R.string.msg_synced : R.string.msg_failed_to_sync));
+      loadFromDatabase(false);
+    });
   }
 
   private void onDownloadError(@Nullable VolleyError error) {
@@ -504,9 +467,14 @@ public class ShoppingListViewModel extends BaseViewModel {
     dlHelper.editShoppingListItem(
         shoppingListItem.getId(),
         body,
-        response -> updateDoneStatus(shoppingListItem),
+        response -> {
+          shoppingListItem.setDoneSynced(-1);
+          updateDoneStatus(shoppingListItem);
+        },
         error -> {
-          showMessage(getString(R.string.error_undefined));
+          // keep the change as pending, it is sent again with the next sync
+          updateDoneStatus(shoppingListItem);
+          showMessage(getString(R.string.msg_failed_to_sync));
           if (debug) {
             Log.e(TAG, "toggleDoneStatus: " + error);
           }
@@ -848,6 +816,7 @@ public class ShoppingListViewModel extends BaseViewModel {
 
   @Override
   protected void onCleared() {
+    outbox.cancel();
     dlHelper.destroy();
     super.onCleared();
   }
@@ -36,7 +36,9 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
+import xyz.zedler.patrick.grocy.helper.DbChangedTimePoller;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.ShoppingListOutbox;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataShoppingListGrouping;
 import xyz.zedler.patrick.grocy.model.InfoFullscreen;
 import xyz.zedler.patrick.grocy.model.Product;
@@ -61,6 +63,8 @@ public class ShoppingModeViewModel extends BaseViewModel {
 
   private final SharedPreferences sharedPrefs;
   private final DownloadHelper dlHelper;
+  private final ShoppingListOutbox outbox;
+  private final DbChangedTimePoller changePoller;
   private final GrocyApi grocyApi;
   private final ShoppingListRepository repository;
 
@@ -81,9 +85,6 @@ public class ShoppingModeViewModel extends BaseViewModel {
   private HashMap<Integer, String> productNamesHashMap;
   private ArrayList<Integer> missingProductIds;
 
-  private ArrayList<ShoppingListItem> itemsToSyncTemp;
-  private HashMap<Integer, ShoppingListItem> serverItemHashMapTemp;
-
   private NetworkQueue currentQueueLoading;
   private final boolean debug;
 
@@ -95,6 +96,10 @@ public class ShoppingModeViewModel extends BaseViewModel {
 
     isLoadingLive = new MutableLiveData<>(false);
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue);
+    outbox = new ShoppingListOutbox(getApplication(), dlHelper, debug);
+    changePoller = new DbChangedTimePoller(
+        dlHelper, time -> downloadData(time, false), debug
+    );
     grocyApi = new GrocyApi(getApplication());
     repository = new ShoppingListRepository(application);
 
@@ -179,16 +184,13 @@ public class ShoppingModeViewModel extends BaseViewModel {
       );
       return;
     }
+    changePoller.setLastChangedTime(dbChangedTime);
 
     NetworkQueue queue = dlHelper.newQueue(this::onQueueEmpty, this::onDownloadError);
     queue.append(
         dlHelper.updateShoppingListItems(
             dbChangedTime,
-            (shoppingListItems, itemsToSync, serverItemsHashMap) -> {
-              this.shoppingListItems = shoppingListItems;
-              this.itemsToSyncTemp = itemsToSync;
-              this.serverItemHashMapTemp = serverItemsHashMap;
-            }
+            shoppingListItems -> this.shoppingListItems = shoppingListItems
         ), dlHelper.updateShoppingLists(
             dbChangedTime, shoppingLists -> this.shoppingLists = shoppingLists
         ), dlHelper.updateProductGroups(
@@ -239,53 +241,28 @@ public class ShoppingModeViewModel extends BaseViewModel {
     downloadData(null, true);
   }
 
+  // changes on the server are downloaded as soon as they are noticed
+  public void startChangePoller(int maxIntervalSeconds) {
+    changePoller.start(maxIntervalSeconds);
+  }
+
+  public void stopChangePoller() {
+    changePoller.stop();
+  }
+
   private void onQueueEmpty() {
     if (isOffline()) setOfflineLive(false);
 
-    if (itemsToSyncTemp == null || itemsToSyncTemp.isEmpty() || serverItemHashMapTemp == null) {
-      fillShoppingListItemAmountsHashMap();
-      updateFilteredShoppingListItems();
-      return;
-    }
-    DownloadHelper.OnQueueEmptyListener emptyListener = () -> {
-      ArrayList<ShoppingListItem> itemsToUpdate = new ArrayList<>();
-      for (ShoppingListItem itemToSync : itemsToSyncTemp) {
-        int itemId = itemToSync.getId();
-        ShoppingListItem itemToUpdate = serverItemHashMapTemp.get(itemId);
-        if (itemToUpdate == null) {
-          continue;
-        }
-        itemToUpdate.setDone(itemToSync.getDoneInt());
-        itemsToUpdate.add(itemToUpdate);
+    outbox.sync((syncedCount, failedCount) -> {
+      if (syncedCount == 0 && failedCount == 0) {
+        fillShoppingListItemAmountsHashMap();
+        updateFilteredShoppingListItems();
+        return;
       }
-      repository.insertShoppingListItems(
-          () -> {
-            itemsToSyncTemp = null;
-            serverItemHashMapTemp = null;
-            showMessage(getString(R.string.msg_synced));
-            loadFromDatabase(true);
-          },
-          itemsToUpdate.toArray(new ShoppingListItem[0])
-      );
-    };
-    DownloadHelper.OnErrorListener errorListener = error -> {
-      showMessage(getString(R.string.msg_failed_to_sync));
-      downloadData();
-    };
-    NetworkQueue queue = dlHelper.newQueue(emptyListener, errorListener);
-    for (ShoppingListItem itemToSync : itemsToSyncTemp) {
-      JSONObject body = new JSONObject();
-      try {
-        body.put("done", itemToSync.getDoneInt());
-      } catch (JSONException e) {
-        if (debug) {
-          Log.e(TAG, "syncItems: " + e);
-        }
-      }
-      queue.append(dlHelper.editShoppingListItem(itemToSync.getId(), body));
-    }
-    currentQueueLoading = queue;
-    queue.start();
+      // failed items stay pending in the database and are sent with the next sync
+      showMessage(getString(failedCount == 0 ? R.string.msg_synced : R.string.msg_failed_to_sync));
+      loadFromDatabase(false);
+    });
   }
 
   private void onDownloadError(@Nullable VolleyError error) {
@@ -342,9 +319,15 @@ public class ShoppingModeViewModel extends BaseViewModel {
     dlHelper.editShoppingListItem(
         shoppingListItem.getId(),
         body,
-        response -> updateDoneStatus(shoppingListItem),
+        response -> {
+          shoppingListItem.setDoneSynced(-1);
+          updateDoneStatus(shoppingListItem);
+          changePoller.onLocalChange();
+        },
         error -> {
-          showMessage(getString(R.string.error_undefined));
+          // keep the change as pending, it is sent again with the next sync
+          updateDoneStatus(shoppingListItem);
+          showMessage(getString(R.string.msg_failed_to_sync));
           if (debug) {
             Log.e(TAG, "toggleDoneStatus: " + error);
           }
@@ -501,6 +484,8 @@ public class ShoppingModeViewModel extends BaseViewModel {
 
   @Override
   protected void onCleared() {
+    outbox.cancel();
+    changePoller.stop();
     dlHelper.destroy();
     super.onCleared();
   }
@@ -42,7 +42,8 @@ import xyz.zedler.patrick.grocy.model.QuantityUnit;
 import xyz.zedler.patrick.grocy.model.SnackbarMessage;
 import xyz.zedler.patrick.grocy.model.StockLogEntry;
 import xyz.zedler.patrick.grocy.model.User;
-import xyz.zedler.patrick.grocy.repository.StockEntriesRepository;
+import xyz.zedler.patrick.grocy.repository.StockJournalRepository;
+import xyz.zedler.patrick.grocy.repository.StockJournalRepository.StockLogFilter;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
 import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
@@ -55,12 +56,13 @@ public class StockJournalViewModel extends BaseViewModel {
   private final SharedPreferences sharedPrefs;
   private final DownloadHelper dlHelper;
   private final GrocyApi grocyApi;
-  private final StockEntriesRepository repository;
+  private final StockJournalRepository repository;
 
   private final MutableLiveData<Boolean> isLoadingLive;
   private final MutableLiveData<InfoFullscreen> infoFullscreenLive;
   private final MutableLiveData<Boolean> offlineLive;
   private final MutableLiveData<ArrayList<StockLogEntry>> filteredStockLogEntriesLive;
+  private final MutableLiveData<List<StockLogEntry>> updatedStockLogEntriesLive;
 
   private List<StockLogEntry> stockLogEntries;
   private HashMap<Integer, Product> productHashMap;
@@ -69,10 +71,16 @@ public class StockJournalViewModel extends BaseViewModel {
   private HashMap<Integer, User> userHashMap;
 
   private String searchInput;
+  private StockLogFilter filter;
   private final boolean debug;
 
   private int currentPage = 0;
   private boolean isLastPage = false;
+  private boolean isPageLoading = false;
+  private boolean isPrefetching = false;
+  private boolean isNewestPageValidated = false;
+
+  private final static int PAGE_SIZE = 20;
 
   public StockJournalViewModel(@NonNull Application application) {
     super(application);
@@ -83,11 +91,12 @@ public class StockJournalViewModel extends BaseViewModel {
     isLoadingLive = new MutableLiveData<>(false);
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue);
     grocyApi = new GrocyApi(getApplication());
-    repository = new StockEntriesRepository(application);
+    repository = new StockJournalRepository(application);
 
     infoFullscreenLive = new MutableLiveData<>();
     offlineLive = new MutableLiveData<>(false);
     filteredStockLogEntriesLive = new MutableLiveData<>();
+    updatedStockLogEntriesLive = new MutableLiveData<>();
   }
 
   public void loadFromDatabase(boolean downloadAfterLoading) {
@@ -98,16 +107,14 @@ public class StockJournalViewModel extends BaseViewModel {
       locationHashMap = ArrayUtil.getLocationsHashMap(data.getLocations());
       userHashMap = ArrayUtil.getUsersHashMap(data.getUsers());
 
+      updateFilter();
+      if (stockLogEntries == null) {
+        loadFirstPage();  // cached entries are shown instantly, the newest page is revalidated
+      }
       if (downloadAfterLoading) {
         downloadData(false);
       } else {
-        NetworkQueue queue = dlHelper.newQueue(this::updateFilteredStockLogEntries, this::onDownloadError);
-        queue.append(dlHelper.getStockLogEntries(
-            20,
-            0,
-            entries -> this.stockLogEntries = entries
-        ));
-        queue.start();
+        revalidateNewestPage();
       }
     });
   }
@@ -147,18 +154,153 @@ public class StockJournalViewModel extends BaseViewModel {
     if (!isOffline()) setOfflineLive(true);
   }
 
-  public void loadNextPage(DownloadHelper.OnStockLogEntriesResponseListener responseListener) {
+  private void loadFirstPage() {
+    repository.loadStockLogEntries(filter, PAGE_SIZE, 0, entries -> {
+      if (entries.isEmpty() && filter == null && !isNewestPageValidated && !isOffline()) {
+        return;  // nothing cached yet, wait for the download instead of showing empty info
+      }
+      this.stockLogEntries = entries;
+      updateFilteredStockLogEntries();
+    });
+  }
+
+  private void revalidateNewestPage() {
+    if (isOffline()) {
+      return;
+    }
     NetworkQueue queue = dlHelper.newQueue(() -> {
       if (isOffline()) setOfflineLive(false);
     }, this::onDownloadError);
     queue.append(dlHelper.getStockLogEntries(
-        20,
-        currentPage*20,
-        responseListener
+        PAGE_SIZE,
+        0,
+        entries -> repository.storeStockLogEntries(entries, true, () -> {
+          isNewestPageValidated = true;
+          if (filter == null && !isSamePage(stockLogEntries, entries)) {
+            loadFirstPage();
+          }
+        })
     ));
     queue.start();
   }
 
+  // downloads a page which is already displayed again and updates the rows which have changed
+  private void revalidatePage(int page, @Nullable List<StockLogEntry> displayedEntries) {
+    if (isOffline()) {
+      return;
+    }
+    dlHelper.getStockLogEntries(
+        PAGE_SIZE,
+        page * PAGE_SIZE,
+        -1,
+        downloaded -> repository.storeStockLogEntries(downloaded, page == 0, () -> {
+          if (!isSamePage(displayedEntries, downloaded)) {
+            updatedStockLogEntriesLive.setValue(downloaded);
+          }
+        }),
+        null
+    ).perform(dlHelper.getUuid());
+  }
+
+  // only replace the displayed rows if the page has changed
+  private boolean isSamePage(
+      @Nullable List<StockLogEntry> cachedEntries,
+      List<StockLogEntry> downloadedEntries
+  ) {
+    if (cachedEntries == null || cachedEntries.size() != downloadedEntries.size()) {
+      return false;
+    }
+    for (int i = 0; i < downloadedEntries.size(); i++) {
+      StockLogEntry cached = cachedEntries.get(i);
+      StockLogEntry downloaded = downloadedEntries.get(i);
+      if (cached.getId() != downloaded.getId()
+          || cached.getUndoneBoolean() != downloaded.getUndoneBoolean()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public void loadNextPage(DownloadHelper.OnStockLogEntriesResponseListener responseListener) {
+    int page = currentPage;
+    isPageLoading = true;
+    repository.loadStockLogEntries(filter, PAGE_SIZE, page * PAGE_SIZE, entries -> {
+      if (entries.size() == PAGE_SIZE || filter != null || isOffline()) {
+        isPageLoading = false;
+        responseListener.onResponse(new ArrayList<>(entries));
+        if (entries.size() == PAGE_SIZE && filter == null) {
+          revalidatePage(page, entries);  // cached rows could be outdated, e.g. undone
+          prefetchPage(page + 1);
+        }
+        return;
+      }
+      NetworkQueue queue = dlHelper.newQueue(() -> {
+        if (isOffline()) setOfflineLive(false);
+      }, error -> {
+        isPageLoading = false;
+        onDownloadError(error);
+      });
+      queue.append(dlHelper.getStockLogEntries(
+          PAGE_SIZE,
+          page * PAGE_SIZE,
+          downloaded -> repository.storeStockLogEntries(downloaded, false, () ->
+              repository.loadStockLogEntries(null, PAGE_SIZE, page * PAGE_SIZE, stored -> {
+                isPageLoading = false;
+                responseListener.onResponse(new ArrayList<>(stored));
+              })
+          )
+      ));
+      queue.start();
+    });
+  }
+
+  // downloads the page after the displayed one in the background if it is not cached yet
+  private void prefetchPage(int page) {
+    if (isOffline() || isPrefetching) {
+      return;
+    }
+    isPrefetching = true;
+    repository.loadStockLogEntries(null, PAGE_SIZE, page * PAGE_SIZE, entries -> {
+      if (entries.size() == PAGE_SIZE) {
+        isPrefetching = false;
+        return;
+      }
+      dlHelper.getStockLogEntries(
+          PAGE_SIZE,
+          page * PAGE_SIZE,
+          -1,
+          downloaded -> repository.storeStockLogEntries(
+              downloaded, false, () -> isPrefetching = false
+          ),
+          error -> isPrefetching = false
+      ).perform(dlHelper.getUuid());
+    });
+  }
+
+  private void updateFilter() {
+    if (searchInput == null || searchInput.isEmpty() || productHashMap == null) {
+      filter = null;
+      return;
+    }
+    filter = new StockLogFilter();
+    for (Product product : productHashMap.values()) {
+      if (product.getName() != null && product.getName().toLowerCase().contains(searchInput)) {
+        filter.addProductId(product.getId());
+      }
+    }
+    for (Location location : locationHashMap.values()) {
+      if (location.getName() != null && location.getName().toLowerCase().contains(searchInput)) {
+        filter.addLocationId(location.getId());
+      }
+    }
+    for (User user : userHashMap.values()) {
+      if (user.getDisplayName() != null
+          && user.getDisplayName().toLowerCase().contains(searchInput)) {
+        filter.addUserId(user.getId());
+      }
+    }
+  }
+
   public void updateFilteredStockLogEntries() {
     if (this.stockLogEntries == null) return;
     ArrayList<StockLogEntry> filteredStockLogEntries = new ArrayList<>(this.stockLogEntries);
@@ -182,7 +324,12 @@ public class StockJournalViewModel extends BaseViewModel {
     dlHelper.post(
         grocyApi.undoStockTransaction(entry.getTransactionId()),
         response -> {
-          downloadData(false);
+          downloadData(false);  // also revalidates the newest page
+          repository.loadStockLogEntryOffset(entry, offset -> {
+            if (offset >= PAGE_SIZE) {
+              revalidatePage(offset / PAGE_SIZE, null);
+            }
+          });
           showSnackbar(new SnackbarMessage(
               getString(R.string.msg_undone_transaction),
               Snackbar.LENGTH_SHORT
@@ -195,9 +342,18 @@ public class StockJournalViewModel extends BaseViewModel {
     );
   }
 
+  public MutableLiveData<List<StockLogEntry>> getUpdatedStockLogEntriesLive() {
+    return updatedStockLogEntriesLive;
+  }
+
   public void resetSearch() {
+    boolean wasFiltered = filter != null;
     searchInput = null;
+    filter = null;
     setIsSearchVisible(false);
+    if (wasFiltered) {
+      loadFirstPage();
+    }
   }
 
   public MutableLiveData<ArrayList<StockLogEntry>> getFilteredStockLogEntriesLive() {
@@ -207,7 +363,8 @@ public class StockJournalViewModel extends BaseViewModel {
   public void updateSearchInput(String input) {
     this.searchInput = input.toLowerCase();
 
-    updateFilteredStockLogEntries();
+    updateFilter();
+    loadFirstPage();
   }
 
   public HashMap<Integer, Product> getProductHashMap() {
@@ -230,6 +387,10 @@ public class StockJournalViewModel extends BaseViewModel {
     return isLastPage;
   }
 
+  public boolean isPageLoading() {
+    return isPageLoading;
+  }
+
   public void setLastPage(boolean lastPage) {
     isLastPage = lastPage;
   }
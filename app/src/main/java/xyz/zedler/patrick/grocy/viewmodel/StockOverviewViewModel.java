@@ -30,17 +30,21 @@ import androidx.lifecycle.ViewModelProvider;
 import androidx.preference.PreferenceManager;
 import com.android.volley.VolleyError;
 import com.google.android.material.snackbar.Snackbar;
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import me.xdrop.fuzzywuzzy.FuzzySearch;
-import me.xdrop.fuzzywuzzy.model.BoundExtractedResult;
 import org.json.JSONException;
 import org.json.JSONObject;
 import xyz.zedler.patrick.grocy.R;
 import xyz.zedler.patrick.grocy.api.GrocyApi;
 import xyz.zedler.patrick.grocy.fragment.StockOverviewFragmentArgs;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
+import xyz.zedler.patrick.grocy.helper.FuzzySearchIndex;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveData;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataLocation;
 import xyz.zedler.patrick.grocy.model.FilterChipLiveDataProductGroup;
@@ -54,6 +58,7 @@ import xyz.zedler.patrick.grocy.model.MissingItem;
 import xyz.zedler.patrick.grocy.model.Product;
 import xyz.zedler.patrick.grocy.model.ProductAveragePrice;
 import xyz.zedler.patrick.grocy.model.ProductBarcode;
+import xyz.zedler.patrick.grocy.model.ProductDetails;
 import xyz.zedler.patrick.grocy.model.ProductGroup;
 import xyz.zedler.patrick.grocy.model.ProductLastPurchased;
 import xyz.zedler.patrick.grocy.model.QuantityUnit;
@@ -64,6 +69,7 @@ import xyz.zedler.patrick.grocy.model.StockLocation;
 import xyz.zedler.patrick.grocy.model.VolatileItem;
 import xyz.zedler.patrick.grocy.repository.StockOverviewRepository;
 import xyz.zedler.patrick.grocy.util.ArrayUtil;
+import xyz.zedler.patrick.grocy.util.DateUtil;
 import xyz.zedler.patrick.grocy.Constants;
 import xyz.zedler.patrick.grocy.Constants.PREF;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.STOCK;
@@ -73,16 +79,19 @@ import xyz.zedler.patrick.grocy.util.GrocycodeUtil.Grocycode;
 import xyz.zedler.patrick.grocy.util.NumUtil;
 import xyz.zedler.patrick.grocy.util.PluralUtil;
 import xyz.zedler.patrick.grocy.util.PrefsUtil;
+import xyz.zedler.patrick.grocy.web.NetworkQueue;
 
 public class StockOverviewViewModel extends BaseViewModel {
 
   private final static String TAG = ShoppingListViewModel.class.getSimpleName();
+  private final static long SEARCH_DEBOUNCE_MILLIS = 150;
 
   private final SharedPreferences sharedPrefs;
   private final DownloadHelper dlHelper;
   private final GrocyApi grocyApi;
   private final StockOverviewRepository repository;
   private final PluralUtil pluralUtil;
+  private final FuzzySearchIndex<Product> productSearchIndex;
 
   private final MutableLiveData<Boolean> isLoadingLive;
   private final MutableLiveData<InfoFullscreen> infoFullscreenLive;
@@ -109,12 +118,20 @@ public class StockOverviewViewModel extends BaseViewModel {
   private HashMap<Integer, MissingItem> productIdsMissingItems;
   private HashMap<Integer, Location> locationHashMap;
   private HashMap<Integer, HashMap<Integer, StockLocation>> stockLocationsHashMap;
+  private HashMap<Integer, StockItem> stockItemHashMap;
+  private int itemsDueCount;
+  private int itemsOverdueCount;
+  private int itemsExpiredCount;
+  private int itemsMissingCount;
+  private int itemsInStockCount;
+  private int itemsOpenedCount;
 
   private String searchInput;
   private ArrayList<String> searchResultsFuzzy;
   private final boolean debug;
   private final int maxDecimalPlacesAmount;
   private boolean alreadyLoadedFromDatabase;
+  private Disposable filterDisposable;
 
   public StockOverviewViewModel(@NonNull Application application, StockOverviewFragmentArgs args) {
     super(application);
@@ -132,6 +149,7 @@ public class StockOverviewViewModel extends BaseViewModel {
     grocyApi = new GrocyApi(getApplication());
     repository = new StockOverviewRepository(application);
     pluralUtil = new PluralUtil(application);
+    productSearchIndex = new FuzzySearchIndex<>(Product::getName);
 
     infoFullscreenLive = new MutableLiveData<>();
     offlineLive = new MutableLiveData<>(false);
@@ -172,6 +190,7 @@ public class StockOverviewViewModel extends BaseViewModel {
 
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
+      long startTime = debug ? System.currentTimeMillis() : 0;
       quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
       productGroupHashMap = ArrayUtil.getProductGroupsHashMap(data.getProductGroups());
       filterChipLiveDataProductGroup.setProductGroups(data.getProductGroups());
@@ -184,10 +203,10 @@ public class StockOverviewViewModel extends BaseViewModel {
       productBarcodeHashMap = ArrayUtil.getProductBarcodesHashMap(data.getProductBarcodes());
       this.stockItems = data.getStockItems();
 
-      int itemsDueCount = 0;
-      int itemsOverdueCount = 0;
-      int itemsExpiredCount = 0;
-      HashMap<Integer, StockItem> stockItemHashMap = ArrayUtil.getStockItemHashMap(stockItems);
+      itemsDueCount = 0;
+      itemsOverdueCount = 0;
+      itemsExpiredCount = 0;
+      stockItemHashMap = ArrayUtil.getStockItemHashMap(stockItems);
       for (VolatileItem volatileItem : data.getVolatileItems()) {
         StockItem stockItem = stockItemHashMap.get(volatileItem.getProductId());
         if (stockItem == null) continue;
@@ -204,7 +223,7 @@ public class StockOverviewViewModel extends BaseViewModel {
           itemsExpiredCount++;
         }
       }
-      int itemsMissingCount = 0;
+      itemsMissingCount = 0;
       productIdsMissingItems = new HashMap<>();
       for (MissingItem missingItem : data.getMissingItems()) {
         itemsMissingCount++;
@@ -213,13 +232,14 @@ public class StockOverviewViewModel extends BaseViewModel {
         if (stockItem == null && !missingItem.getIsPartlyInStockBoolean()) {
           StockItem stockItemMissing = new StockItem(missingItem);
           stockItems.add(stockItemMissing);
+          stockItemHashMap.put(stockItemMissing.getProductId(), stockItemMissing);
         } else if (stockItem != null) {
           stockItem.setItemMissing(true);
           stockItem.setItemMissingAndPartlyInStock(missingItem.getIsPartlyInStockBoolean());
         }
       }
-      int itemsInStockCount = 0;
-      int itemsOpenedCount = 0;
+      itemsInStockCount = 0;
+      itemsOpenedCount = 0;
       for (StockItem stockItem : stockItems) {
         stockItem.setProduct(productHashMap.get(stockItem.getProductId()));
         if (!stockItem.isItemMissing() || stockItem.isItemMissingAndPartlyInStock()) {
@@ -251,16 +271,12 @@ public class StockOverviewViewModel extends BaseViewModel {
         locationsForProductId.put(stockLocation.getLocationId(), stockLocation);
       }
 
-      filterChipLiveDataStatus
-          .setNotFreshCount(itemsDueCount+itemsOverdueCount+itemsExpiredCount)
-          .setDueSoonCount(itemsDueCount)
-          .setOverdueCount(itemsOverdueCount)
-          .setExpiredCount(itemsExpiredCount)
-          .setBelowStockCount(itemsMissingCount)
-          .setInStockCount(itemsInStockCount)
-          .setOpenedCount(itemsOpenedCount)
-          .emitCounts();
+      emitStatusCounts();
       updateFilteredStockItems();
+      if (debug) {  // to compare with the patch of a single product in applyProductDetails
+        Log.i(TAG, "loadFromDatabase: prepared " + stockItems.size() + " stock items in "
+            + (System.currentTimeMillis() - startTime) + " ms");
+      }
       alreadyLoadedFromDatabase = true;
       if (downloadAfterLoading) {
         downloadData(false);
@@ -268,6 +284,18 @@ public class StockOverviewViewModel extends BaseViewModel {
     });
   }
 
+  private void emitStatusCounts() {
+    filterChipLiveDataStatus
+        .setNotFreshCount(itemsDueCount+itemsOverdueCount+itemsExpiredCount)
+        .setDueSoonCount(itemsDueCount)
+        .setOverdueCount(itemsOverdueCount)
+        .setExpiredCount(itemsExpiredCount)
+        .setBelowStockCount(itemsMissingCount)
+        .setInStockCount(itemsInStockCount)
+        .setOpenedCount(itemsOpenedCount)
+        .emitCounts();
+  }
+
   public void downloadData(boolean skipOfflineCheck) {
     if (!skipOfflineCheck && isOffline()) { // skip downloading and update recyclerview
       isLoadingLive.setValue(false);
@@ -323,95 +351,62 @@ public class StockOverviewViewModel extends BaseViewModel {
   }
 
   public void updateFilteredStockItems() {
-    ArrayList<StockItem> filteredStockItems = new ArrayList<>();
-
-    Product productSearch = null;
-    ProductBarcode productBarcodeSearch = null;
-    if (searchInput != null && !searchInput.isEmpty()) {
-      Grocycode grocycode = GrocycodeUtil.getGrocycode(searchInput);
-      if (grocycode != null && grocycode.isProduct()) {
-        productSearch = productHashMap.get(grocycode.getObjectId());
-      }
-      if (productSearch == null) {
-        productBarcodeSearch = productBarcodeHashMap.get(searchInput);
-      }
+    if (stockItems == null) return;
+    if (filterDisposable != null) {
+      filterDisposable.dispose(); // results of stale filter or search input are not needed
     }
+    List<StockItem> stockItems = this.stockItems;
+    StockItemFilter filter = createStockItemFilter();
+
+    filterDisposable = Single.fromCallable(() -> filterStockItems(stockItems, filter))
+        .subscribeOn(Schedulers.computation())
+        .observeOn(AndroidSchedulers.mainThread())
+        .subscribe(this::onStockItemsFiltered, throwable -> {
+          if (debug) Log.e(TAG, "updateFilteredStockItems: " + throwable);
+        });
+  }
 
-    for (StockItem item : this.stockItems) {
-      if (item.getProduct() == null) {
-        // invalidate products and stock items offline cache because products may have changed
-        SharedPreferences.Editor editPrefs = sharedPrefs.edit();
-        editPrefs.putString(PREF.DB_LAST_TIME_PRODUCTS, null);
-        editPrefs.putString(PREF.DB_LAST_TIME_STOCK_ITEMS, null);
-        editPrefs.apply();
-        continue;
-      }
-
-      if (item.getProduct().getHideOnStockOverviewBoolean()) {
-        continue;
-      }
-
-      boolean searchContainsItem = true;
-      if (searchInput != null && !searchInput.isEmpty()) {
-        String productName = item.getProduct().getName().toLowerCase();
-        searchContainsItem = productName.contains(searchInput);
-        if (!searchContainsItem) {
-          searchContainsItem = searchResultsFuzzy.contains(productName);
-        }
-      }
-      if (!searchContainsItem && productSearch == null && productBarcodeSearch == null) {
-        continue;
-      }
-      if (!searchContainsItem && productSearch == null
-          && productBarcodeSearch.getProductIdInt() != item.getProductId()) {
-        continue;
-      }
-      if (productSearch != null && productSearch.getId() != item.getProductId()) {
-        continue;
-      }
+  private StockItemFilter createStockItemFilter() {
+    return new StockItemFilter(
+        searchInput,
+        searchResultsFuzzy,
+        productHashMap,
+        productBarcodeHashMap,
+        productIdsMissingItems,
+        stockLocationsHashMap,
+        filterChipLiveDataStatus.getStatus(),
+        filterChipLiveDataProductGroup.getSelectedId(),
+        filterChipLiveDataLocation.getSelectedId()
+    );
+  }
 
-      int productGroupFilterId = filterChipLiveDataProductGroup.getSelectedId();
-      if (productGroupFilterId != FilterChipLiveDataProductGroup.NO_FILTER
-          && NumUtil.isStringInt(item.getProduct().getProductGroupId())
-          && productGroupFilterId != Integer.parseInt(item.getProduct().getProductGroupId())
-          || productGroupFilterId != FilterChipLiveDataProductGroup.NO_FILTER
-          && !NumUtil.isStringInt(item.getProduct().getProductGroupId())
-      ) {
+  private ArrayList<StockItem> filterStockItems(
+      List<StockItem> stockItems,
+      StockItemFilter filter
+  ) {
+    ArrayList<StockItem> filteredStockItems = new ArrayList<>();
+    boolean productsMissing = false;
+    for (StockItem item : stockItems) {
+      if (item.getProduct() == null) {
+        productsMissing = true;
         continue;
       }
-      int locationFilterId = filterChipLiveDataLocation.getSelectedId();
-      if (locationFilterId != FilterChipLiveDataLocation.NO_FILTER) {
-        HashMap<Integer, StockLocation> stockLocationsForProductId
-            = stockLocationsHashMap.get(item.getProductId());
-        if (stockLocationsForProductId == null
-            || !stockLocationsForProductId.containsKey(locationFilterId)
-        ) {
-          continue;
-        }
-      }
-
-      MissingItem missingItem = productIdsMissingItems.get(item.getProductId());
-      boolean hasOwnStock = !item.getProduct().getNoOwnStockBoolean();
-      if (filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStockStatus.STATUS_ALL
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStockStatus.STATUS_NOT_FRESH
-          && (item.isItemDue() || item.isItemOverdue() || item.isItemExpired()) && hasOwnStock
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStockStatus.STATUS_DUE_SOON
-          && item.isItemDue() && hasOwnStock
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStockStatus.STATUS_OVERDUE
-          && item.isItemOverdue() && hasOwnStock
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStockStatus.STATUS_EXPIRED
-          && item.isItemExpired() && hasOwnStock
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStockStatus.STATUS_BELOW_MIN
-          && missingItem != null
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStockStatus.STATUS_IN_STOCK
-          && (missingItem == null || missingItem.getIsPartlyInStockBoolean())
-          || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataStockStatus.STATUS_OPENED
-          && item.getAmountOpenedDouble() > 0
-      ) {
+      if (filter.matches(item)) {
         filteredStockItems.add(item);
       }
     }
 
+    if (productsMissing) {
+      // invalidate products and stock items offline cache because products may have changed
+      SharedPreferences.Editor editPrefs = sharedPrefs.edit();
+      editPrefs.putString(PREF.DB_LAST_TIME_PRODUCTS, null);
+      editPrefs.putString(PREF.DB_LAST_TIME_STOCK_ITEMS, null);
+      editPrefs.apply();
+    }
+    return filteredStockItems;
+  }
+
+  private void onStockItemsFiltered(ArrayList<StockItem> filteredStockItems) {
     if (filteredStockItems.isEmpty()) {
       InfoFullscreen info;
       if (searchInput != null && !searchInput.isEmpty()) {
@@ -504,7 +499,7 @@ public class StockOverviewViewModel extends BaseViewModel {
             snackbarMsg.setAction(getString(R.string.action_undo), v -> dlHelper.post(
                 grocyApi.undoStockTransaction(finalTransactionId),
                 response1 -> {
-                  downloadData();
+                  updateStockItem(stockItem.getProductId());
                   showSnackbar(new SnackbarMessage(
                       getString(R.string.msg_undone_transaction),
                       Snackbar.LENGTH_SHORT
@@ -516,7 +511,7 @@ public class StockOverviewViewModel extends BaseViewModel {
                 this::showNetworkErrorMessage
             ));
           }
-          downloadData();
+          updateStockItem(stockItem.getProductId());
           showSnackbar(snackbarMsg);
           if (debug) {
             Log.i(
@@ -578,7 +573,7 @@ public class StockOverviewViewModel extends BaseViewModel {
             snackbarMsg.setAction(getString(R.string.action_undo), v -> dlHelper.post(
                 grocyApi.undoStockTransaction(finalTransactionId),
                 response1 -> {
-                  downloadData();
+                  updateStockItem(stockItem.getProductId());
                   showSnackbar(new SnackbarMessage(
                       getString(R.string.msg_undone_transaction),
                       Snackbar.LENGTH_SHORT
@@ -590,7 +585,7 @@ public class StockOverviewViewModel extends BaseViewModel {
                 this::showNetworkErrorMessage
             ));
           }
-          downloadData();
+          updateStockItem(stockItem.getProductId());
           showSnackbar(snackbarMsg);
           if (debug) {
             Log.i(
@@ -607,7 +602,204 @@ public class StockOverviewViewModel extends BaseViewModel {
     );
   }
 
+  /*
+   * After a transaction of a single product only that product and its parent product are
+   * downloaded and patched into the loaded state. This avoids the full synchronization and
+   * reload of all tables, the maps and the due/missing annotation of every stock item.
+   */
+  private void updateStockItem(int productId) {
+    if (stockItems == null || isOffline()) {
+      downloadData();
+      return;
+    }
+    ProductDetails[] productDetails = new ProductDetails[1];
+    ArrayList<StockLocation> stockLocations = new ArrayList<>();
+    NetworkQueue queue = dlHelper.newQueue(() -> {
+      if (productDetails[0] == null) {
+        return;
+      }
+      applyProductDetails(productId, productDetails[0], stockLocations);
+      // the aggregated amounts of the parent product include this sub product
+      String parentProductId = productDetails[0].getProduct().getParentProductId();
+      if (NumUtil.isStringInt(parentProductId)) {
+        updateStockItem(Integer.parseInt(parentProductId));
+      }
+    }, error -> downloadData());
+    queue.append(
+        dlHelper.getProductDetails(productId, details -> productDetails[0] = details),
+        dlHelper.getStockLocations(productId, stockLocations::addAll)
+    );
+    queue.start();
+  }
+
+  private void applyProductDetails(
+      int productId,
+      ProductDetails productDetails,
+      List<StockLocation> stockLocations
+  ) {
+    long startTime = debug ? System.currentTimeMillis() : 0;
+    Product product = productHashMap.get(productId);
+    if (product == null) {
+      product = productDetails.getProduct();
+    }
+
+    StockItem oldItem = stockItemHashMap.get(productId);
+    MissingItem oldMissingItem = productIdsMissingItems.get(productId);
+    if (oldItem != null) {
+      countStockItem(oldItem, -1);
+    } else if (oldMissingItem != null) {
+      itemsMissingCount--;
+    }
+
+    // new instances, because the adapter compares the old and new items
+    StockItem newItem = new StockItem(productDetails);
+    MissingItem missingItem = getMissingItem(product, newItem);
+    if (newItem.getAmountDouble() > 0) {
+      if (!product.getNoOwnStockBoolean()) {
+        setDueStatus(newItem);
+      }
+      repository.storeProductState(
+          productId, new StockItem(productDetails), getVolatileItem(newItem), missingItem
+      );
+    } else {
+      newItem = missingItem != null ? new StockItem(missingItem) : null;
+      repository.storeProductState(productId, null, null, missingItem);
+    }
+    if (newItem != null) {
+      newItem.setProduct(product);
+      newItem.setItemMissing(missingItem != null);
+      newItem.setItemMissingAndPartlyInStock(
+          missingItem != null && missingItem.getIsPartlyInStockBoolean()
+      );
+      countStockItem(newItem, 1);
+    } else if (missingItem != null) {
+      itemsMissingCount++;
+    }
+
+    // the filter may still read the old collections on another thread, so they are copied
+    ArrayList<StockItem> stockItems = new ArrayList<>(this.stockItems);
+    int index = oldItem != null ? stockItems.indexOf(oldItem) : -1;
+    if (index >= 0 && newItem != null) {
+      stockItems.set(index, newItem);
+    } else if (index >= 0) {
+      stockItems.remove(index);
+    } else if (newItem != null) {
+      stockItems.add(newItem);
+    }
+    this.stockItems = stockItems;
+    if (newItem != null) {
+      stockItemHashMap.put(productId, newItem);
+    } else {
+      stockItemHashMap.remove(productId);
+    }
+
+    productIdsMissingItems = new HashMap<>(productIdsMissingItems);
+    if (missingItem != null) {
+      productIdsMissingItems.put(productId, missingItem);
+    } else {
+      productIdsMissingItems.remove(productId);
+    }
+    stockLocationsHashMap = new HashMap<>(stockLocationsHashMap);
+    HashMap<Integer, StockLocation> locationsForProductId = new HashMap<>();
+    for (StockLocation stockLocation : stockLocations) {
+      locationsForProductId.put(stockLocation.getLocationId(), stockLocation);
+    }
+    stockLocationsHashMap.put(productId, locationsForProductId);
+
+    emitStatusCounts();
+    updateFilteredStockItem(oldItem, newItem);
+    if (debug) {
+      Log.i(TAG, "applyProductDetails: patched product " + productId + " in "
+          + (System.currentTimeMillis() - startTime) + " ms");
+    }
+  }
+
+  // only the changed item is filtered again, sorting and grouping is done by the adapter
+  private void updateFilteredStockItem(@Nullable StockItem oldItem, @Nullable StockItem newItem) {
+    ArrayList<StockItem> filteredStockItems = filteredStockItemsLive.getValue();
+    if (filteredStockItems == null
+        || filterDisposable != null && !filterDisposable.isDisposed()) {
+      updateFilteredStockItems(); // a full filter is already pending
+      return;
+    }
+    filteredStockItems = new ArrayList<>(filteredStockItems);
+    int index = oldItem != null ? filteredStockItems.indexOf(oldItem) : -1;
+    boolean matches = newItem != null && newItem.getProduct() != null
+        && createStockItemFilter().matches(newItem);
+    if (index >= 0 && matches) {
+      filteredStockItems.set(index, newItem);
+    } else if (index >= 0) {
+      filteredStockItems.remove(index);
+    } else if (matches) {
+      filteredStockItems.add(newItem);
+    }
+    onStockItemsFiltered(filteredStockItems);
+  }
+
+  private void setDueStatus(StockItem stockItem) {
+    int dueState = DateUtil.getDueState(stockItem.getBestBeforeDate(), getDaysExpriringSoon());
+    if (DateUtil.isDueSoon(dueState)) {
+      stockItem.setItemDue(true);
+    } else if (dueState == DateUtil.DUE_STATE_OVERDUE) {
+      if (stockItem.getDueTypeInt() == StockItem.DUE_TYPE_EXPIRATION) {
+        stockItem.setItemExpired(true);
+      } else {
+        stockItem.setItemOverdue(true);
+      }
+    }
+  }
+
+  @Nullable
+  private VolatileItem getVolatileItem(StockItem stockItem) {
+    if (stockItem.isItemDue()) {
+      return new VolatileItem(stockItem.getProductId(), VolatileItem.TYPE_DUE);
+    } else if (stockItem.isItemOverdue()) {
+      return new VolatileItem(stockItem.getProductId(), VolatileItem.TYPE_OVERDUE);
+    } else if (stockItem.isItemExpired()) {
+      return new VolatileItem(stockItem.getProductId(), VolatileItem.TYPE_EXPIRED);
+    }
+    return null;
+  }
+
+  // same condition as the missing products of the server
+  @Nullable
+  private MissingItem getMissingItem(Product product, StockItem stockItem) {
+    double minStockAmount = product.getMinStockAmountDouble();
+    if (minStockAmount <= 0) {
+      return null;
+    }
+    boolean accumulate = product.getAccumulateSubProductsMinStockAmountBoolean();
+    double amount = accumulate
+        ? stockItem.getAmountAggregatedDouble() : stockItem.getAmountDouble();
+    double amountInStock = amount;
+    if (product.getTreatOpenedAsOutOfStockBoolean()) {
+      amountInStock -= accumulate
+          ? stockItem.getAmountOpenedAggregatedDouble() : stockItem.getAmountOpenedDouble();
+    }
+    if (amountInStock >= minStockAmount) {
+      return null;
+    }
+    MissingItem missingItem = new MissingItem();
+    missingItem.setId(product.getId());
+    missingItem.setName(product.getName());
+    missingItem.setAmountMissing(String.valueOf(minStockAmount - amountInStock));
+    missingItem.setIsPartlyInStock(amount > 0 ? "1" : "0");
+    return missingItem;
+  }
+
+  private void countStockItem(StockItem stockItem, int delta) {
+    if (stockItem.isItemDue()) itemsDueCount += delta;
+    if (stockItem.isItemOverdue()) itemsOverdueCount += delta;
+    if (stockItem.isItemExpired()) itemsExpiredCount += delta;
+    if (stockItem.isItemMissing()) itemsMissingCount += delta;
+    if (!stockItem.isItemMissing() || stockItem.isItemMissingAndPartlyInStock()) {
+      itemsInStockCount += delta;
+    }
+    if (stockItem.getAmountOpenedDouble() > 0) itemsOpenedCount += delta;
+  }
+
   public void resetSearch() {
+    productSearchIndex.cancel();
     searchInput = null;
     setIsSearchVisible(false);
   }
@@ -618,20 +810,19 @@ public class StockOverviewViewModel extends BaseViewModel {
 
   public void updateSearchInput(String input) {
     this.searchInput = input.toLowerCase();
-
-    // Initialize suggestion list with max. capacity; growing is expensive.
-    searchResultsFuzzy = new ArrayList<>(products.size());
-    List<BoundExtractedResult<Product>> results = FuzzySearch.extractSorted(
-        this.searchInput,
-        products,
-        item -> item.getName().toLowerCase(),
-        70
-    );
-    for (BoundExtractedResult<Product> result : results) {
-      searchResultsFuzzy.add(result.getString());
+    if (searchInput.isEmpty() || products == null) {
+      productSearchIndex.cancel();
+      searchResultsFuzzy = new ArrayList<>();
+      updateFilteredStockItems();
+      return;
     }
-
-    updateFilteredStockItems();
+    productSearchIndex.search(products, searchInput, 0, SEARCH_DEBOUNCE_MILLIS, results -> {
+      searchResultsFuzzy = new ArrayList<>(results.size());
+      for (Product product : results) {
+        searchResultsFuzzy.add(product.getName().toLowerCase());
+      }
+      updateFilteredStockItems();
+    });
   }
 
   public ArrayList<Integer> getProductIdsMissingItems() {
@@ -778,10 +969,119 @@ public class StockOverviewViewModel extends BaseViewModel {
 
   @Override
   protected void onCleared() {
+    productSearchIndex.cancel();
+    if (filterDisposable != null) {
+      filterDisposable.dispose();
+    }
     dlHelper.destroy();
     super.onCleared();
   }
 
+  private static class StockItemFilter {
+
+    private final String searchInput;
+    private final HashSet<String> searchResultsFuzzySet;
+    private final HashMap<Integer, MissingItem> productIdsMissingItems;
+    private final HashMap<Integer, HashMap<Integer, StockLocation>> stockLocationsHashMap;
+    private final int status;
+    private final int productGroupFilterId;
+    private final int locationFilterId;
+    private Product productSearch;
+    private ProductBarcode productBarcodeSearch;
+
+    StockItemFilter(
+        String searchInput,
+        ArrayList<String> searchResultsFuzzy,
+        HashMap<Integer, Product> productHashMap,
+        HashMap<String, ProductBarcode> productBarcodeHashMap,
+        HashMap<Integer, MissingItem> productIdsMissingItems,
+        HashMap<Integer, HashMap<Integer, StockLocation>> stockLocationsHashMap,
+        int status,
+        int productGroupFilterId,
+        int locationFilterId
+    ) {
+      this.searchInput = searchInput;
+      this.searchResultsFuzzySet = searchResultsFuzzy != null
+          ? new HashSet<>(searchResultsFuzzy) : new HashSet<>();
+      this.productIdsMissingItems = productIdsMissingItems;
+      this.stockLocationsHashMap = stockLocationsHashMap;
+      this.status = status;
+      this.productGroupFilterId = productGroupFilterId;
+      this.locationFilterId = locationFilterId;
+      if (searchInput != null && !searchInput.isEmpty()) {
+        Grocycode grocycode = GrocycodeUtil.getGrocycode(searchInput);
+        if (grocycode != null && grocycode.isProduct()) {
+          productSearch = productHashMap.get(grocycode.getObjectId());
+        }
+        if (productSearch == null) {
+          productBarcodeSearch = productBarcodeHashMap.get(searchInput);
+        }
+      }
+    }
+
+    // item must have a product
+    boolean matches(StockItem item) {
+      if (item.getProduct().getHideOnStockOverviewBoolean()) {
+        return false;
+      }
+
+      boolean searchContainsItem = true;
+      if (searchInput != null && !searchInput.isEmpty()) {
+        String productName = item.getProduct().getName().toLowerCase();
+        searchContainsItem = productName.contains(searchInput);
+        if (!searchContainsItem) {
+          searchContainsItem = searchResultsFuzzySet.contains(productName);
+        }
+      }
+      if (!searchContainsItem && productSearch == null && productBarcodeSearch == null) {
+        return false;
+      }
+      if (!searchContainsItem && productSearch == null
+          && productBarcodeSearch.getProductIdInt() != item.getProductId()) {
+        return false;
+      }
+      if (productSearch != null && productSearch.getId() != item.getProductId()) {
+        return false;
+      }
+
+      if (productGroupFilterId != FilterChipLiveDataProductGroup.NO_FILTER
+          && NumUtil.isStringInt(item.getProduct().getProductGroupId())
+          && productGroupFilterId != Integer.parseInt(item.getProduct().getProductGroupId())
+          || productGroupFilterId != FilterChipLiveDataProductGroup.NO_FILTER
+          && !NumUtil.isStringInt(item.getProduct().getProductGroupId())
+      ) {
+        return false;
+      }
+      if (locationFilterId != FilterChipLiveDataLocation.NO_FILTER) {
+        HashMap<Integer, StockLocation> stockLocationsForProductId
+            = stockLocationsHashMap.get(item.getProductId());
+        if (stockLocationsForProductId == null
+            || !stockLocationsForProductId.containsKey(locationFilterId)
+        ) {
+          return false;
+        }
+      }
+
+      MissingItem missingItem = productIdsMissingItems.get(item.getProductId());
+      boolean hasOwnStock = !item.getProduct().getNoOwnStockBoolean();
+      return status == FilterChipLiveDataStockStatus.STATUS_ALL
+          || status == FilterChipLiveDataStockStatus.STATUS_NOT_FRESH
+          && (item.isItemDue() || item.isItemOverdue() || item.isItemExpired()) && hasOwnStock
+          || status == FilterChipLiveDataStockStatus.STATUS_DUE_SOON
+          && item.isItemDue() && hasOwnStock
+          || status == FilterChipLiveDataStockStatus.STATUS_OVERDUE
+          && item.isItemOverdue() && hasOwnStock
+          || status == FilterChipLiveDataStockStatus.STATUS_EXPIRED
+          && item.isItemExpired() && hasOwnStock
+          || status == FilterChipLiveDataStockStatus.STATUS_BELOW_MIN
+          && missingItem != null
+          || status == FilterChipLiveDataStockStatus.STATUS_IN_STOCK
+          && (missingItem == null || missingItem.getIsPartlyInStockBoolean())
+          || status == FilterChipLiveDataStockStatus.STATUS_OPENED
+          && item.getAmountOpenedDouble() > 0;
+    }
+  }
+
   public static class StockOverviewViewModelFactory implements ViewModelProvider.Factory {
 
     private final Application application;
@@ -99,9 +99,7 @@ public class StoredPurchasesViewModel extends BaseViewModel {
       this.products = data.getProducts();
       productHashMap.clear();
       for (Product product : products) {
-        PendingProduct pendingProduct = pendingProductHashMap.get(product.getName());
-        if (pendingProduct != null) product.setPendingProductId(pendingProduct.getId());
-        productHashMap.put(product.getName(), product);
+        putProductWithPendingProductId(product);
       }
       this.pendingProductBarcodes = data.getPendingProductBarcodes();
       productBarcodeHashMap.clear();
@@ -154,9 +152,7 @@ public class StoredPurchasesViewModel extends BaseViewModel {
       this.products = products;
       productHashMap.clear();
       for (Product product : products) {
-        PendingProduct pendingProduct = pendingProductHashMap.get(product.getName());
-        if (pendingProduct != null) product.setPendingProductId(pendingProduct.getId());
-        productHashMap.put(product.getName(), product);
+        putProductWithPendingProductId(product);
       }
     }));
 
@@ -202,6 +198,14 @@ public class StoredPurchasesViewModel extends BaseViewModel {
     }
   }
 
+  private void putProductWithPendingProductId(Product product) {
+    // products from the EntityCache are shared, so the ids and dividers are set on a copy
+    Product productClone = product.getClone();
+    PendingProduct pendingProduct = pendingProductHashMap.get(product.getName());
+    productClone.setPendingProductId(pendingProduct != null ? pendingProduct.getId() : null);
+    productHashMap.put(product.getName(), productClone);
+  }
+
   public void displayItems() {
     boolean firstElement = true;
     ArrayList<GroupedListItem> items = new ArrayList<>();
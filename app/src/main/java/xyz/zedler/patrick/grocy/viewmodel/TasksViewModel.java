@@ -122,14 +122,14 @@ public class TasksViewModel extends BaseViewModel {
       tasksOverdueCount = 0;
       for (Task task : data.getTasks()) {
         if (task.isDone()) continue;
-        int daysFromNow = DateUtil.getDaysFromNow(task.getDueDate());
-        if (daysFromNow < 0) {
+        int dueState = DateUtil.getDueState(task.getDueDate(), 5);
+        if (dueState == DateUtil.DUE_STATE_OVERDUE) {
           tasksOverdueCount++;
         }
-        if (daysFromNow == 0) {
+        if (dueState == DateUtil.DUE_STATE_TODAY) {
           tasksDueTodayCount++;
         }
-        if (daysFromNow >= 0 && daysFromNow <= 5) {
+        if (DateUtil.isDueSoon(dueState)) {
           tasksDueSoonCount++;
         }
       }
@@ -181,14 +181,14 @@ public class TasksViewModel extends BaseViewModel {
           tasksOverdueCount = 0;
           for (Task task : tasks) {
             if (task.isDone()) continue;
-            int daysFromNow = DateUtil.getDaysFromNow(task.getDueDate());
-            if (daysFromNow < 0) {
+            int dueState = DateUtil.getDueState(task.getDueDate(), 5);
+            if (dueState == DateUtil.DUE_STATE_OVERDUE) {
               tasksOverdueCount++;
             }
-            if (daysFromNow == 0) {
+            if (dueState == DateUtil.DUE_STATE_TODAY) {
               tasksDueTodayCount++;
             }
-            if (daysFromNow >= 0 && daysFromNow <= 5) {
+            if (DateUtil.isDueSoon(dueState)) {
               tasksDueSoonCount++;
             }
           }
@@ -250,13 +250,13 @@ public class TasksViewModel extends BaseViewModel {
       if (!filterChipLiveDataStatus.isShowDoneTasks() && task.isDone()) {
         continue;
       }
-      int daysFromNow = DateUtil.getDaysFromNow(task.getDueDate());
+      int dueState = DateUtil.getDueState(task.getDueDate(), 5);
       if (filterChipLiveDataStatus.getStatus() == FilterChipLiveDataTasksStatus.STATUS_OVERDUE
-          && daysFromNow >= 0
+          && dueState != DateUtil.DUE_STATE_OVERDUE
           || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataTasksStatus.STATUS_DUE_TODAY
-          && daysFromNow != 0
+          && dueState != DateUtil.DUE_STATE_TODAY
           || filterChipLiveDataStatus.getStatus() == FilterChipLiveDataTasksStatus.STATUS_DUE_SOON
-          && !(daysFromNow >= 0 && daysFromNow <= 5)) {
+          && !DateUtil.isDueSoon(dueState)) {
         continue;
       }
       filteredTasks.add(task);
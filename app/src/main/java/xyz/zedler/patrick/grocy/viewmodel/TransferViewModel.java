@@ -47,6 +47,7 @@ import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuantityUnitsBottomSh
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.QuickModeConfirmBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.StockEntriesBottomSheet;
 import xyz.zedler.patrick.grocy.fragment.bottomSheetDialog.StockLocationsBottomSheet;
+import xyz.zedler.patrick.grocy.helper.BarcodeIndex;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 import xyz.zedler.patrick.grocy.model.Event;
 import xyz.zedler.patrick.grocy.form.FormDataTransfer;
@@ -81,11 +82,12 @@ public class TransferViewModel extends BaseViewModel {
   private final DownloadHelper dlHelper;
   private final GrocyApi grocyApi;
   private final TransferRepository repository;
+  private final BarcodeIndex barcodeIndex;
   private final FormDataTransfer formData;
 
   private List<Product> products;
+  private HashMap<Integer, Product> productHashMap;
   private List<QuantityUnitConversion> unitConversions;
-  private List<ProductBarcode> barcodes;
   private List<Location> locations;
   private HashMap<Integer, QuantityUnit> quantityUnitHashMap;
 
@@ -111,6 +113,7 @@ public class TransferViewModel extends BaseViewModel {
     dlHelper = new DownloadHelper(getApplication(), TAG, isLoadingLive::setValue);
     grocyApi = new GrocyApi(getApplication());
     repository = new TransferRepository(application);
+    barcodeIndex = BarcodeIndex.getInstance(application);
     formData = new FormDataTransfer(application, sharedPrefs, args);
 
     infoFullscreenLive = new MutableLiveData<>();
@@ -125,7 +128,7 @@ public class TransferViewModel extends BaseViewModel {
     }
     quickModeEnabled = new MutableLiveData<>(quickModeStart);
 
-    barcodes = new ArrayList<>();
+    productHashMap = new HashMap<>();
   }
 
   public FormDataTransfer getFormData() {
@@ -135,7 +138,8 @@ public class TransferViewModel extends BaseViewModel {
   public void loadFromDatabase(boolean downloadAfterLoading) {
     repository.loadFromDatabase(data -> {
       this.products = data.getProducts();
-      this.barcodes = data.getBarcodes();
+      productHashMap = ArrayUtil.getProductsHashMap(products);
+      barcodeIndex.setBarcodes(data.getBarcodes());
       this.locations = data.getLocations();
       this.quantityUnitHashMap = ArrayUtil.getQuantityUnitsHashMap(data.getQuantityUnits());
       this.unitConversions = data.getQuantityUnitConversions();
@@ -156,10 +160,9 @@ public class TransferViewModel extends BaseViewModel {
     queue.append(
         dlHelper.updateProducts(dbChangedTime, products -> {
           this.products = products;
+          productHashMap = ArrayUtil.getProductsHashMap(products);
           formData.getProductsLive().setValue(Product.getActiveAndStockEnabledProductsOnly(products));
-        }), dlHelper.updateProductBarcodes(
-            dbChangedTime, barcodes -> this.barcodes = barcodes
-        ), dlHelper.updateLocations(
+        }), dlHelper.updateProductBarcodes(dbChangedTime, barcodeIndex::setBarcodes), dlHelper.updateLocations(
             dbChangedTime, locations -> this.locations = locations
         ), dlHelper.updateQuantityUnitConversions(
             dbChangedTime, conversions -> this.unitConversions = conversions
@@ -325,7 +328,7 @@ public class TransferViewModel extends BaseViewModel {
 
   public void onBarcodeRecognized(String barcode) {
     if (formData.getProductDetailsLive().getValue() != null) {
-      if (ProductBarcode.getFromBarcode(barcodes, barcode) == null) {
+      if (barcodeIndex.get(barcode, false) == null) {
         formData.getBarcodeLive().setValue(barcode);
       } else {
         showMessage(R.string.msg_clear_form_first);
@@ -336,7 +339,7 @@ public class TransferViewModel extends BaseViewModel {
     String stockEntryId = null;
     Grocycode grocycode = GrocycodeUtil.getGrocycode(barcode);
     if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
+      product = productHashMap.get(grocycode.getObjectId());
       if (product == null) {
         showMessageAndContinueScanning(R.string.msg_not_found);
         return;
@@ -346,19 +349,21 @@ public class TransferViewModel extends BaseViewModel {
       showMessageAndContinueScanning(R.string.error_wrong_grocycode_type);
       return;
     }
-    ProductBarcode productBarcode = null;
-    if (product == null) {
-      productBarcode = ProductBarcode.getFromBarcode(barcodes, barcode);
-      product = productBarcode != null
-          ? Product.getProductFromId(products, productBarcode.getProductIdInt()) : null;
-    }
     if (product != null) {
-      setProduct(product.getId(), productBarcode, stockEntryId);
-    } else {
-      Bundle bundle = new Bundle();
-      bundle.putString(ARGUMENT.BARCODE, barcode);
-      sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      setProduct(product.getId(), null, stockEntryId);
+      return;
     }
+    barcodeIndex.resolve(barcode, false, productBarcode -> {
+      Product productFromBarcode = productBarcode != null
+          ? productHashMap.get(productBarcode.getProductIdInt()) : null;
+      if (productFromBarcode != null) {
+        setProduct(productFromBarcode.getId(), productBarcode, null);
+      } else {
+        Bundle bundle = new Bundle();
+        bundle.putString(ARGUMENT.BARCODE, barcode);
+        sendEvent(Event.CHOOSE_PRODUCT, bundle);
+      }
+    });
   }
 
   public void checkProductInput() {
@@ -371,7 +376,7 @@ public class TransferViewModel extends BaseViewModel {
 
     Grocycode grocycode = GrocycodeUtil.getGrocycode(input.trim());
     if (grocycode != null && grocycode.isProduct()) {
-      product = Product.getProductFromId(products, grocycode.getObjectId());
+      product = productHashMap.get(grocycode.getObjectId());
       if (product == null) {
         showMessageAndContinueScanning(R.string.msg_not_found);
         return;
@@ -381,12 +386,9 @@ public class TransferViewModel extends BaseViewModel {
       return;
     }
     if (product == null) {
-      ProductBarcode productBarcode = null;
-      for (ProductBarcode code : barcodes) {
-        if (code.getBarcode().equals(input.trim())) {
-          productBarcode = code;
-          product = Product.getProductFromId(products, code.getProductIdInt());
-        }
+      ProductBarcode productBarcode = barcodeIndex.get(input, false);
+      if (productBarcode != null) {
+        product = productHashMap.get(productBarcode.getProductIdInt());
       }
       if (product != null) {
         setProduct(product.getId(), productBarcode, null);
@@ -506,7 +508,7 @@ public class TransferViewModel extends BaseViewModel {
     JSONObject body = productBarcode.getJsonFromProductBarcode(debug, TAG);
     dlHelper.addProductBarcode(body, () -> {
       formData.getBarcodeLive().setValue(null);
-      barcodes.add(productBarcode); // add to list so it will be found on next scan without reload
+      barcodeIndex.put(productBarcode); // will be found on next scan without reload
       if (onSuccess != null) {
         onSuccess.run();
       }
@@ -0,0 +1,136 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import androidx.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores the ETag and Last-Modified validators of object responses per url, so the next
+ * request for the same url can be sent as conditional request. The validators of a response
+ * are only kept after its data has been written to the database (commit), otherwise a
+ * 304 response could leave the database without the data. If writing fails, they are
+ * dropped (discard) and the validators of the previously stored data stay in place.
+ *
+ * Validators are only used if the server sends them. Depending on the Grocy version and the
+ * web server or reverse proxy in front of it, API responses may come without ETag and
+ * Last-Modified. Then no conditional headers are sent and every request downloads the data
+ * as before. The response cache entry in the debugging settings shows how many requests
+ * were answered with 304, so it can be checked for a given server.
+ */
+public class ConditionalRequestCache {
+
+  private final static String PREFS_NAME = "conditional_request_cache";
+  private final static String PREFIX_ETAG = "etag:";
+  private final static String PREFIX_LAST_MODIFIED = "last_modified:";
+
+  private static ConditionalRequestCache instance;
+
+  private final SharedPreferences validators;
+  private final Map<String, String[]> pendingValidators;
+  private final AtomicInteger hitCount;
+  private final AtomicInteger missCount;
+
+  private ConditionalRequestCache(Context context) {
+    validators = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    pendingValidators = new ConcurrentHashMap<>();
+    hitCount = new AtomicInteger();
+    missCount = new AtomicInteger();
+  }
+
+  public static synchronized ConditionalRequestCache getInstance(Context context) {
+    if (instance == null) {
+      instance = new ConditionalRequestCache(context.getApplicationContext());
+    }
+    return instance;
+  }
+
+  public Map<String, String> addConditionalHeaders(String url, Map<String, String> headers) {
+    String eTag = validators.getString(PREFIX_ETAG + url, null);
+    String lastModified = validators.getString(PREFIX_LAST_MODIFIED + url, null);
+    if (eTag == null && lastModified == null) {
+      return headers;
+    }
+    Map<String, String> conditionalHeaders = new HashMap<>(headers);
+    if (eTag != null) {
+      conditionalHeaders.put("If-None-Match", eTag);
+    }
+    if (lastModified != null) {
+      conditionalHeaders.put("If-Modified-Since", lastModified);
+    }
+    return conditionalHeaders;
+  }
+
+  // called on the network thread with the headers of a 200 response
+  public void onResponse(String url, @Nullable Map<String, String> responseHeaders) {
+    missCount.incrementAndGet();
+    String eTag = responseHeaders != null ? responseHeaders.get("ETag") : null;
+    String lastModified = responseHeaders != null ? responseHeaders.get("Last-Modified") : null;
+    if (eTag != null || lastModified != null) {
+      pendingValidators.put(url, new String[]{eTag, lastModified});
+    } else {
+      pendingValidators.remove(url);
+    }
+  }
+
+  public void onNotModified() {
+    hitCount.incrementAndGet();
+  }
+
+  // validators of the last response are kept after its data has been stored
+  public void commit(String url) {
+    String[] pending = pendingValidators.remove(url);
+    SharedPreferences.Editor editor = validators.edit();
+    if (pending != null && pending[0] != null) {
+      editor.putString(PREFIX_ETAG + url, pending[0]);
+    } else {
+      editor.remove(PREFIX_ETAG + url);
+    }
+    if (pending != null && pending[1] != null) {
+      editor.putString(PREFIX_LAST_MODIFIED + url, pending[1]);
+    } else {
+      editor.remove(PREFIX_LAST_MODIFIED + url);
+    }
+    editor.apply();
+  }
+
+  // the data of the last response could not be stored, its validators must not be sent
+  public void discard(String url) {
+    pendingValidators.remove(url);
+  }
+
+  public void clear() {
+    pendingValidators.clear();
+    validators.edit().clear().apply();
+  }
+
+  public int getHitCount() {
+    return hitCount.get();
+  }
+
+  public int getMissCount() {
+    return missCount.get();
+  }
+}
@@ -19,7 +19,6 @@
 
 package xyz.zedler.patrick.grocy.web;
 
-import android.util.Base64;
 import androidx.annotation.Nullable;
 import com.android.volley.DefaultRetryPolicy;
 import com.android.volley.NetworkResponse;
@@ -29,11 +28,7 @@ import com.android.volley.RetryPolicy;
 import com.android.volley.toolbox.HttpHeaderParser;
 import com.android.volley.toolbox.JsonRequest;
 import java.io.UnsupportedEncodingException;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -41,15 +36,12 @@ import org.json.JSONObject;
 public class CustomJsonArrayRequest extends JsonRequest<JSONArray> {
 
   private final Runnable onRequestFinished;
-  private final String url;
-  private final String apiKey;
-  private final String homeAssistantIngressSessionKey;
+  private final Map<String, String> headers;
 
   public CustomJsonArrayRequest(
       int method,
       String url,
-      String apiKey,
-      String homeAssistantIngressSessionKey,
+      Map<String, String> headers,
       @Nullable JSONObject jsonRequest,
       Response.Listener<JSONArray> listener,
       @Nullable Response.ErrorListener errorListener,
@@ -71,9 +63,7 @@ public class CustomJsonArrayRequest extends JsonRequest<JSONArray> {
       }
     });
     this.onRequestFinished = onRequestFinished;
-    this.url = url;
-    this.apiKey = apiKey;
-    this.homeAssistantIngressSessionKey = homeAssistantIngressSessionKey;
+    this.headers = headers;
     if (tag != null) {
       setTag(tag);
     }
@@ -113,21 +103,6 @@ public class CustomJsonArrayRequest extends JsonRequest<JSONArray> {
 
   @Override
   public Map<String, String> getHeaders() {
-    Map<String, String> params = new HashMap<>();
-    Matcher matcher = Pattern.compile("(http|https)://(\\S+):(\\S+)@(\\S+)").matcher(url);
-    if (matcher.matches()) {
-      String user = matcher.group(2);
-      String password = matcher.group(3);
-      byte[] combination = (user + ":" + password).getBytes();
-      String encoded = Base64.encodeToString(combination, Base64.DEFAULT);
-      params.put("Authorization", "Basic " + encoded);
-    }
-    if (apiKey != null && !apiKey.isEmpty()) {
-      params.put("GROCY-API-KEY", apiKey);
-    }
-    if (homeAssistantIngressSessionKey != null) {
-      params.put("Cookie", "ingress_session=" + homeAssistantIngressSessionKey);
-    }
-    return params.isEmpty() ? Collections.emptyMap() : params;
+    return headers;
   }
 }
@@ -0,0 +1,155 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import androidx.annotation.Nullable;
+import androidx.room.RoomDatabase;
+import com.android.volley.DefaultRetryPolicy;
+import com.android.volley.NetworkResponse;
+import com.android.volley.ParseError;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.RetryPolicy;
+import com.android.volley.toolbox.HttpHeaderParser;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a JSON array response element by element and stores the objects in batches, so the
+ * response is never held as string and never as complete object list. The table is cleared and
+ * refilled in one transaction on the network thread; the listener receives the object count.
+ */
+public class CustomStreamingArrayRequest<T> extends Request<Integer> {
+
+  private final static int BATCH_SIZE = 500;
+
+  private final Response.Listener<Integer> listener;
+  private final Runnable onRequestFinished;
+  private final Map<String, String> headers;
+  private final RoomDatabase database;
+  private final Gson gson;
+  private final Class<T> type;
+  private final Target<T> target;
+
+  public CustomStreamingArrayRequest(
+      String url,
+      Map<String, String> headers,
+      RoomDatabase database,
+      Gson gson,
+      Class<T> type,
+      Target<T> target,
+      Response.Listener<Integer> listener,
+      @Nullable Response.ErrorListener errorListener,
+      @Nullable Runnable onRequestFinished,
+      int timeoutSeconds,
+      String tag
+  ) {
+    super(Method.GET, url, error -> {
+      if (onRequestFinished != null) {
+        onRequestFinished.run();
+      }
+      if (errorListener != null) {
+        errorListener.onErrorResponse(error);
+      }
+    });
+    this.listener = listener;
+    this.onRequestFinished = onRequestFinished;
+    this.headers = headers;
+    this.database = database;
+    this.gson = gson;
+    this.type = type;
+    this.target = target;
+    if (tag != null) {
+      setTag(tag);
+    }
+    setShouldCache(false);
+    RetryPolicy policy = new DefaultRetryPolicy(
+        timeoutSeconds * 1000,
+        DefaultRetryPolicy.DEFAULT_MAX_RETRIES,
+        DefaultRetryPolicy.DEFAULT_BACKOFF_MULT
+    );
+    setRetryPolicy(policy);
+  }
+
+  @Override
+  protected Response<Integer> parseNetworkResponse(NetworkResponse response) {
+    try (JsonReader reader = new JsonReader(new InputStreamReader(
+        new ByteArrayInputStream(response.data),
+        HttpHeaderParser.parseCharset(response.headers, "UTF-8")
+    ))) {
+      // transaction is rolled back on any exception, so the old table stays intact
+      Integer count = database.runInTransaction(() -> {
+        target.clear();
+        List<T> batch = new ArrayList<>(BATCH_SIZE);
+        int objectCount = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+          batch.add(gson.fromJson(reader, type));
+          objectCount++;
+          if (batch.size() == BATCH_SIZE) {
+            target.insert(batch);
+            batch.clear();
+          }
+        }
+        reader.endArray();
+        if (!batch.isEmpty()) {
+          target.insert(batch);
+        }
+        return objectCount;
+      });
+      return Response.success(count, HttpHeaderParser.parseCacheHeaders(response));
+    } catch (Exception e) {
+      return Response.error(new ParseError(e));
+    }
+  }
+
+  @Override
+  protected void deliverResponse(Integer response) {
+    if (onRequestFinished != null) {
+      onRequestFinished.run();
+    }
+    listener.onResponse(response);
+  }
+
+  @Override
+  public void cancel() {
+    super.cancel();
+    if (onRequestFinished != null) {
+      onRequestFinished.run();
+    }
+  }
+
+  @Override
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  public interface Target<T> {
+
+    void clear();
+
+    void insert(List<T> objects);
+  }
+}
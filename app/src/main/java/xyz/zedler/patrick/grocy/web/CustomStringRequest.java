@@ -19,32 +19,26 @@
 
 package xyz.zedler.patrick.grocy.web;
 
-import android.util.Base64;
 import androidx.annotation.Nullable;
 import com.android.volley.DefaultRetryPolicy;
+import com.android.volley.NetworkResponse;
 import com.android.volley.Response;
 import com.android.volley.RetryPolicy;
 import com.android.volley.toolbox.StringRequest;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper;
 
 public class CustomStringRequest extends StringRequest {
 
   private final Runnable onRequestFinished;
-  private final String url;
-  private final String apiKey;
-  private final String homeAssistantIngressSessionKey;
-  private final String userAgent;
+  private Map<String, String> headers;
+  @Nullable private ConditionalRequestCache conditionalRequestCache;
 
   public CustomStringRequest(
       int method,
       String url,
-      String apiKey,
-      String homeAssistantIngressSessionKey,
+      Map<String, String> headers,
       Response.Listener<String> listener,
       @Nullable Response.ErrorListener errorListener,
       @Nullable Runnable onRequestFinished,
@@ -81,10 +75,18 @@ public class CustomStringRequest extends StringRequest {
         }
     );
     this.onRequestFinished = onRequestFinished;
-    this.url = url;
-    this.apiKey = apiKey;
-    this.homeAssistantIngressSessionKey = homeAssistantIngressSessionKey;
-    this.userAgent = userAgent;
+    if (userAgent != null) {
+      // should not put ingress session key or credentials into requests for OpenFoodFacts
+      Map<String, String> params = new HashMap<>();
+      String apiKey = headers.get("GROCY-API-KEY");
+      if (apiKey != null) {
+        params.put("GROCY-API-KEY", apiKey);
+      }
+      params.put("User-Agent", userAgent);
+      this.headers = params;
+    } else {
+      this.headers = headers;
+    }
     if (tag != null) {
       setTag(tag);
     }
@@ -100,8 +102,7 @@ public class CustomStringRequest extends StringRequest {
   public CustomStringRequest(
       int method,
       String url,
-      String apiKey,
-      String homeAssistantIngressSessionKey,
+      Map<String, String> headers,
       Response.Listener<String> listener,
       @Nullable Response.ErrorListener errorListener,
       @Nullable Runnable onRequestFinished,
@@ -111,8 +112,7 @@ public class CustomStringRequest extends StringRequest {
     this(
         method,
         url,
-        apiKey,
-        homeAssistantIngressSessionKey,
+        headers,
         listener,
         errorListener,
         onRequestFinished,
@@ -127,8 +127,7 @@ public class CustomStringRequest extends StringRequest {
   public CustomStringRequest(
       int method,
       String url,
-      String apiKey,
-      String homeAssistantIngressSessionKey,
+      Map<String, String> headers,
       Response.Listener<String> listener,
       @Nullable Response.ErrorListener errorListener,
       @Nullable Runnable onRequestFinished,
@@ -139,8 +138,7 @@ public class CustomStringRequest extends StringRequest {
     this(
         method,
         url,
-        apiKey,
-        homeAssistantIngressSessionKey,
+        headers,
         listener,
         errorListener,
         onRequestFinished,
@@ -155,8 +153,7 @@ public class CustomStringRequest extends StringRequest {
   public CustomStringRequest(
       int method,
       String url,
-      String apiKey,
-      String homeAssistantIngressSessionKey,
+      Map<String, String> headers,
       Response.Listener<String> listener,
       @Nullable Response.ErrorListener errorListener,
       @Nullable Runnable onRequestFinished,
@@ -168,8 +165,7 @@ public class CustomStringRequest extends StringRequest {
     this(
         method,
         url,
-        apiKey,
-        homeAssistantIngressSessionKey,
+        headers,
         listener,
         errorListener,
         onRequestFinished,
@@ -181,6 +177,29 @@ public class CustomStringRequest extends StringRequest {
     );
   }
 
+  // the response is delivered as null if the server answers with 304 Not Modified
+  public void setConditionalRequestCache(
+      ConditionalRequestCache conditionalRequestCache,
+      boolean sendValidators
+  ) {
+    this.conditionalRequestCache = conditionalRequestCache;
+    if (sendValidators) {
+      headers = conditionalRequestCache.addConditionalHeaders(getUrl(), headers);
+    }
+  }
+
+  @Override
+  protected Response<String> parseNetworkResponse(NetworkResponse response) {
+    if (conditionalRequestCache != null) {
+      if (response.notModified) {
+        conditionalRequestCache.onNotModified();
+        return Response.success(null, null);
+      }
+      conditionalRequestCache.onResponse(getUrl(), response.headers);
+    }
+    return super.parseNetworkResponse(response);
+  }
+
   @Override
   public void cancel() {
     super.cancel();
@@ -191,26 +210,6 @@ public class CustomStringRequest extends StringRequest {
 
   @Override
   public Map<String, String> getHeaders() {
-    Map<String, String> params = new HashMap<>();
-
-    Matcher matcher = Pattern.compile("(http|https)://(\\S+):(\\S+)@(\\S+)").matcher(url);
-    if (matcher.matches()) {
-      String user = matcher.group(2);
-      String password = matcher.group(3);
-      byte[] combination = (user + ":" + password).getBytes();
-      String encoded = Base64.encodeToString(combination, Base64.DEFAULT);
-      params.put("Authorization", "Basic " + encoded);
-    }
-    if (apiKey != null && !apiKey.isEmpty()) {
-      params.put("GROCY-API-KEY", apiKey);
-    }
-    if (userAgent == null && homeAssistantIngressSessionKey
-        != null) { // should not put key into requests for OpenFoodFacts
-      params.put("Cookie", "ingress_session=" + homeAssistantIngressSessionKey);
-    }
-    if (userAgent != null) {
-      params.put("User-Agent", userAgent);
-    }
-    return params.isEmpty() ? Collections.emptyMap() : params;
+    return headers;
   }
 }
@@ -19,8 +19,13 @@
 
 package xyz.zedler.patrick.grocy.web;
 
+import android.os.Handler;
+import android.os.Looper;
+import com.android.volley.AuthFailureError;
 import com.android.volley.RequestQueue;
+import com.android.volley.VolleyError;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.UUID;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnErrorListener;
 import xyz.zedler.patrick.grocy.helper.DownloadHelper.OnQueueEmptyListener;
@@ -28,23 +33,42 @@ import xyz.zedler.patrick.grocy.helper.DownloadHelper.QueueItem;
 
 public class NetworkQueue {
 
+  public final static int PRIORITY_HIGH = 2;
+  public final static int PRIORITY_NORMAL = 1;
+  public final static int PRIORITY_LOW = 0;
+
+  private final static int MAX_RETRIES = 2;
+  private final static long RETRY_DELAY_BASE = 500;  // milliseconds, doubled for every attempt
+
   private final ArrayList<QueueItem> queueItems;
+  private final HashSet<QueueItem> appendedItems;
+  private final HashSet<QueueItem> settledItems;
   private final OnQueueEmptyListener onQueueEmptyListener;
   private final OnErrorListener onErrorListener;
   private final RequestQueue requestQueue;
+  private final Handler handler;
   private final String uuidQueue;
+  private final int maxInFlight;
+  private int inFlight;
   private int queueSize;
+  private int failedCount;
+  private VolleyError firstError;
   private boolean isRunning;
 
   public NetworkQueue(
       OnQueueEmptyListener onQueueEmptyListener,
       OnErrorListener onErrorListener,
-      RequestQueue requestQueue
+      RequestQueue requestQueue,
+      int maxInFlight
   ) {
     this.onQueueEmptyListener = onQueueEmptyListener;
     this.onErrorListener = onErrorListener;
     this.requestQueue = requestQueue;
+    this.maxInFlight = Math.max(1, maxInFlight);
     queueItems = new ArrayList<>();
+    appendedItems = new HashSet<>();
+    settledItems = new HashSet<>();
+    handler = new Handler(Looper.getMainLooper());
     uuidQueue = UUID.randomUUID().toString();
     queueSize = 0;
     isRunning = false;
@@ -56,6 +80,7 @@ public class NetworkQueue {
         continue;
       }
       this.queueItems.add(queueItem);
+      appendedItems.add(queueItem);
       queueSize++;
     }
     return this;
@@ -68,31 +93,117 @@ public class NetworkQueue {
       isRunning = true;
     }
     if (queueItems.isEmpty()) {
+      isRunning = false;
       if (onQueueEmptyListener != null) {
         onQueueEmptyListener.execute();
       }
       return;
     }
-    while (!queueItems.isEmpty()) {
-      QueueItem queueItem = queueItems.remove(0);
-      queueItem.perform(response -> {
-        queueSize--;
-        if (queueSize > 0) {
-          return;
-        }
-        isRunning = false;
-        if (onQueueEmptyListener != null) {
-          onQueueEmptyListener.execute();
-        }
-        reset(false);
-      }, error -> {
-        isRunning = false;
-        if (onErrorListener != null) {
-          onErrorListener.onError(error);
-        }
-        reset(true);
-      }, uuidQueue);
+    inFlight = 0;
+    failedCount = 0;
+    firstError = null;
+    settledItems.clear();
+    scheduleNext();
+  }
+
+  private void scheduleNext() {
+    while (isRunning && inFlight < maxInFlight) {
+      QueueItem queueItem = pollNextReadyItem();
+      if (queueItem == null) {
+        return;
+      }
+      inFlight++;
+      perform(queueItem, 0);
+    }
+  }
+
+  // highest priority first, items with unsettled dependencies have to wait
+  private QueueItem pollNextReadyItem() {
+    QueueItem next = null;
+    for (QueueItem queueItem : queueItems) {
+      if (!areDependenciesSettled(queueItem)) {
+        continue;
+      }
+      if (next == null || queueItem.getPriority() > next.getPriority()) {
+        next = queueItem;
+      }
+    }
+    if (next != null) {
+      queueItems.remove(next);
+    }
+    return next;
+  }
+
+  private boolean areDependenciesSettled(QueueItem queueItem) {
+    for (QueueItem dependency : queueItem.getDependencies()) {
+      // dependencies which are not part of this queue don't block
+      if (appendedItems.contains(dependency) && !settledItems.contains(dependency)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void perform(QueueItem queueItem, int attempt) {
+    boolean[] isSettled = {false};  // an item must not be settled twice
+    queueItem.setAttemptsLeft(MAX_RETRIES - attempt);
+    queueItem.perform(response -> {
+      if (!isRunning || isSettled[0]) {
+        return;
+      }
+      isSettled[0] = true;
+      onItemSettled(queueItem);
+    }, error -> {
+      if (!isRunning || isSettled[0]) {
+        return;
+      }
+      isSettled[0] = true;
+      if (queueItem.willRetry(error)) {
+        handler.postDelayed(
+            () -> {
+              if (isRunning) {
+                perform(queueItem, attempt + 1);
+              }
+            },
+            RETRY_DELAY_BASE << attempt
+        );
+        return;
+      }
+      failedCount++;
+      if (firstError == null) {
+        firstError = error;
+      }
+      onItemSettled(queueItem);
+    }, uuidQueue);
+  }
+
+  private void onItemSettled(QueueItem queueItem) {
+    settledItems.add(queueItem);
+    inFlight--;
+    queueSize--;
+    if (queueSize > 0) {
+      scheduleNext();
+      return;
+    }
+    isRunning = false;
+    if (failedCount > 0) {
+      // successful items are already stored, only report the failure
+      if (onErrorListener != null) {
+        onErrorListener.onError(firstError);
+      }
+    } else if (onQueueEmptyListener != null) {
+      onQueueEmptyListener.execute();
+    }
+    reset(false);
+  }
+
+  // only used for items which are marked as retryable, see QueueItem.setRetryable
+  public static boolean isRetryableError(VolleyError error) {
+    if (error == null || error instanceof AuthFailureError) {
+      return false;
     }
+    // no response means timeout or connection problem, 5xx is a server hiccup
+    return error.networkResponse == null || error.networkResponse.statusCode >= 500;
   }
 
   public int getSize() {
@@ -106,8 +217,14 @@ public class NetworkQueue {
   public void reset(boolean cancelAll) {
     if (cancelAll) {
       requestQueue.cancelAll(uuidQueue);
+      SingleFlightRequests.getInstance().cancelAll(uuidQueue);
+      isRunning = false;
     }
+    handler.removeCallbacksAndMessages(null);
     queueItems.clear();
+    appendedItems.clear();
+    settledItems.clear();
     queueSize = 0;
+    inFlight = 0;
   }
 }
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Gson adapters which parse the numbers of server responses once while reading the stream.
+ * Grocy sends numbers as JSON numbers or as strings depending on the database driver and may
+ * use a comma as decimal separator, so every variant has to be accepted here. Values which
+ * can't be parsed are returned as null, then Gson keeps the default value of a primitive field.
+ */
+public class NumberTypeAdapters {
+
+  private final static TypeAdapter<Integer> INT_ADAPTER = new IntAdapter();
+
+  public static Gson createGson() {
+    return new GsonBuilder()
+        // boxed doubles were always parsed with -1 as fallback
+        .registerTypeAdapter(Double.class, new DoubleAdapter(-1d))
+        .registerTypeAdapter(double.class, new DoubleAdapter(null))
+        .registerTypeAdapter(Integer.class, INT_ADAPTER)
+        .registerTypeAdapter(int.class, INT_ADAPTER)
+        .create();
+  }
+
+  private static class DoubleAdapter extends TypeAdapter<Double> {
+
+    private final Double fallback;
+
+    DoubleAdapter(Double fallback) {
+      this.fallback = fallback;
+    }
+
+    @Override
+    public void write(JsonWriter out, Double value) throws IOException {
+      if (value == null) {
+        out.nullValue();
+      } else {
+        out.value(value);
+      }
+    }
+
+    @Override
+    public Double read(JsonReader in) throws IOException {
+      JsonToken token = in.peek();
+      if (token == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      } else if (token == JsonToken.BOOLEAN) {
+        return in.nextBoolean() ? 1d : 0d;
+      } else if (token == JsonToken.NUMBER) {
+        return in.nextDouble();
+      }
+      String value = in.nextString();
+      if (value.isEmpty()) {
+        return fallback;
+      }
+      try {
+        return Double.parseDouble(value.replace(',', '.'));
+      } catch (NumberFormatException e) {
+        return fallback;
+      }
+    }
+  }
+
+  private static class IntAdapter extends TypeAdapter<Integer> {
+
+    @Override
+    public void write(JsonWriter out, Integer value) throws IOException {
+      if (value == null) {
+        out.nullValue();
+      } else {
+        out.value(value);
+      }
+    }
+
+    @Override
+    public Integer read(JsonReader in) throws IOException {
+      JsonToken token = in.peek();
+      if (token == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      } else if (token == JsonToken.BOOLEAN) {
+        return in.nextBoolean() ? 1 : 0;
+      }
+      String value = in.nextString();  // also reads numbers without losing precision
+      if (value.isEmpty()) {
+        return null;
+      }
+      try {
+        return Integer.parseInt(value);
+      } catch (NumberFormatException e) {
+        try {
+          // e.g. "1.0" or "1,0" from some database drivers
+          return (int) Double.parseDouble(value.replace(',', '.'));
+        } catch (NumberFormatException e1) {
+          return null;
+        }
+      }
+    }
+  }
+}
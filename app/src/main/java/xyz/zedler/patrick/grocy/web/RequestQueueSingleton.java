@@ -22,20 +22,24 @@ package xyz.zedler.patrick.grocy.web;
 import android.content.Context;
 import android.content.SharedPreferences;
 import androidx.preference.PreferenceManager;
-import com.android.volley.Cache;
 import com.android.volley.Network;
 import com.android.volley.RequestQueue;
+import com.android.volley.toolbox.BaseHttpStack;
 import com.android.volley.toolbox.BasicNetwork;
-import com.android.volley.toolbox.DiskBasedCache;
 import com.android.volley.toolbox.HurlStack;
+import com.android.volley.toolbox.NoCache;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.Socket;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.brotli.BrotliInterceptor;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS.NETWORK;
 import xyz.zedler.patrick.grocy.Constants.SETTINGS_DEFAULT;
 
@@ -67,25 +71,39 @@ public class RequestQueueSingleton {
   public void newRequestQueue() {
     //requestQueue = Volley.newRequestQueue(ctx);
 
-    Cache cache = new DiskBasedCache(ctx.getCacheDir(), 1024 * 1024);
-
     SharedPreferences sharedPrefs = PreferenceManager.getDefaultSharedPreferences(ctx);
+    int threadPoolSize = sharedPrefs.getInt(
+        NETWORK.THREAD_POOL_SIZE, SETTINGS_DEFAULT.NETWORK.THREAD_POOL_SIZE
+    );
+
+    Network network = new BasicNetwork(createStack(sharedPrefs, threadPoolSize));
+    // all requests are sent with setShouldCache(false), a disk cache would only cost startup time
+    requestQueue = new RequestQueue(new NoCache(), network, threadPoolSize);
+    requestQueue.start();
+  }
+
+  private BaseHttpStack createStack(SharedPreferences sharedPrefs, int threadPoolSize) {
     boolean useTor = sharedPrefs.getBoolean(NETWORK.TOR, SETTINGS_DEFAULT.NETWORK.TOR);
     boolean useProxy = sharedPrefs.getBoolean(NETWORK.PROXY, SETTINGS_DEFAULT.NETWORK.PROXY);
 
-    HurlStack stack;
-    if (useTor || useProxy) {
-      stack = new ProxyHurlStack(sharedPrefs, useTor);
-    } else {
-      try {
-        stack = new HurlStack(null, new TLSSocketFactory());
-      } catch (NoSuchAlgorithmException | KeyManagementException e) {
-        stack = new HurlStack();
+    if (sharedPrefs.getBoolean(NETWORK.OKHTTP, SETTINGS_DEFAULT.NETWORK.OKHTTP)) {
+      OkHttpClient.Builder builder = new OkHttpClient.Builder()
+          .connectionPool(new ConnectionPool(threadPoolSize, 5, TimeUnit.MINUTES))
+          .addInterceptor(BrotliInterceptor.INSTANCE);
+      if (useTor || useProxy) {
+        builder.proxy(ProxyHurlStack.createProxy(sharedPrefs, useTor));
       }
+      return new OkHttpStack(builder.build());
+    }
+
+    if (useTor || useProxy) {
+      return new ProxyHurlStack(sharedPrefs, useTor);
+    }
+    try {
+      return new HurlStack(null, new TLSSocketFactory());
+    } catch (NoSuchAlgorithmException | KeyManagementException e) {
+      return new HurlStack();
     }
-    Network network = new BasicNetwork(stack);
-    requestQueue = new RequestQueue(cache, network, 6);
-    requestQueue.start();
   }
 
   private static class TLSSocketFactory extends SSLSocketFactory {
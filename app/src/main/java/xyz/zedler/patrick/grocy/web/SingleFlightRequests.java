@@ -0,0 +1,202 @@
+/*
+ * This file is part of Grocy Android.
+ *
+ * Grocy Android is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grocy Android is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grocy Android. If not, see http://www.gnu.org/licenses/.
+ *
+ * Copyright (c) 2020-2023 by Patrick Zedler and Dominic Zedler
+ */
+
+package xyz.zedler.patrick.grocy.web;
+
+import android.os.SystemClock;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * Lets identical GET requests which are issued while one of them is still running share the
+ * response of the first one, so the url is only downloaded and parsed once. The shared request
+ * is tagged with this class instead of the tag of the first caller, because cancelling the
+ * request for one caller would leave all others without a response. Instead every caller is
+ * registered with its own tag and removed with cancelAll(tag) or leave(owner), the request is
+ * only cancelled if nobody is waiting for it anymore. A caller never joins a request which was
+ * started before the given time, so data written by the caller is not missing in the response.
+ */
+public class SingleFlightRequests {
+
+  public final static String TAG = SingleFlightRequests.class.getSimpleName();
+
+  private static SingleFlightRequests instance;
+
+  // flights which can be joined, by key
+  private final HashMap<String, Flight<?>> flights;
+  // all unfinished flights, also those which were replaced by a newer flight with the same key
+  private final ArrayList<Flight<?>> activeFlights;
+  private int savedRequests;
+
+  private static class Waiter<T> {
+
+    private final Object owner;
+    private final String tag;
+    private final Response.Listener<T> listener;
+    private final Response.ErrorListener errorListener;
+    private final Runnable onCancelled;
+
+    private Waiter(
+        Object owner,
+        String tag,
+        Response.Listener<T> listener,
+        Response.ErrorListener errorListener,
+        Runnable onCancelled
+    ) {
+      this.owner = owner;
+      this.tag = tag;
+      this.listener = listener;
+      this.errorListener = errorListener;
+      this.onCancelled = onCancelled;
+    }
+  }
+
+  private static class Flight<T> {
+
+    private final ArrayList<Waiter<T>> waiters = new ArrayList<>();
+    private final long startTime = SystemClock.elapsedRealtimeNanos();
+    private Request<?> request;
+  }
+
+  private SingleFlightRequests() {
+    flights = new HashMap<>();
+    activeFlights = new ArrayList<>();
+  }
+
+  public static synchronized SingleFlightRequests getInstance() {
+    if (instance == null) {
+      instance = new SingleFlightRequests();
+    }
+    return instance;
+  }
+
+  /**
+   * Returns true if the same request is already running and was started after notBefore
+   * (elapsedRealtimeNanos), the listeners are then called with its response. Otherwise a new
+   * flight is opened and the caller has to send the request with the listeners from
+   * getListener() and getErrorListener() and pass it to setRequest(). onCancelled is called
+   * instead of the listeners if the caller is removed with cancelAll() or leave().
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized <T> boolean join(
+      String key,
+      Object owner,
+      String tag,
+      long notBefore,
+      Response.Listener<T> listener,
+      Response.ErrorListener errorListener,
+      Runnable onCancelled
+  ) {
+    Flight<T> flight = (Flight<T>) flights.get(key);
+    boolean isRunning = flight != null && flight.startTime > notBefore;
+    if (isRunning) {
+      savedRequests++;
+    } else {
+      flight = new Flight<>();
+      flights.put(key, flight);
+      activeFlights.add(flight);
+    }
+    flight.waiters.add(new Waiter<>(owner, tag, listener, errorListener, onCancelled));
+    return isRunning;
+  }
+
+  public synchronized void setRequest(String key, Request<?> request) {
+    Flight<?> flight = flights.get(key);
+    if (flight != null) {
+      flight.request = request;
+    }
+  }
+
+  // has to be called directly after join() opened the flight
+  public synchronized <T> Response.Listener<T> getListener(String key) {
+    Flight<?> flight = flights.get(key);
+    return response -> {
+      for (Waiter<T> waiter : this.<T>finish(key, flight)) {
+        waiter.listener.onResponse(response);
+      }
+    };
+  }
+
+  public synchronized Response.ErrorListener getErrorListener(String key) {
+    Flight<?> flight = flights.get(key);
+    return error -> {
+      for (Waiter<?> waiter : finish(key, flight)) {
+        waiter.errorListener.onErrorResponse(error);
+      }
+    };
+  }
+
+  // removes all waiters with this tag, e.g. the requests of a queue which is reset
+  public void cancelAll(String tag) {
+    for (Waiter<?> waiter : removeWaiters(waiter -> tag.equals(waiter.tag))) {
+      waiter.onCancelled.run();
+    }
+  }
+
+  // removes all waiters of the owner
+  public void leave(Object owner) {
+    for (Waiter<?> waiter : removeWaiters(waiter -> waiter.owner == owner)) {
+      waiter.onCancelled.run();
+    }
+  }
+
+  public synchronized int getSavedRequests() {
+    return savedRequests;
+  }
+
+  // requests without waiters are cancelled
+  private synchronized ArrayList<Waiter<?>> removeWaiters(Predicate<Waiter<?>> predicate) {
+    ArrayList<Waiter<?>> removed = new ArrayList<>();
+    Iterator<Flight<?>> iterator = activeFlights.iterator();
+    while (iterator.hasNext()) {
+      Flight<?> flight = iterator.next();
+      Iterator<? extends Waiter<?>> waiters = flight.waiters.iterator();
+      while (waiters.hasNext()) {
+        Waiter<?> waiter = waiters.next();
+        if (predicate.test(waiter)) {
+          waiters.remove();
+          removed.add(waiter);
+        }
+      }
+      if (flight.waiters.isEmpty()) {
+        iterator.remove();
+        flights.values().remove(flight);
+        if (flight.request != null) {
+          flight.request.cancel();
+        }
+      }
+    }
+    return removed;
+  }
+
+  @SuppressWarnings("unchecked")
+  private synchronized <T> ArrayList<Waiter<T>> finish(String key, Flight<?> flight) {
+    if (flight == null || !activeFlights.remove(flight)) {
+      return new ArrayList<>();  // all waiters were removed
+    }
+    if (flights.get(key) == flight) {
+      flights.remove(key);
+    }
+    return new ArrayList<>(((Flight<T>) flight).waiters);
+  }
+}